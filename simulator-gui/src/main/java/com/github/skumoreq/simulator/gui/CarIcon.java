@@ -194,8 +194,8 @@ public class CarIcon extends Group {
     // region ⮞ Rendering Methods
 
     public void updateImage(@NotNull Car car) {
-        // Generate a stable seed from the plate number.
-        long seed = car.getPlateNumber().hashCode();
+        // The plate key is unique and stable, unlike a string hash.
+        long seed = car.getPlateKey();
 
         // Check if tinted image was already cached.
         var cachedImage = CACHED_IMAGES.get(seed);
@@ -252,8 +252,11 @@ public class CarIcon extends Group {
     }
 
     public void updateTranslation(@NotNull Car car) {
-        body.setTranslateX(car.getPositionX() - FIT_WIDTH * 0.5);
-        body.setTranslateY(car.getPositionY() - FIT_HEIGHT * 0.5);
+        // Both coordinates from one snapshot, so they belong to the same tick.
+        var snapshot = car.snapshot();
+
+        body.setTranslateX(snapshot.positionX() - FIT_WIDTH * 0.5);
+        body.setTranslateY(snapshot.positionY() - FIT_HEIGHT * 0.5);
     }
 
     public void updateRotation(@NotNull Car car) {
@@ -1,6 +1,7 @@
 package com.github.skumoreq.simulator.gui;
 
 import com.github.skumoreq.simulator.Car;
+import com.github.skumoreq.simulator.PlateKey;
 import com.github.skumoreq.simulator.Point;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
@@ -9,9 +10,7 @@ import javafx.stage.Stage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Pattern;
+import java.util.function.LongPredicate;
 
 import static com.github.skumoreq.simulator.CarManager.*;
 
@@ -21,12 +20,12 @@ public class FormController {
 
     private boolean confirmed = false;
 
-    private @NotNull List<String> usedPlateNumbers = new ArrayList<>();
+    private @NotNull LongPredicate isPlateKeyUsed = _ -> false;
     private @NotNull Point initialPosition = new Point();
     private @Nullable Car targetCar = null;
 
-    public void importUsedPlateNumbers(@NotNull List<String> usedPlateNumbers) {
-        this.usedPlateNumbers = usedPlateNumbers;
+    public void importPlateKeyCheck(@NotNull LongPredicate isPlateKeyUsed) {
+        this.isPlateKeyUsed = isPlateKeyUsed;
     }
 
     public void importInitialPosition(@NotNull Point initialPosition) {
@@ -41,8 +40,6 @@ public class FormController {
     // region ⮞ Constants
 
     private static final String INVALID_PLATE_HEADER = "Niepoprawny numer rejestracyjny";
-    private static final Pattern PLATE_NUMBER_PATTERN = Pattern.compile("^[A-Z]{1,3} [0-9ACE-HJ-NP-Y]{5}$");
-
     JavaFXUtils.AlertInfo INVALID_PLATE_INFO = new JavaFXUtils.AlertInfo(
             Alert.AlertType.INFORMATION, INVALID_PLATE_HEADER, ""
     );
@@ -176,7 +173,9 @@ public class FormController {
     }
 
     private @NotNull String validatePlateNumber(@NotNull String plateNumber) {
-        if (!PLATE_NUMBER_PATTERN.matcher(plateNumber).matches()) {
+        long plateKey = PlateKey.tryEncode(plateNumber);
+
+        if (plateKey == PlateKey.INVALID) {
             return """
                     Wprowadzony numer rejestracyjny ma nieprawidłowy format.
                     Przykład poprawnego numeru: KR 12345
@@ -189,7 +188,7 @@ public class FormController {
                     Uwaga: System nie akceptuje liter B, D, I, O, Z w sufiksie.
                     """;
         }
-        if (usedPlateNumbers.contains(plateNumber)) {
+        if (isPlateKeyUsed.test(plateKey)) {
             return """
                     Numer rejestracyjny "%s" jest już w użyciu.
                     
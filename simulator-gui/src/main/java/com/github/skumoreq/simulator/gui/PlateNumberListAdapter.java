@@ -0,0 +1,76 @@
+package com.github.skumoreq.simulator.gui;
+
+import com.github.skumoreq.simulator.Car;
+import com.github.skumoreq.simulator.CarManager;
+import com.github.skumoreq.simulator.CarRegistryListener;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * JavaFX adapter that mirrors the plate numbers registered in a
+ * {@link CarManager} into an {@link ObservableList}.
+ * <p>
+ * The simulator core has no JavaFX dependency, so the list is maintained here
+ * and only ever modified on the JavaFX Application Thread. Consumers get a
+ * read-only view; plate number lookups should go through the manager, whose
+ * registry is hash-indexed.
+ */
+public final class PlateNumberListAdapter implements CarRegistryListener {
+
+    // region ⮞ Instance Fields
+
+    private final @NotNull ObservableList<String> plateNumbers = FXCollections.observableArrayList();
+    private final @NotNull ObservableList<String> readOnlyView = FXCollections.unmodifiableObservableList(plateNumbers);
+    // endregion
+
+    // region ⮞ Initialization
+
+    public PlateNumberListAdapter(@NotNull CarManager carManager) {
+        // Atomic, so no car registered meanwhile is missed or listed twice.
+        for (var car : carManager.addRegistryListenerAndGetCars(this)) plateNumbers.add(car.getPlateNumber());
+    }
+    // endregion
+
+    // region ⮞ Getters
+
+    /**
+     * @return A read-only view, updated on the JavaFX Application Thread.
+     */
+    public @NotNull ObservableList<String> plateNumbers() {
+        return readOnlyView;
+    }
+    // endregion
+
+    // region ⮞ CarRegistryListener Interface Implementation
+
+    private static void runOnFxThread(@NotNull Runnable action) {
+        if (Platform.isFxApplicationThread()) action.run();
+        else Platform.runLater(action);
+    }
+
+    @Override
+    public void onCarsAdded(@NotNull @Unmodifiable List<Car> added) {
+        var addedPlateNumbers = new ArrayList<String>(added.size());
+        for (var car : added) addedPlateNumbers.add(car.getPlateNumber());
+
+        // A single addAll fires one list change for the whole batch.
+        runOnFxThread(() -> plateNumbers.addAll(addedPlateNumbers));
+    }
+
+    @Override
+    public void onCarsRemoved(@NotNull @Unmodifiable List<Car> removed) {
+        var removedPlateNumbers = new HashSet<String>();
+        for (var car : removed) removedPlateNumbers.add(car.getPlateNumber());
+
+        // Hash-based lookup keeps a batched removal linear in the list size.
+        runOnFxThread(() -> plateNumbers.removeAll(removedPlateNumbers));
+    }
+    // endregion
+}
@@ -3,6 +3,7 @@ package com.github.skumoreq.simulator.gui;
 import com.github.skumoreq.simulator.Car;
 import com.github.skumoreq.simulator.CarManager;
 import com.github.skumoreq.simulator.CarObserver;
+import com.github.skumoreq.simulator.FixedPointFormat;
 import com.github.skumoreq.simulator.Point;
 import com.github.skumoreq.simulator.exception.CarException;
 import com.github.skumoreq.simulator.exception.ClutchEngagedException;
@@ -25,6 +26,11 @@ import javafx.stage.StageStyle;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 public class PrimaryController implements CarObserver {
 
@@ -62,6 +68,21 @@ public class PrimaryController implements CarObserver {
 
     // region ⮞ Constants
 
+    /**
+     * Maximum distance between a secondary click and the car it selects,
+     * roughly half the length of a car icon.
+     */
+    private static final double CAR_PICK_RADIUS = 60.0;
+
+    private static final FixedPointFormat UI_FORMAT_COORDINATE = new FixedPointFormat(0, "");
+
+    /**
+     * Fleet saved when the application closes and restored when it starts.
+     */
+    private static final Path SESSION_SNAPSHOT_PATH = Path.of(
+            System.getProperty("user.home"), ".simulator", "fleet.snapshot"
+    );
+
     private static final JavaFXUtils.AlertInfo CLUTCH_ENGAGED_INFO = new JavaFXUtils.AlertInfo(
             Alert.AlertType.WARNING,
             "Zgrzyt skrzyni biegów",
@@ -126,7 +147,8 @@ public class PrimaryController implements CarObserver {
     // region ⮞ Instance Fields
 
     private final @NotNull CarIcon carIcon = new CarIcon();
-    private final @NotNull CarManager carManager = new CarManager();
+    private final @NotNull CarManager carManager = new CarManager(Platform::runLater);
+    private final @NotNull PlateNumberListAdapter plateNumberList = new PlateNumberListAdapter(carManager);
 
     // Logic groups for bulk operations; these require @FXML injection and must
     // be populated within the initialize() method.
@@ -138,24 +160,47 @@ public class PrimaryController implements CarObserver {
 
     @FunctionalInterface
     private interface CarAction {
-        void run(@NotNull Car car) throws CarException;
+        @NotNull CompletableFuture<Void> submit(@NotNull Car car);
     }
 
     /**
      * Wraps car actions to ensure a car is selected and handles any resulting
      * CarExceptions. Acts as a centralized safety net for all car-related UI
      * commands.
+     * <p>
+     * Actions are only queued, so the UI thread never waits for the
+     * simulation; their outcome is handled back on the UI thread once the
+     * next tick has applied them.
      */
     private void performCarAction(@NotNull CarAction action) {
         var selectedCar = carManager.selected();
 
         if (selectedCar == null) return;
 
-        try {
-            action.run(selectedCar);
-        } catch (CarException exception) {
-            handleCarException(exception);
-        }
+        action.submit(selectedCar).whenCompleteAsync((_, failure) -> {
+            if (failure == null) return;
+
+            var cause = failure instanceof CompletionException ? failure.getCause() : failure;
+
+            if (cause instanceof CarException exception) {
+                handleCarException(exception);
+            } else {
+                var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, cause);
+            }
+        }, Platform::runLater);
+    }
+
+    private void selectNearestCar(double x, double y) {
+        var nearestCar = carManager.findNearest(x, y, CAR_PICK_RADIUS);
+
+        if (nearestCar != null) carSelection.setValue(nearestCar.getPlateNumber());
+    }
+
+    private void withSelectedCar(@NotNull Consumer<Car> action) {
+        var selectedCar = carManager.selected();
+
+        if (selectedCar != null) action.accept(selectedCar);
     }
 
     private void handleCarException(@NotNull CarException e) {
@@ -169,6 +214,33 @@ public class PrimaryController implements CarObserver {
         JavaFXUtils.showAlertAndWait(primaryRoot, alertInfo);
     }
 
+    private static void reportFailure(@NotNull Exception e) {
+        var thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    }
+
+    private void restoreSession() {
+        if (!Files.exists(SESSION_SNAPSHOT_PATH)) return;
+
+        try {
+            carManager.restoreSnapshot(SESSION_SNAPSHOT_PATH);
+        } catch (IOException | IllegalArgumentException e) {
+            reportFailure(e);
+        }
+    }
+
+    /**
+     * Saves every car, so that the next start can restore the session.
+     */
+    void saveSession() {
+        try {
+            Files.createDirectories(SESSION_SNAPSHOT_PATH.getParent());
+            carManager.saveSnapshot(SESSION_SNAPSHOT_PATH);
+        } catch (IOException | IllegalArgumentException e) {
+            reportFailure(e);
+        }
+    }
+
     private Stage getPrimaryStage() {
         return (Stage) primaryRoot.getScene().getWindow();
     }
@@ -189,23 +261,33 @@ public class PrimaryController implements CarObserver {
     }
 
     private void initializeCarSelection() {
-        var plates = carManager.usedPlateNumbers();
+        var plates = plateNumberList.plateNumbers();
 
         carSelection.setItems(plates);
 
+        // A batched change may hold many sub-changes; only the last one
+        // decides the selection, so the combo box is updated once.
         plates.addListener((ListChangeListener<String>) change -> {
+            String newSelection = null;
+            boolean selectionChanged = false;
+
             while (change.next()) {
                 if (change.wasAdded()) {
-                    carSelection.setValue(change.getAddedSubList().getLast());
+                    newSelection = change.getAddedSubList().getLast();
+                    selectionChanged = true;
                 } else if (change.wasRemoved()) {
-                    if (plates.isEmpty()) {
-                        JavaFXUtils.clearSelection(carSelection);
-                    } else {
-                        int removedIndex = change.getFrom();
-                        carSelection.setValue(removedIndex == 0 ? plates.getLast() : plates.get(removedIndex - 1));
-                    }
+                    int removedIndex = change.getFrom();
+
+                    newSelection = plates.isEmpty() ? null
+                            : removedIndex == 0 ? plates.getLast() : plates.get(removedIndex - 1);
+                    selectionChanged = true;
                 }
             }
+
+            if (!selectionChanged) return;
+
+            if (newSelection == null) JavaFXUtils.clearSelection(carSelection);
+            else carSelection.setValue(newSelection);
         });
     }
 
@@ -273,6 +355,8 @@ public class PrimaryController implements CarObserver {
         carIcon.setVisible(false);
         deleteCar.setDisable(true);
 
+        restoreSession();
+
         drivingArea.getChildren().add(carIcon);
         drivingArea.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
             if (event.getCode() == KeyCode.TAB) event.consume();
@@ -323,7 +407,7 @@ public class PrimaryController implements CarObserver {
         formStage.setScene(formScene);
 
         FormController formController = fxmlLoader.getController();
-        formController.importUsedPlateNumbers(carManager.getUsedPlateNumbers());
+        formController.importPlateKeyCheck(carManager::isPlateKeyUsed);
         formController.importInitialPosition(new Point(
                 drivingArea.getLayoutBounds().getCenterX(),
                 drivingArea.getLayoutBounds().getCenterY()
@@ -347,72 +431,73 @@ public class PrimaryController implements CarObserver {
 
     @FXML
     private void startEngineOnAction() {
-        performCarAction(Car::startEngine);
+        performCarAction(Car::startEngineAsync);
     }
 
     @FXML
     private void stopEngineOnAction() {
-        performCarAction(Car::stopEngine);
+        performCarAction(Car::stopEngineAsync);
     }
 
     @FXML
     private void pressClutchOnAction() {
-        performCarAction(Car::pressClutch);
+        performCarAction(Car::pressClutchAsync);
     }
 
     @FXML
     private void releaseClutchOnAction() {
-        performCarAction(Car::releaseClutch);
+        performCarAction(Car::releaseClutchAsync);
     }
 
     @FXML
     private void shiftUpOnAction() {
-        performCarAction(Car::shiftUp);
+        performCarAction(Car::shiftUpAsync);
     }
 
     @FXML
     private void shiftDownOnAction() {
-        performCarAction(Car::shiftDown);
+        performCarAction(Car::shiftDownAsync);
     }
 
     @FXML
     private void revUpOnAction() {
-        performCarAction(car -> car.revUp(1.0));
+        performCarAction(car -> car.revUpAsync(1.0));
     }
 
     @FXML
     private void revDownOnAction() {
-        performCarAction(car -> car.revDown(1.0));
+        performCarAction(car -> car.revDownAsync(1.0));
     }
 
     @FXML
     private void drivingAreaOnKeyPressed(@NotNull KeyEvent event) {
         switch (event.getCode()) {
-            case R -> performCarAction(Car::startEngine);
-            case F -> performCarAction(Car::stopEngine);
-            case SPACE -> performCarAction(Car::pressClutch);
-            case E -> performCarAction(Car::shiftUp);
-            case Q -> performCarAction(Car::shiftDown);
+            case R -> performCarAction(Car::startEngineAsync);
+            case F -> performCarAction(Car::stopEngineAsync);
+            case SPACE -> performCarAction(Car::pressClutchAsync);
+            case E -> performCarAction(Car::shiftUpAsync);
+            case Q -> performCarAction(Car::shiftDownAsync);
         }
     }
 
     @FXML
     private void drivingAreaOnKeyReleased(@NotNull KeyEvent event) {
-        if (event.getCode() == KeyCode.SPACE) performCarAction(Car::releaseClutch);
+        if (event.getCode() == KeyCode.SPACE) performCarAction(Car::releaseClutchAsync);
     }
 
     @FXML
     private void drivingAreaOnMousePressed(@NotNull MouseEvent event) {
         switch (event.getButton()) {
-            case PRIMARY -> performCarAction(Car::pressClutch);
-            case FORWARD -> performCarAction(Car::shiftUp);
-            case BACK -> performCarAction(Car::shiftDown);
+            case PRIMARY -> performCarAction(Car::pressClutchAsync);
+            case SECONDARY -> selectNearestCar(event.getX(), event.getY());
+            case FORWARD -> performCarAction(Car::shiftUpAsync);
+            case BACK -> performCarAction(Car::shiftDownAsync);
         }
     }
 
     @FXML
     private void drivingAreaOnMouseReleased(@NotNull MouseEvent event) {
-        if (event.getButton() == MouseButton.PRIMARY) performCarAction(Car::releaseClutch);
+        if (event.getButton() == MouseButton.PRIMARY) performCarAction(Car::releaseClutchAsync);
     }
 
     @FXML
@@ -424,17 +509,17 @@ public class PrimaryController implements CarObserver {
 
         double normalizedImpulse = Math.abs(delta / multiplier);
 
-        performCarAction(car -> {
-            if ((delta > 0) != reverseScroll.isSelected()) car.revUp(normalizedImpulse);
-            else car.revDown(normalizedImpulse);
-        });
+        performCarAction(car -> (delta > 0) != reverseScroll.isSelected()
+                ? car.revUpAsync(normalizedImpulse)
+                : car.revDownAsync(normalizedImpulse)
+        );
     }
 
     @FXML
     private void drivingAreaOnMouseEntered() {
         drivingArea.requestFocus();
 
-        performCarAction(Car::resume);
+        withSelectedCar(Car::resume);
     }
 
     @FXML
@@ -442,7 +527,7 @@ public class PrimaryController implements CarObserver {
         primaryRoot.requestFocus();
         mouseCoords.setText("");
 
-        performCarAction(Car::pause);
+        withSelectedCar(Car::pause);
     }
 
     @FXML
@@ -450,9 +535,9 @@ public class PrimaryController implements CarObserver {
         double mouseX = event.getX();
         double mouseY = event.getY();
 
-        mouseCoords.setText("x: %.0f, y: %.0f".formatted(mouseX, mouseY));
+        mouseCoords.setText("x: " + UI_FORMAT_COORDINATE.format(mouseX) + ", y: " + UI_FORMAT_COORDINATE.format(mouseY));
 
-        performCarAction(car -> car.updateDestination(mouseX, mouseY, 8.0));
+        performCarAction(car -> car.updateDestinationAsync(mouseX, mouseY, 8.0));
     }
 
     @FXML
@@ -1,5 +1,6 @@
 package com.github.skumoreq.simulator.gui;
 
+import com.github.skumoreq.simulator.SimulatorMetrics;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
@@ -7,19 +8,51 @@ import javafx.scene.Scene;
 import javafx.stage.Stage;
 import org.jetbrains.annotations.NotNull;
 
+import javax.management.JMException;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 
 public class SimulatorApp extends Application {
 
+    /**
+     * Names the file the metrics table is written to on exit, e.g.
+     * {@code -Dsimulator.metrics.dump=metrics.txt}. Nothing is written
+     * without it.
+     */
+    private static final String METRICS_DUMP_PROPERTY = "simulator.metrics.dump";
+
+    private static void saveMetrics() {
+        var dumpPath = System.getProperty(METRICS_DUMP_PROPERTY);
+        if (dumpPath == null) return;
+
+        try {
+            Files.writeString(Path.of(dumpPath), SimulatorMetrics.dump());
+        } catch (IOException | InvalidPathException e) {
+            var thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
     @Override
-    public void start(@NotNull Stage primaryStage) throws IOException {
+    public void start(@NotNull Stage primaryStage) throws IOException, JMException {
+        // Exposes the tick, monitor and dispatch histograms to JConsole.
+        SimulatorMetrics.registerMBeans();
+
         var fxmlLoader = new FXMLLoader(SimulatorApp.class.getResource("Primary.fxml"));
         var primaryScene = new Scene(fxmlLoader.load());
 
         primaryStage.setTitle("Symulator");
         primaryStage.setScene(primaryScene);
 
+        PrimaryController primaryController = fxmlLoader.getController();
+
         primaryStage.setOnCloseRequest(_ -> {
+            primaryController.saveSession();
+
+            saveMetrics();
+
             Platform.exit(); // shut down internal thread and clean up
             System.exit(0);  // ensures JVM terminates
         });
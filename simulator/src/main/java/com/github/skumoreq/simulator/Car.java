@@ -1,13 +1,23 @@
 package com.github.skumoreq.simulator;
 
+import com.github.skumoreq.simulator.CommandJournal.Opcode;
+import com.github.skumoreq.simulator.exception.CarException;
 import com.github.skumoreq.simulator.exception.ClutchEngagedException;
 import com.github.skumoreq.simulator.exception.EngineStalledException;
 import com.github.skumoreq.simulator.exception.TorqueTransferActiveException;
-import javafx.application.Platform;
 import org.jetbrains.annotations.NotNull;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import static com.github.skumoreq.simulator.CarObserver.ChangedProperty.*;
 
@@ -20,15 +30,22 @@ import static com.github.skumoreq.simulator.CarObserver.ChangedProperty.*;
  * <p>
  * The implementation focuses on three primary systems:
  * <ul>
- * <li><b>Simulation Engine:</b> A dedicated background thread handles real-time
- * movement calculations using a wait/notify mechanism to minimize CPU usage
- * when the car is idle.</li>
+ * <li><b>Simulation Engine:</b> A shared {@link SimulationScheduler} advances
+ * the car once per tick. The car itself owns no thread, so paused cars cost
+ * nothing but a flag check. Alternatively, the car can run its own loop on a
+ * virtual thread (see {@link #run()}).</li>
  * <li><b>Thread-Safe Wrapper:</b> Implements a strict synchronization policy.
  * As a gateway to internal components, it ensures that all state changes are
- * atomic and visible across threads.</li>
+ * atomic and visible across threads. Readers never take part in it: every
+ * change publishes an immutable {@link CarSnapshot} (see {@link #snapshot()}),
+ * so getters are lock-free and always see a consistent state. Writers can
+ * avoid it too: the {@code ...Async} control methods only queue a command,
+ * which is applied at the start of the car's next tick.</li>
  * <li><b>State Observation:</b> Implements the Observer pattern to notify
- * listeners about property changes (e.g., speed, RPM). Notifications are
- * dispatched asynchronously on the JavaFX Application Thread.</li>
+ * listeners about property changes (e.g., speed, RPM). Changes are
+ * coalesced into a dirty bitmask and delivered in batches through a pluggable
+ * {@link Executor}, e.g. once per frame on the JavaFX Application Thread in
+ * the GUI or synchronously in headless runs.</li>
  * </ul>
  *
  * @see CarComponent
@@ -38,11 +55,17 @@ import static com.github.skumoreq.simulator.CarObserver.ChangedProperty.*;
  * @author skumoreq
  */
 
-public class Car extends Thread {
+public class Car implements Runnable {
 
-    // region ⮞ Thread Execution
+    // region ⮞ Simulation Tick
 
-    public static final long THREAD_SLEEP = 20L;
+    /*
+     * Pausing uses a ReentrantLock/Condition pair rather than a monitor
+     * wait(). A virtual thread blocked in Object.wait() pins its carrier
+     * thread, whereas one awaiting a Condition unmounts and frees it.
+     */
+    private final @NotNull ReentrantLock pauseLock = new ReentrantLock();
+    private final @NotNull Condition resumed = pauseLock.newCondition();
 
     /**
      * Starts in a paused state. Using {@code volatile} ensures immediate
@@ -50,191 +73,572 @@ public class Car extends Thread {
      */
     private volatile boolean paused = true;
 
-    public synchronized void pause() {
-        paused = true;
+    /**
+     * Set once a tick changed nothing (engine off, standing still or already
+     * at the destination). A parked car is not advanced until {@link #wake()}
+     * is called by a change that matters.
+     */
+    private volatile boolean parked = false;
+
+    public void pause() {
+        locked(() -> {
+            record(Opcode.PAUSE);
+
+            paused = true;
+
+            var attachedFleet = fleet;
+            if (attachedFleet != null) attachedFleet.sleep(slot);
+            else page.idle[index] = true;
+
+            page.markDirty(index);
+        });
     }
 
-    public synchronized void resume() {
-        paused = false;
-        notifyAll();
+    public void resume() {
+        locked(() -> {
+            record(Opcode.RESUME);
+
+            paused = false;
+            page.markDirty(index);
+
+            wake();
+            signalLoop();
+        });
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public boolean isParked() {
+        return parked;
+    }
+
+    /**
+     * Lets the simulation advance this car again after something that matters
+     * has changed. Does nothing while the car is paused; {@link #resume()}
+     * wakes it.
+     *
+     * @implNote Must be called from synchronized methods of this class.
+     */
+    private void wake() {
+        if (paused) return;
+
+        var attachedFleet = fleet;
+        if (attachedFleet == null) page.idle[index] = false;
+        else {
+            attachedFleet.wake(slot);
+
+            // A sweep running concurrently may still park the slot, having
+            // seen no change yet, so the next tick confirms the wake.
+            if (!selfDriven && wakeScheduled.compareAndSet(false, true)) attachedFleet.scheduleWake(this);
+        }
+
+        if (parked) {
+            parked = false;
+            signalLoop();
+        }
+    }
+
+    /**
+     * Set while the car waits for its wake to be confirmed, so that it is
+     * queued only once per tick.
+     */
+    private final @NotNull AtomicBoolean wakeScheduled = new AtomicBoolean(false);
+
+    /**
+     * Wakes the slot again if the sweep parked it since {@link #wake()}.
+     * Called by the ticking thread before the sweep.
+     */
+    synchronized void confirmWake(@NotNull FleetState fleet) {
+        if (this.fleet != fleet) return;
+
+        wakeScheduled.set(false);
+
+        if (paused) return;
+
+        fleet.wake(slot);
+        parked = false;
+    }
+
+    /**
+     * Called by the sweep when it parks this car's slot.
+     */
+    void markParked() {
+        parked = true;
     }
 
+    /**
+     * Wakes {@link #run()} if it is waiting. Safe to call with this car's
+     * monitor held: the loop never acquires the monitor while holding the
+     * pause lock.
+     */
+    private void signalLoop() {
+        pauseLock.lock();
+        try {
+            resumed.signalAll();
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the queued commands, then advances only this car by a single
+     * {@link SimulationScheduler#TICK_INTERVAL}; does not move the car while
+     * it is paused or parked. Parks the car if the tick changed nothing.
+     * <p>
+     * Cars registered in {@link CarManager.ExecutionMode#SHARED_SCHEDULER}
+     * mode are advanced by the scheduler's fleet-wide sweep instead and must
+     * not be ticked individually.
+     */
+    public void tick() {
+        applyCommands();
+
+        locked(() -> {
+            // Re-calculating angle and moving in one atomic step to
+            // ensure movement is always consistent with the target.
+            page.advance(index, index + 1, SimulationScheduler.TICK_INTERVAL);
+            int parkedSlots = page.dispatchChanges(index, index + 1, Car::notifyChanges);
+
+            var attachedFleet = fleet;
+            if (attachedFleet != null) attachedFleet.parked(parkedSlots);
+        });
+    }
+
+    /**
+     * Self-driven simulation loop used by
+     * {@link CarManager.ExecutionMode#VIRTUAL_THREADS}. Ticks the car every
+     * {@link SimulationScheduler#TICK_INTERVAL} until the running thread is
+     * interrupted, blocking without busy-waiting while the car is paused or
+     * parked.
+     */
     @Override
     public void run() {
-        while (!Thread.currentThread().isInterrupted()) {
-            synchronized (this) {
-                while (paused) {
-                    try {
-                        wait();
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        return;
-                    }
+        selfDriven = true;
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                pauseLock.lock();
+                try {
+                    // Queued commands wake a paused or parked car too, so they
+                    // never wait for the next resume.
+                    while ((paused || parked) && !commandsScheduled.get()) resumed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    pauseLock.unlock();
                 }
 
-                // Re-calculating angle and moving in one atomic step to
-                // ensure movement is always consistent with the target.
-                updateAngle();
-                driveToDestination();
-            }
+                tick();
 
-            try {
-                //noinspection BusyWait
-                Thread.sleep(THREAD_SLEEP);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+                try {
+                    //noinspection BusyWait
+                    Thread.sleep(SimulationScheduler.TICK_INTERVAL);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
             }
+        } finally {
+            selfDriven = false;
+
+            // Commands queued while the loop was shutting down would be
+            // stranded otherwise.
+            applyCommands();
         }
     }
     // endregion
 
     // region ⮞ Observer Logic
 
-    private final @NotNull List<CarObserver> observers = new ArrayList<>();
+    /**
+     * Delivers batched notifications once the car is registered with a
+     * {@link CarManager}, which supplies its own batcher. Until then, and
+     * after the car is removed, observers are notified directly on the thread
+     * that changed the car.
+     */
+    private volatile @Nullable ChangeBatcher changeBatcher = null;
+
+    /**
+     * Bitmask of {@link CarObserver.ChangedProperty} ordinals changed since
+     * the last delivery.
+     */
+    private final @NotNull AtomicInteger pendingChanges = new AtomicInteger();
+
+    void setChangeBatcher(@Nullable ChangeBatcher changeBatcher) {
+        this.changeBatcher = changeBatcher;
+    }
+
+    /**
+     * Copy-on-write list, so observers can be notified from the simulation
+     * sweep without taking the car's monitor.
+     */
+    private final @NotNull CopyOnWriteArrayList<CarObserver> observers = new CopyOnWriteArrayList<>();
 
-    public synchronized void addObserver(@NotNull CarObserver observer) {
+    public void addObserver(@NotNull CarObserver observer) {
         // Ensures no duplicate observers are added.
-        if (!observers.contains(observer)) observers.add(observer);
+        observers.addIfAbsent(observer);
     }
 
-    public synchronized void removeObserver(@NotNull CarObserver observer) {
+    public void removeObserver(@NotNull CarObserver observer) {
         observers.remove(observer);
     }
 
-    public synchronized void removeAllObservers() {
+    public void removeAllObservers() {
         observers.clear();
     }
 
-    public synchronized void notifyAllObservers(CarObserver.ChangedProperty @NotNull ... properties) {
-        if (observers.isEmpty() || properties.length == 0) return;
+    /**
+     * Marks every property whose ordinal bit is set in the given mask as
+     * changed. The car is handed to its batcher only on the transition from
+     * clean to dirty, so repeated changes before the next flush are merged.
+     * Without a batcher, the changes are delivered right away.
+     */
+    void notifyChanges(int changes) {
+        if (changes == 0) return;
+
+        var batcher = changeBatcher;
+
+        if (batcher == null) deliverChanges(changes);
+        else if (pendingChanges.getAndUpdate(pending -> pending | changes) == 0) batcher.enqueue(this);
+    }
+
+    public void notifyAllObservers(CarObserver.ChangedProperty @NotNull ... properties) {
+        int changes = 0;
+
+        for (var property : properties) changes |= 1 << property.ordinal();
+
+        notifyChanges(changes);
+    }
+
+    /**
+     * Delivers and clears the merged changes, one callback per observer and
+     * property. Called by the {@link ChangeBatcher} on its executor.
+     */
+    void flushChanges() {
+        int changes = pendingChanges.getAndSet(0);
+
+        if (changes != 0) deliverChanges(changes);
+    }
 
-        // Create a snapshot to avoid ConcurrentModificationException and ensure
-        // thread safety during asynchronous notification on the JavaFX thread.
-        var snapshot = List.copyOf(observers);
+    private void deliverChanges(int changes) {
+        if (observers.isEmpty()) return;
 
-        Platform.runLater(() -> {
-            for (var observer : snapshot)
-                for (var property : properties)
+        int callbacks = 0;
+
+        // Iterating the copy-on-write list works on a snapshot, so observers
+        // may be added or removed concurrently.
+        for (var observer : observers) {
+            for (var property : CarObserver.ChangedProperty.values()) {
+                if ((changes & 1 << property.ordinal()) != 0) {
                     observer.onCarUpdate(this, property);
-        });
+                    callbacks++;
+                }
+            }
+        }
+
+        SimulatorMetrics.OBSERVER_FAN_OUT.record(callbacks);
     }
     // endregion
 
     // region ⮞ Constants
 
-    private static final String UI_FORMAT_WEIGHT = "%.1f kg";
-    private static final String UI_FORMAT_PRICE = "%.2f zł";
-    private static final String UI_FORMAT_SPEED = "%.0f km/h";
+    private static final FixedPointFormat UI_FORMAT_WEIGHT = new FixedPointFormat(1, " kg");
+    private static final FixedPointFormat UI_FORMAT_PRICE = new FixedPointFormat(2, " zł");
+    private static final FixedPointFormat UI_FORMAT_SPEED = new FixedPointFormat(0, " km/h");
 
     private static final double WEIGHT_CONSTANT = 1000.0;
     private static final double PRICE_CONSTANT = 800.0;
     private static final double PRICE_MULTIPLIER = 1.23;
 
-    private static final double SPEED_MULTIPLIER = 0.03;
-    private static final double ANGLE_THRESHOLD = 1.0;
-    private static final double METERS_TO_PIXELS = 10.0;
+    static final double ANGLE_THRESHOLD = 1.0;
+    static final double METERS_TO_PIXELS = 10.0;
     // endregion
 
     // region ⮞ Instance Fields
 
-    private final @NotNull String plateNumber;
+    /**
+     * Plate number packed by {@link PlateKey}; decoded on demand.
+     */
+    private final long plateKey;
     private final @NotNull String modelName;
 
+    /*
+     * Shared, immutable catalog specifications. The state they describe (RPM,
+     * gear, previous gear, clutch engagement) is per-car and kept in the
+     * slot's columns below.
+     */
     private final @NotNull Clutch clutch;
     private final @NotNull Transmission transmission;
     private final @NotNull Engine engine;
 
-    private final @NotNull Point position;
-    private final @NotNull Point destination;
+    // Invariants of the spec combination, computed once at construction.
+    private final double totalWeight;
+    private final double totalPrice;
+    private final double topSpeed;
+
+    /*
+     * Thin handle onto the car's slot. Position, destination, speed, angle and
+     * the component state live in the fleet's primitive columns; a car that
+     * is not registered keeps them in a private single-slot page.
+     */
+
+    // Volatile, as queued commands look up the fleet without the monitor.
+    private volatile @Nullable FleetState fleet = null;
+    private int slot = -1;
+
+    private @NotNull FleetState.Page page = new FleetState.Page(1);
+    private int index = 0;
 
-    private double speed = 0.0;
-    private double angle = 0.0;
+    /*
+     * Published state for readers. The sweep replaces only the motion values
+     * and the control methods only the remaining ones, each via compare-and-
+     * set, so concurrent publications never overwrite each other's values.
+     */
+    private final @NotNull AtomicReference<CarSnapshot> snapshot;
+
+    /*
+     * Spatial index of the manager this car is registered with. The cell key
+     * is only written under the grid's write lock, but read without it to
+     * skip moves that stay within the same cell.
+     */
+    private volatile @Nullable SpatialGrid spatialGrid = null;
+    private volatile long gridCell = SpatialGrid.NO_CELL;
     // endregion
 
     // region ⮞ Initialization
 
+    /**
+     * @throws IllegalArgumentException if the plate number is malformed (see
+     *                                  {@link PlateKey})
+     */
     public Car(
             @NotNull String plateNumber, @NotNull String modelName,
             @NotNull Transmission transmission, @NotNull Engine engine,
             @NotNull Point initialPosition
     ) {
-        // Sets the plate number as the name of the thread.
-        super("CarThread-" + plateNumber);
+        this(PlateKey.encode(plateNumber), modelName, transmission, engine, initialPosition);
+    }
+
+    /**
+     * Creates a car from an already encoded plate number, e.g. when restoring
+     * a {@link FleetSnapshot}.
+     *
+     * @throws IllegalArgumentException if the key is malformed
+     */
+    Car(
+            long plateKey, @NotNull String modelName,
+            @NotNull Transmission transmission, @NotNull Engine engine,
+            @NotNull Point initialPosition
+    ) {
+        if (!PlateKey.isValidKey(plateKey))
+            throw new IllegalArgumentException("Invalid plate key: %d".formatted(plateKey));
 
-        this.plateNumber = plateNumber;
+        this.plateKey = plateKey;
         this.modelName = modelName;
 
-        this.transmission = new Transmission(transmission);
-        this.engine = new Engine(engine);
+        this.transmission = transmission;
+        this.engine = engine;
 
         // Assign the clutch directly from the transmission to ensure mechanical consistency.
-        clutch = this.transmission.clutch();
+        clutch = transmission.clutch();
+
+        totalWeight = clutch.getWeight() + transmission.getWeight() + engine.getWeight() + WEIGHT_CONSTANT;
+        totalPrice = (clutch.getPrice() + transmission.getPrice() + engine.getPrice() + PRICE_CONSTANT) * PRICE_MULTIPLIER;
+        topSpeed = engine.getMaxRpm() * transmission.getSpeedPerRpm(transmission.getGearCount());
+
+        page.handles[index] = this;
+        page.positionX[index] = initialPosition.getX();
+        page.positionY[index] = initialPosition.getY();
+        page.destinationX[index] = initialPosition.getX();
+        page.destinationY[index] = initialPosition.getY();
+
+        snapshot = new AtomicReference<>(new CarSnapshot(
+                initialPosition.getX(), initialPosition.getY(), 0.0,
+                0.0, page.rpm[index], page.gear[index], page.clutchEngaged[index],
+                false
+        ));
+    }
+    // endregion
+
+    // region ⮞ Fleet Attachment
 
-        this.position = new Point(initialPosition);
-        this.destination = new Point(position);
+    /**
+     * Moves this car's state into a newly allocated slot of the given store.
+     */
+    synchronized void attach(@NotNull FleetState fleet) {
+        if (this.fleet != null) return;
+
+        int allocated = fleet.allocate(this, page, index);
+
+        this.fleet = fleet;
+        slot = allocated;
+        page = fleet.page(allocated);
+        index = FleetState.indexInPage(allocated);
+    }
+
+    /**
+     * Copies this car's state back into a private page and releases its slot
+     * in the given store.
+     */
+    synchronized void detach(@NotNull FleetState fleet) {
+        if (this.fleet != fleet) return;
+
+        var detachedPage = new FleetState.Page(1);
+        page.copySlot(index, detachedPage, 0);
+        detachedPage.handles[0] = this;
+
+        fleet.release(slot);
+        wakeScheduled.set(false);
+
+        this.fleet = null;
+        slot = -1;
+        page = detachedPage;
+        index = 0;
+    }
+
+    /**
+     * Records this car's registration with its current state into the
+     * journal of the given store, if it is still attached to it. Used when a
+     * recording starts after the car was registered.
+     */
+    synchronized void recordRegistration(@NotNull FleetState fleet) {
+        if (this.fleet == fleet) fleet.recordRegistration(this, page, index);
+    }
+
+    /**
+     * Copies this car's whole state into the given slot. The state is read
+     * with both this car's and its fleet's monitor held, so it is consistent
+     * and lies on a tick boundary.
+     *
+     * @return {@code true} if the car is paused, as that flag is not part of
+     * the slot.
+     */
+    synchronized boolean captureState(@NotNull FleetState.Page target, int targetIndex) {
+        var attachedFleet = fleet;
+
+        if (attachedFleet == null) {
+            page.copySlot(index, target, targetIndex);
+        } else {
+            synchronized (attachedFleet) {
+                page.copySlot(index, target, targetIndex);
+            }
+        }
+
+        return paused;
+    }
+
+    /**
+     * Overwrites the whole state of this car with the given slot, e.g. when
+     * replaying a {@link CommandJournal} or restoring a {@link FleetSnapshot}.
+     *
+     * @throws IllegalStateException if the car is registered
+     */
+    synchronized void restore(@NotNull FleetState.Page source, int sourceIndex, boolean paused) {
+        if (fleet != null)
+            throw new IllegalStateException("Cannot restore a registered car: %s".formatted(getPlateNumber()));
+
+        source.copySlot(sourceIndex, page, index);
+        page.changes[index] = 0;
+
+        this.paused = paused;
+        parked = !paused && page.idle[index];
+
+        snapshot.set(new CarSnapshot(
+                page.positionX[index], page.positionY[index], page.angle[index],
+                page.speed[index], page.rpm[index], page.gear[index], page.clutchEngaged[index],
+                page.colliding[index]
+        ));
+    }
+    // endregion
+
+    // region ⮞ Spatial Index
+
+    void setSpatialGrid(@Nullable SpatialGrid spatialGrid) {
+        this.spatialGrid = spatialGrid;
+    }
+
+    long getGridCell() {
+        return gridCell;
+    }
+
+    void setGridCell(long gridCell) {
+        this.gridCell = gridCell;
     }
     // endregion
 
     // region ⮞ Getters
 
     public @NotNull String getPlateNumber() {
-        return plateNumber;
+        return PlateKey.decode(plateKey);
+    }
+
+    /**
+     * @return The plate number packed by {@link PlateKey}, unique among the
+     * cars of a {@link CarManager}.
+     */
+    public long getPlateKey() {
+        return plateKey;
     }
 
     public @NotNull String getModelName() {
         return modelName;
     }
 
-    public synchronized double getPositionX() {
-        return position.getX();
+    /**
+     * @return The most recently published state. Never blocks; read it once
+     * when several values must be consistent with each other.
+     */
+    public @NotNull CarSnapshot snapshot() {
+        return snapshot.get();
     }
 
-    public synchronized double getPositionY() {
-        return position.getY();
+    public double getPositionX() {
+        return snapshot().positionX();
     }
 
-    public synchronized double getSpeed() {
-        return speed;
+    public double getPositionY() {
+        return snapshot().positionY();
     }
 
-    public synchronized double getAngle() {
-        return angle;
+    public double getSpeed() {
+        return snapshot().speed();
+    }
+
+    public double getAngle() {
+        return snapshot().angle();
     }
     // endregion
 
     // region ⮞ Component Accessors
 
     /*
-     * Security Policy: Each component is returned as a generic CarComponent.
-     * This restricts access to basic metadata (name, weight, price) and
-     * prevents external callers from invoking internal mechanical logic (e.g.
-     * shifting gears or engaging the clutch) outside the car's synchronized
-     * control flow.
+     * Each component is an immutable specification shared with other cars, so
+     * exposing it cannot affect this car. It is returned as a generic
+     * CarComponent, restricting callers to basic metadata (name, weight,
+     * price).
      *
      * To modify the vehicle's state, use the dedicated control methods
      * provided in the Control Methods region.
      */
 
     /**
-     * @return the clutch component containing only metadata and display
-     * methods.
+     * @return the shared clutch specification.
      */
     public @NotNull CarComponent getClutch() {
         return clutch;
     }
 
     /**
-     * @return the transmission component containing only metadata and display
-     * methods.
+     * @return the shared transmission specification.
      */
     public @NotNull CarComponent getGearbox() {
         return transmission;
     }
 
     /**
-     * @return the engine component containing only metadata and display
-     * methods.
+     * @return the shared engine specification.
      */
     public @NotNull CarComponent getEngine() {
         return engine;
@@ -243,140 +647,308 @@ public class Car extends Thread {
 
     // region ⮞ Calculations
 
-    public double calculateTotalWeight() {
-        double baseWeight = clutch.getWeight() + transmission.getWeight() + engine.getWeight();
+    /*
+     * The components are immutable, so these values are computed once by the
+     * constructor and only read here.
+     */
 
-        return baseWeight + WEIGHT_CONSTANT;
+    public double calculateTotalWeight() {
+        return totalWeight;
     }
 
     public double calculateTotalPrice() {
-        double basePrice = clutch.getPrice() + transmission.getPrice() + engine.getPrice();
-
-        return (basePrice + PRICE_CONSTANT) * PRICE_MULTIPLIER;
+        return totalPrice;
     }
 
     public double calculateTopSpeed() {
-        return calculateSpeed(engine.getMaxRpm(), transmission.getGearRatio(transmission.getGearCount()));
+        return topSpeed;
     }
     // endregion
 
     // region ⮞ Helper Methods
 
     /**
-     * @param rpm       must be non-negative
-     * @param gearRatio must be positive to avoid division by zero
-     *
-     * @return Calculated speed based on given RPM and gear ratio.
+     * Runs the action with this car's monitor held, recording how long the
+     * calling thread waited to enter it. Used by the control and tick methods
+     * in place of the {@code synchronized} modifier.
      */
-    private static double calculateSpeed(double rpm, double gearRatio) {
-        if (rpm < 0.0)
-            throw new IllegalArgumentException("RPM cannot be negative: %.2f".formatted(rpm));
-        if (gearRatio <= 0.0)
-            throw new IllegalArgumentException("Gear ratio must be positive: %.2f".formatted(gearRatio));
+    private void locked(@NotNull Runnable action) {
+        long requested = System.nanoTime();
+
+        synchronized (this) {
+            SimulatorMetrics.CAR_MONITOR_WAIT.record(System.nanoTime() - requested);
+            action.run();
+        }
+    }
 
-        return rpm / gearRatio * SPEED_MULTIPLIER;
+    private <T> T locked(@NotNull Supplier<T> action) {
+        long requested = System.nanoTime();
+
+        synchronized (this) {
+            SimulatorMetrics.CAR_MONITOR_WAIT.record(System.nanoTime() - requested);
+            return action.get();
+        }
     }
 
+    /*
+     * The helpers below read and write the slot's columns and do not need
+     * synchronized as long as they are called exclusively from other
+     * synchronized methods of this class.
+     */
+
     /**
-     * @implNote This helper does not need {@code synchronized} as long as it is
-     * called exclusively from other synchronized methods of this class.
+     * Appends a command to the fleet's journal, if it is being recorded.
+     * Called under this car's monitor, so that its commands are recorded in
+     * the order they are applied.
      */
+    private void record(@NotNull Opcode opcode, double first, double second, double third) {
+        var attachedFleet = fleet;
+        if (attachedFleet != null) attachedFleet.record(plateKey, opcode, first, second, third);
+    }
+
+    private void record(@NotNull Opcode opcode) {
+        record(opcode, 0.0, 0.0, 0.0);
+    }
+
+    private boolean isEngineRunning() {
+        return Engine.isRunning(page.rpm[index]);
+    }
+
+    /**
+     * @return {@code true} if the engine-wheels torque transfer isn't
+     * interrupted by either the transmission being in neutral state or a
+     * disengaged clutch.
+     */
+    private boolean isTorqueTransferred() {
+        return page.gear[index] != 0 && page.clutchEngaged[index];
+    }
+
     private boolean updateSpeed() {
-        if (!transmission.isTorqueTransferred()) return false;
+        if (!isTorqueTransferred()) return false;
 
-        speed = calculateSpeed(engine.getRpm(), transmission.getEffectiveRatio());
+        page.speed[index] = page.rpm[index] * transmission.getSpeedPerRpm(page.gear[index]);
 
         return true;
     }
+
+    /**
+     * Publishes the control state to readers and checkpoints, wakes the car,
+     * then notifies observers.
+     *
+     * @implNote Must be called from synchronized methods of this class once
+     * all columns have been updated.
+     */
+    private void publishChanges(CarObserver.ChangedProperty @NotNull ... properties) {
+        double speed = page.speed[index];
+        double rpm = page.rpm[index];
+        int gear = page.gear[index];
+        boolean clutchEngaged = page.clutchEngaged[index];
+
+        snapshot.updateAndGet(current -> current.withControls(speed, rpm, gear, clutchEngaged));
+        page.markDirty(index);
+
+        wake();
+        notifyAllObservers(properties);
+    }
+
+    /**
+     * Publishes the position and angle computed by the sweep and moves the
+     * car within its manager's spatial index.
+     */
+    void publishMotion(double positionX, double positionY, double angle, boolean colliding) {
+        snapshot.updateAndGet(current -> current.withMotion(positionX, positionY, angle, colliding));
+
+        var grid = spatialGrid;
+        if (grid != null) grid.update(this, positionX, positionY);
+    }
     // endregion
 
     // region ⮞ Control Methods
 
-    public synchronized void startEngine() throws TorqueTransferActiveException {
-        if (!engine.start(transmission.isTorqueTransferred())) return;
+    /*
+     * The try... methods report failures as a ControlResult instead of
+     * throwing, so that no exception is allocated on routine failures. The
+     * throwing methods wrap them for callers relying on CarException.
+     */
+
+    public @NotNull ControlResult tryStartEngine() {
+        return locked(() -> {
+            record(Opcode.START_ENGINE);
 
-        transmission.clearPreviousGear();
+            if (isEngineRunning()) return ControlResult.OK;
+            if (isTorqueTransferred()) return ControlResult.TORQUE_TRANSFER_ACTIVE;
+
+            page.rpm[index] = Engine.RPM_IDLE;
+            page.previousGear[index] = 0;
+
+            publishChanges(ENGINE_STATE, RPM);
+
+            return ControlResult.OK;
+        });
+    }
 
-        notifyAllObservers(ENGINE_STATE, RPM);
+    public void startEngine() throws TorqueTransferActiveException {
+        if (!tryStartEngine().isSuccess()) throw new TorqueTransferActiveException();
     }
 
-    public synchronized void stopEngine() {
-        if (!engine.stop()) return;
+    public void stopEngine() {
+        locked(() -> {
+            record(Opcode.STOP_ENGINE);
 
-        speed = 0.0;
+            if (!isEngineRunning()) return;
 
-        notifyAllObservers(ENGINE_STATE, RPM, SPEED);
+            page.rpm[index] = 0.0;
+            page.speed[index] = 0.0;
+
+            publishChanges(ENGINE_STATE, RPM, SPEED);
+        });
     }
 
-    public synchronized void pressClutch() {
-        if (!clutch.disengage()) return;
+    public void pressClutch() {
+        locked(() -> {
+            record(Opcode.PRESS_CLUTCH);
+
+            if (!page.clutchEngaged[index]) return;
 
-        transmission.updatePreviousGear();
+            page.clutchEngaged[index] = false;
+            page.previousGear[index] = page.gear[index];
 
-        notifyAllObservers(CLUTCH_STATE);
+            publishChanges(CLUTCH_STATE);
+        });
     }
 
-    public synchronized void releaseClutch() throws EngineStalledException {
-        if (!clutch.engage()) return;
+    public @NotNull ControlResult tryReleaseClutch() {
+        return locked(() -> {
+            record(Opcode.RELEASE_CLUTCH);
 
-        try {
-            if (engine.adjustRpmAfterGearChange(transmission.getGearShiftDelta(), transmission.getDropFactor())) {
-                if (updateSpeed()) {
-                    notifyAllObservers(CLUTCH_STATE, RPM, SPEED);
-                } else {
-                    notifyAllObservers(CLUTCH_STATE, RPM);
-                }
+            if (page.clutchEngaged[index]) return ControlResult.OK;
+
+            page.clutchEngaged[index] = true;
+
+            if (!isEngineRunning()) {
+                publishChanges(CLUTCH_STATE);
+                return ControlResult.OK;
+            }
+
+            page.rpm[index] = engine.adjustRpmAfterGearChange(
+                    page.rpm[index], transmission.getShiftRpmFactor(page.gear[index] - page.previousGear[index])
+            );
+
+            if (!isEngineRunning()) {
+                page.speed[index] = 0.0;
+
+                publishChanges(CLUTCH_STATE, ENGINE_STATE, RPM, SPEED);
+
+                return ControlResult.ENGINE_STALLED;
+            }
+
+            if (updateSpeed()) {
+                publishChanges(CLUTCH_STATE, RPM, SPEED);
             } else {
-                notifyAllObservers(CLUTCH_STATE);
+                publishChanges(CLUTCH_STATE, RPM);
             }
-        } catch (EngineStalledException e) {
-            speed = 0.0;
 
-            notifyAllObservers(CLUTCH_STATE, ENGINE_STATE, RPM, SPEED);
+            return ControlResult.OK;
+        });
+    }
 
-            throw e;
-        }
+    public void releaseClutch() throws EngineStalledException {
+        if (!tryReleaseClutch().isSuccess()) throw new EngineStalledException();
     }
 
-    public synchronized void shiftUp() throws ClutchEngagedException {
-        if (!transmission.shiftUp()) return;
+    public @NotNull ControlResult tryShiftUp() {
+        return locked(() -> {
+            record(Opcode.SHIFT_UP);
 
-        notifyAllObservers(GEAR);
+            if (page.gear[index] == transmission.getGearCount()) return ControlResult.OK;
+            if (page.clutchEngaged[index]) return ControlResult.CLUTCH_ENGAGED;
+
+            page.gear[index]++;
+
+            publishChanges(GEAR);
+
+            return ControlResult.OK;
+        });
+    }
+
+    public void shiftUp() throws ClutchEngagedException {
+        if (!tryShiftUp().isSuccess()) throw new ClutchEngagedException();
     }
 
-    public synchronized void shiftDown() throws ClutchEngagedException {
-        if (!transmission.shiftDown()) return;
+    public @NotNull ControlResult tryShiftDown() {
+        return locked(() -> {
+            record(Opcode.SHIFT_DOWN);
+
+            if (page.gear[index] == 0) return ControlResult.OK;
+            if (page.clutchEngaged[index]) return ControlResult.CLUTCH_ENGAGED;
+
+            page.gear[index]--;
 
-        notifyAllObservers(GEAR);
+            publishChanges(GEAR);
+
+            return ControlResult.OK;
+        });
     }
 
-    public synchronized void revUp(double intensity) {
-        if (!engine.increaseRpm(intensity)) return;
+    public void shiftDown() throws ClutchEngagedException {
+        if (!tryShiftDown().isSuccess()) throw new ClutchEngagedException();
+    }
 
-        if (updateSpeed()) {
-            notifyAllObservers(RPM, SPEED
-            );
-        } else {
-            notifyAllObservers(RPM);
-        }
+    /**
+     * @param intensity scaling factor from {@code 0.0} to {@code 1.0}
+     */
+    public void revUp(double intensity) {
+        locked(() -> {
+            Engine.checkIntensity(intensity);
+            record(Opcode.REV_UP, intensity, 0.0, 0.0);
+
+            if (!isEngineRunning() || intensity == 0.0) return;
+
+            page.rpm[index] = engine.increaseRpm(page.rpm[index], intensity);
+
+            if (updateSpeed()) {
+                publishChanges(RPM, SPEED);
+            } else {
+                publishChanges(RPM);
+            }
+        });
     }
 
-    public synchronized void revDown(double intensity) throws EngineStalledException {
-        try {
-            if (!engine.decreaseRpm(intensity)) return;
+    /**
+     * @param intensity scaling factor from {@code 0.0} to {@code 1.0}
+     */
+    public @NotNull ControlResult tryRevDown(double intensity) {
+        return locked(() -> {
+            Engine.checkIntensity(intensity);
+            record(Opcode.REV_DOWN, intensity, 0.0, 0.0);
+
+            if (!isEngineRunning() || intensity == 0.0) return ControlResult.OK;
+
+            page.rpm[index] = engine.decreaseRpm(page.rpm[index], intensity);
+
+            if (!isEngineRunning()) {
+                page.speed[index] = 0.0;
+
+                publishChanges(ENGINE_STATE, RPM, SPEED);
+
+                return ControlResult.ENGINE_STALLED;
+            }
 
             if (updateSpeed()) {
-                notifyAllObservers(RPM, SPEED);
+                publishChanges(RPM, SPEED);
             } else {
-                notifyAllObservers(RPM);
+                publishChanges(RPM);
             }
-        } catch (EngineStalledException e) {
-            speed = 0.0;
 
-            notifyAllObservers(ENGINE_STATE, RPM, SPEED);
+            return ControlResult.OK;
+        });
+    }
 
-            throw e;
-        }
+    /**
+     * @param intensity scaling factor from {@code 0.0} to {@code 1.0}
+     */
+    public void revDown(double intensity) throws EngineStalledException {
+        if (!tryRevDown(intensity).isSuccess()) throw new EngineStalledException();
     }
 
     /**
@@ -390,65 +962,181 @@ public class Car extends Thread {
      * @implNote Uses squared distance comparison to avoid the performance cost
      * of {@link Math#sqrt(double)}.
      */
-    public synchronized void updateDestination(double x, double y, double threshold) {
-        if (!engine.isRunning()) return;
+    public void updateDestination(double x, double y, double threshold) {
+        locked(() -> {
+            record(Opcode.UPDATE_DESTINATION, x, y, threshold);
+
+            if (!isEngineRunning()) return;
+
+            double dx = x - page.positionX[index];
+            double dy = y - page.positionY[index];
+
+            if (dx * dx + dy * dy > threshold * threshold) {
+                page.destinationX[index] = x;
+                page.destinationY[index] = y;
+                page.markDirty(index);
+
+                wake();
+            }
+        });
+    }
+
+    /**
+     * Stops the car where it is by moving its destination to its current
+     * position. Used by {@link SimulationScheduler.CollisionPolicy#STOP}.
+     */
+    public void holdPosition() {
+        locked(() -> {
+            record(Opcode.HOLD_POSITION);
+
+            page.destinationX[index] = page.positionX[index];
+            page.destinationY[index] = page.positionY[index];
+            page.markDirty(index);
+        });
+    }
+    // endregion
+
+    // region ⮞ Command Queue
+
+    /*
+     * Non-blocking control API. Each ...Async method appends a command to a
+     * lock-free multi-producer queue and returns immediately. The commands are
+     * applied in submission order by a single consumer at the start of the
+     * car's next tick: the scheduler's clock thread, or the car's own loop in
+     * VIRTUAL_THREADS mode. A car that is not registered applies them at once
+     * on the submitting thread.
+     */
 
-        if (position.squaredDistanceTo(x, y) > threshold * threshold)
-            destination.set(x, y);
+    @FunctionalInterface
+    private interface Command {
+        void apply() throws CarException;
     }
 
-    public synchronized void updateAngle() {
-        if (!engine.isRunning()) return;
+    private record QueuedCommand(@NotNull Command command, @NotNull CompletableFuture<Void> result) {}
+
+    private final @NotNull ConcurrentLinkedQueue<QueuedCommand> commands = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Set while the car waits for its commands to be applied, so that it is
+     * handed to the consumer only once per batch.
+     */
+    private final @NotNull AtomicBoolean commandsScheduled = new AtomicBoolean(false);
+
+    /**
+     * {@code true} while {@link #run()} is ticking this car.
+     */
+    private volatile boolean selfDriven = false;
+
+    private @NotNull CompletableFuture<Void> submit(@NotNull Command command) {
+        var result = new CompletableFuture<Void>();
+
+        commands.add(new QueuedCommand(command, result));
+
+        if (commandsScheduled.compareAndSet(false, true)) {
+            var attachedFleet = fleet;
 
-        double newAngle = position.angleTo(destination);
+            if (selfDriven) signalLoop();
+            else if (attachedFleet != null) attachedFleet.scheduleCommands(this);
+            else applyCommands();
+        }
+
+        return result;
+    }
 
-        // Filter out insignificant angle changes.
-        if (!Double.isNaN(newAngle) && Math.abs(angle - newAngle) > ANGLE_THRESHOLD) {
-            angle = newAngle;
+    /**
+     * Applies every queued command and completes its future, exceptionally
+     * with the {@link CarException} the command threw, if any.
+     */
+    void applyCommands() {
+        // Cleared before draining: a command queued meanwhile is either
+        // applied by this drain or schedules the car again.
+        commandsScheduled.set(false);
 
-            notifyAllObservers(ANGLE);
+        for (QueuedCommand queued; (queued = commands.poll()) != null; ) {
+            try {
+                queued.command().apply();
+                queued.result().complete(null);
+            } catch (CarException | RuntimeException e) {
+                queued.result().completeExceptionally(e);
+            }
         }
     }
 
-    public synchronized void driveToDestination() {
-        if (!position.moveTowards(destination, speed, THREAD_SLEEP, METERS_TO_PIXELS)) return;
+    public @NotNull CompletableFuture<Void> startEngineAsync() {
+        return submit(this::startEngine);
+    }
+
+    public @NotNull CompletableFuture<Void> stopEngineAsync() {
+        return submit(this::stopEngine);
+    }
+
+    public @NotNull CompletableFuture<Void> pressClutchAsync() {
+        return submit(this::pressClutch);
+    }
+
+    public @NotNull CompletableFuture<Void> releaseClutchAsync() {
+        return submit(this::releaseClutch);
+    }
+
+    public @NotNull CompletableFuture<Void> shiftUpAsync() {
+        return submit(this::shiftUp);
+    }
+
+    public @NotNull CompletableFuture<Void> shiftDownAsync() {
+        return submit(this::shiftDown);
+    }
+
+    public @NotNull CompletableFuture<Void> revUpAsync(double intensity) {
+        return submit(() -> revUp(intensity));
+    }
 
-        notifyAllObservers(POSITION);
+    public @NotNull CompletableFuture<Void> revDownAsync(double intensity) {
+        return submit(() -> revDown(intensity));
+    }
+
+    public @NotNull CompletableFuture<Void> updateDestinationAsync(double x, double y, double threshold) {
+        return submit(() -> updateDestination(x, y, threshold));
+    }
+
+    public @NotNull CompletableFuture<Void> holdPositionAsync() {
+        return submit(this::holdPosition);
     }
     // endregion
 
     // region ⮞ Display Methods
 
     public @NotNull String getTotalWeightDisplay() {
-        return UI_FORMAT_WEIGHT.formatted(calculateTotalWeight());
+        return UI_FORMAT_WEIGHT.format(calculateTotalWeight());
     }
 
     public @NotNull String getTotalPriceDisplay() {
-        return UI_FORMAT_PRICE.formatted(calculateTotalPrice());
+        return UI_FORMAT_PRICE.format(calculateTotalPrice());
     }
 
     public @NotNull String getTopSpeedDisplay() {
-        return UI_FORMAT_SPEED.formatted(calculateTopSpeed());
+        return UI_FORMAT_SPEED.format(calculateTopSpeed());
     }
 
-    public synchronized @NotNull String getSpeedDisplay() {
-        return UI_FORMAT_SPEED.formatted(speed);
+    public @NotNull String getSpeedDisplay() {
+        return UI_FORMAT_SPEED.format(snapshot().speed());
     }
 
-    public synchronized @NotNull String getClutchStateDisplay() {
-        return clutch.getClutchStateDisplay();
+    public @NotNull String getClutchStateDisplay() {
+        return Clutch.formatClutchState(snapshot().clutchEngaged());
     }
 
-    public synchronized @NotNull String getGearDisplay() {
-        return transmission.getGearDisplay();
+    public @NotNull String getGearDisplay() {
+        var current = snapshot();
+
+        return transmission.formatGear(current.gear(), current.clutchEngaged());
     }
 
-    public synchronized @NotNull String getEngineStateDisplay() {
-        return engine.getEngineStateDisplay();
+    public @NotNull String getEngineStateDisplay() {
+        return Engine.formatEngineState(snapshot().engineRunning());
     }
 
-    public synchronized @NotNull String getRpmDisplay() {
-        return engine.getRpmDisplay();
+    public @NotNull String getRpmDisplay() {
+        return Engine.formatRpm(snapshot().rpm());
     }
     // endregion
 }
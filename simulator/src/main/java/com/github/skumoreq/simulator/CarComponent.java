@@ -7,6 +7,10 @@ import org.jetbrains.annotations.NotNull;
  * <p>
  * Provides common attributes such as name, weight, and price. Provides
  * formatted string representations for usage in UI.
+ * <p>
+ * Components are immutable specifications: the catalog instances in
+ * {@link CarManager} are shared by every car built from them, while the state
+ * that changes during a simulation lives in the car's fleet slot.
  *
  * @see Car
  */
@@ -14,8 +18,8 @@ public abstract class CarComponent {
 
     // region ⮞ Constants
 
-    private static final String UI_FORMAT_WEIGHT = "%.1f kg";
-    private static final String UI_FORMAT_PRICE = "%.2f zł";
+    private static final FixedPointFormat UI_FORMAT_WEIGHT = new FixedPointFormat(1, " kg");
+    private static final FixedPointFormat UI_FORMAT_PRICE = new FixedPointFormat(2, " zł");
     // endregion
 
     // region ⮞ Instance Fields
@@ -52,11 +56,11 @@ public abstract class CarComponent {
     // region ⮞ Display Methods
 
     public @NotNull String getWeightDisplay() {
-        return UI_FORMAT_WEIGHT.formatted(weight);
+        return UI_FORMAT_WEIGHT.format(weight);
     }
 
     public @NotNull String getPriceDisplay() {
-        return UI_FORMAT_PRICE.formatted(price);
+        return UI_FORMAT_PRICE.format(price);
     }
     // endregion
 }
@@ -1,8 +1,5 @@
 package com.github.skumoreq.simulator;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ListChangeListener;
-import javafx.collections.ObservableList;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
@@ -10,8 +7,15 @@ import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /**
@@ -22,12 +26,46 @@ import java.util.function.Function;
  * <li><b>Static Data Provider:</b> Loads and exposes pre-defined car component
  * templates (engines, transmissions, clutches) from JSON resources.</li>
  * <li><b>Active Registry:</b> Maintains the collection of active car instances,
- * managing their lifecycle (starting threads) and cleanup (interruption/
- * observer removal) and tracks the currently selected car for synchronized UI
- * updates.</li>
+ * managing their lifecycle (scheduler registration or a virtual thread per car,
+ * see {@link ExecutionMode}) and cleanup (scheduler removal/interruption/
+ * observer removal) and tracks the currently selected car for
+ * synchronized UI updates.</li>
+ * <li><b>Spatial Index:</b> Keeps registered cars in a uniform grid that the
+ * simulation updates as they move, so proximity queries (radius, rectangle,
+ * nearest car) only touch the cars around the searched area.</li>
  * </ul>
+ * <p>
+ * The manager has no UI toolkit dependency: registry changes are published to
+ * {@link CarRegistryListener}s and observer notifications go through a
+ * pluggable {@link Executor}, so simulations can run headless.
+ * <p>
+ * Closing the manager stops the simulation threads of its cars and shuts down
+ * the scheduler if the manager created it.
  */
-public class CarManager {
+public class CarManager implements AutoCloseable {
+
+    // region ⮞ Execution Modes
+
+    /**
+     * Determines what drives the simulation of registered cars.
+     */
+    public enum ExecutionMode {
+        /**
+         * All cars are advanced by the shared {@link SimulationScheduler}.
+         */
+        SHARED_SCHEDULER,
+        /**
+         * Each car runs its own {@link Car#run()} loop on a virtual thread.
+         * Idle cars park without holding a carrier thread or a reserved
+         * platform stack.
+         * <p>
+         * The cars are not registered with the {@link SimulationScheduler},
+         * so its sweep, collision stage and fleet-wide recordings do not
+         * include them.
+         */
+        VIRTUAL_THREADS
+    }
+    // endregion
 
     // region ⮞ Static Data Initialization
 
@@ -108,81 +146,404 @@ public class CarManager {
     );
     // endregion
 
+    // region ⮞ Registry Listeners
+
+    private final @NotNull List<CarRegistryListener> registryListeners = new CopyOnWriteArrayList<>();
+
+    public void addRegistryListener(@NotNull CarRegistryListener listener) {
+        registryListeners.add(listener);
+    }
+
+    /**
+     * Adds the listener and copies the registered cars in one atomic step, so
+     * that every car is either in the returned copy or reported to the
+     * listener afterward, never both or neither.
+     *
+     * @return A copy of the cars registered before the listener was added.
+     */
+    public synchronized @NotNull @Unmodifiable List<Car> addRegistryListenerAndGetCars(
+            @NotNull CarRegistryListener listener
+    ) {
+        registryListeners.add(listener);
+
+        return getCars();
+    }
+
+    public void removeRegistryListener(@NotNull CarRegistryListener listener) {
+        registryListeners.remove(listener);
+    }
+    // endregion
+
     // region ⮞ Instance Fields
 
-    private final @NotNull ObservableList<Car> cars = FXCollections.observableArrayList();
-    private final @NotNull ObservableList<String> usedPlateNumbers = FXCollections.observableArrayList();
+    private final @NotNull ExecutionMode executionMode;
+    private final @NotNull SimulationScheduler scheduler;
+
+    /**
+     * Whether the scheduler was created by this manager, and is thus shut
+     * down with it.
+     */
+    private final boolean ownsScheduler;
+
+    /**
+     * Coalesces observer notifications of every registered car into one flush
+     * on the notification executor, e.g. {@code Platform::runLater} in a
+     * JavaFX application.
+     */
+    private final @NotNull ChangeBatcher changeBatcher;
+
+    /**
+     * Simulation threads of the registered cars, only populated in
+     * {@link ExecutionMode#VIRTUAL_THREADS} mode.
+     */
+    private final @NotNull Map<Car, Thread> carThreads = new ConcurrentHashMap<>();
+
+    /**
+     * Registered cars keyed by their {@link PlateKey}, so lookups and
+     * uniqueness checks take constant time, allocate nothing and are safe
+     * from any thread without locking. Only modified with this manager's
+     * monitor held.
+     */
+    private final @NotNull PlateKeyMap cars = new PlateKeyMap();
+
+    private final @NotNull SpatialGrid spatialGrid = new SpatialGrid();
 
     /**
      * Currently selected car instance. Using {@code volatile} ensures that any
      * thread always sees the most recent selection.
      */
     private volatile @Nullable Car selected = null;
+
+    private boolean closed = false;
     // endregion
 
     // region ⮞ Initialization
 
+    private CarManager(
+            @NotNull ExecutionMode executionMode,
+            @NotNull SimulationScheduler scheduler,
+            boolean ownsScheduler,
+            @NotNull Executor notificationExecutor
+    ) {
+        this.executionMode = executionMode;
+        this.scheduler = scheduler;
+        this.ownsScheduler = ownsScheduler;
+        changeBatcher = new ChangeBatcher(notificationExecutor);
+    }
+
+    /**
+     * Creates a manager driven by the given scheduler. The scheduler is not
+     * shut down when the manager is closed.
+     */
+    public CarManager(
+            @NotNull ExecutionMode executionMode,
+            @NotNull SimulationScheduler scheduler,
+            @NotNull Executor notificationExecutor
+    ) {
+        this(executionMode, scheduler, false, notificationExecutor);
+    }
+
+    /**
+     * Creates a manager with a scheduler of its own in the given clock mode,
+     * shut down when the manager is closed.
+     */
+    public CarManager(
+            @NotNull ExecutionMode executionMode,
+            @NotNull SimulationScheduler.ClockMode clockMode,
+            @NotNull Executor notificationExecutor
+    ) {
+        this(
+                executionMode,
+                new SimulationScheduler(SimulationScheduler.DEFAULT_PARALLELISM, clockMode),
+                true,
+                notificationExecutor
+        );
+    }
+
+    /**
+     * Creates a manager that notifies observers synchronously, suitable for
+     * headless simulations. The notifications of all cars share one batch,
+     * so they may be delivered by a thread that changed a different car.
+     */
+    public CarManager(@NotNull ExecutionMode executionMode) {
+        this(executionMode, SimulationScheduler.ClockMode.REAL_TIME, Runnable::run);
+    }
+
+    public CarManager(@NotNull Executor notificationExecutor) {
+        this(ExecutionMode.SHARED_SCHEDULER, SimulationScheduler.ClockMode.REAL_TIME, notificationExecutor);
+    }
+
     public CarManager() {
-        cars.addListener((ListChangeListener<Car>) change -> {
-            while (change.next()) {
-                if (change.wasAdded()) {
-                    for (var addedCar : change.getAddedSubList())
-                        usedPlateNumbers.add(addedCar.getPlateNumber());
-                } else if (change.wasRemoved()) {
-                    for (var removedCar : change.getRemoved()) {
-                        usedPlateNumbers.remove(removedCar.getPlateNumber());
-
-                        // CRITICAL: Stop the simulation thread and clear references
-                        // to prevent memory leaks and background processing of removed cars.
-                        removedCar.interrupt();
-                        removedCar.removeAllObservers();
-
-                        if (selected == removedCar) selected = null;
-                    }
-                }
-            }
-        });
+        this(ExecutionMode.SHARED_SCHEDULER);
     }
     // endregion
 
     // region ⮞ Getters
 
+    public @NotNull ExecutionMode executionMode() {
+        return executionMode;
+    }
+
+    public @NotNull SimulationScheduler scheduler() {
+        return scheduler;
+    }
+
     public @Nullable Car selected() {
         return selected;
     }
 
-    public @NotNull ObservableList<String> usedPlateNumbers() {
-        return usedPlateNumbers;
+    public int getCarCount() {
+        return cars.size();
+    }
+
+    /**
+     * @return A copy of the registered cars, in no particular order.
+     */
+    public @NotNull @Unmodifiable List<Car> getCars() {
+        return cars.values();
     }
 
-    public @NotNull List<String> getUsedPlateNumbers() {
-        return List.copyOf(usedPlateNumbers);
+    /**
+     * @return A copy of the {@link PlateKey}s in use, in no particular order.
+     * To check a single key, use {@link #isPlateKeyUsed(long)}.
+     */
+    public long @NotNull [] getUsedPlateKeys() {
+        return cars.keys();
     }
     // endregion
 
     // region ⮞ Query Methods
 
     public @Nullable Car findByPlateNumber(@NotNull String plateNumber) {
-        for (var car : cars)
-            if (car.getPlateNumber().equals(plateNumber)) return car;
-        return null;
+        long plateKey = PlateKey.tryEncode(plateNumber);
+
+        return plateKey == PlateKey.INVALID ? null : cars.get(plateKey);
+    }
+
+    public @Nullable Car findByPlateKey(long plateKey) {
+        return cars.get(plateKey);
+    }
+
+    public boolean isPlateNumberUsed(@NotNull String plateNumber) {
+        return findByPlateNumber(plateNumber) != null;
+    }
+
+    /**
+     * Takes constant time and reflects concurrent registrations.
+     */
+    public boolean isPlateKeyUsed(long plateKey) {
+        return cars.containsKey(plateKey);
+    }
+
+    /**
+     * @return Every registered car within {@code radius} pixels of the given
+     * point, in no particular order.
+     */
+    public @NotNull @Unmodifiable List<Car> findWithinRadius(double x, double y, double radius) {
+        return Collections.unmodifiableList(spatialGrid.findWithinRadius(x, y, radius));
+    }
+
+    /**
+     * @return Every registered car inside the given rectangle (e.g. the
+     * visible viewport), in no particular order.
+     */
+    public @NotNull @Unmodifiable List<Car> findWithinRectangle(double minX, double minY, double maxX, double maxY) {
+        return Collections.unmodifiableList(spatialGrid.findWithinRectangle(minX, minY, maxX, maxY));
+    }
+
+    /**
+     * @return The registered car closest to the given point, or {@code null}
+     * if no car is within {@code maxDistance} pixels.
+     */
+    public @Nullable Car findNearest(double x, double y, double maxDistance) {
+        return spatialGrid.findNearest(x, y, maxDistance);
     }
 
     public void select(@NotNull Car car) {
         selected = car;
     }
 
-    public void addEntry(@NotNull Car car) {
-        if (!usedPlateNumbers.contains(car.getPlateNumber())) {
-            cars.add(car);
+    /**
+     * Registers the car unless its plate number is already in use. The
+     * uniqueness check and the insertion are one atomic step.
+     */
+    public synchronized void addEntry(@NotNull Car car) {
+        if (!cars.putIfAbsent(car)) return;
+
+        startSimulating(car);
+
+        var added = List.of(car);
+        for (var listener : registryListeners) listener.onCarsAdded(added);
+    }
+
+    /**
+     * Registers all given cars, or none of them: the plate numbers are
+     * validated in a single pass before anything is registered. Listeners
+     * receive one batched event.
+     *
+     * @throws IllegalArgumentException if a plate number is already in use
+     *                                  or appears more than once in the batch
+     */
+    public synchronized void addEntries(@NotNull Collection<Car> newCars) {
+        var batch = new PlateKeyMap();
+
+        for (var car : newCars) {
+            if (cars.containsKey(car.getPlateKey()) || !batch.putIfAbsent(car))
+                throw new IllegalArgumentException("Plate number is already in use: %s".formatted(car.getPlateNumber()));
+        }
+
+        if (newCars.isEmpty()) return;
+
+        var added = List.copyOf(newCars);
+
+        for (var car : added) {
+            cars.putIfAbsent(car);
+            startSimulating(car);
+        }
+
+        for (var listener : registryListeners) listener.onCarsAdded(added);
+    }
+
+    public synchronized void removeEntry(@Nullable Car car) {
+        if (car == null || !cars.remove(car)) return;
+
+        stopSimulating(car);
+
+        var removed = List.of(car);
+        for (var listener : registryListeners) listener.onCarsRemoved(removed);
+    }
+
+    /**
+     * Removes every given car that is registered, ignoring the others.
+     * Listeners receive one batched event.
+     */
+    public synchronized void removeEntries(@NotNull Collection<Car> oldCars) {
+        var removed = new ArrayList<Car>(oldCars.size());
+
+        for (var car : oldCars) {
+            if (car == null || !cars.remove(car)) continue;
+
+            stopSimulating(car);
+            removed.add(car);
+        }
+
+        if (removed.isEmpty()) return;
+
+        var unmodifiableRemoved = Collections.unmodifiableList(removed);
+        for (var listener : registryListeners) listener.onCarsRemoved(unmodifiableRemoved);
+    }
+    // endregion
+
+    // region ⮞ Snapshots
+
+    /**
+     * Writes every registered car to a {@link FleetSnapshot} at the given
+     * path.
+     */
+    public void saveSnapshot(@NotNull Path path) throws IOException {
+        FleetSnapshot.write(path, getCars());
+    }
+
+    /**
+     * Registers every car stored in the {@link FleetSnapshot} at the given
+     * path, with one batched event; see {@link #addEntries(Collection)}.
+     *
+     * @return The restored cars.
+     * @throws IllegalArgumentException if a plate number of the snapshot is
+     *                                  already in use
+     */
+    public @NotNull @Unmodifiable List<Car> restoreSnapshot(@NotNull Path path) throws IOException {
+        var restored = FleetSnapshot.read(path);
+
+        addEntries(restored);
+
+        return restored;
+    }
+
+    /**
+     * Registers every car of the newest checkpoint written by a
+     * {@link FleetCheckpointer} into the given directory, with one batched
+     * event; see {@link #addEntries(Collection)}.
+     *
+     * @return The restored cars, none if the directory holds no checkpoint.
+     * @throws IllegalArgumentException if a plate number of the checkpoint is
+     *                                  already in use
+     */
+    public @NotNull @Unmodifiable List<Car> restoreCheckpoint(@NotNull Path directory) throws IOException {
+        var restored = FleetCheckpointer.recover(directory);
+
+        addEntries(restored);
+
+        return restored;
+    }
+    // endregion
+
+    // region ⮞ Helper Methods
 
-            // Start the simulation thread after successful registration.
-            car.start();
+    /**
+     * @implNote Must be called with this manager's monitor held, after the car
+     * has been put into the registry.
+     */
+    private void startSimulating(@NotNull Car car) {
+        car.setChangeBatcher(changeBatcher);
+
+        // Indexed before registration, so no published move is missed.
+        car.setSpatialGrid(spatialGrid);
+        spatialGrid.insert(car);
+
+        // Start simulating the car after successful registration. A car
+        // driven by its own thread is kept out of the scheduler's fleet,
+        // whose sweep would advance it a second time.
+        switch (executionMode) {
+            case SHARED_SCHEDULER -> {
+                scheduler.register(car);
+                scheduler.start();
+            }
+            case VIRTUAL_THREADS -> carThreads.put(
+                    car, Thread.ofVirtual().name("CarThread-" + car.getPlateNumber()).start(car)
+            );
         }
     }
 
-    public void removeEntry(@Nullable Car car) {
-        cars.remove(car);
+    /**
+     * @implNote Must be called with this manager's monitor held, after the car
+     * has been removed from the registry.
+     */
+    private void stopSimulating(@NotNull Car car) {
+        // CRITICAL: Stop simulating the car and clear references to prevent
+        // memory leaks and background processing of removed cars.
+        scheduler.unregister(car);
+
+        var carThread = carThreads.remove(car);
+        if (carThread != null) carThread.interrupt();
+
+        car.removeAllObservers();
+        car.setChangeBatcher(null);
+
+        car.setSpatialGrid(null);
+        spatialGrid.remove(car);
+
+        if (selected == car) selected = null;
+    }
+    // endregion
+
+    // region ⮞ Lifecycle
+
+    /**
+     * Stops the simulation threads of the registered cars and shuts down the
+     * scheduler if this manager created it. The cars stay registered, but are
+     * no longer simulated.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+
+        closed = true;
+
+        for (var carThread : carThreads.values()) carThread.interrupt();
+        carThreads.clear();
+
+        if (ownsScheduler) scheduler.shutdown();
     }
     // endregion
 }
@@ -13,7 +13,7 @@ import org.jetbrains.annotations.NotNull;
 public interface CarObserver {
 
     enum ChangedProperty {
-        CLUTCH_STATE, GEAR, ENGINE_STATE, RPM, POSITION, SPEED, ANGLE
+        CLUTCH_STATE, GEAR, ENGINE_STATE, RPM, POSITION, SPEED, ANGLE, COLLISION
     }
 
     /**
@@ -0,0 +1,30 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.List;
+
+/**
+ * Defines a contract for objects that need to be notified when cars are
+ * registered with or removed from a {@link CarManager}.
+ * <p>
+ * Callbacks are invoked synchronously on the thread that modified the
+ * registry. Adapters for UI toolkits are responsible for moving the update
+ * onto their own thread.
+ *
+ * @see CarManager
+ */
+public interface CarRegistryListener {
+
+    /**
+     * @param added the newly registered cars, in registration order
+     */
+    void onCarsAdded(@NotNull @Unmodifiable List<Car> added);
+
+    /**
+     * @param removed the cars that have just been removed; their simulation
+     *                has already been stopped
+     */
+    void onCarsRemoved(@NotNull @Unmodifiable List<Car> removed);
+}
@@ -0,0 +1,49 @@
+package com.github.skumoreq.simulator;
+
+/**
+ * Immutable, consistent view of a car's dynamic state.
+ * <p>
+ * A new snapshot is published after every tick that moved the car and after
+ * every control call that changed it, so all values always belong together
+ * (e.g. both coordinates come from the same tick). Reading a snapshot never
+ * blocks the simulation.
+ *
+ * @param positionX     the X coordinate in pixels
+ * @param positionY     the Y coordinate in pixels
+ * @param angle         the heading in degrees
+ * @param speed         the speed in km/h
+ * @param rpm           the engine RPM
+ * @param gear          the gear index, {@code 0} being neutral
+ * @param clutchEngaged {@code true} if the clutch transfers torque
+ * @param colliding     {@code true} if the car touches another car, as
+ *                      determined by the scheduler's collision stage
+ *
+ * @see Car#snapshot()
+ */
+public record CarSnapshot(
+        double positionX, double positionY, double angle,
+        double speed, double rpm, int gear, boolean clutchEngaged,
+        boolean colliding
+) {
+
+    /**
+     * @return {@code true} if the engine is running (RPM is at or above idle).
+     */
+    public boolean engineRunning() {
+        return rpm >= Engine.RPM_IDLE;
+    }
+
+    /**
+     * @return A copy with the columns written by the simulation sweep replaced.
+     */
+    CarSnapshot withMotion(double positionX, double positionY, double angle, boolean colliding) {
+        return new CarSnapshot(positionX, positionY, angle, speed, rpm, gear, clutchEngaged, colliding);
+    }
+
+    /**
+     * @return A copy with the columns written by the control methods replaced.
+     */
+    CarSnapshot withControls(double speed, double rpm, int gear, boolean clutchEngaged) {
+        return new CarSnapshot(positionX, positionY, angle, speed, rpm, gear, clutchEngaged, colliding);
+    }
+}
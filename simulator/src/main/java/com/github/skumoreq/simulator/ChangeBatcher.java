@@ -0,0 +1,98 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces observer notifications of many cars into a single flush.
+ * <p>
+ * Cars accumulate changed properties in a dirty bitmask and enqueue
+ * themselves here only when that mask goes from clean to dirty. At most one
+ * flush is pending on the {@link Executor} at a time; when it runs, every
+ * queued car delivers its merged changes once. With
+ * {@code Platform::runLater} as the executor this means at most one dispatch
+ * per car per frame, regardless of the tick rate or how many control calls
+ * happened in between.
+ * <p>
+ * The queue is shared by the manager's cars, so a flush may deliver another
+ * car's changes. Cars without a manager have no batcher and notify their
+ * observers directly.
+ *
+ * @see Car
+ * @see CarManager
+ */
+final class ChangeBatcher {
+
+    // region ⮞ Instance Fields
+
+    private final @NotNull Executor executor;
+
+    private final @NotNull Queue<Car> dirtyCars = new ConcurrentLinkedQueue<>();
+    private final @NotNull AtomicBoolean flushPending = new AtomicBoolean(false);
+
+    /**
+     * {@link System#nanoTime()} at which the pending flush was handed to the
+     * executor.
+     */
+    private volatile long flushRequested = 0L;
+
+    /**
+     * The thread handing the pending flush to the executor, while it does.
+     * A flush run by that thread in the meantime was not deferred.
+     */
+    private volatile @Nullable Thread schedulingThread = null;
+    // endregion
+
+    // region ⮞ Initialization
+
+    ChangeBatcher(@NotNull Executor executor) {
+        this.executor = executor;
+    }
+    // endregion
+
+    // region ⮞ Batching
+
+    /**
+     * Queues a car whose dirty mask has just become non-zero and schedules a
+     * flush unless one is already pending.
+     */
+    void enqueue(@NotNull Car car) {
+        dirtyCars.add(car);
+
+        if (flushPending.compareAndSet(false, true)) {
+            flushRequested = System.nanoTime();
+            schedulingThread = Thread.currentThread();
+
+            try {
+                executor.execute(this::flush);
+            } finally {
+                schedulingThread = null;
+            }
+        }
+    }
+
+    /**
+     * Delivers the pending changes of every queued car.
+     */
+    void flush() {
+        // Read before clearing, as the next flush overwrites it.
+        long requested = flushRequested;
+
+        // Cleared before draining: a car marked dirty during the flush either
+        // is picked up by this drain or schedules the next flush.
+        flushPending.set(false);
+
+        // Executors that run the flush synchronously, such as Runnable::run,
+        // have no dispatch delay to record.
+        if (schedulingThread != Thread.currentThread())
+            SimulatorMetrics.DISPATCH_DELAY.record(System.nanoTime() - requested);
+
+        for (Car car; (car = dirtyCars.poll()) != null; ) car.flushChanges();
+    }
+    // endregion
+}
@@ -3,15 +3,16 @@ package com.github.skumoreq.simulator;
 import org.jetbrains.annotations.NotNull;
 
 /**
- * Represents a clutch car component.
+ * Immutable specification of a clutch car component.
  * <p>
- * Manages the connection between the engine and the transmission, controlling
- * the torque transfer between them.
+ * The clutch connects the engine to the transmission, controlling the torque
+ * transfer between them. Whether it is engaged is per-car state kept by
+ * {@link Car}, so a single instance is shared by every car built with it.
  *
  * @see Transmission
  * @see Engine
  */
-public class Clutch extends CarComponent {
+public final class Clutch extends CarComponent {
 
     // region ⮞ Constants
 
@@ -19,66 +20,16 @@ public class Clutch extends CarComponent {
     private static final String UI_STATE_DISENGAGED = "Rozłączone";
     // endregion
 
-    // region ⮞ Instance Fields
-
-    private boolean engaged;
-    // endregion
-
     // region ⮞ Initialization
 
     public Clutch(@NotNull String name, double weight, double price) {
         super(name, weight, price);
-
-        engaged = true;
-    }
-
-    /**
-     * Creates a new Clutch based on an existing instance.
-     */
-    public Clutch(@NotNull Clutch clutch) {
-        this(clutch.name, clutch.weight, clutch.price);
-    }
-    // endregion
-
-    // region ⮞ Getters
-
-    /**
-     * @return {@code true} if the clutch allows the torque transfer from the
-     * engine to the transmission.
-     */
-    public boolean isEngaged() {
-        return engaged;
-    }
-    // endregion
-
-    // region ⮞ Control Methods
-
-    /**
-     * Connects the engine to the transmission.
-     */
-    public boolean engage() {
-        if (engaged) return false;
-
-        engaged = true;
-
-        return true;
-    }
-
-    /**
-     * Disconnects the engine from the transmission.
-     */
-    public boolean disengage() {
-        if (!engaged) return false;
-
-        engaged = false;
-
-        return true;
     }
     // endregion
 
     // region ⮞ Display Methods
 
-    public @NotNull String getClutchStateDisplay() {
+    static @NotNull String formatClutchState(boolean engaged) {
         return engaged ? UI_STATE_ENGAGED : UI_STATE_DISENGAGED;
     }
     // endregion
@@ -0,0 +1,233 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+import static com.github.skumoreq.simulator.CarObserver.ChangedProperty.COLLISION;
+
+/**
+ * Broad-phase collision stage of the simulation tick.
+ * <p>
+ * Every car is approximated by a bounding circle of {@link #getRadius()}
+ * pixels. Each tick the live slots are hashed into a uniform grid whose cells
+ * are one circle diameter wide, so two circles can only touch if their cells
+ * are neighbors. Each slot is then tested against the slots in its own and
+ * the eight surrounding cells, which makes the stage linear in the fleet size
+ * for any reasonable density, compared to the quadratic all-pairs test.
+ * <p>
+ * The resulting contact flags are written to the {@code colliding} column.
+ * Whenever a slot starts or stops touching another one,
+ * {@link CarObserver.ChangedProperty#COLLISION} is reported for it.
+ * <p>
+ * All buffers are reused between ticks, so a tick without fleet growth
+ * allocates nothing.
+ *
+ * @implNote Not thread-safe; only the ticking thread may use an instance,
+ * while holding the fleet's monitor.
+ *
+ * @see SimulationScheduler.CollisionPolicy
+ */
+final class CollisionDetector {
+
+    // region ⮞ Constants
+
+    /**
+     * Roughly half the width of a car icon.
+     */
+    static final double DEFAULT_RADIUS = 30.0;
+
+    private static final int COLLISION_CHANGED = 1 << COLLISION.ordinal();
+    private static final int NO_SLOT = -1;
+    // endregion
+
+    // region ⮞ Instance Fields
+
+    private final double radius;
+    private final double cellSize;
+
+    // Per-slot buffers, indexed by fleet slot.
+    private double @NotNull [] positionX = new double[0];
+    private double @NotNull [] positionY = new double[0];
+    private boolean @NotNull [] live = new boolean[0];
+    private boolean @NotNull [] touching = new boolean[0];
+    private int @NotNull [] nextInCell = new int[0];
+
+    // Open-addressing table mapping a cell key to the first slot in the cell.
+    private long @NotNull [] cellKeys = new long[0];
+    private int @NotNull [] cellHeads = new int[0];
+    private int cellMask = 0;
+    // endregion
+
+    // region ⮞ Initialization
+
+    CollisionDetector(double radius) {
+        if (!(radius > 0.0))
+            throw new IllegalArgumentException("Collision radius must be positive: %.2f".formatted(radius));
+
+        this.radius = radius;
+        cellSize = 2.0 * radius;
+    }
+
+    CollisionDetector() {
+        this(DEFAULT_RADIUS);
+    }
+    // endregion
+
+    // region ⮞ Getters
+
+    double getRadius() {
+        return radius;
+    }
+    // endregion
+
+    // region ⮞ Helper Methods
+
+    private void ensureCapacity(int slotCount) {
+        if (positionX.length < slotCount) {
+            int capacity = Math.max(slotCount, positionX.length * 2);
+
+            positionX = new double[capacity];
+            positionY = new double[capacity];
+            live = new boolean[capacity];
+            touching = new boolean[capacity];
+            nextInCell = new int[capacity];
+        }
+
+        // Keeps the table at most half full.
+        int tableSize = Integer.highestOneBit(Math.max(slotCount, 8) * 2 - 1) << 1;
+
+        if (cellKeys.length < tableSize) {
+            cellKeys = new long[tableSize];
+            cellHeads = new int[tableSize];
+            cellMask = tableSize - 1;
+        }
+
+        Arrays.fill(cellHeads, NO_SLOT);
+    }
+
+    private int cellCoordinate(double value) {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    private static long cellKey(int cellX, int cellY) {
+        return (long) cellX << 32 | cellY & 0xFFFF_FFFFL;
+    }
+
+    private static int hash(long key) {
+        long mixed = key * 0x9E37_79B9_7F4A_7C15L;
+        return (int) (mixed ^ mixed >>> 32);
+    }
+
+    /**
+     * @return The table position holding the given key, or the empty position
+     * where it would be inserted.
+     */
+    private int findCell(long key) {
+        int position = hash(key) & cellMask;
+
+        while (cellHeads[position] != NO_SLOT && cellKeys[position] != key)
+            position = position + 1 & cellMask;
+
+        return position;
+    }
+    // endregion
+
+    // region ⮞ Detection
+
+    /**
+     * Detects contacts between all live slots in {@code [0, slotCount)} and
+     * updates their {@code colliding} column.
+     *
+     * @param onContact invoked once for every slot that starts touching
+     *                  another one in this tick
+     *
+     * @return The number of touching pairs.
+     */
+    int detect(@NotNull FleetState fleet, int slotCount, @NotNull ContactHandler onContact) {
+        ensureCapacity(slotCount);
+
+        // Gather positions and hash every live slot into its cell.
+        for (int slot = 0; slot < slotCount; slot++) {
+            var page = fleet.page(slot);
+            int index = FleetState.indexInPage(slot);
+
+            live[slot] = page.handles[index] != null;
+            touching[slot] = false;
+
+            if (!live[slot]) continue;
+
+            double x = page.positionX[index];
+            double y = page.positionY[index];
+
+            positionX[slot] = x;
+            positionY[slot] = y;
+
+            long key = cellKey(cellCoordinate(x), cellCoordinate(y));
+            int position = findCell(key);
+
+            cellKeys[position] = key;
+            nextInCell[slot] = cellHeads[position];
+            cellHeads[position] = slot;
+        }
+
+        // Test each slot against the later slots of the neighboring cells, so
+        // every pair is tested exactly once.
+        double squaredDiameter = cellSize * cellSize;
+        int pairs = 0;
+
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!live[slot]) continue;
+
+            double x = positionX[slot];
+            double y = positionY[slot];
+            int cellX = cellCoordinate(x);
+            int cellY = cellCoordinate(y);
+
+            for (int offsetX = -1; offsetX <= 1; offsetX++) {
+                for (int offsetY = -1; offsetY <= 1; offsetY++) {
+                    int position = findCell(cellKey(cellX + offsetX, cellY + offsetY));
+
+                    for (int other = cellHeads[position]; other != NO_SLOT; other = nextInCell[other]) {
+                        if (other <= slot) continue;
+
+                        double dx = positionX[other] - x;
+                        double dy = positionY[other] - y;
+
+                        if (dx * dx + dy * dy >= squaredDiameter) continue;
+
+                        touching[slot] = true;
+                        touching[other] = true;
+                        pairs++;
+                    }
+                }
+            }
+        }
+
+        // Report the slots whose contact state changed.
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (!live[slot]) continue;
+
+            var page = fleet.page(slot);
+            int index = FleetState.indexInPage(slot);
+
+            if (page.colliding[index] == touching[slot]) continue;
+
+            page.colliding[index] = touching[slot];
+            page.changes[index] |= COLLISION_CHANGED;
+
+            if (touching[slot]) {
+                var handle = page.handles[index];
+                if (handle != null) onContact.onContact(handle);
+            }
+        }
+
+        return pairs;
+    }
+
+    @FunctionalInterface
+    interface ContactHandler {
+        void onContact(@NotNull Car car);
+    }
+    // endregion
+}
@@ -0,0 +1,396 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.LongSupplier;
+
+/**
+ * Append-only binary journal of every control command applied to the cars of
+ * a {@link SimulationScheduler}, written through a memory-mapped file.
+ * <p>
+ * Each record carries the number of ticks the scheduler had completed when the
+ * command was applied, so {@link JournalReplay} can re-drive a
+ * {@link SimulationScheduler.ClockMode#LOCKSTEP} scheduler to the same state,
+ * bit for bit. Registrations are recorded with the car's full state, so cars
+ * registered before the recording started are replayed too.
+ * <p>
+ * Commands queued through the {@code ...Async} methods and commands called
+ * between ticks of a lockstep scheduler are reproduced exactly. A direct call
+ * racing with the sweep of a real-time scheduler is replayed at the tick
+ * boundary before that sweep. Cars ticked by their own virtual thread are not
+ * recorded.
+ *
+ * <h2>Format</h2>
+ * A header ({@link #MAGIC}, {@link #VERSION}) is followed by records made of an
+ * opcode byte, the tick as a variable-length delta to the previous record, the
+ * {@link PlateKey} as a variable-length integer ({@code 0} for scheduler-wide
+ * records) and an opcode-specific payload. Doubles are stored raw, in little
+ * endian order. The file grows in {@link #REGION_SIZE} steps; unwritten bytes
+ * are zero, which reads as the end of the journal, so a journal that was not
+ * closed stays readable up to its last complete record.
+ *
+ * <h2>Thread Safety</h2>
+ * Appends are synchronized, so commands of different cars may be recorded
+ * from any thread. Commands of a single car are recorded under its monitor and
+ * therefore keep their order.
+ *
+ * @see SimulationScheduler#startRecording(CommandJournal)
+ * @see JournalReplay
+ */
+public final class CommandJournal implements AutoCloseable {
+
+    // region ⮞ Opcodes
+
+    /**
+     * Record types. The code of a constant is its ordinal; {@code 0} is
+     * reserved for the zero bytes following the last record.
+     */
+    enum Opcode {
+        NONE,
+        END,
+        REGISTER,
+        UNREGISTER,
+        COLLISION_POLICY,
+        PAUSE,
+        RESUME,
+        START_ENGINE,
+        STOP_ENGINE,
+        PRESS_CLUTCH,
+        RELEASE_CLUTCH,
+        SHIFT_UP,
+        SHIFT_DOWN,
+        REV_UP,
+        REV_DOWN,
+        UPDATE_DESTINATION,
+        HOLD_POSITION;
+
+        private static final @NotNull Opcode @NotNull [] VALUES = values();
+
+        static @NotNull Opcode of(int code) {
+            if (code < 0 || code >= VALUES.length)
+                throw new IllegalStateException("Unknown journal opcode: %d".formatted(code));
+
+            return VALUES[code];
+        }
+    }
+    // endregion
+
+    // region ⮞ Constants
+
+    static final int MAGIC = 0x4C4E_4A43; // "CJNL" in little endian
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Size of each mapped window, and thus the step in which the file grows.
+     */
+    static final int REGION_SIZE = 1 << 20;
+
+    static final int FLAG_PAUSED = 1;
+    static final int FLAG_IDLE = 1 << 1;
+    static final int FLAG_CLUTCH_ENGAGED = 1 << 2;
+    static final int FLAG_COLLIDING = 1 << 3;
+
+    private static final int INITIAL_SCRATCH_SIZE = 256;
+    // endregion
+
+    // region ⮞ Instance Fields
+
+    private final @NotNull FileChannel channel;
+
+    /**
+     * Window of the file currently written to, starting at
+     * {@link #regionStart}.
+     */
+    private @NotNull MappedByteBuffer region;
+    private long regionStart;
+
+    /**
+     * Each record is encoded here first, so that its size is known before the
+     * window is checked for room.
+     */
+    private @NotNull ByteBuffer scratch = ByteBuffer.allocate(INITIAL_SCRATCH_SIZE).order(BYTE_ORDER);
+
+    private long lastTick = 0L;
+    private long recordCount = 0L;
+
+    /**
+     * Set once the end of the recording has been marked. Commands racing
+     * with it are dropped, as the replay stops there.
+     */
+    private boolean ended = false;
+    private boolean closed = false;
+    // endregion
+
+    // region ⮞ Initialization
+
+    private CommandJournal(@NotNull FileChannel channel) throws IOException {
+        this.channel = channel;
+
+        regionStart = 0L;
+        region = map(0L, REGION_SIZE);
+
+        region.putInt(MAGIC);
+        region.putShort(VERSION);
+        region.putShort((short) 0);
+    }
+
+    /**
+     * Creates a journal at the given path, replacing any existing file.
+     */
+    public static @NotNull CommandJournal create(@NotNull Path path) throws IOException {
+        var channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE
+        );
+
+        try {
+            return new CommandJournal(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    // endregion
+
+    // region ⮞ Getters
+
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @return The number of bytes written so far, header included.
+     */
+    public synchronized long getSize() {
+        return regionStart + region.position();
+    }
+    // endregion
+
+    // region ⮞ Helper Methods
+
+    private @NotNull MappedByteBuffer map(long position, int size) throws IOException {
+        var mapped = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        mapped.order(BYTE_ORDER);
+
+        return mapped;
+    }
+
+    /**
+     * Starts a record in the scratch buffer.
+     */
+    private void begin(@NotNull LongSupplier tickSource, @NotNull Opcode opcode, long plateKey) {
+        if (closed) throw new IllegalStateException("Journal is closed");
+
+        // Read under this journal's monitor, so that ticks never decrease.
+        long tick = tickSource.getAsLong();
+
+        scratch.clear();
+        scratch.put((byte) opcode.ordinal());
+        putVarLong(scratch, tick - lastTick);
+        putVarLong(scratch, plateKey);
+
+        lastTick = tick;
+    }
+
+    /**
+     * Copies the record from the scratch buffer into the mapped file, moving
+     * the window forward when it has no room left.
+     */
+    private void commit() {
+        scratch.flip();
+
+        try {
+            if (region.remaining() < scratch.remaining()) {
+                long position = regionStart + region.position();
+
+                // Not forced: rolling over must not stall the ticking thread
+                // on the storage device. flush() and close() force the file.
+                region = map(position, Math.max(REGION_SIZE, scratch.remaining()));
+                regionStart = position;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to extend the journal", e);
+        }
+
+        region.put(scratch);
+        recordCount++;
+    }
+
+    private void ensureScratch(int extra) {
+        if (scratch.remaining() >= extra) return;
+
+        var grown = ByteBuffer.allocate(Math.max(scratch.capacity() * 2, scratch.position() + extra)).order(BYTE_ORDER);
+        scratch.flip();
+        grown.put(scratch);
+
+        scratch = grown;
+    }
+
+    static void putVarLong(@NotNull ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+
+        buffer.put((byte) value);
+    }
+
+    static long getVarLong(@NotNull ByteBuffer buffer) {
+        long value = 0L;
+
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte next = buffer.get();
+            value |= (long) (next & 0x7F) << shift;
+
+            if (next >= 0) return value;
+        }
+
+        throw new IllegalStateException("Malformed variable-length integer");
+    }
+    // endregion
+
+    // region ⮞ Recording
+
+    /**
+     * Records a command without arguments, or with up to three.
+     */
+    synchronized void append(
+            @NotNull LongSupplier tickSource, long plateKey, @NotNull Opcode opcode,
+            double first, double second, double third
+    ) {
+        if (ended) return;
+
+        begin(tickSource, opcode, plateKey);
+
+        switch (opcode) {
+            case REV_UP, REV_DOWN -> scratch.putDouble(first);
+            case UPDATE_DESTINATION -> scratch.putDouble(first).putDouble(second).putDouble(third);
+            default -> {}
+        }
+
+        commit();
+    }
+
+    synchronized void appendCollisionPolicy(
+            @NotNull LongSupplier tickSource, @NotNull SimulationScheduler.CollisionPolicy policy
+    ) {
+        if (ended) return;
+
+        begin(tickSource, Opcode.COLLISION_POLICY, 0L);
+        scratch.put((byte) policy.ordinal());
+        commit();
+    }
+
+    /**
+     * Records the registration of a car together with its whole state, as
+     * held by the given slot.
+     *
+     * @throws IllegalArgumentException if a component of the car is not part
+     *                                  of the {@link CarManager} catalog
+     */
+    synchronized void appendRegistration(
+            @NotNull LongSupplier tickSource, @NotNull Car car,
+            @NotNull FleetState.Page page, int index, boolean paused
+    ) {
+        if (ended) return;
+
+        int engineIndex = CarManager.ENGINES.indexOf(car.getEngine());
+        int transmissionIndex = CarManager.TRANSMISSIONS.indexOf(car.getGearbox());
+
+        if (engineIndex < 0 || transmissionIndex < 0)
+            throw new IllegalArgumentException(
+                    "Only cars built from catalog components can be journaled: %s".formatted(car.getPlateNumber())
+            );
+
+        var modelName = car.getModelName().getBytes(StandardCharsets.UTF_8);
+
+        begin(tickSource, Opcode.REGISTER, car.getPlateKey());
+        ensureScratch(modelName.length + 128);
+
+        putVarLong(scratch, engineIndex);
+        putVarLong(scratch, transmissionIndex);
+        putVarLong(scratch, modelName.length);
+        scratch.put(modelName);
+
+        int flags = (paused ? FLAG_PAUSED : 0)
+                | (page.idle[index] ? FLAG_IDLE : 0)
+                | (page.clutchEngaged[index] ? FLAG_CLUTCH_ENGAGED : 0)
+                | (page.colliding[index] ? FLAG_COLLIDING : 0);
+
+        scratch.put((byte) flags);
+        putVarLong(scratch, page.gear[index]);
+        putVarLong(scratch, page.previousGear[index]);
+
+        scratch.putDouble(page.positionX[index]).putDouble(page.positionY[index]);
+        scratch.putDouble(page.destinationX[index]).putDouble(page.destinationY[index]);
+        scratch.putDouble(page.speed[index]).putDouble(page.angle[index]).putDouble(page.rpm[index]);
+
+        commit();
+    }
+
+    /**
+     * Marks the end of the recording. Ticks completed up to this point are
+     * replayed after the last command.
+     */
+    synchronized void appendEnd(@NotNull LongSupplier tickSource) {
+        if (ended) return;
+
+        begin(tickSource, Opcode.END, 0L);
+        commit();
+
+        ended = true;
+    }
+
+    /**
+     * Writes any modified part of the mapped file to the storage device.
+     *
+     * @throws IOException if the file cannot be forced
+     */
+    public synchronized void flush() throws IOException {
+        if (closed) return;
+
+        force();
+    }
+
+    /**
+     * Forces the current window, then the file, which also covers the
+     * windows left behind by earlier rollovers.
+     */
+    private void force() throws IOException {
+        region.force();
+        channel.force(false);
+    }
+
+    /**
+     * Trims the file to the written records and closes it. Recording into a
+     * closed journal throws an {@link IllegalStateException}, so stop the
+     * recording first.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+
+        closed = true;
+
+        try {
+            force();
+            channel.truncate(regionStart + region.position());
+        } finally {
+            channel.close();
+        }
+    }
+    // endregion
+}
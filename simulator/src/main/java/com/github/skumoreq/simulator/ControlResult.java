@@ -0,0 +1,45 @@
+package com.github.skumoreq.simulator;
+
+/**
+ * Outcome of a non-throwing control method of {@link Car}.
+ * <p>
+ * Each failure mirrors one of the checked exceptions thrown by the regular
+ * control methods, without allocating it. Intended for scripted drivers and
+ * load tests that hit these outcomes routinely.
+ *
+ * @see Car#tryStartEngine()
+ * @see Car#tryReleaseClutch()
+ * @see Car#tryShiftUp()
+ * @see Car#tryShiftDown()
+ * @see Car#tryRevDown(double)
+ */
+public enum ControlResult {
+
+    /**
+     * The command was applied, or had nothing to do.
+     */
+    OK,
+
+    /**
+     * The engine stalled (see
+     * {@link com.github.skumoreq.simulator.exception.EngineStalledException}).
+     * The state change that stalled it is still applied.
+     */
+    ENGINE_STALLED,
+
+    /**
+     * The gear could not be shifted (see
+     * {@link com.github.skumoreq.simulator.exception.ClutchEngagedException}).
+     */
+    CLUTCH_ENGAGED,
+
+    /**
+     * The engine could not be started (see
+     * {@link com.github.skumoreq.simulator.exception.TorqueTransferActiveException}).
+     */
+    TORQUE_TRANSFER_ACTIVE;
+
+    public boolean isSuccess() {
+        return this == OK;
+    }
+}
@@ -1,34 +1,33 @@
 package com.github.skumoreq.simulator;
 
-import com.github.skumoreq.simulator.exception.EngineStalledException;
-import com.github.skumoreq.simulator.exception.TorqueTransferActiveException;
 import org.jetbrains.annotations.NotNull;
 
 /**
- * Represents an engine car component.
+ * Immutable specification of an engine car component.
  * <p>
- * Responsible for managing the rotational speed (RPM), simulating engine
- * ignition states, and handling RPM adjustments during gear transitions.
+ * Defines the rotational speed (RPM) limits and how the RPM reacts to
+ * throttle input and gear transitions. The current RPM is per-car state kept
+ * by {@link Car}; the methods of this class only compute new values from it,
+ * so a single instance is shared by every car built with it.
  *
  * @see Clutch
  * @see Transmission
  */
-public class Engine extends CarComponent {
+public final class Engine extends CarComponent {
 
     // region ⮞ Constants
 
     private static final String UI_STATE_ON = "Włączony";
     private static final String UI_STATE_OFF = "Wyłączony";
-    private static final String UI_FORMAT_RPM = "%.0f obr./min";
+    private static final FixedPointFormat UI_FORMAT_RPM = new FixedPointFormat(0, " obr./min");
 
-    private static final double RPM_IDLE = 800.0;
+    static final double RPM_IDLE = 800.0;
     private static final double RPM_STEP = 100.0;
     // endregion
 
     // region ⮞ Instance Fields
 
     private final double maxRpm;
-    private double rpm;
     // endregion
 
     // region ⮞ Initialization
@@ -36,27 +35,11 @@ public class Engine extends CarComponent {
     public Engine(@NotNull String name, double weight, double price, double maxRpm) {
         super(name, weight, price);
         this.maxRpm = maxRpm;
-
-        rpm = 0.0;
-    }
-
-    /**
-     * Creates a new Engine based on an existing instance.
-     */
-    public Engine(@NotNull Engine engine) {
-        this(engine.name, engine.weight, engine.price, engine.maxRpm);
     }
     // endregion
 
     // region ⮞ Getters
 
-    /**
-     * @return {@code true} if the engine is running (RPM is at or above idle).
-     */
-    public boolean isRunning() {
-        return rpm >= RPM_IDLE;
-    }
-
     /**
      * @return The maximum allowable RPM for this engine.
      */
@@ -65,51 +48,41 @@ public class Engine extends CarComponent {
     }
 
     /**
-     * @return The current RPM.
+     * @return {@code true} if an engine at the given RPM is running (RPM is
+     * at or above idle).
      */
-    public double getRpm() {
-        return rpm;
+    static boolean isRunning(double rpm) {
+        return rpm >= RPM_IDLE;
     }
     // endregion
 
     // region ⮞ Helper Methods
 
     /**
-     * Verifies if the current RPM is sufficient to keep the engine running.
-     * If RPM falls below the idle threshold, the engine is forced to stop.
+     * @throws IllegalArgumentException if the intensity is negative
      */
-    private void checkEngineStall() throws EngineStalledException {
-        if (rpm < RPM_IDLE) {
-            rpm = 0.0;
-            throw new EngineStalledException();
-        }
+    static void checkIntensity(double intensity) {
+        if (intensity < 0.0)
+            throw new IllegalArgumentException("Intensity cannot be negative: %.2f".formatted(intensity));
     }
-    // endregion
-
-    // region ⮞ Control Methods
 
     /**
-     * Simulates engine ignition by setting the RPM to the idle value.
+     * Forces the engine to stop if the RPM is not sufficient to keep it
+     * running.
+     *
+     * @return The given RPM, or {@code 0.0} if it is below the idle threshold.
      */
-    public boolean start(boolean torqueTransferActive) throws TorqueTransferActiveException {
-        if (isRunning()) return false;
-        if (torqueTransferActive) throw new TorqueTransferActiveException();
-
-        rpm = RPM_IDLE;
-
-        return true;
+    private static double stallBelowIdle(double rpm) {
+        return isRunning(rpm) ? rpm : 0.0;
     }
+    // endregion
 
-    /**
-     * Cuts the engine power, setting the RPM to {@code 0.0}.
-     */
-    public boolean stop() {
-        if (!isRunning()) return false;
-
-        rpm = 0.0;
+    // region ⮞ RPM Calculations
 
-        return true;
-    }
+    /*
+     * Each method expects the RPM of a running engine and returns the new
+     * RPM. A result of 0.0 means the engine has stalled.
+     */
 
     /**
      * Increases the RPM by a scaled step, not surpassing the allowable maximum
@@ -117,16 +90,8 @@ public class Engine extends CarComponent {
      *
      * @param intensity scaling factor from {@code 0.0} to {@code 1.0}
      */
-    public boolean increaseRpm(double intensity) {
-        if (intensity < 0.0)
-            throw new IllegalArgumentException("Intensity cannot be negative: %.2f".formatted(intensity));
-
-        if (!isRunning() || intensity == 0.0) return false;
-
-        rpm += RPM_STEP * Math.min(intensity, 1.0);
-        rpm = Math.min(rpm, maxRpm);
-
-        return true;
+    double increaseRpm(double rpm, double intensity) {
+        return Math.min(rpm + RPM_STEP * Math.min(intensity, 1.0), maxRpm);
     }
 
     /**
@@ -135,16 +100,8 @@ public class Engine extends CarComponent {
      *
      * @param intensity scaling factor from {@code 0.0} to {@code 1.0}
      */
-    public boolean decreaseRpm(double intensity) throws EngineStalledException {
-        if (intensity < 0.0)
-            throw new IllegalArgumentException("Intensity cannot be negative: %.2f".formatted(intensity));
-
-        if (!isRunning() || intensity == 0.0) return false;
-
-        rpm -= RPM_STEP * Math.min(intensity, 1.0);
-        checkEngineStall();
-
-        return true;
+    double decreaseRpm(double rpm, double intensity) {
+        return stallBelowIdle(rpm - RPM_STEP * Math.min(intensity, 1.0));
     }
 
     /**
@@ -156,32 +113,26 @@ public class Engine extends CarComponent {
      * Does not surpass the allowable maximum for this engine. Can result in
      * engine stall if RPM falls below the idle threshold.
      *
-     * @param gearShiftDelta the difference between the current and previous
-     *                       gear index
+     * @param shiftRpmFactor the RPM factor of the gear shift, see
+     *                       {@link Transmission#getShiftRpmFactor(int)}
      */
-    public boolean adjustRpmAfterGearChange(int gearShiftDelta, double dropFactor) throws EngineStalledException {
-        if (!isRunning()) return false;
-
-        rpm *= Math.pow(dropFactor, gearShiftDelta);
-        rpm = Math.min(rpm, maxRpm);
-        checkEngineStall();
-
-        return true;
+    double adjustRpmAfterGearChange(double rpm, double shiftRpmFactor) {
+        return stallBelowIdle(Math.min(rpm * shiftRpmFactor, maxRpm));
     }
     // endregion
 
     // region ⮞ Display Methods
 
-    public @NotNull String getEngineStateDisplay() {
-        return isRunning() ? UI_STATE_ON : UI_STATE_OFF;
+    static @NotNull String formatEngineState(boolean running) {
+        return running ? UI_STATE_ON : UI_STATE_OFF;
     }
 
-    public @NotNull String getMaxRpmDisplay() {
-        return UI_FORMAT_RPM.formatted(maxRpm);
+    static @NotNull String formatRpm(double rpm) {
+        return UI_FORMAT_RPM.format(rpm);
     }
 
-    public @NotNull String getRpmDisplay() {
-        return UI_FORMAT_RPM.formatted(rpm);
+    public @NotNull String getMaxRpmDisplay() {
+        return UI_FORMAT_RPM.format(maxRpm);
     }
     // endregion
 }
@@ -0,0 +1,187 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Fast replacement for {@code "%.Nf<suffix>".formatted(value)} with a fixed
+ * number of decimals, used for live telemetry fields.
+ * <p>
+ * The value is rounded once to a scaled {@code long}, which is rendered
+ * digit by digit with the decimal separator and zero digit of the locale. Like
+ * the formatter, it always uses an ASCII hyphen-minus as the sign, even for
+ * locales whose minus sign differs (e.g. U+2212 in Swedish or Finnish). No
+ * format string is parsed. Recently rendered strings are kept in a small
+ * direct-mapped cache keyed by the rounded value, so a steady stream of
+ * similar values (e.g. a speed display refreshed every tick) allocates almost
+ * nothing.
+ * <p>
+ * The output is identical to {@link String#format(Locale, String, Object...)}.
+ * Values the fast path cannot render the same way (non-finite, huge, or
+ * within rounding error of a tie) are delegated to it.
+ *
+ * <h2>Thread Safety</h2>
+ * Instances may be shared between threads. Cache entries are immutable and
+ * replaced as a whole, so a racing reader sees either a complete entry or
+ * misses.
+ */
+public final class FixedPointFormat {
+
+    // region ⮞ Constants
+
+    public static final int MAX_DECIMALS = 3;
+
+    private static final int CACHE_BITS = 6;
+    private static final int CACHE_SIZE = 1 << CACHE_BITS;
+
+    private static final long @NotNull [] POWERS_OF_TEN = {1L, 10L, 100L, 1000L};
+
+    /**
+     * Scaled magnitudes at or above this limit fall back to the formatter, as
+     * doubles there no longer hold every integer exactly.
+     */
+    private static final double MAX_SCALED = 1.0e15;
+
+    /**
+     * Scaled values whose fraction is this close to one half are treated as
+     * ties. The formatter rounds the shortest decimal representation, which
+     * may differ from the binary product in the last bit.
+     */
+    private static final double TIE_TOLERANCE = 1.0e-6;
+    // endregion
+
+    // region ⮞ Instance Fields
+
+    private record Entry(long rounded, @NotNull String text) {}
+
+    private final int decimals;
+    private final @NotNull String suffix;
+    private final @NotNull Locale locale;
+    private final @NotNull String fallbackPattern;
+
+    private final char decimalSeparator;
+    private final char zeroDigit;
+
+    private final @Nullable Entry @NotNull [] cache = new Entry[CACHE_SIZE];
+    // endregion
+
+    // region ⮞ Initialization
+
+    /**
+     * @param decimals the number of digits after the decimal separator, from
+     *                 {@code 0} to {@link #MAX_DECIMALS}
+     * @param suffix   appended verbatim after the number, e.g. {@code " kg"}
+     */
+    public FixedPointFormat(int decimals, @NotNull String suffix, @NotNull Locale locale) {
+        if (decimals < 0 || decimals > MAX_DECIMALS)
+            throw new IllegalArgumentException(
+                    "Invalid decimals: %d (available range: 0 to %d)".formatted(decimals, MAX_DECIMALS)
+            );
+
+        this.decimals = decimals;
+        this.suffix = suffix;
+        this.locale = locale;
+
+        fallbackPattern = "%." + decimals + "f" + suffix.replace("%", "%%");
+
+        var symbols = DecimalFormatSymbols.getInstance(locale);
+
+        decimalSeparator = symbols.getDecimalSeparator();
+        zeroDigit = symbols.getZeroDigit();
+    }
+
+    /**
+     * Uses the default locale for formatting, like {@link String#formatted}.
+     */
+    public FixedPointFormat(int decimals, @NotNull String suffix) {
+        this(decimals, suffix, Locale.getDefault(Locale.Category.FORMAT));
+    }
+    // endregion
+
+    // region ⮞ Helper Methods
+
+    private static int cacheSlot(long rounded) {
+        return (int) ((rounded ^ rounded >>> 32) * 0x9E37_79B9_7F4A_7C15L >>> 64 - CACHE_BITS);
+    }
+
+    private @NotNull String fallback(double value) {
+        return String.format(locale, fallbackPattern, value);
+    }
+
+    private static int digitCount(long value) {
+        int count = 1;
+
+        for (; value >= 10; value /= 10) count++;
+
+        return count;
+    }
+
+    /**
+     * Renders the magnitude, scaled by {@code 10^decimals}, into a single
+     * right-sized character array.
+     */
+    private @NotNull String render(long magnitude, boolean negative) {
+        long integerPart = magnitude / POWERS_OF_TEN[decimals];
+        long fraction = magnitude % POWERS_OF_TEN[decimals];
+        int integerLength = digitCount(integerPart);
+
+        var chars = new char[
+                (negative ? 1 : 0) + integerLength + (decimals > 0 ? decimals + 1 : 0) + suffix.length()
+        ];
+        int position = 0;
+
+        if (negative) chars[position++] = '-';
+
+        for (int i = integerLength - 1; i >= 0; i--, integerPart /= 10)
+            chars[position + i] = (char) (zeroDigit + integerPart % 10);
+
+        position += integerLength;
+
+        if (decimals > 0) {
+            chars[position++] = decimalSeparator;
+
+            for (int i = decimals - 1; i >= 0; i--, fraction /= 10)
+                chars[position + i] = (char) (zeroDigit + fraction % 10);
+
+            position += decimals;
+        }
+
+        suffix.getChars(0, suffix.length(), chars, position);
+
+        return new String(chars);
+    }
+    // endregion
+
+    // region ⮞ Formatting
+
+    public @NotNull String format(double value) {
+        double scaled = Math.abs(value) * POWERS_OF_TEN[decimals];
+
+        // Also rejects NaN and infinities.
+        if (!(scaled < MAX_SCALED)) return fallback(value);
+
+        double fraction = scaled - Math.floor(scaled);
+        if (Math.abs(fraction - 0.5) < TIE_TOLERANCE) return fallback(value);
+
+        long magnitude = Math.round(scaled);
+
+        // Like the formatter, keeps the sign of negative values rounded to
+        // zero, so the key is the one's complement for negative values.
+        boolean negative = Double.doubleToRawLongBits(value) < 0;
+        long rounded = negative ? ~magnitude : magnitude;
+
+        int slot = cacheSlot(rounded);
+        var entry = cache[slot];
+
+        if (entry != null && entry.rounded() == rounded) return entry.text();
+
+        var text = render(magnitude, negative);
+        cache[slot] = new Entry(rounded, text);
+
+        return text;
+    }
+    // endregion
+}
@@ -0,0 +1,558 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static com.github.skumoreq.simulator.FleetState.PAGE_MASK;
+import static com.github.skumoreq.simulator.FleetState.PAGE_SHIFT;
+import static com.github.skumoreq.simulator.FleetState.PAGE_SIZE;
+
+/**
+ * Writes incremental checkpoints of a scheduler's fleet in the background, so
+ * that a crashed simulation can be restarted from a recent state with
+ * {@link #recover(Path)}.
+ * <p>
+ * At every checkpoint, the slots changed since the previous one are copied
+ * out of the {@link FleetState} under its monitor. This is the only work that
+ * holds off the ticks, and it is proportional to the number of changed cars
+ * rather than to the size of the fleet. The copies are then written to a
+ * delta file and forced to disk on the checkpoint thread.
+ * <p>
+ * The checkpoint thread keeps a shadow copy of the whole fleet, built from
+ * those copies. Every {@code imageInterval} checkpoints it writes the shadow
+ * as a compacted full image instead of a delta and deletes the files the
+ * image supersedes, so recovery never applies more than that many deltas.
+ *
+ * <h2>Files</h2>
+ * Checkpoints are numbered with a sequence that keeps increasing across
+ * restarts: {@code fleet-<sequence>.image} holds a full image and
+ * {@code fleet-<sequence>.delta} a delta, both in the {@link FleetSnapshot}
+ * format. Each file is moved into place once complete, so a crash never
+ * leaves a partial checkpoint behind.
+ *
+ * <h2>Consistency</h2>
+ * Slots are copied between ticks, so cars swept by the scheduler are captured
+ * at a tick boundary. A car changed by a direct control call, or ticked by its
+ * own virtual thread, while the slots are copied may be captured halfway
+ * through the change. It marks its slot changed once done, so the next
+ * checkpoint holds the finished state.
+ *
+ * @see CarManager#restoreCheckpoint(Path)
+ */
+public final class FleetCheckpointer implements AutoCloseable {
+
+    // region ⮞ Constants
+
+    public static final long DEFAULT_INTERVAL = 2_000L;
+    public static final int DEFAULT_IMAGE_INTERVAL = 30;
+
+    private static final Pattern FILE_NAME = Pattern.compile("fleet-(\\d{19})\\.(image|delta)");
+    // endregion
+
+    // region ⮞ Instance Fields
+
+    private final @NotNull Path directory;
+    private final @NotNull FleetState fleet;
+
+    private final long interval;
+    private final int imageInterval;
+
+    private final @NotNull ScheduledExecutorService executor;
+
+    private boolean started = false;
+    private boolean closed = false;
+
+    /**
+     * Sequence of the last checkpoint written.
+     */
+    private long sequence;
+
+    private int deltasSinceImage = 0;
+
+    /**
+     * Set when the next checkpoint must be a full image: initially, and after
+     * a failed delta, whose changes are no longer marked in the fleet.
+     */
+    private boolean imageDue = true;
+
+    // Shadow copy of the fleet as of the last checkpoint, indexed by slot.
+    private final @NotNull List<FleetState.Page> shadow = new ArrayList<>();
+    private final @NotNull BitSet shadowPaused = new BitSet();
+
+    // Slots copied by the last capture, in slot order.
+    private final @NotNull List<FleetState.Page> staged = new ArrayList<>();
+    private final @NotNull BitSet stagedPaused = new BitSet();
+    private int @NotNull [] stagedSlots = new int[64];
+    private int stagedCount = 0;
+
+    private volatile long lastCaptureNanos = 0L;
+    private volatile int lastChangedCount = 0;
+    // endregion
+
+    // region ⮞ Initialization
+
+    /**
+     * Prepares checkpointing of the given scheduler's fleet into the given
+     * directory, created if needed. Checkpoints are only written periodically
+     * once {@link #start()} is called.
+     *
+     * @param interval      the delay between checkpoints, in milliseconds
+     * @param imageInterval the number of checkpoints per full image
+     * @throws IllegalStateException if the fleet is already being checkpointed
+     */
+    public FleetCheckpointer(
+            @NotNull Path directory,
+            @NotNull SimulationScheduler scheduler,
+            long interval,
+            int imageInterval
+    ) throws IOException {
+        if (interval <= 0L)
+            throw new IllegalArgumentException("Checkpoint interval must be positive: %d".formatted(interval));
+        if (imageInterval <= 0)
+            throw new IllegalArgumentException("Image interval must be positive: %d".formatted(imageInterval));
+
+        this.directory = directory;
+        this.interval = interval;
+        this.imageInterval = imageInterval;
+
+        Files.createDirectories(directory);
+
+        var images = new TreeMap<Long, Path>();
+        var deltas = new TreeMap<Long, Path>();
+        listCheckpoints(directory, images, deltas);
+
+        // Continues the sequence, so files left by a previous run are only
+        // deleted once superseded by a newer image.
+        sequence = Math.max(
+                images.isEmpty() ? 0L : images.lastKey(),
+                deltas.isEmpty() ? 0L : deltas.lastKey()
+        );
+
+        fleet = scheduler.fleet();
+        fleet.startDirtyTracking();
+
+        executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("FleetCheckpointer").daemon().factory()
+        );
+    }
+
+    public FleetCheckpointer(@NotNull Path directory, @NotNull SimulationScheduler scheduler) throws IOException {
+        this(directory, scheduler, DEFAULT_INTERVAL, DEFAULT_IMAGE_INTERVAL);
+    }
+    // endregion
+
+    // region ⮞ Getters
+
+    /**
+     * @return The sequence of the last checkpoint written.
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return How long the last checkpoint held off the ticks while copying
+     * the changed slots, in nanoseconds.
+     */
+    public long getLastCaptureNanos() {
+        return lastCaptureNanos;
+    }
+
+    /**
+     * @return The number of slots copied by the last checkpoint.
+     */
+    public int getLastChangedCount() {
+        return lastChangedCount;
+    }
+    // endregion
+
+    // region ⮞ Helper Methods
+
+    private static @NotNull String fileName(long sequence, @NotNull String kind) {
+        return "fleet-%019d.%s".formatted(sequence, kind);
+    }
+
+    /**
+     * Sorts the checkpoint files of the given directory by sequence.
+     */
+    private static void listCheckpoints(
+            @NotNull Path directory,
+            @NotNull NavigableMap<Long, Path> images,
+            @NotNull NavigableMap<Long, Path> deltas
+    ) throws IOException {
+        try (var entries = Files.newDirectoryStream(directory)) {
+            for (var entry : entries) {
+                var matcher = FILE_NAME.matcher(entry.getFileName().toString());
+                if (!matcher.matches()) continue;
+
+                long fileSequence = Long.parseLong(matcher.group(1));
+
+                if (matcher.group(2).equals("image")) images.put(fileSequence, entry);
+                else deltas.put(fileSequence, entry);
+            }
+        }
+    }
+
+    private static @NotNull FleetSnapshot.Contents readCheckpoint(
+            @NotNull Path path, long expectedSequence, int expectedKind
+    ) throws IOException {
+        var contents = FleetSnapshot.readContents(path);
+
+        if (contents.sequence() != expectedSequence || contents.kind() != expectedKind)
+            throw new IOException("Corrupt fleet checkpoint: %s (sequence: %d)".formatted(path, contents.sequence()));
+
+        return contents;
+    }
+
+    private static @NotNull FleetState.Page pageFor(@NotNull List<FleetState.Page> pages, int slot) {
+        while (pages.size() <= slot >>> PAGE_SHIFT) pages.add(new FleetState.Page(PAGE_SIZE));
+
+        return pages.get(slot >>> PAGE_SHIFT);
+    }
+
+    /**
+     * Copies a dirty slot out of the fleet.
+     *
+     * @implNote Called with the fleet's monitor held.
+     */
+    private void stage(int slot, @NotNull FleetState.Page page, int index) {
+        int staging = stagedCount++;
+
+        if (staging == stagedSlots.length) stagedSlots = Arrays.copyOf(stagedSlots, staging * 2);
+
+        var target = pageFor(staged, staging);
+        int targetIndex = staging & PAGE_MASK;
+
+        var handle = page.handles[index];
+
+        page.copySlot(index, target, targetIndex);
+        target.handles[targetIndex] = handle;
+
+        stagedSlots[staging] = slot;
+        stagedPaused.set(staging, handle != null && handle.isPaused());
+    }
+
+    /**
+     * Copies every slot changed since the last checkpoint, holding off the
+     * ticks meanwhile.
+     */
+    private void capture() {
+        stagedCount = 0;
+
+        synchronized (fleet) {
+            long start = System.nanoTime();
+
+            fleet.drainDirty(this::stage);
+
+            lastCaptureNanos = System.nanoTime() - start;
+        }
+
+        lastChangedCount = stagedCount;
+    }
+
+    /**
+     * Overwrites the shadow copy of a staged slot.
+     *
+     * @return The car the shadow held in that slot.
+     */
+    private @Nullable Car applyToShadow(int staging) {
+        var source = staged.get(staging >>> PAGE_SHIFT);
+        int sourceIndex = staging & PAGE_MASK;
+
+        int slot = stagedSlots[staging];
+        var target = pageFor(shadow, slot);
+        int targetIndex = slot & PAGE_MASK;
+
+        var previous = target.handles[targetIndex];
+
+        source.copySlot(sourceIndex, target, targetIndex);
+        target.handles[targetIndex] = source.handles[sourceIndex];
+        shadowPaused.set(slot, stagedPaused.get(staging));
+
+        return previous;
+    }
+
+    /**
+     * Deletes every checkpoint file older than the given sequence.
+     */
+    private void deleteSuperseded(long imageSequence) throws IOException {
+        var images = new TreeMap<Long, Path>();
+        var deltas = new TreeMap<Long, Path>();
+        listCheckpoints(directory, images, deltas);
+
+        for (var path : images.headMap(imageSequence).values()) Files.deleteIfExists(path);
+        for (var path : deltas.headMap(imageSequence).values()) Files.deleteIfExists(path);
+    }
+    // endregion
+
+    // region ⮞ Checkpointing
+
+    /**
+     * Starts writing a checkpoint every interval on the checkpoint thread.
+     * Failed checkpoints are reported to the thread's uncaught exception
+     * handler and retried at the next interval.
+     */
+    public synchronized void start() {
+        if (started || closed) return;
+
+        started = true;
+
+        executor.scheduleWithFixedDelay(this::checkpointQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (IOException | RuntimeException e) {
+            var thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    /**
+     * Writes a checkpoint on the calling thread, unless nothing changed since
+     * the previous one.
+     *
+     * @return {@code true} if a checkpoint was written.
+     * @throws IllegalArgumentException if a changed car was built from
+     *                                  components outside the
+     *                                  {@link CarManager} catalog
+     * @throws IllegalStateException    if this checkpointer is closed
+     */
+    public synchronized boolean checkpoint() throws IOException {
+        if (closed) throw new IllegalStateException("The checkpointer is closed");
+
+        capture();
+
+        try {
+            if (stagedCount == 0 && !imageDue) return false;
+
+            if (imageDue || deltasSinceImage + 1 >= imageInterval) writeImage();
+            else writeDelta();
+
+            return true;
+        } finally {
+            // Released, so that removed cars are not kept reachable.
+            for (var page : staged) Arrays.fill(page.handles, null);
+        }
+    }
+
+    /**
+     * Applies the staged slots to the shadow and writes them as a delta.
+     */
+    private void writeDelta() throws IOException {
+        var removed = new long[stagedCount];
+        var changed = new int[stagedCount];
+        int removedCount = 0;
+        int changedCount = 0;
+
+        for (int staging = 0; staging < stagedCount; staging++) {
+            var current = staged.get(staging >>> PAGE_SHIFT).handles[staging & PAGE_MASK];
+            var previous = applyToShadow(staging);
+
+            // The slot was released, possibly reused by another car.
+            if (previous != null && previous != current) removed[removedCount++] = previous.getPlateKey();
+            if (current != null) changed[changedCount++] = staging;
+        }
+
+        // Removals come first: a car that moved to another slot is removed
+        // from its old one and then written again.
+        int removals = removedCount;
+        int records = removedCount + changedCount;
+
+        var source = new FleetSnapshot.Source() {
+            @Override
+            public int size() {
+                return records;
+            }
+
+            @Override
+            public long plateKey(int record) {
+                return record < removals ? removed[record] : handle(record).getPlateKey();
+            }
+
+            @Override
+            public @Nullable Car car(int record) {
+                return record < removals ? null : handle(record);
+            }
+
+            @Override
+            public boolean captureState(int record, FleetState.@NotNull Page target) {
+                int staging = changed[record - removals];
+
+                staged.get(staging >>> PAGE_SHIFT).copySlot(staging & PAGE_MASK, target, 0);
+
+                return stagedPaused.get(staging);
+            }
+
+            private @NotNull Car handle(int record) {
+                int staging = changed[record - removals];
+
+                return staged.get(staging >>> PAGE_SHIFT).handles[staging & PAGE_MASK];
+            }
+        };
+
+        long next = sequence + 1;
+
+        try {
+            FleetSnapshot.write(directory.resolve(fileName(next, "delta")), next, FleetSnapshot.KIND_DELTA, source);
+        } catch (IOException | RuntimeException e) {
+            // The shadow holds the lost changes; an image will save them.
+            imageDue = true;
+            throw e;
+        }
+
+        sequence = next;
+        deltasSinceImage++;
+    }
+
+    /**
+     * Applies the staged slots to the shadow and writes the whole shadow as a
+     * full image.
+     */
+    private void writeImage() throws IOException {
+        for (int staging = 0; staging < stagedCount; staging++) applyToShadow(staging);
+
+        var liveSlots = new int[shadow.size() * PAGE_SIZE];
+        int liveCount = 0;
+
+        for (int slot = 0; slot < liveSlots.length; slot++)
+            if (shadow.get(slot >>> PAGE_SHIFT).handles[slot & PAGE_MASK] != null) liveSlots[liveCount++] = slot;
+
+        int cars = liveCount;
+
+        var source = new FleetSnapshot.Source() {
+            @Override
+            public int size() {
+                return cars;
+            }
+
+            @Override
+            public long plateKey(int record) {
+                return car(record).getPlateKey();
+            }
+
+            @Override
+            public @NotNull Car car(int record) {
+                int slot = liveSlots[record];
+
+                return shadow.get(slot >>> PAGE_SHIFT).handles[slot & PAGE_MASK];
+            }
+
+            @Override
+            public boolean captureState(int record, FleetState.@NotNull Page target) {
+                int slot = liveSlots[record];
+
+                shadow.get(slot >>> PAGE_SHIFT).copySlot(slot & PAGE_MASK, target, 0);
+
+                return shadowPaused.get(slot);
+            }
+        };
+
+        long next = sequence + 1;
+
+        FleetSnapshot.write(directory.resolve(fileName(next, "image")), next, FleetSnapshot.KIND_FULL, source);
+
+        sequence = next;
+        deltasSinceImage = 0;
+        imageDue = false;
+
+        deleteSuperseded(next);
+    }
+
+    /**
+     * Stops the periodic checkpoints, writes a last one and stops tracking
+     * the fleet's changes. Does nothing if already closed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) return;
+        }
+
+        // Periodic tasks are cancelled on shutdown; a running one finishes.
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            if (closed) return;
+
+            try {
+                checkpoint();
+            } finally {
+                closed = true;
+                fleet.stopDirtyTracking();
+            }
+        }
+    }
+    // endregion
+
+    // region ⮞ Recovery
+
+    /**
+     * Recreates the cars of the newest checkpoint in the given directory: the
+     * latest full image with every consecutive delta after it applied. The
+     * cars are not registered; see {@link CarManager#restoreCheckpoint(Path)}.
+     *
+     * @return The recovered cars, or an empty list if the directory holds no
+     * checkpoint.
+     * @throws IOException if a checkpoint file cannot be read or is corrupt
+     */
+    public static @NotNull @Unmodifiable List<Car> recover(@NotNull Path directory) throws IOException {
+        var images = new TreeMap<Long, Path>();
+        var deltas = new TreeMap<Long, Path>();
+
+        try {
+            listCheckpoints(directory, images, deltas);
+        } catch (NoSuchFileException e) {
+            return List.of();
+        }
+
+        if (images.isEmpty()) return List.of();
+
+        long imageSequence = images.lastKey();
+        var image = readCheckpoint(images.lastEntry().getValue(), imageSequence, FleetSnapshot.KIND_FULL);
+
+        var cars = new LinkedHashMap<Long, Car>();
+        for (var car : image.cars()) cars.put(car.getPlateKey(), car);
+
+        long expected = imageSequence + 1;
+
+        for (var entry : deltas.tailMap(imageSequence, false).entrySet()) {
+            // Deltas after a gap build on a missing one.
+            if (entry.getKey() != expected) break;
+
+            var delta = readCheckpoint(entry.getValue(), expected, FleetSnapshot.KIND_DELTA);
+
+            for (long plateKey : delta.removed()) cars.remove(plateKey);
+            for (var car : delta.cars()) cars.put(car.getPlateKey(), car);
+
+            expected++;
+        }
+
+        return List.copyOf(cars.values());
+    }
+    // endregion
+}
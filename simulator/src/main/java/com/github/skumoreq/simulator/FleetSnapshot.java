@@ -0,0 +1,432 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Versioned binary snapshot of a whole fleet, written and read through a
+ * memory-mapped file.
+ * <p>
+ * Every car is stored as a fixed-size record of {@link #RECORD_SIZE} bytes:
+ * its {@link PlateKey}, the catalog indices of its engine and transmission,
+ * an index into a table of model names, and its full slot state (position,
+ * destination, speed, angle, RPM, gear, previous gear, clutch, paused and
+ * parked flags). Records are accessed at absolute offsets, so restoring is a
+ * linear pass with no parsing and no reflection.
+ * <p>
+ * The same format holds the checkpoints of a {@link FleetCheckpointer}: a
+ * full image is a snapshot numbered with its checkpoint sequence, while a
+ * delta only holds the cars changed since the previous checkpoint, plus a
+ * record flagged as removed for every car unregistered meanwhile.
+ *
+ * <h2>Format</h2>
+ * <pre>
+ * header  magic:int version:short recordSize:short recordCount:int
+ *         nameCount:int namesSize:int sequence:long kind:int
+ * names   nameCount x (length:short UTF-8 bytes), padded to 8 bytes
+ * records recordCount x RECORD_SIZE bytes
+ * </pre>
+ * All values are little endian. A snapshot with an unknown version or record
+ * size is rejected.
+ *
+ * @see CarManager#saveSnapshot(Path)
+ * @see CarManager#restoreSnapshot(Path)
+ */
+public final class FleetSnapshot {
+
+    // region ⮞ Constants
+
+    static final int MAGIC = 0x504E_5346; // "FSNP" in little endian
+    static final short VERSION = 1;
+
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 80;
+
+    /**
+     * Kinds of snapshot, stored in the header. Plain snapshots are full ones
+     * with sequence {@code 0}.
+     */
+    static final int KIND_FULL = 0;
+    static final int KIND_DELTA = 1;
+
+    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    // Header fields beyond the leading ones read in sequence.
+    private static final int SEQUENCE = 20;
+    private static final int KIND = 28;
+
+    // Field offsets within a record.
+    private static final int PLATE_KEY = 0;
+    private static final int POSITION_X = 8;
+    private static final int POSITION_Y = 16;
+    private static final int DESTINATION_X = 24;
+    private static final int DESTINATION_Y = 32;
+    private static final int SPEED = 40;
+    private static final int ANGLE = 48;
+    private static final int RPM = 56;
+    private static final int NAME_INDEX = 64;
+    private static final int ENGINE_INDEX = 68;
+    private static final int TRANSMISSION_INDEX = 70;
+    private static final int GEAR = 72;
+    private static final int PREVIOUS_GEAR = 73;
+    private static final int FLAGS = 74;
+
+    private static final int FLAG_PAUSED = 1;
+    private static final int FLAG_IDLE = 1 << 1;
+    private static final int FLAG_CLUTCH_ENGAGED = 1 << 2;
+    private static final int FLAG_COLLIDING = 1 << 3;
+    private static final int FLAG_REMOVED = 1 << 4;
+    // endregion
+
+    // region ⮞ Records
+
+    /**
+     * Supplies the records to write. A record without a car stands for a car
+     * removed since the previous checkpoint.
+     */
+    interface Source {
+
+        int size();
+
+        long plateKey(int record);
+
+        @Nullable Car car(int record);
+
+        /**
+         * Copies the state of the record's car into the first slot of the
+         * given page.
+         *
+         * @return {@code true} if the car is paused.
+         */
+        boolean captureState(int record, @NotNull FleetState.Page target);
+    }
+
+    /**
+     * Captures each car of a list as it is written.
+     */
+    private record CarSource(@NotNull List<Car> cars) implements Source {
+
+        @Override
+        public int size() {
+            return cars.size();
+        }
+
+        @Override
+        public long plateKey(int record) {
+            return cars.get(record).getPlateKey();
+        }
+
+        @Override
+        public @NotNull Car car(int record) {
+            return cars.get(record);
+        }
+
+        @Override
+        public boolean captureState(int record, FleetState.@NotNull Page target) {
+            return cars.get(record).captureState(target, 0);
+        }
+    }
+
+    /**
+     * The decoded contents of a snapshot file.
+     *
+     * @param removed the plate keys of the cars removed, only present in
+     *                deltas
+     * @param cars    the recreated cars, not registered anywhere
+     */
+    record Contents(long sequence, int kind, long @NotNull [] removed, @NotNull @Unmodifiable List<Car> cars) {}
+    // endregion
+
+    // region ⮞ Initialization
+
+    private FleetSnapshot() {
+    }
+    // endregion
+
+    // region ⮞ Helper Methods
+
+    private static int catalogIndex(@NotNull List<? extends CarComponent> catalog, @NotNull CarComponent component) {
+        int index = catalog.indexOf(component);
+
+        if (index < 0)
+            throw new IllegalArgumentException(
+                    "Only cars built from catalog components can be saved: %s".formatted(component.getName())
+            );
+
+        return index;
+    }
+
+    private static @NotNull IOException corrupt(@NotNull Path path, @NotNull String reason) {
+        return new IOException("Corrupt fleet snapshot: %s (%s)".formatted(path, reason));
+    }
+    // endregion
+
+    // region ⮞ Writing
+
+    /**
+     * Writes the given cars to the given path, replacing any existing file.
+     * Each car is captured at a tick boundary, but different cars may be
+     * captured at different ticks while the simulation is running.
+     * <p>
+     * The snapshot is written next to the target first and then moved over
+     * it, so a failed write never destroys the previous snapshot.
+     *
+     * @throws IllegalArgumentException if a component of a car is not part of
+     *                                  the {@link CarManager} catalog
+     */
+    public static void write(@NotNull Path path, @NotNull Collection<Car> cars) throws IOException {
+        write(path, 0L, KIND_FULL, new CarSource(List.copyOf(cars)));
+    }
+
+    /**
+     * Writes the records of the given source, durably: the file is forced to
+     * the storage device before it replaces the target.
+     *
+     * @see #write(Path, Collection)
+     */
+    static void write(@NotNull Path path, long sequence, int kind, @NotNull Source source) throws IOException {
+        int recordCount = source.size();
+
+        var nameIndices = new HashMap<String, Integer>();
+        var names = new ArrayList<byte[]>();
+        int namesSize = 0;
+
+        for (int i = 0; i < recordCount; i++) {
+            var car = source.car(i);
+
+            if (car != null && nameIndices.putIfAbsent(car.getModelName(), names.size()) == null) {
+                var name = car.getModelName().getBytes(StandardCharsets.UTF_8);
+
+                if (name.length > Short.MAX_VALUE)
+                    throw new IllegalArgumentException("Model name is too long: %d bytes".formatted(name.length));
+
+                names.add(name);
+                namesSize += Short.BYTES + name.length;
+            }
+        }
+
+        int recordsOffset = HEADER_SIZE + (namesSize + 7 & ~7);
+        long size = recordsOffset + (long) recordCount * RECORD_SIZE;
+
+        if (size > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Fleet is too large for a snapshot: %d cars".formatted(recordCount));
+
+        var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (var channel = FileChannel.open(
+                temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE
+        )) {
+            var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, size);
+            buffer.order(BYTE_ORDER);
+
+            buffer.putInt(MAGIC);
+            buffer.putShort(VERSION);
+            buffer.putShort((short) RECORD_SIZE);
+            buffer.putInt(recordCount);
+            buffer.putInt(names.size());
+            buffer.putInt(namesSize);
+            buffer.putLong(SEQUENCE, sequence);
+            buffer.putInt(KIND, kind);
+
+            buffer.position(HEADER_SIZE);
+
+            for (var name : names) {
+                buffer.putShort((short) name.length);
+                buffer.put(name);
+            }
+
+            var state = new FleetState.Page(1);
+            int offset = recordsOffset;
+
+            for (int i = 0; i < recordCount; i++, offset += RECORD_SIZE) {
+                var car = source.car(i);
+
+                buffer.putLong(offset + PLATE_KEY, source.plateKey(i));
+
+                if (car == null) {
+                    buffer.put(offset + FLAGS, (byte) FLAG_REMOVED);
+                    continue;
+                }
+
+                boolean paused = source.captureState(i, state);
+
+                int flags = (paused ? FLAG_PAUSED : 0)
+                        | (state.idle[0] ? FLAG_IDLE : 0)
+                        | (state.clutchEngaged[0] ? FLAG_CLUTCH_ENGAGED : 0)
+                        | (state.colliding[0] ? FLAG_COLLIDING : 0);
+
+                buffer.putDouble(offset + POSITION_X, state.positionX[0]);
+                buffer.putDouble(offset + POSITION_Y, state.positionY[0]);
+                buffer.putDouble(offset + DESTINATION_X, state.destinationX[0]);
+                buffer.putDouble(offset + DESTINATION_Y, state.destinationY[0]);
+                buffer.putDouble(offset + SPEED, state.speed[0]);
+                buffer.putDouble(offset + ANGLE, state.angle[0]);
+                buffer.putDouble(offset + RPM, state.rpm[0]);
+                buffer.putInt(offset + NAME_INDEX, nameIndices.get(car.getModelName()));
+                buffer.putShort(offset + ENGINE_INDEX, (short) catalogIndex(CarManager.ENGINES, car.getEngine()));
+                buffer.putShort(offset + TRANSMISSION_INDEX, (short) catalogIndex(CarManager.TRANSMISSIONS, car.getGearbox()));
+                buffer.put(offset + GEAR, (byte) state.gear[0]);
+                buffer.put(offset + PREVIOUS_GEAR, (byte) state.previousGear[0]);
+                buffer.put(offset + FLAGS, (byte) flags);
+            }
+
+            buffer.force();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    // endregion
+
+    // region ⮞ Reading
+
+    /**
+     * Recreates the cars stored at the given path. The cars are not
+     * registered; see {@link CarManager#restoreSnapshot(Path)}.
+     *
+     * @throws IOException if the file cannot be read or is not a valid full
+     *                     snapshot of this version
+     */
+    public static @NotNull @Unmodifiable List<Car> read(@NotNull Path path) throws IOException {
+        var contents = readContents(path);
+
+        if (contents.kind() != KIND_FULL) throw corrupt(path, "incremental checkpoint");
+
+        return contents.cars();
+    }
+
+    /**
+     * Decodes a snapshot of any kind.
+     *
+     * @throws IOException if the file cannot be read or is not a valid
+     *                     snapshot of this version
+     */
+    static @NotNull Contents readContents(@NotNull Path path) throws IOException {
+        MappedByteBuffer buffer;
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE)
+                throw corrupt(path, "size: %d bytes".formatted(size));
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+            buffer.order(BYTE_ORDER);
+        }
+
+        if (buffer.getInt() != MAGIC) throw corrupt(path, "not a fleet snapshot");
+
+        short version = buffer.getShort();
+        short recordSize = buffer.getShort();
+
+        if (version != VERSION || recordSize != RECORD_SIZE)
+            throw new IOException("Unsupported fleet snapshot version: %d (record size: %d)".formatted(version, recordSize));
+
+        int recordCount = buffer.getInt();
+        int nameCount = buffer.getInt();
+        int namesSize = buffer.getInt();
+        long sequence = buffer.getLong(SEQUENCE);
+        int kind = buffer.getInt(KIND);
+
+        int recordsOffset = HEADER_SIZE + (namesSize + 7 & ~7);
+
+        if (recordCount < 0 || nameCount < 0 || namesSize < 0
+                || recordsOffset + (long) recordCount * RECORD_SIZE != buffer.capacity())
+            throw corrupt(path, "size does not match the header");
+
+        if (sequence < 0L || (kind != KIND_FULL && kind != KIND_DELTA)) throw corrupt(path, "kind: %d".formatted(kind));
+
+        var names = new String[nameCount];
+        buffer.position(HEADER_SIZE);
+
+        for (int i = 0; i < nameCount; i++) {
+            int length = buffer.getShort();
+
+            if (length < 0 || buffer.position() + length > recordsOffset) throw corrupt(path, "name table");
+
+            names[i] = StandardCharsets.UTF_8.decode(buffer.slice(buffer.position(), length)).toString();
+            buffer.position(buffer.position() + length);
+        }
+
+        var cars = new ArrayList<Car>(recordCount);
+        var removed = new long[recordCount];
+        int removedCount = 0;
+
+        var state = new FleetState.Page(1);
+        int offset = recordsOffset;
+
+        for (int i = 0; i < recordCount; i++, offset += RECORD_SIZE) {
+            long plateKey = buffer.getLong(offset + PLATE_KEY);
+            int nameIndex = buffer.getInt(offset + NAME_INDEX);
+            int engineIndex = buffer.getShort(offset + ENGINE_INDEX);
+            int transmissionIndex = buffer.getShort(offset + TRANSMISSION_INDEX);
+            int flags = buffer.get(offset + FLAGS);
+
+            if (!PlateKey.isValidKey(plateKey)) throw corrupt(path, "plate key of car %d".formatted(i));
+
+            if ((flags & FLAG_REMOVED) != 0) {
+                if (kind != KIND_DELTA) throw corrupt(path, "removal in a full snapshot");
+
+                removed[removedCount++] = plateKey;
+                continue;
+            }
+
+            if (nameIndex < 0 || nameIndex >= nameCount
+                    || engineIndex < 0 || engineIndex >= CarManager.ENGINES.size()
+                    || transmissionIndex < 0 || transmissionIndex >= CarManager.TRANSMISSIONS.size())
+                throw corrupt(path, "indices of car %d".formatted(i));
+
+            var transmission = CarManager.TRANSMISSIONS.get(transmissionIndex);
+
+            state.positionX[0] = buffer.getDouble(offset + POSITION_X);
+            state.positionY[0] = buffer.getDouble(offset + POSITION_Y);
+            state.destinationX[0] = buffer.getDouble(offset + DESTINATION_X);
+            state.destinationY[0] = buffer.getDouble(offset + DESTINATION_Y);
+            state.speed[0] = buffer.getDouble(offset + SPEED);
+            state.angle[0] = buffer.getDouble(offset + ANGLE);
+            state.rpm[0] = buffer.getDouble(offset + RPM);
+            state.gear[0] = buffer.get(offset + GEAR);
+            state.previousGear[0] = buffer.get(offset + PREVIOUS_GEAR);
+
+            if (state.gear[0] < 0 || state.gear[0] > transmission.getGearCount()
+                    || state.previousGear[0] < 0 || state.previousGear[0] > transmission.getGearCount())
+                throw corrupt(path, "gear of car %d".formatted(i));
+
+            state.idle[0] = (flags & FLAG_IDLE) != 0;
+            state.clutchEngaged[0] = (flags & FLAG_CLUTCH_ENGAGED) != 0;
+            state.colliding[0] = (flags & FLAG_COLLIDING) != 0;
+
+            var car = new Car(
+                    plateKey, names[nameIndex],
+                    transmission, CarManager.ENGINES.get(engineIndex),
+                    new Point(state.positionX[0], state.positionY[0])
+            );
+
+            car.restore(state, 0, (flags & FLAG_PAUSED) != 0);
+            cars.add(car);
+        }
+
+        return new Contents(sequence, kind, Arrays.copyOf(removed, removedCount), List.copyOf(cars));
+    }
+    // endregion
+}
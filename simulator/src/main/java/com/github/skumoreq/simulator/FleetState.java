@@ -0,0 +1,743 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static com.github.skumoreq.simulator.CarObserver.ChangedProperty.ANGLE;
+import static com.github.skumoreq.simulator.CarObserver.ChangedProperty.POSITION;
+
+/**
+ * Structure-of-arrays store for the simulation state of a whole fleet.
+ * <p>
+ * Every registered car owns a <i>slot</i>. The per-car values (position,
+ * destination, speed, angle, RPM, gear, previous gear, clutch flag) live in
+ * parallel primitive arrays indexed by that slot, so the per-tick movement
+ * pass is a linear sweep over contiguous memory instead of pointer chasing
+ * through car objects. These columns are the only copy of the car's state;
+ * its components are shared, immutable specifications.
+ * <p>
+ * Slots are grouped into fixed-size {@link Page}s. Pages are never moved or
+ * resized once created, so a car can keep a direct reference to its page while
+ * the store grows. Released slots go onto a free-list and are reused by the
+ * next allocation.
+ * <p>
+ * A slot whose tick changed nothing is <i>parked</i>: it is skipped by the
+ * sweep until its car changes something that matters (see
+ * {@link #wake(int)}). The store counts the slots that are still awake, so the
+ * {@link SimulationScheduler} can stop ticking altogether while the whole
+ * fleet is parked.
+ * <p>
+ * Every slot whose state changed is also marked <i>dirty</i>, so that a
+ * {@link FleetCheckpointer} can copy just the slots changed since its previous
+ * checkpoint (see {@link #drainDirty}).
+ *
+ * <h2>Thread Safety</h2>
+ * Structural changes (allocation, release) and fleet-wide sweeps synchronize
+ * on the store itself. Within a slot every column has a single writer: the
+ * sweep writes position and angle, while the owning {@link Car} writes the
+ * remaining columns from its synchronized control methods. The idle flag is
+ * the exception: parking, waking and sleeping flip it with a compare-and-set,
+ * so that a car never needs this store's monitor to wake up, and whichever
+ * side flips it adjusts the awake count.
+ * <p>
+ * No foreign code runs with this store's monitor held: the changes of a sweep
+ * are gathered under it, but delivered to observers only once it has been
+ * released (see {@link #deliverChanges()}). The monitor is therefore always
+ * acquired after, never before, a car's monitor.
+ *
+ * @see Car
+ * @see SimulationScheduler
+ */
+final class FleetState {
+
+    // region ⮞ Constants
+
+    static final int PAGE_SHIFT = 10;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private static final int ANGLE_CHANGED = 1 << ANGLE.ordinal();
+    static final int POSITION_CHANGED = 1 << POSITION.ordinal();
+
+    /**
+     * Atomic access to the words of {@link Page#dirty}, which are marked by
+     * the sweep and the owning cars concurrently.
+     */
+    private static final VarHandle DIRTY = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * Atomic access to {@link Page#idle}, which the sweep parks and the owning
+     * cars wake or put to sleep concurrently.
+     */
+    private static final VarHandle IDLE = MethodHandles.arrayElementVarHandle(boolean[].class);
+    // endregion
+
+    // region ⮞ Page
+
+    /**
+     * Receives the changes of every slot dispatched by
+     * {@link Page#dispatchChanges}.
+     */
+    @FunctionalInterface
+    interface ChangeSink {
+        void changed(@NotNull Car car, int changes);
+    }
+
+    /**
+     * A fixed-capacity block of slots. Each column is a separate array; the
+     * value of a slot is found at the same index in every column.
+     */
+    static final class Page {
+
+        final @Nullable Car @NotNull [] handles;
+
+        final double @NotNull [] positionX;
+        final double @NotNull [] positionY;
+        final double @NotNull [] destinationX;
+        final double @NotNull [] destinationY;
+        final double @NotNull [] speed;
+        final double @NotNull [] angle;
+        final double @NotNull [] rpm;
+        final int @NotNull [] gear;
+        final int @NotNull [] previousGear;
+        final boolean @NotNull [] clutchEngaged;
+
+        /**
+         * {@code true} while the slot is skipped by the sweep: its car is
+         * paused or parked, or the slot is free.
+         */
+        final boolean @NotNull [] idle;
+
+        /**
+         * {@code true} while the slot touches another slot. Only written by
+         * the {@link CollisionDetector}.
+         */
+        final boolean @NotNull [] colliding;
+
+        /**
+         * Bitmask of {@link CarObserver.ChangedProperty} ordinals modified by
+         * the last sweep and not yet dispatched to observers.
+         */
+        final int @NotNull [] changes;
+
+        /**
+         * Bitset of the slots changed since the last {@link #drainDirty}, one
+         * bit per slot. Only accessed through {@link #DIRTY}, except for reads
+         * that merely skip clean words.
+         */
+        final long @NotNull [] dirty;
+
+        Page(int capacity) {
+            handles = new Car[capacity];
+
+            positionX = new double[capacity];
+            positionY = new double[capacity];
+            destinationX = new double[capacity];
+            destinationY = new double[capacity];
+            speed = new double[capacity];
+            angle = new double[capacity];
+            rpm = new double[capacity];
+            gear = new int[capacity];
+            previousGear = new int[capacity];
+            clutchEngaged = new boolean[capacity];
+            idle = new boolean[capacity];
+            colliding = new boolean[capacity];
+            changes = new int[capacity];
+            dirty = new long[capacity + Long.SIZE - 1 >>> 6];
+
+            Arrays.fill(clutchEngaged, true);
+            Arrays.fill(idle, true);
+        }
+
+        void copySlot(int index, @NotNull Page target, int targetIndex) {
+            target.positionX[targetIndex] = positionX[index];
+            target.positionY[targetIndex] = positionY[index];
+            target.destinationX[targetIndex] = destinationX[index];
+            target.destinationY[targetIndex] = destinationY[index];
+            target.speed[targetIndex] = speed[index];
+            target.angle[targetIndex] = angle[index];
+            target.rpm[targetIndex] = rpm[index];
+            target.gear[targetIndex] = gear[index];
+            target.previousGear[targetIndex] = previousGear[index];
+            target.clutchEngaged[targetIndex] = clutchEngaged[index];
+            target.idle[targetIndex] = idle[index];
+            target.colliding[targetIndex] = colliding[index];
+            target.changes[targetIndex] = changes[index];
+        }
+
+        /**
+         * Marks a slot as changed since the last checkpoint. Must be called
+         * after the change has been written.
+         */
+        void markDirty(int index) {
+            markDirty(index >>> 6, 1L << index);
+        }
+
+        private void markDirty(int word, long bits) {
+            DIRTY.getAndBitwiseOr(dirty, word, bits);
+        }
+
+        /**
+         * Resets a slot to the state of a freshly constructed, paused car.
+         * Idle slots are skipped by the sweep, which keeps free slots inert.
+         */
+        void clearSlot(int index) {
+            handles[index] = null;
+
+            positionX[index] = 0.0;
+            positionY[index] = 0.0;
+            destinationX[index] = 0.0;
+            destinationY[index] = 0.0;
+            speed[index] = 0.0;
+            angle[index] = 0.0;
+            rpm[index] = 0.0;
+            gear[index] = 0;
+            previousGear[index] = 0;
+            clutchEngaged[index] = true;
+            idle[index] = true;
+            colliding[index] = false;
+            changes[index] = 0;
+        }
+
+        /**
+         * Advances the slots in {@code [from, to)} by the given interval.
+         * <p>
+         * For each awake slot the angle is first re-aimed at the
+         * destination (while the engine is running), then the whole range is
+         * moved towards the destinations by the {@link MovementKernel}.
+         * Modified properties are accumulated in {@link #changes}.
+         */
+        void advance(int from, int to, long interval) {
+            aim(from, to);
+
+            MovementKernel.PREFERRED.move(this, from, to, interval, Car.METERS_TO_PIXELS);
+        }
+
+        private void aim(int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (idle[i] || rpm[i] < Engine.RPM_IDLE) continue;
+
+                double dx = destinationX[i] - positionX[i];
+                double dy = destinationY[i] - positionY[i];
+
+                if (dx == 0.0 && dy == 0.0) continue;
+
+                double newAngle = Math.toDegrees(Math.atan2(dy, dx));
+
+                // Filter out insignificant angle changes.
+                if (Math.abs(angle[i] - newAngle) > Car.ANGLE_THRESHOLD) {
+                    angle[i] = newAngle;
+                    changes[i] |= ANGLE_CHANGED;
+                }
+            }
+        }
+
+        /**
+         * Publishes a new {@link CarSnapshot} for every slot in
+         * {@code [from, to)} that changed, then hands the accumulated changes
+         * to the sink and clears them. Awake slots that did not change are
+         * parked, as the next tick would not change them either.
+         *
+         * @return The number of slots parked.
+         */
+        int dispatchChanges(int from, int to, @NotNull ChangeSink sink) {
+            int parked = 0;
+
+            // Dirty bits are gathered per word, so that the sweep costs one
+            // atomic update per 64 slots rather than one per changed slot.
+            long dirtyBits = 0L;
+
+            for (int i = from; i < to; i++) {
+                if ((i & 63) == 0 && dirtyBits != 0L) {
+                    markDirty(i - 1 >>> 6, dirtyBits);
+                    dirtyBits = 0L;
+                }
+
+                int pending = changes[i];
+                var handle = handles[i];
+
+                if (pending == 0) {
+                    // Lost to a car that was put to sleep concurrently.
+                    if (idle[i] || !IDLE.compareAndSet(idle, i, false, true)) continue;
+
+                    parked++;
+                    dirtyBits |= 1L << i;
+
+                    if (handle != null) handle.markParked();
+                    continue;
+                }
+
+                changes[i] = 0;
+                dirtyBits |= 1L << i;
+
+                if (handle == null) continue;
+
+                handle.publishMotion(positionX[i], positionY[i], angle[i], colliding[i]);
+                sink.changed(handle, pending);
+            }
+
+            if (dirtyBits != 0L) markDirty(to - 1 >>> 6, dirtyBits);
+
+            return parked;
+        }
+    }
+    // endregion
+
+    // region ⮞ Instance Fields
+
+    /**
+     * Invoked whenever a slot wakes up or commands are queued, so that a
+     * stopped clock can be restarted.
+     */
+    private final @NotNull Runnable wakeUpHandler;
+
+    /**
+     * Number of ticks completed by the owning scheduler, stamped on journal
+     * records.
+     */
+    private final @NotNull LongSupplier tickSource;
+
+    /**
+     * Journal receiving the control commands applied to this store's cars, if
+     * any.
+     */
+    private volatile @Nullable CommandJournal journal = null;
+
+    /**
+     * Number of allocated slots that are not idle. Atomic, so that it can be
+     * read without this store's monitor.
+     */
+    private final @NotNull AtomicInteger awakeCount = new AtomicInteger();
+
+    /**
+     * Copy-on-write page directory. Pages themselves are shared between the
+     * old and new directory, so readers holding a stale directory still see
+     * every write.
+     */
+    private volatile @NotNull Page @NotNull [] pages = new Page[0];
+
+    private int @NotNull [] freeSlots = new int[16];
+    private int freeCount = 0;
+
+    /**
+     * Number of slots ever handed out. Every slot at or above this index is
+     * unused, so sweeps stop here.
+     */
+    private int slotCount = 0;
+    private int liveCount = 0;
+
+    /**
+     * Cars with queued control commands, applied at the start of the next
+     * tick.
+     */
+    private final @NotNull Queue<Car> pendingCommands = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Cars that woke up since the last tick. A wake may race with the parking
+     * done by a concurrent sweep, so it is confirmed at the start of the next
+     * tick (see {@link #confirmWakes()}).
+     */
+    private final @NotNull Queue<Car> pendingWakes = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether a {@link FleetCheckpointer} is draining the dirty marks.
+     */
+    private boolean dirtyTracked = false;
+
+    // Changes gathered by dispatchRange and delivered by deliverChanges, only
+    // accessed by the ticking thread.
+    private @Nullable Car @NotNull [] changedCars = new Car[16];
+    private int @NotNull [] changedMasks = new int[16];
+    private int changedCount = 0;
+    // endregion
+
+    // region ⮞ Initialization
+
+    FleetState(@NotNull Runnable wakeUpHandler, @NotNull LongSupplier tickSource) {
+        this.wakeUpHandler = wakeUpHandler;
+        this.tickSource = tickSource;
+    }
+
+    FleetState(@NotNull Runnable wakeUpHandler) {
+        this(wakeUpHandler, () -> 0L);
+    }
+    // endregion
+
+    // region ⮞ Getters
+
+    static int pageIndex(int slot) {
+        return slot >>> PAGE_SHIFT;
+    }
+
+    static int indexInPage(int slot) {
+        return slot & PAGE_MASK;
+    }
+
+    @NotNull Page page(int slot) {
+        return pages[pageIndex(slot)];
+    }
+
+    synchronized int getSlotCount() {
+        return slotCount;
+    }
+
+    synchronized int getLiveCount() {
+        return liveCount;
+    }
+
+    int getAwakeCount() {
+        return awakeCount.get();
+    }
+
+    /**
+     * @return {@code true} if every slot is idle and no commands or wakes are
+     * queued, i.e. a tick would do nothing.
+     */
+    boolean isDormant() {
+        return awakeCount.get() == 0 && pendingCommands.isEmpty() && pendingWakes.isEmpty();
+    }
+    // endregion
+
+    // region ⮞ Slot Management
+
+    /**
+     * Assigns a slot to the given car, initialized with a copy of its current
+     * state.
+     *
+     * @return The allocated slot.
+     */
+    synchronized int allocate(@NotNull Car handle, @NotNull Page source, int sourceIndex) {
+        // Recorded first, so that a car the journal rejects is not allocated.
+        recordRegistration(handle, source, sourceIndex);
+
+        int slot;
+
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            slot = slotCount++;
+
+            if (pageIndex(slot) == pages.length) {
+                var grown = Arrays.copyOf(pages, pages.length + 1);
+                grown[pages.length] = new Page(PAGE_SIZE);
+
+                pages = grown;
+            }
+        }
+
+        var page = page(slot);
+        int index = indexInPage(slot);
+
+        source.copySlot(sourceIndex, page, index);
+        page.handles[index] = handle;
+        page.markDirty(index);
+
+        liveCount++;
+
+        if (!page.idle[index]) {
+            awakeCount.incrementAndGet();
+            wakeUpHandler.run();
+        }
+
+        return slot;
+    }
+
+    /**
+     * Returns the slot to the free-list. The slot is cleared first, so it can
+     * be handed out again without leaking the previous owner's state.
+     */
+    synchronized void release(int slot) {
+        var page = page(slot);
+        int index = indexInPage(slot);
+
+        if (IDLE.compareAndSet(page.idle, index, false, true)) awakeCount.decrementAndGet();
+
+        var handle = page.handles[index];
+        if (handle != null) record(handle.getPlateKey(), CommandJournal.Opcode.UNREGISTER, 0.0, 0.0, 0.0);
+
+        page.clearSlot(index);
+        page.markDirty(index);
+
+        if (freeCount == freeSlots.length)
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+
+        freeSlots[freeCount++] = slot;
+        liveCount--;
+    }
+    // endregion
+
+    // region ⮞ Parking
+
+    /**
+     * Lets the sweep advance the slot again and restarts the clock if needed.
+     * Lock-free, so that a car can wake up while a tick holds this store's
+     * monitor.
+     *
+     * @implNote Called with the car's monitor held, which excludes the
+     * parking done by {@link Car#tick()}.
+     */
+    void wake(int slot) {
+        var page = page(slot);
+        int index = indexInPage(slot);
+
+        if (!IDLE.compareAndSet(page.idle, index, true, false)) return;
+
+        page.markDirty(index);
+
+        awakeCount.incrementAndGet();
+        wakeUpHandler.run();
+    }
+
+    /**
+     * Excludes the slot from the sweep, e.g. because its car was paused.
+     * Lock-free, like {@link #wake(int)}.
+     */
+    void sleep(int slot) {
+        var page = page(slot);
+        int index = indexInPage(slot);
+
+        if (!IDLE.compareAndSet(page.idle, index, false, true)) return;
+
+        page.markDirty(index);
+
+        awakeCount.decrementAndGet();
+    }
+
+    /**
+     * Queues a woken car, so that the next tick wakes its slot again in case
+     * the sweep parked it meanwhile.
+     */
+    void scheduleWake(@NotNull Car car) {
+        pendingWakes.add(car);
+        wakeUpHandler.run();
+    }
+
+    /**
+     * Confirms the wakes queued since the last tick. Must be called
+     * <i>without</i> holding this store's monitor, like
+     * {@link #applyCommands()}.
+     */
+    void confirmWakes() {
+        for (Car car; (car = pendingWakes.poll()) != null; ) car.confirmWake(this);
+    }
+
+    /**
+     * Accounts for slots parked outside {@link #dispatchRange}.
+     */
+    void parked(int count) {
+        if (count > 0) awakeCount.addAndGet(-count);
+    }
+    // endregion
+
+    // region ⮞ Journal
+
+    @Nullable CommandJournal journal() {
+        return journal;
+    }
+
+    /**
+     * Starts or stops recording. Must be called with this store's monitor
+     * held, so that the switch happens between ticks and allocations.
+     */
+    void setJournal(@Nullable CommandJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Appends a control command to the journal, if recording.
+     */
+    void record(long plateKey, @NotNull CommandJournal.Opcode opcode, double first, double second, double third) {
+        var target = journal;
+        if (target != null) target.append(tickSource, plateKey, opcode, first, second, third);
+    }
+
+    /**
+     * Appends the registration of the given car with the state held by the
+     * given slot to the journal, if recording.
+     *
+     * @implNote Called with the car's monitor held, so that its state cannot
+     * change while it is recorded.
+     */
+    synchronized void recordRegistration(@NotNull Car handle, @NotNull Page page, int index) {
+        var target = journal;
+        if (target != null) target.appendRegistration(tickSource, handle, page, index, handle.isPaused());
+    }
+
+    /**
+     * @return The cars holding a slot, in slot order. Must be called with
+     * this store's monitor held.
+     */
+    @NotNull List<Car> handles() {
+        var handles = new ArrayList<Car>(liveCount);
+
+        for (int slot = 0; slot < slotCount; slot++) {
+            var handle = page(slot).handles[indexInPage(slot)];
+            if (handle != null) handles.add(handle);
+        }
+
+        return handles;
+    }
+    // endregion
+
+    // region ⮞ Dirty Tracking
+
+    /**
+     * Receives the slots drained by {@link #drainDirty}.
+     */
+    @FunctionalInterface
+    interface SlotVisitor {
+        void visit(int slot, @NotNull Page page, int index);
+    }
+
+    /**
+     * Starts handing out dirty slots to a single consumer. Every slot in use
+     * is marked dirty, so the first drain yields the whole fleet.
+     *
+     * @throws IllegalStateException if another consumer is already draining
+     *                               the dirty slots
+     */
+    synchronized void startDirtyTracking() {
+        if (dirtyTracked) throw new IllegalStateException("The fleet is already being checkpointed");
+
+        dirtyTracked = true;
+
+        for (int slot = 0; slot < slotCount; slot++) page(slot).markDirty(indexInPage(slot));
+    }
+
+    synchronized void stopDirtyTracking() {
+        dirtyTracked = false;
+    }
+
+    /**
+     * Clears the dirty marks and passes every slot marked since the previous
+     * drain to the visitor, in slot order. Released slots are included, with
+     * no handle. Must be called with this store's monitor held, so that no
+     * slot is swept, allocated or released meanwhile.
+     * <p>
+     * A car that is not ticked by the scheduler may change its slot during
+     * the drain. It marks the slot again once done, so the slot is drained
+     * again next time.
+     */
+    void drainDirty(@NotNull SlotVisitor visitor) {
+        var directory = pages;
+
+        for (int base = 0; base < slotCount; base += PAGE_SIZE) {
+            var page = directory[pageIndex(base)];
+            int words = Math.min(PAGE_SIZE, slotCount - base) + Long.SIZE - 1 >>> 6;
+
+            for (int word = 0; word < words; word++) {
+                if (page.dirty[word] == 0L) continue;
+
+                long bits = (long) DIRTY.getAndSet(page.dirty, word, 0L);
+
+                for (; bits != 0L; bits &= bits - 1) {
+                    int index = word << 6 | Long.numberOfTrailingZeros(bits);
+                    visitor.visit(base + index, page, index);
+                }
+            }
+        }
+    }
+    // endregion
+
+    // region ⮞ Commands
+
+    void scheduleCommands(@NotNull Car car) {
+        pendingCommands.add(car);
+        wakeUpHandler.run();
+    }
+
+    /**
+     * Applies the queued commands of every scheduled car.
+     * <p>
+     * Must be called <i>without</i> holding this store's monitor: commands
+     * take the car's monitor, which is always acquired before the store's.
+     */
+    void applyCommands() {
+        for (Car car; (car = pendingCommands.poll()) != null; ) car.applyCommands();
+    }
+    // endregion
+
+    // region ⮞ Sweeps
+
+    /**
+     * Advances every slot in {@code [from, to)}. The range may span multiple
+     * pages. Changes are only accumulated; see {@link #dispatchRange}.
+     * <p>
+     * Disjoint ranges may be advanced concurrently, but the caller must hold
+     * this store's monitor for the whole sweep so that no slot is allocated
+     * or released underneath it.
+     */
+    void advanceRange(int from, int to, long interval) {
+        var directory = pages;
+
+        for (int slot = from; slot < to; ) {
+            int index = indexInPage(slot);
+            int end = Math.min(PAGE_SIZE, index + (to - slot));
+
+            directory[pageIndex(slot)].advance(index, end, interval);
+
+            slot += end - index;
+        }
+    }
+
+    /**
+     * Publishes the motion accumulated for {@code [from, to)}, parks the
+     * slots that did not change and gathers the changes for
+     * {@link #deliverChanges()}. Same locking rules as {@link #advanceRange};
+     * must be called by the ticking thread.
+     */
+    void dispatchRange(int from, int to) {
+        var directory = pages;
+        int parked = 0;
+
+        for (int slot = from; slot < to; ) {
+            int index = indexInPage(slot);
+            int end = Math.min(PAGE_SIZE, index + (to - slot));
+
+            parked += directory[pageIndex(slot)].dispatchChanges(index, end, this::gatherChange);
+
+            slot += end - index;
+        }
+
+        parked(parked);
+    }
+
+    private void gatherChange(@NotNull Car car, int changes) {
+        if (changedCount == changedCars.length) {
+            changedCars = Arrays.copyOf(changedCars, changedCount * 2);
+            changedMasks = Arrays.copyOf(changedMasks, changedCount * 2);
+        }
+
+        changedCars[changedCount] = car;
+        changedMasks[changedCount++] = changes;
+    }
+
+    /**
+     * Hands the changes gathered by the last {@link #dispatchRange} to the
+     * observers of the affected cars. Must be called by the ticking thread
+     * <i>without</i> holding this store's monitor, as observers may call
+     * back into the cars.
+     */
+    void deliverChanges() {
+        for (int i = 0; i < changedCount; i++) {
+            var car = changedCars[i];
+            changedCars[i] = null;
+
+            //noinspection DataFlowIssue
+            car.notifyChanges(changedMasks[i]);
+        }
+
+        changedCount = 0;
+    }
+    // endregion
+}
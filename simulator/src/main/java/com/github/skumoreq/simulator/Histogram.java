@@ -0,0 +1,206 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values, such as latencies in
+ * nanoseconds, with percentiles.
+ * <p>
+ * Values are counted in log-linear buckets: exact below {@code 64}, then 32
+ * buckets per power of two, so a reported percentile is at most about 3%
+ * above the recorded value. Each bucket is a {@link LongAdder}, so threads
+ * recording the same value do not contend on a single counter.
+ * <p>
+ * Recording never blocks or allocates. A {@link #snapshot()} taken while
+ * values are recorded may miss some of them, but is otherwise consistent.
+ *
+ * @see SimulatorMetrics
+ */
+public final class Histogram implements HistogramMXBean {
+
+    // region ⮞ Constants
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Values below this are counted exactly, one bucket each.
+     */
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+    private static final int LINEAR_BITS = SUB_BUCKET_BITS + 1;
+
+    static final int BUCKET_COUNT = LINEAR_LIMIT + (Long.SIZE - 1 - LINEAR_BITS) * SUB_BUCKET_COUNT;
+    // endregion
+
+    // region ⮞ Snapshot
+
+    /**
+     * Counts of a histogram at one point in time.
+     *
+     * @param counts the number of values in each bucket
+     */
+    public record Snapshot(long count, long sum, long max, long @NotNull [] counts) {
+
+        public double mean() {
+            return count == 0L ? 0.0 : (double) sum / count;
+        }
+
+        /**
+         * @param percentile from {@code 0.0} to {@code 100.0}
+         * @return The highest value of the bucket holding the given
+         * percentile, at most {@link #max()}; {@code 0} if empty.
+         */
+        public long percentile(double percentile) {
+            if (!(percentile >= 0.0 && percentile <= 100.0))
+                throw new IllegalArgumentException("Percentile must be between 0 and 100: %s".formatted(percentile));
+
+            if (count == 0L) return 0L;
+
+            long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0L;
+
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(highestValue(i), max);
+            }
+
+            return max;
+        }
+    }
+    // endregion
+
+    // region ⮞ Instance Fields
+
+    private final @NotNull String name;
+    private final @NotNull String unit;
+
+    private final @NotNull LongAdder @NotNull [] buckets = new LongAdder[BUCKET_COUNT];
+    private final @NotNull LongAdder sum = new LongAdder();
+    private final @NotNull LongAccumulator max = new LongAccumulator(Math::max, 0L);
+    // endregion
+
+    // region ⮞ Initialization
+
+    public Histogram(@NotNull String name, @NotNull String unit) {
+        this.name = name;
+        this.unit = unit;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) buckets[i] = new LongAdder();
+    }
+    // endregion
+
+    // region ⮞ Buckets
+
+    static int bucketIndex(long value) {
+        if (value < LINEAR_LIMIT) return (int) value;
+
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> exponent - SUB_BUCKET_BITS) & SUB_BUCKET_COUNT - 1;
+
+        return LINEAR_LIMIT + (exponent - LINEAR_BITS) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long lowestValue(int bucket) {
+        if (bucket < LINEAR_LIMIT) return bucket;
+
+        int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKET_COUNT + LINEAR_BITS;
+        int subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+
+        return (long) (SUB_BUCKET_COUNT + subBucket) << exponent - SUB_BUCKET_BITS;
+    }
+
+    static long highestValue(int bucket) {
+        return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : lowestValue(bucket + 1) - 1L;
+    }
+    // endregion
+
+    // region ⮞ Recording
+
+    /**
+     * Counts a value; negative values are counted as {@code 0}.
+     */
+    public void record(long value) {
+        if (value < 0L) value = 0L;
+
+        buckets[bucketIndex(value)].increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public @NotNull Snapshot snapshot() {
+        var counts = new long[BUCKET_COUNT];
+        long count = 0L;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+
+        return new Snapshot(count, sum.sum(), max.get(), counts);
+    }
+
+    /**
+     * Clears every count. Values recorded concurrently may be only partly
+     * cleared.
+     */
+    @Override
+    public void reset() {
+        for (var bucket : buckets) bucket.reset();
+        sum.reset();
+        max.reset();
+    }
+    // endregion
+
+    // region ⮞ Getters
+
+    public @NotNull String getName() {
+        return name;
+    }
+
+    @Override
+    public @NotNull String getUnit() {
+        return unit;
+    }
+
+    @Override
+    public long getCount() {
+        long count = 0L;
+        for (var bucket : buckets) count += bucket.sum();
+
+        return count;
+    }
+
+    @Override
+    public double getMean() {
+        return snapshot().mean();
+    }
+
+    @Override
+    public long getMax() {
+        return max.get();
+    }
+
+    @Override
+    public long get50thPercentile() {
+        return snapshot().percentile(50.0);
+    }
+
+    @Override
+    public long get90thPercentile() {
+        return snapshot().percentile(90.0);
+    }
+
+    @Override
+    public long get99thPercentile() {
+        return snapshot().percentile(99.0);
+    }
+
+    @Override
+    public long get999thPercentile() {
+        return snapshot().percentile(99.9);
+    }
+    // endregion
+}
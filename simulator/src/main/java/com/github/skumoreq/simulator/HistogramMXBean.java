@@ -0,0 +1,27 @@
+package com.github.skumoreq.simulator;
+
+/**
+ * Management interface of a {@link Histogram}, as registered by
+ * {@link SimulatorMetrics#registerMBeans()}. Every attribute is read from a
+ * fresh snapshot.
+ */
+public interface HistogramMXBean {
+
+    String getUnit();
+
+    long getCount();
+
+    double getMean();
+
+    long getMax();
+
+    long get50thPercentile();
+
+    long get90thPercentile();
+
+    long get99thPercentile();
+
+    long get999thPercentile();
+
+    void reset();
+}
@@ -0,0 +1,312 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.CommandJournal.Opcode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static com.github.skumoreq.simulator.CommandJournal.*;
+
+/**
+ * Re-drives a {@link SimulationScheduler.ClockMode#LOCKSTEP} scheduler from a
+ * {@link CommandJournal}.
+ * <p>
+ * Records are applied in order, each at the tick it was recorded at: the
+ * scheduler is stepped until it has completed as many ticks since the start
+ * of the replay as the recorded one had since the start of the recording.
+ * Registered cars are recreated from their recorded state, so a replay
+ * reaches the recorded state bit for bit and doubles as a repeatable
+ * workload.
+ * <p>
+ * The scheduler should start out empty. The replayed cars are registered
+ * directly with it, without a {@link CarManager}.
+ *
+ * @see CommandJournal
+ */
+public final class JournalReplay {
+
+    // region ⮞ Instance Fields
+
+    private final @NotNull ByteBuffer records;
+    private final @NotNull SimulationScheduler scheduler;
+
+    /**
+     * Registered cars keyed by their {@link PlateKey}.
+     */
+    private final @NotNull PlateKeyMap cars = new PlateKeyMap();
+
+    /**
+     * Scheduler tick at which the replay started.
+     */
+    private final long startTick;
+
+    /**
+     * Journal tick of the first record, i.e. the one matching
+     * {@link #startTick}.
+     */
+    private long baseTick = -1L;
+
+    // Header of the next record, once read.
+    private @Nullable Opcode nextOpcode = null;
+    private long nextTick = 0L;
+    private long nextPlateKey = 0L;
+
+    private long appliedCount = 0L;
+    private boolean finished = false;
+    // endregion
+
+    // region ⮞ Initialization
+
+    /**
+     * Maps the journal at the given path for replaying into the given
+     * scheduler.
+     *
+     * @throws IOException              if the file cannot be read or is not a
+     *                                  command journal
+     * @throws IllegalArgumentException if the scheduler is not a lockstep one
+     */
+    public JournalReplay(@NotNull Path path, @NotNull SimulationScheduler scheduler) throws IOException {
+        if (scheduler.getClockMode() != SimulationScheduler.ClockMode.LOCKSTEP)
+            throw new IllegalArgumentException("Journals can only be replayed into a lockstep scheduler");
+
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE)
+                throw new IOException("Not a command journal: %s (size: %d bytes)".formatted(path, size));
+
+            records = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size).order(BYTE_ORDER);
+        }
+
+        int magic = records.getInt();
+        short version = records.getShort();
+        records.getShort(); // reserved
+
+        if (magic != MAGIC || version != VERSION)
+            throw new IOException("Not a command journal: %s (version: %d)".formatted(path, version));
+
+        this.scheduler = scheduler;
+        startTick = scheduler.getTickCount();
+    }
+    // endregion
+
+    // region ⮞ Getters
+
+    /**
+     * @return A copy of the registered cars, as of the records applied so
+     * far, in no particular order.
+     */
+    public @NotNull @Unmodifiable List<Car> getCars() {
+        return cars.values();
+    }
+
+    public @Nullable Car findByPlateKey(long plateKey) {
+        return cars.get(plateKey);
+    }
+
+    public long getAppliedCount() {
+        return appliedCount;
+    }
+
+    /**
+     * @return {@code true} once the end of the journal has been reached.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+    // endregion
+
+    // region ⮞ Helper Methods
+
+    /**
+     * Reads the header of the next record unless already read.
+     *
+     * @return {@code false} if the journal has no more records.
+     */
+    private boolean peek() {
+        if (nextOpcode != null) return true;
+        if (finished) return false;
+
+        if (!records.hasRemaining()) {
+            finished = true;
+            return false;
+        }
+
+        try {
+            var opcode = Opcode.of(records.get() & 0xFF);
+
+            if (opcode == Opcode.NONE) {
+                finished = true;
+                return false;
+            }
+
+            nextTick += getVarLong(records);
+            nextPlateKey = getVarLong(records);
+            nextOpcode = opcode;
+        } catch (BufferUnderflowException e) {
+            throw corrupt(e);
+        }
+
+        if (baseTick < 0L) baseTick = nextTick;
+
+        return true;
+    }
+
+    private @NotNull IllegalStateException corrupt(@NotNull RuntimeException cause) {
+        return new IllegalStateException("Corrupt journal record at offset %d".formatted(records.position()), cause);
+    }
+
+    /**
+     * Steps the scheduler until it has replayed the given journal tick.
+     */
+    private void stepTo(long journalTick) {
+        long target = startTick + (journalTick - baseTick);
+
+        while (scheduler.getTickCount() < target) scheduler.step();
+    }
+
+    private void apply(@NotNull Opcode opcode, long plateKey) {
+        if (opcode == Opcode.END) {
+            finished = true;
+            return;
+        }
+
+        if (opcode == Opcode.REGISTER) {
+            register(plateKey);
+            return;
+        }
+
+        if (opcode == Opcode.COLLISION_POLICY) {
+            scheduler.setCollisionPolicy(SimulationScheduler.CollisionPolicy.values()[records.get()]);
+            return;
+        }
+
+        double first = 0.0, second = 0.0, third = 0.0;
+
+        switch (opcode) {
+            case REV_UP, REV_DOWN -> first = records.getDouble();
+            case UPDATE_DESTINATION -> {
+                first = records.getDouble();
+                second = records.getDouble();
+                third = records.getDouble();
+            }
+            default -> {}
+        }
+
+        // Commands recorded before the car's registration are already part of
+        // its recorded state.
+        var car = opcode == Opcode.UNREGISTER ? cars.remove(plateKey) : cars.get(plateKey);
+        if (car == null) return;
+
+        switch (opcode) {
+            case UNREGISTER -> scheduler.unregister(car);
+            case PAUSE -> car.pause();
+            case RESUME -> car.resume();
+            case START_ENGINE -> car.tryStartEngine();
+            case STOP_ENGINE -> car.stopEngine();
+            case PRESS_CLUTCH -> car.pressClutch();
+            case RELEASE_CLUTCH -> car.tryReleaseClutch();
+            case SHIFT_UP -> car.tryShiftUp();
+            case SHIFT_DOWN -> car.tryShiftDown();
+            case REV_UP -> car.revUp(first);
+            case REV_DOWN -> car.tryRevDown(first);
+            case UPDATE_DESTINATION -> car.updateDestination(first, second, third);
+            case HOLD_POSITION -> car.holdPosition();
+            default -> throw new IllegalStateException("Unexpected journal opcode: %s".formatted(opcode));
+        }
+    }
+
+    /**
+     * Recreates a car from its recorded state and registers it, replacing the
+     * state of a car registered under the same plate.
+     */
+    private void register(long plateKey) {
+        var engine = CarManager.ENGINES.get((int) getVarLong(records));
+        var transmission = CarManager.TRANSMISSIONS.get((int) getVarLong(records));
+
+        var modelName = new byte[(int) getVarLong(records)];
+        records.get(modelName);
+
+        int flags = records.get();
+
+        var state = new FleetState.Page(1);
+
+        state.gear[0] = (int) getVarLong(records);
+        state.previousGear[0] = (int) getVarLong(records);
+        state.positionX[0] = records.getDouble();
+        state.positionY[0] = records.getDouble();
+        state.destinationX[0] = records.getDouble();
+        state.destinationY[0] = records.getDouble();
+        state.speed[0] = records.getDouble();
+        state.angle[0] = records.getDouble();
+        state.rpm[0] = records.getDouble();
+        state.idle[0] = (flags & FLAG_IDLE) != 0;
+        state.clutchEngaged[0] = (flags & FLAG_CLUTCH_ENGAGED) != 0;
+        state.colliding[0] = (flags & FLAG_COLLIDING) != 0;
+
+        var car = cars.get(plateKey);
+
+        if (car == null) {
+            car = new Car(
+                    plateKey, new String(modelName, StandardCharsets.UTF_8),
+                    transmission, engine, new Point(state.positionX[0], state.positionY[0])
+            );
+            cars.putIfAbsent(car);
+        } else {
+            scheduler.unregister(car);
+        }
+
+        car.restore(state, 0, (flags & FLAG_PAUSED) != 0);
+        scheduler.register(car);
+    }
+    // endregion
+
+    // region ⮞ Replaying
+
+    /**
+     * Applies every record up to and including the given journal tick, then
+     * steps the scheduler up to that tick.
+     *
+     * @param journalTick a tick number as counted by the recorded scheduler
+     */
+    public void replayTo(long journalTick) {
+        while (peek() && nextTick <= journalTick) replayNext();
+
+        if (baseTick >= 0L) stepTo(journalTick);
+    }
+
+    /**
+     * Applies every remaining record, ending at the tick the recording was
+     * stopped at.
+     */
+    public void replayAll() {
+        while (peek()) replayNext();
+    }
+
+    private void replayNext() {
+        var opcode = nextOpcode;
+        long plateKey = nextPlateKey;
+
+        nextOpcode = null;
+
+        stepTo(nextTick);
+
+        try {
+            apply(opcode, plateKey);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw corrupt(e);
+        }
+
+        appliedCount++;
+    }
+    // endregion
+}
@@ -0,0 +1,71 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Batch kernel that moves a range of fleet slots towards their destinations.
+ * <p>
+ * Every implementation reproduces the semantics of
+ * {@link Point#moveTowards(Point, double, long, double)} bit-for-bit: the
+ * travel distance is {@code unitScale * speed * interval / 3600.0}, capped to
+ * the remaining distance so that no slot overshoots its destination. Paused
+ * slots, stationary slots, slots already at their destination and every slot
+ * on a zero interval are left untouched; only moved slots get the
+ * {@code POSITION} bit set in their pending changes.
+ * <p>
+ * Two implementations exist: a SIMD kernel built on the incubating
+ * {@code jdk.incubator.vector} module, and a scalar loop used whenever that
+ * module is not part of the boot layer (it is an optional dependency, enabled
+ * with {@code --add-modules jdk.incubator.vector}).
+ *
+ * @see FleetState.Page#advance(int, int, long)
+ */
+interface MovementKernel {
+
+    /**
+     * Set to {@code false} to force the scalar kernel even when the vector
+     * module is available.
+     */
+    String VECTOR_PROPERTY = "simulator.vector";
+
+    MovementKernel SCALAR = new ScalarMovementKernel();
+
+    /**
+     * The fastest kernel available in the running JVM.
+     */
+    MovementKernel PREFERRED = vectorized() != null ? vectorized() : SCALAR;
+
+    /**
+     * @return The SIMD kernel, or {@code null} if the vector module is not
+     * available or the hardware offers fewer than two {@code double} lanes.
+     */
+    static @Nullable MovementKernel vectorized() {
+        return VectorSupport.KERNEL;
+    }
+
+    void move(@NotNull FleetState.Page page, int from, int to, long interval, double unitScale);
+
+    /**
+     * Lazily probes the vector module. The SIMD kernel class is only loaded
+     * once the module is known to be present.
+     */
+    final class VectorSupport {
+
+        private static final @Nullable MovementKernel KERNEL = probe();
+
+        private VectorSupport() {
+        }
+
+        private static @Nullable MovementKernel probe() {
+            if (!Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))) return null;
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+
+            try {
+                return VectorMovementKernel.isSupported() ? new VectorMovementKernel() : null;
+            } catch (LinkageError e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Lossless codec between plate numbers and compact {@code long} keys.
+ * <p>
+ * A plate number consists of 1-3 uppercase letters, a single space and a
+ * 5-character suffix of digits and the uppercase letters other than
+ * {@code B}, {@code D}, {@code I}, {@code O} and {@code Z}. Every letter of
+ * the prefix fits in 5 bits, and so does every suffix character, as the
+ * suffix alphabet has 31 symbols. Together with the prefix length a plate
+ * number takes 42 bits:
+ * <pre>
+ *  41   40 39        25 24                0
+ * [length][prefix 3x5  ][suffix 5x5        ]
+ * </pre>
+ * Unused prefix letters are zero, so every plate number has exactly one key
+ * and every valid key is non-negative. Validation is a single pass over the
+ * characters, without regular expressions.
+ */
+public final class PlateKey {
+
+    // region ⮞ Constants
+
+    /**
+     * Returned by {@link #tryEncode} for malformed plate numbers. Never a
+     * valid key.
+     */
+    public static final long INVALID = -1L;
+
+    public static final int MAX_PREFIX_LENGTH = 3;
+    public static final int SUFFIX_LENGTH = 5;
+
+    private static final String SUFFIX_ALPHABET = "0123456789ACEFGHJKLMNPQRSTUVWXY";
+
+    private static final int BITS_PER_CHAR = 5;
+    private static final int CHAR_MASK = (1 << BITS_PER_CHAR) - 1;
+    private static final int PREFIX_SHIFT = SUFFIX_LENGTH * BITS_PER_CHAR;
+    private static final int LENGTH_SHIFT = PREFIX_SHIFT + MAX_PREFIX_LENGTH * BITS_PER_CHAR;
+    private static final long KEY_MASK = (1L << LENGTH_SHIFT + 2) - 1;
+
+    /**
+     * Code of every ASCII character in the suffix alphabet, {@code -1} for
+     * the others.
+     */
+    private static final byte @NotNull [] SUFFIX_CODES = new byte[128];
+
+    static {
+        Arrays.fill(SUFFIX_CODES, (byte) -1);
+
+        for (int code = 0; code < SUFFIX_ALPHABET.length(); code++)
+            SUFFIX_CODES[SUFFIX_ALPHABET.charAt(code)] = (byte) code;
+    }
+    // endregion
+
+    // region ⮞ Initialization
+
+    private PlateKey() {
+    }
+    // endregion
+
+    // region ⮞ Validation
+
+    public static boolean isValid(@NotNull CharSequence plateNumber) {
+        return tryEncode(plateNumber) != INVALID;
+    }
+
+    /**
+     * @return {@code true} if the key was produced by {@link #encode}.
+     */
+    public static boolean isValidKey(long key) {
+        if ((key & ~KEY_MASK) != 0) return false;
+
+        int prefixLength = (int) (key >>> LENGTH_SHIFT);
+        if (prefixLength == 0) return false;
+
+        for (int i = 0; i < MAX_PREFIX_LENGTH; i++) {
+            int letter = prefixCode(key, i);
+
+            if (i < prefixLength ? letter >= 26 : letter != 0) return false;
+        }
+
+        for (int i = 0; i < SUFFIX_LENGTH; i++)
+            if (suffixCode(key, i) >= SUFFIX_ALPHABET.length()) return false;
+
+        return true;
+    }
+    // endregion
+
+    // region ⮞ Encoding
+
+    /**
+     * @return The key of the given plate number, or {@link #INVALID} if it is
+     * malformed.
+     */
+    public static long tryEncode(@NotNull CharSequence plateNumber) {
+        int length = plateNumber.length();
+        int prefixLength = length - SUFFIX_LENGTH - 1;
+
+        if (prefixLength < 1 || prefixLength > MAX_PREFIX_LENGTH) return INVALID;
+        if (plateNumber.charAt(prefixLength) != ' ') return INVALID;
+
+        long key = (long) prefixLength << LENGTH_SHIFT;
+
+        for (int i = 0; i < prefixLength; i++) {
+            char letter = plateNumber.charAt(i);
+
+            if (letter < 'A' || letter > 'Z') return INVALID;
+
+            key |= (long) (letter - 'A') << prefixShift(i);
+        }
+
+        for (int i = 0; i < SUFFIX_LENGTH; i++) {
+            char symbol = plateNumber.charAt(prefixLength + 1 + i);
+            int code = symbol < SUFFIX_CODES.length ? SUFFIX_CODES[symbol] : -1;
+
+            if (code < 0) return INVALID;
+
+            key |= (long) code << suffixShift(i);
+        }
+
+        return key;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the plate number is malformed
+     */
+    public static long encode(@NotNull CharSequence plateNumber) {
+        long key = tryEncode(plateNumber);
+
+        if (key == INVALID)
+            throw new IllegalArgumentException("Malformed plate number: %s".formatted(plateNumber));
+
+        return key;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the key was not produced by
+     *                                  {@link #encode}
+     */
+    public static @NotNull String decode(long key) {
+        if (!isValidKey(key))
+            throw new IllegalArgumentException("Malformed plate key: %d".formatted(key));
+
+        int prefixLength = (int) (key >>> LENGTH_SHIFT);
+        var chars = new char[prefixLength + 1 + SUFFIX_LENGTH];
+
+        for (int i = 0; i < prefixLength; i++)
+            chars[i] = (char) ('A' + prefixCode(key, i));
+
+        chars[prefixLength] = ' ';
+
+        for (int i = 0; i < SUFFIX_LENGTH; i++)
+            chars[prefixLength + 1 + i] = SUFFIX_ALPHABET.charAt(suffixCode(key, i));
+
+        return new String(chars);
+    }
+    // endregion
+
+    // region ⮞ Helper Methods
+
+    private static int prefixShift(int position) {
+        return PREFIX_SHIFT + (MAX_PREFIX_LENGTH - 1 - position) * BITS_PER_CHAR;
+    }
+
+    private static int suffixShift(int position) {
+        return (SUFFIX_LENGTH - 1 - position) * BITS_PER_CHAR;
+    }
+
+    private static int prefixCode(long key, int position) {
+        return (int) (key >>> prefixShift(position)) & CHAR_MASK;
+    }
+
+    private static int suffixCode(long key, int position) {
+        return (int) (key >>> suffixShift(position)) & CHAR_MASK;
+    }
+    // endregion
+}
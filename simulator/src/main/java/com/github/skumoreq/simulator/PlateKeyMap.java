@@ -0,0 +1,242 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Open-addressing hash map from {@link PlateKey}s to the cars registered
+ * under them.
+ * <p>
+ * Keys are kept as primitives in a parallel {@code long[]} and probed
+ * linearly, so neither a lookup nor an insertion boxes the key, and hashing is
+ * a single multiplication instead of a call on a heap object. The table is
+ * kept at most three quarters full and doubles when it would exceed that.
+ *
+ * <h2>Thread Safety</h2>
+ * Writes must be serialized by the caller, e.g. by holding the owner's
+ * monitor. Reads take no lock and may run concurrently with a write: a
+ * removed entry leaves a tombstone instead of moving its neighbors, and a
+ * grown table is published only once filled, so a lookup never misses an
+ * entry that was present throughout it.
+ *
+ * @see CarManager
+ * @see JournalReplay
+ */
+final class PlateKeyMap {
+
+    // region ⮞ Constants
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Marks a removed entry, so that probing continues past it.
+     */
+    private static final @NotNull Object TOMBSTONE = new Object();
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+    // endregion
+
+    // region ⮞ Instance Fields
+
+    /**
+     * Both columns of a table, swapped together when the map grows. An empty
+     * slot holds {@code null}, a removed one {@link #TOMBSTONE}.
+     */
+    private record Table(long @NotNull [] keys, @Nullable Object @NotNull [] values, int shift) {
+
+        Table(int capacity) {
+            this(new long[capacity], new Object[capacity], Long.numberOfLeadingZeros(capacity - 1L));
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        int slotOf(long key) {
+            return (int) (key * 0x9E37_79B9_7F4A_7C15L >>> shift);
+        }
+    }
+
+    private volatile @NotNull Table table = new Table(MIN_CAPACITY);
+
+    private volatile int size = 0;
+
+    /**
+     * Slots that are not empty, i.e. live entries and tombstones. Only
+     * accessed by writers.
+     */
+    private int occupied = 0;
+    // endregion
+
+    // region ⮞ Lookup
+
+    int size() {
+        return size;
+    }
+
+    @Nullable Car get(long plateKey) {
+        var current = table;
+        int mask = current.capacity() - 1;
+
+        for (int slot = current.slotOf(plateKey); ; slot = slot + 1 & mask) {
+            var value = VALUES.getAcquire(current.values(), slot);
+
+            if (value == null) return null;
+
+            // A slot reused by a concurrent write may pair a new key with the
+            // car read above, so the car's own key has the final say.
+            if ((long) KEYS.getOpaque(current.keys(), slot) == plateKey
+                    && value instanceof Car car && car.getPlateKey() == plateKey) return car;
+        }
+    }
+
+    boolean containsKey(long plateKey) {
+        return get(plateKey) != null;
+    }
+
+    /**
+     * @return A copy of the mapped cars, in no particular order.
+     */
+    @NotNull @Unmodifiable List<Car> values() {
+        var values = table.values();
+        var cars = new ArrayList<Car>(size);
+
+        for (int slot = 0; slot < values.length; slot++)
+            if (VALUES.getAcquire(values, slot) instanceof Car car) cars.add(car);
+
+        return Collections.unmodifiableList(cars);
+    }
+
+    /**
+     * @return A copy of the mapped keys, in no particular order.
+     */
+    long @NotNull [] keys() {
+        var values = table.values();
+        var keys = new long[size];
+        int count = 0;
+
+        for (int slot = 0; slot < values.length; slot++) {
+            if (!(VALUES.getAcquire(values, slot) instanceof Car car)) continue;
+
+            // Entries added since the size was read are left out.
+            if (count == keys.length) break;
+
+            keys[count++] = car.getPlateKey();
+        }
+
+        return count == keys.length ? keys : Arrays.copyOf(keys, count);
+    }
+    // endregion
+
+    // region ⮞ Modification
+
+    /**
+     * Maps the car under its plate key unless the key is already mapped.
+     *
+     * @return {@code true} if the car was added.
+     */
+    boolean putIfAbsent(@NotNull Car car) {
+        long plateKey = car.getPlateKey();
+        var current = table;
+        int mask = current.capacity() - 1;
+        int target = -1;
+
+        for (int slot = current.slotOf(plateKey); ; slot = slot + 1 & mask) {
+            var value = current.values()[slot];
+
+            if (value == null) {
+                if (target < 0) target = slot;
+                break;
+            }
+
+            if (value == TOMBSTONE) {
+                if (target < 0) target = slot;
+            } else if (current.keys()[slot] == plateKey) {
+                return false;
+            }
+        }
+
+        if (current.values()[target] == null) occupied++;
+
+        // The key is written first, so a reader that sees the car also sees
+        // its key.
+        KEYS.setOpaque(current.keys(), target, plateKey);
+        VALUES.setRelease(current.values(), target, car);
+
+        size = size + 1;
+
+        if (occupied * 4L > current.capacity() * 3L) rebuild();
+
+        return true;
+    }
+
+    /**
+     * Removes the mapping of the given key, if any.
+     *
+     * @return The car that was mapped under the key.
+     */
+    @Nullable Car remove(long plateKey) {
+        var current = table;
+        int mask = current.capacity() - 1;
+
+        for (int slot = current.slotOf(plateKey); ; slot = slot + 1 & mask) {
+            var value = current.values()[slot];
+
+            if (value == null) return null;
+
+            if (value instanceof Car car && current.keys()[slot] == plateKey) {
+                VALUES.setRelease(current.values(), slot, TOMBSTONE);
+                size = size - 1;
+
+                return car;
+            }
+        }
+    }
+
+    /**
+     * Removes the car if it is the one mapped under its plate key.
+     *
+     * @return {@code true} if the car was removed.
+     */
+    boolean remove(@NotNull Car car) {
+        if (get(car.getPlateKey()) != car) return false;
+
+        remove(car.getPlateKey());
+
+        return true;
+    }
+
+    /**
+     * Moves the live entries into a new table sized for twice their number,
+     * dropping the tombstones, then publishes it.
+     */
+    private void rebuild() {
+        var current = table;
+        int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, size * 2 - 1)) << 1);
+        var rebuilt = new Table(capacity);
+        int mask = capacity - 1;
+
+        for (int i = 0; i < current.capacity(); i++) {
+            if (!(current.values()[i] instanceof Car car)) continue;
+
+            int slot = rebuilt.slotOf(car.getPlateKey());
+            while (rebuilt.values()[slot] != null) slot = slot + 1 & mask;
+
+            rebuilt.keys()[slot] = car.getPlateKey();
+            rebuilt.values()[slot] = car;
+        }
+
+        occupied = size;
+        table = rebuilt;
+    }
+    // endregion
+}
@@ -0,0 +1,35 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Portable one-slot-at-a-time implementation of {@link MovementKernel}. Also
+ * handles the tail of a range that does not fill a whole vector.
+ */
+final class ScalarMovementKernel implements MovementKernel {
+
+    @Override
+    public void move(@NotNull FleetState.Page page, int from, int to, long interval, double unitScale) {
+        if (interval == 0L) return;
+
+        for (int i = from; i < to; i++) {
+            if (page.idle[i]) continue;
+
+            double x = page.positionX[i];
+            double y = page.positionY[i];
+            double dx = page.destinationX[i] - x;
+            double dy = page.destinationY[i] - y;
+            double speed = page.speed[i];
+
+            if ((dx == 0.0 && dy == 0.0) || speed == 0.0) continue;
+
+            double distanceToTarget = Math.sqrt(dx * dx + dy * dy);
+            double distanceToMove = Math.min(unitScale * speed * interval / 3600.0, distanceToTarget);
+            double factor = distanceToMove / distanceToTarget;
+
+            page.positionX[i] = x + dx * factor;
+            page.positionY[i] = y + dy * factor;
+            page.changes[i] |= FleetState.POSITION_CHANGED;
+        }
+    }
+}
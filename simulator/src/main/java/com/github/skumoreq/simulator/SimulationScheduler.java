@@ -0,0 +1,525 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Fixed-timestep clock that drives every registered car.
+ * <p>
+ * Instead of dedicating a thread to each car, a single clock thread fires a
+ * tick every {@link #TICK_INTERVAL} milliseconds. The {@link FleetState} is
+ * split into page-aligned chunks which are swept in parallel on a
+ * {@link ForkJoinPool} of configurable size, so tick throughput scales with
+ * the number of cores while the thread count stays flat.
+ * <p>
+ * Every tick ends with a barrier: observers are notified and
+ * {@link TickListener}s are invoked only after all chunks have been swept, so
+ * they always see the fleet at a tick boundary. They run once the fleet's
+ * monitor has been released, so they may freely control the cars.
+ * <p>
+ * Cars with nothing to integrate are parked (see {@link FleetState}). Once
+ * the whole fleet is parked and no commands are queued, the clock stops
+ * firing until some car wakes up, so an idle simulation costs no CPU.
+ * {@link #isRunning()} stays {@code true} meanwhile; {@link #isTicking()}
+ * tells whether the clock is actually firing.
+ * <p>
+ * After the sweep, a broad-phase {@link CollisionDetector} finds the cars
+ * whose bounding circles touch; what happens then is decided by the
+ * {@link CollisionPolicy}. Cars ticked by their own virtual thread are never
+ * registered with the scheduler, so they are not checked for collisions.
+ * <p>
+ * A {@link ClockMode#LOCKSTEP} scheduler has no clock: it only advances when
+ * {@link #step()} is called, so the same inputs always yield the same ticks.
+ * The control commands applied to its cars can be recorded into a
+ * {@link CommandJournal} and replayed with {@link JournalReplay}.
+ *
+ * @see FleetState
+ * @see CarManager
+ */
+public final class SimulationScheduler {
+
+    // region ⮞ Tick Listeners
+
+    /**
+     * Receives a callback at the end of every tick, after all cars have been
+     * advanced and their observers notified.
+     */
+    @FunctionalInterface
+    public interface TickListener {
+
+        /**
+         * Invoked on the ticking thread, without holding any lock of the
+         * fleet. No tick runs while this method does, but cars may still be
+         * registered or controlled concurrently; to read several cars
+         * consistently, a listener inside this package synchronizes on the
+         * {@link FleetState}. It should return quickly, as it delays the next
+         * tick.
+         *
+         * @param tick the number of the tick that just completed, starting
+         *             from {@code 1}
+         */
+        void onTickCompleted(long tick);
+    }
+
+    private final @NotNull List<TickListener> tickListeners = new CopyOnWriteArrayList<>();
+
+    public void addTickListener(@NotNull TickListener listener) {
+        tickListeners.add(listener);
+    }
+
+    public void removeTickListener(@NotNull TickListener listener) {
+        tickListeners.remove(listener);
+    }
+    // endregion
+
+    // region ⮞ Collision Policies
+
+    /**
+     * Determines how the scheduler reacts to cars touching each other.
+     */
+    public enum CollisionPolicy {
+        /**
+         * Collisions are not detected at all.
+         */
+        IGNORE,
+        /**
+         * Touching cars are flagged in their {@link CarSnapshot} and
+         * {@link CarObserver.ChangedProperty#COLLISION} is reported whenever
+         * a car starts or stops touching another one.
+         */
+        REPORT,
+        /**
+         * As {@link #REPORT}, and both cars of a new contact are stopped with
+         * {@link Car#holdPositionAsync()} before the next tick.
+         */
+        STOP
+    }
+    // endregion
+
+    // region ⮞ Clock Modes
+
+    /**
+     * Determines what fires the ticks.
+     */
+    public enum ClockMode {
+        /**
+         * A clock thread fires a tick every {@link #TICK_INTERVAL}
+         * milliseconds while the scheduler is running.
+         */
+        REAL_TIME,
+        /**
+         * Ticks are only run by {@link #step()}, on the calling thread.
+         * Starting the scheduler does not start a clock.
+         */
+        LOCKSTEP
+    }
+    // endregion
+
+    // region ⮞ Constants
+
+    public static final long TICK_INTERVAL = 20L;
+
+    /**
+     * Smallest unit of parallel work. Chunks are aligned to whole pages so
+     * that no two workers share a page's cache lines.
+     */
+    private static final int SWEEP_GRANULARITY = FleetState.PAGE_SIZE;
+
+    static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    // endregion
+
+    // region ⮞ Sweep Task
+
+    /**
+     * Recursively halves a slot range at page boundaries until it is small
+     * enough to sweep directly.
+     */
+    private static final class SweepTask extends RecursiveAction {
+
+        private final @NotNull FleetState fleet;
+        private final int from;
+        private final int to;
+
+        SweepTask(@NotNull FleetState fleet, int from, int to) {
+            this.fleet = fleet;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int middle = from + ((to - from) / 2 & ~FleetState.PAGE_MASK);
+
+            if (to - from <= SWEEP_GRANULARITY || middle == from) {
+                fleet.advanceRange(from, to, TICK_INTERVAL);
+                return;
+            }
+
+            invokeAll(new SweepTask(fleet, from, middle), new SweepTask(fleet, middle, to));
+        }
+    }
+    // endregion
+
+    // region ⮞ Instance Fields
+
+    private final @NotNull FleetState fleet;
+
+    /**
+     * Serializes whole ticks, including the delivery of their changes. Never
+     * acquired by the cars, so observers may control them while it is held.
+     */
+    private final @NotNull Object tickLock = new Object();
+
+    private final @NotNull CollisionDetector collisionDetector = new CollisionDetector();
+
+    private volatile @NotNull CollisionPolicy collisionPolicy = CollisionPolicy.REPORT;
+
+    /**
+     * Number of touching pairs found by the last tick.
+     */
+    private volatile int contactCount = 0;
+
+    private final int parallelism;
+    private final @NotNull ClockMode clockMode;
+    private final @NotNull ScheduledExecutorService clock;
+    private final @NotNull ForkJoinPool workers;
+
+    /**
+     * Whether {@link #start()} was called, regardless of the clock being
+     * suspended while the fleet is parked.
+     */
+    private boolean started = false;
+
+    private @Nullable ScheduledFuture<?> tickTask = null;
+
+    /**
+     * Number of completed ticks. Only written by the ticking thread.
+     */
+    private volatile long tickCount = 0L;
+    // endregion
+
+    // region ⮞ Initialization
+
+    /**
+     * @param parallelism the number of worker threads sweeping the fleet
+     */
+    public SimulationScheduler(int parallelism, @NotNull ClockMode clockMode) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive: %d".formatted(parallelism));
+
+        this.parallelism = parallelism;
+        this.clockMode = clockMode;
+
+        clock = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("SimulationClock").daemon().factory()
+        );
+        workers = new ForkJoinPool(
+                parallelism,
+                pool -> {
+                    var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("SimulationWorker-" + thread.getPoolIndex());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                null, false
+        );
+
+        // Created last, as it calls back into this scheduler.
+        fleet = new FleetState(this::wakeUp, this::getTickCount);
+    }
+
+    public SimulationScheduler(int parallelism) {
+        this(parallelism, ClockMode.REAL_TIME);
+    }
+
+    public SimulationScheduler() {
+        this(DEFAULT_PARALLELISM);
+    }
+    // endregion
+
+    // region ⮞ Getters
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public @NotNull ClockMode getClockMode() {
+        return clockMode;
+    }
+
+    public int getCarCount() {
+        return fleet.getLiveCount();
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public @NotNull CollisionPolicy getCollisionPolicy() {
+        return collisionPolicy;
+    }
+
+    /**
+     * @return The number of touching car pairs found by the last tick.
+     */
+    public int getContactCount() {
+        return contactCount;
+    }
+
+    @NotNull FleetState fleet() {
+        return fleet;
+    }
+
+    public synchronized boolean isRunning() {
+        return started;
+    }
+
+    /**
+     * @return {@code true} if the clock is firing, i.e. the scheduler is
+     * running and at least one car is awake.
+     */
+    public synchronized boolean isTicking() {
+        return tickTask != null;
+    }
+    // endregion
+
+    // region ⮞ Setters
+
+    /**
+     * Takes effect from the next tick. Switching to
+     * {@link CollisionPolicy#IGNORE} leaves the cars flagged as colliding
+     * until they are checked again.
+     */
+    public void setCollisionPolicy(@NotNull CollisionPolicy collisionPolicy) {
+        synchronized (fleet) {
+            this.collisionPolicy = collisionPolicy;
+
+            var journal = fleet.journal();
+            if (journal != null) journal.appendCollisionPolicy(this::getTickCount, collisionPolicy);
+        }
+    }
+    // endregion
+
+    // region ⮞ Registration
+
+    /**
+     * Moves the car's state into a slot of this scheduler's fleet store.
+     */
+    public void register(@NotNull Car car) {
+        car.attach(fleet);
+    }
+
+    /**
+     * Moves the car's state back out of the fleet store and frees its slot.
+     */
+    public void unregister(@NotNull Car car) {
+        car.detach(fleet);
+    }
+    // endregion
+
+    // region ⮞ Lifecycle
+
+    public synchronized void start() {
+        if (started) return;
+
+        started = true;
+
+        if (!fleet.isDormant()) startClock();
+    }
+
+    public synchronized void stop() {
+        started = false;
+
+        stopClock();
+    }
+
+    private void startClock() {
+        if (tickTask != null || clockMode == ClockMode.LOCKSTEP) return;
+
+        tickTask = clock.scheduleAtFixedRate(this::tick, TICK_INTERVAL, TICK_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    private void stopClock() {
+        if (tickTask == null) return;
+
+        tickTask.cancel(false);
+        tickTask = null;
+    }
+
+    /**
+     * Restarts the clock after a car woke up or queued a command.
+     *
+     * @implNote May be called with a car's monitor held, so it must never
+     * acquire the fleet's or a car's.
+     */
+    private synchronized void wakeUp() {
+        if (started) startClock();
+    }
+
+    /**
+     * Stops the clock if the last tick left nothing to do. A car waking up
+     * concurrently either is seen here or restarts the clock afterward.
+     */
+    private synchronized void suspendIfDormant() {
+        if (fleet.isDormant()) stopClock();
+    }
+
+    /**
+     * Stops ticking and releases the clock and worker threads. The scheduler
+     * cannot be restarted afterward.
+     */
+    public void shutdown() {
+        stop();
+
+        clock.shutdownNow();
+        workers.shutdownNow();
+    }
+    // endregion
+
+    // region ⮞ Recording
+
+    /**
+     * Starts recording the control commands applied to the registered cars,
+     * preceded by the collision policy and the state of every car registered
+     * so far.
+     * <p>
+     * While recording, registering a car built from components outside the
+     * {@link CarManager} catalog fails with an
+     * {@link IllegalArgumentException}, as it could not be replayed.
+     *
+     * @throws IllegalStateException if a recording is already in progress
+     */
+    public void startRecording(@NotNull CommandJournal journal) {
+        List<Car> registered;
+
+        synchronized (fleet) {
+            if (fleet.journal() != null) throw new IllegalStateException("A recording is already in progress");
+
+            journal.appendCollisionPolicy(this::getTickCount, collisionPolicy);
+
+            fleet.setJournal(journal);
+            registered = fleet.handles();
+        }
+
+        // Recorded outside the fleet's monitor, which is acquired after the
+        // car's. Commands applied meanwhile are part of the recorded state.
+        for (var car : registered) car.recordRegistration(fleet);
+    }
+
+    /**
+     * Stops recording and marks the end of the journal at the current tick.
+     * The journal is left open; closing it is up to the caller.
+     */
+    public void stopRecording() {
+        synchronized (fleet) {
+            var journal = fleet.journal();
+            if (journal == null) return;
+
+            fleet.setJournal(null);
+            journal.appendEnd(this::getTickCount);
+        }
+    }
+
+    public boolean isRecording() {
+        return fleet.journal() != null;
+    }
+    // endregion
+
+    // region ⮞ Tick Execution
+
+    /**
+     * Runs the collision stage over the freshly swept fleet.
+     *
+     * @implNote Must be called with the fleet's monitor held. Stopping the
+     * cars only queues commands, so no car monitor is acquired here.
+     */
+    private void detectCollisions(int slotCount) {
+        var policy = collisionPolicy;
+
+        if (policy == CollisionPolicy.IGNORE) {
+            contactCount = 0;
+            return;
+        }
+
+        contactCount = collisionDetector.detect(fleet, slotCount, car -> {
+            if (policy == CollisionPolicy.STOP) car.holdPositionAsync();
+        });
+    }
+
+    /**
+     * Runs one tick: the queued control commands, the parallel sweep, the
+     * barrier, the collision stage, then the sequential notification phase.
+     */
+    private void runTick() {
+        long start = System.nanoTime();
+
+        synchronized (tickLock) {
+            fleet.applyCommands();
+            fleet.confirmWakes();
+
+            // Holding the store's monitor keeps slots from being allocated or
+            // released while they are swept. It is released before any
+            // observer or listener runs, as these may call back into the cars.
+            synchronized (fleet) {
+                int slotCount = fleet.getSlotCount();
+
+                if (slotCount <= SWEEP_GRANULARITY) fleet.advanceRange(0, slotCount, TICK_INTERVAL);
+                else workers.invoke(new SweepTask(fleet, 0, slotCount)); // returns once all chunks are done
+
+                detectCollisions(slotCount);
+
+                fleet.dispatchRange(0, slotCount);
+            }
+
+            fleet.deliverChanges();
+
+            long completedTick = ++tickCount;
+
+            for (var listener : tickListeners) listener.onTickCompleted(completedTick);
+        }
+
+        SimulatorMetrics.TICK_DURATION.record(System.nanoTime() - start);
+
+        suspendIfDormant();
+    }
+
+    /**
+     * Runs one tick, as fired by the clock. A failing tick must not cancel
+     * the periodic task, so exceptions are reported and ticking continues.
+     */
+    void tick() {
+        try {
+            runTick();
+        } catch (RuntimeException e) {
+            var thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    /**
+     * Runs one tick on the calling thread. Exceptions are propagated to the
+     * caller.
+     *
+     * @throws IllegalStateException if this is not a
+     *                               {@link ClockMode#LOCKSTEP} scheduler
+     */
+    public void step() {
+        if (clockMode != ClockMode.LOCKSTEP)
+            throw new IllegalStateException("Only lockstep schedulers can be stepped");
+
+        runTick();
+    }
+
+    /**
+     * Runs the given number of ticks on the calling thread.
+     *
+     * @see #step()
+     */
+    public void step(int ticks) {
+        for (int i = 0; i < ticks; i++) step();
+    }
+    // endregion
+}
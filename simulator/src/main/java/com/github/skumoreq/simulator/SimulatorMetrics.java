@@ -0,0 +1,117 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Built-in instrumentation of the simulation's hot paths:
+ * <ul>
+ *     <li>{@link #TICK_DURATION}: how long each {@link SimulationScheduler}
+ *     tick takes, from applying commands to the last tick listener.</li>
+ *     <li>{@link #CAR_MONITOR_WAIT}: how long threads wait to enter the
+ *     synchronized control and tick methods of a {@link Car}.</li>
+ *     <li>{@link #OBSERVER_FAN_OUT}: how many observer callbacks a car
+ *     delivers per notification flush.</li>
+ *     <li>{@link #DISPATCH_DELAY}: how long a notification flush waits on
+ *     its executor, e.g. {@code Platform.runLater}, after the first change
+ *     of the batch. Flushes run synchronously by the executor are not
+ *     recorded.</li>
+ * </ul>
+ * The histograms are recorded always and cheaply; they can be read in
+ * process, exported as MXBeans under {@value #DOMAIN} or dumped as text.
+ */
+public final class SimulatorMetrics {
+
+    // region ⮞ Histograms
+
+    public static final @NotNull Histogram TICK_DURATION = new Histogram("TickDuration", "ns");
+    public static final @NotNull Histogram CAR_MONITOR_WAIT = new Histogram("CarMonitorWait", "ns");
+    public static final @NotNull Histogram OBSERVER_FAN_OUT = new Histogram("ObserverFanOut", "callbacks");
+    public static final @NotNull Histogram DISPATCH_DELAY = new Histogram("DispatchDelay", "ns");
+
+    public static final @NotNull @Unmodifiable List<Histogram> HISTOGRAMS = List.of(
+            TICK_DURATION, CAR_MONITOR_WAIT, OBSERVER_FAN_OUT, DISPATCH_DELAY
+    );
+    // endregion
+
+    // region ⮞ Constants
+
+    public static final String DOMAIN = "com.github.skumoreq.simulator";
+    // endregion
+
+    // region ⮞ Initialization
+
+    private SimulatorMetrics() {
+    }
+    // endregion
+
+    // region ⮞ Export
+
+    static @NotNull ObjectName objectName(@NotNull Histogram histogram) throws JMException {
+        return new ObjectName("%s:type=Metrics,name=%s".formatted(DOMAIN, histogram.getName()));
+    }
+
+    /**
+     * Registers every histogram with the platform MBean server, as
+     * {@code com.github.skumoreq.simulator:type=Metrics,name=<name>}.
+     * Histograms already registered are skipped.
+     *
+     * @throws JMException if a histogram cannot be registered
+     */
+    public static synchronized void registerMBeans() throws JMException {
+        var server = ManagementFactory.getPlatformMBeanServer();
+
+        for (var histogram : HISTOGRAMS) {
+            var name = objectName(histogram);
+            if (!server.isRegistered(name)) server.registerMBean(histogram, name);
+        }
+    }
+
+    public static synchronized void unregisterMBeans() throws JMException {
+        var server = ManagementFactory.getPlatformMBeanServer();
+
+        for (var histogram : HISTOGRAMS) {
+            var name = objectName(histogram);
+            if (server.isRegistered(name)) server.unregisterMBean(name);
+        }
+    }
+
+    /**
+     * @return A table of the count, mean, percentiles and maximum of every
+     * histogram, one line each.
+     */
+    public static @NotNull String dump() {
+        var table = new StringBuilder();
+
+        // Locale-independent, so the dump parses the same everywhere.
+        table.append(String.format(
+                Locale.ROOT, "%-16s %10s %12s %12s %12s %12s %12s %12s  %s%n",
+                "metric", "count", "mean", "p50", "p90", "p99", "p99.9", "max", "unit"
+        ));
+
+        for (var histogram : HISTOGRAMS) {
+            var snapshot = histogram.snapshot();
+
+            table.append(String.format(
+                    Locale.ROOT, "%-16s %10d %12.1f %12d %12d %12d %12d %12d  %s%n",
+                    histogram.getName(), snapshot.count(), snapshot.mean(),
+                    snapshot.percentile(50.0), snapshot.percentile(90.0),
+                    snapshot.percentile(99.0), snapshot.percentile(99.9),
+                    snapshot.max(), histogram.getUnit()
+            ));
+        }
+
+        return table.toString();
+    }
+
+    public static void reset() {
+        for (var histogram : HISTOGRAMS) histogram.reset();
+    }
+    // endregion
+}
@@ -0,0 +1,329 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Uniform-grid spatial index over the cars of a {@link CarManager}.
+ * <p>
+ * The plane is divided into square cells of {@link #getCellSize()} pixels and
+ * every indexed car is kept in the cell that contains its position. Only
+ * occupied cells are stored, so the grid is unbounded. Queries visit just the
+ * cells overlapping the searched area and then filter the candidates by their
+ * exact position, which makes them sub-linear in the fleet size.
+ * <p>
+ * Cars report their own movement through {@link #update}, called whenever a
+ * tick publishes a new position. Most moves stay within the same cell and are
+ * recognized without locking; only a cell change takes the write lock.
+ *
+ * <h2>Thread Safety</h2>
+ * Structural changes hold the write lock and queries hold the read lock, so
+ * any number of queries may run concurrently with the simulation. Exact
+ * positions are read from each car's {@link CarSnapshot}, so query results are
+ * accurate to the most recently published tick.
+ *
+ * @see CarManager#findWithinRadius
+ * @see CarManager#findWithinRectangle
+ * @see CarManager#findNearest
+ */
+final class SpatialGrid {
+
+    // region ⮞ Constants
+
+    /**
+     * Slightly larger than a car, so a car overlaps at most four cells.
+     */
+    static final double DEFAULT_CELL_SIZE = 128.0;
+
+    /**
+     * Cell key of a car that is not indexed.
+     */
+    static final long NO_CELL = Long.MIN_VALUE;
+    // endregion
+
+    // region ⮞ Instance Fields
+
+    private final double cellSize;
+
+    private final @NotNull Map<Long, List<Car>> cells = new HashMap<>();
+    private final @NotNull ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // endregion
+
+    // region ⮞ Initialization
+
+    SpatialGrid(double cellSize) {
+        if (!(cellSize > 0.0))
+            throw new IllegalArgumentException("Cell size must be positive: %.2f".formatted(cellSize));
+
+        this.cellSize = cellSize;
+    }
+
+    SpatialGrid() {
+        this(DEFAULT_CELL_SIZE);
+    }
+    // endregion
+
+    // region ⮞ Getters
+
+    double getCellSize() {
+        return cellSize;
+    }
+    // endregion
+
+    // region ⮞ Helper Methods
+
+    private int cellCoordinate(double value) {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    private static long cellKey(int cellX, int cellY) {
+        return (long) cellX << 32 | cellY & 0xFFFF_FFFFL;
+    }
+
+    private long cellKey(double x, double y) {
+        return cellKey(cellCoordinate(x), cellCoordinate(y));
+    }
+
+    private static double squaredDistance(@NotNull CarSnapshot snapshot, double x, double y) {
+        double dx = snapshot.positionX() - x;
+        double dy = snapshot.positionY() - y;
+
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * @implNote Must be called with the write lock held.
+     */
+    private void link(@NotNull Car car, long key) {
+        cells.computeIfAbsent(key, _ -> new ArrayList<>(4)).add(car);
+        car.setGridCell(key);
+    }
+
+    /**
+     * @implNote Must be called with the write lock held.
+     */
+    private void unlink(@NotNull Car car, long key) {
+        var cell = cells.get(key);
+
+        if (cell == null) return;
+
+        cell.remove(car);
+        if (cell.isEmpty()) cells.remove(key);
+    }
+    // endregion
+
+    // region ⮞ Indexing
+
+    void insert(@NotNull Car car) {
+        var snapshot = car.snapshot();
+
+        lock.writeLock().lock();
+        try {
+            if (car.getGridCell() != NO_CELL) return;
+
+            link(car, cellKey(snapshot.positionX(), snapshot.positionY()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(@NotNull Car car) {
+        lock.writeLock().lock();
+        try {
+            long key = car.getGridCell();
+
+            if (key == NO_CELL) return;
+
+            unlink(car, key);
+            car.setGridCell(NO_CELL);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves the car to the cell containing the given position, if it is
+     * indexed and has left its current cell.
+     */
+    void update(@NotNull Car car, double x, double y) {
+        long key = cellKey(x, y);
+
+        // Lock-free fast path: the car is still in the same cell.
+        if (car.getGridCell() == key) return;
+
+        lock.writeLock().lock();
+        try {
+            long current = car.getGridCell();
+
+            if (current == NO_CELL || current == key) return;
+
+            unlink(car, current);
+            link(car, key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    // endregion
+
+    // region ⮞ Queries
+
+    /**
+     * @return Every car whose position lies within {@code radius} of the given
+     * point.
+     */
+    @NotNull List<Car> findWithinRadius(double x, double y, double radius) {
+        var found = new ArrayList<Car>();
+        double squaredRadius = radius * radius;
+
+        if (radius < 0.0) return found;
+
+        lock.readLock().lock();
+        try {
+            forEachCellInRectangle(x - radius, y - radius, x + radius, y + radius, cell -> {
+                for (var car : cell)
+                    if (squaredDistance(car.snapshot(), x, y) <= squaredRadius) found.add(car);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return found;
+    }
+
+    /**
+     * @return Every car whose position lies within the given rectangle, edges
+     * included.
+     */
+    @NotNull List<Car> findWithinRectangle(double minX, double minY, double maxX, double maxY) {
+        var found = new ArrayList<Car>();
+
+        if (minX > maxX || minY > maxY) return found;
+
+        lock.readLock().lock();
+        try {
+            forEachCellInRectangle(minX, minY, maxX, maxY, cell -> {
+                for (var car : cell) {
+                    var snapshot = car.snapshot();
+
+                    if (snapshot.positionX() >= minX && snapshot.positionX() <= maxX
+                            && snapshot.positionY() >= minY && snapshot.positionY() <= maxY)
+                        found.add(car);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return found;
+    }
+
+    /**
+     * Searches rings of cells around the given point, from the inside out,
+     * until no unvisited cell can contain a closer car.
+     *
+     * @return The car closest to the given point within {@code maxDistance},
+     * or {@code null} if there is none.
+     */
+    @Nullable Car findNearest(double x, double y, double maxDistance) {
+        if (maxDistance < 0.0) return null;
+
+        lock.readLock().lock();
+        try {
+            Car nearest = null;
+            double nearestDistance = maxDistance * maxDistance;
+
+            int centerX = cellCoordinate(x);
+            int centerY = cellCoordinate(y);
+            int visitedCells = 0;
+
+            for (int ring = 0; visitedCells < cells.size(); ring++) {
+                // Every point in this ring is at least (ring - 1) cells away.
+                double ringDistance = Math.max(0, ring - 1) * cellSize;
+                if (ringDistance * ringDistance > nearestDistance) break;
+
+                // A ring with more cells than are occupied is cheaper to
+                // replace by a scan over the occupied cells.
+                boolean scanAll = 8L * ring > cells.size();
+                var candidates = new ArrayList<List<Car>>();
+
+                if (scanAll) {
+                    candidates.addAll(cells.values());
+                } else {
+                    for (int cellX = centerX - ring; cellX <= centerX + ring; cellX++) {
+                        boolean edgeColumn = cellX == centerX - ring || cellX == centerX + ring;
+                        int step = edgeColumn ? 1 : 2 * ring;
+
+                        for (int cellY = centerY - ring; cellY <= centerY + ring; cellY += step) {
+                            var cell = cells.get(cellKey(cellX, cellY));
+                            if (cell != null) candidates.add(cell);
+                        }
+                    }
+                }
+
+                visitedCells += candidates.size();
+
+                for (var cell : candidates)
+                    for (var car : cell) {
+                        double distance = squaredDistance(car.snapshot(), x, y);
+
+                        if (distance <= nearestDistance) {
+                            nearest = car;
+                            nearestDistance = distance;
+                        }
+                    }
+
+                if (scanAll) break;
+            }
+
+            return nearest;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @FunctionalInterface
+    private interface CellVisitor {
+        void visit(@NotNull List<Car> cell);
+    }
+
+    /**
+     * Visits the occupied cells overlapping the given rectangle, choosing
+     * between a lookup per covered cell and a scan over the occupied cells,
+     * whichever touches fewer cells.
+     *
+     * @implNote Must be called with the read lock held.
+     */
+    private void forEachCellInRectangle(double minX, double minY, double maxX, double maxY, @NotNull CellVisitor visitor) {
+        int minCellX = cellCoordinate(minX);
+        int minCellY = cellCoordinate(minY);
+        int maxCellX = cellCoordinate(maxX);
+        int maxCellY = cellCoordinate(maxY);
+
+        long coveredCells = ((long) maxCellX - minCellX + 1) * ((long) maxCellY - minCellY + 1);
+
+        if (coveredCells > cells.size()) {
+            for (var entry : cells.entrySet()) {
+                long key = entry.getKey();
+                int cellX = (int) (key >> 32);
+                int cellY = (int) key;
+
+                if (cellX >= minCellX && cellX <= maxCellX && cellY >= minCellY && cellY <= maxCellY)
+                    visitor.visit(entry.getValue());
+            }
+            return;
+        }
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++)
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                var cell = cells.get(cellKey(cellX, cellY));
+                if (cell != null) visitor.visit(cell);
+            }
+    }
+    // endregion
+}
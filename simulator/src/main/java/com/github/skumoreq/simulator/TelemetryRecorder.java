@@ -0,0 +1,539 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the motion of every moving car at every tick into a preallocated
+ * off-heap ring buffer, and exports it in windows on a separate thread.
+ * <p>
+ * The recorder is a {@link SimulationScheduler.TickListener}: at the end of
+ * each tick it copies the tick number, plate key, position, angle, speed,
+ * RPM, gear and clutch and collision flags of every awake slot into a
+ * fixed-size record of {@link #RECORD_SIZE} bytes. Idle cars are skipped, as
+ * their values are the ones recorded when they last moved. Recording
+ * allocates nothing and takes no lock of its own, so it only adds the copying
+ * to the tick.
+ * <p>
+ * The buffer is a single-producer, single-consumer ring: the ticking thread
+ * appends and {@link #drainTo} consumes, each publishing its position with
+ * release semantics. When the drain falls behind and the buffer is full, new
+ * records are dropped and counted rather than blocking the tick.
+ *
+ * <h2>Export Formats</h2>
+ * {@link Format#CSV} writes one line per record. {@link Format#COLUMNAR}
+ * writes a little-endian binary file with one contiguous column per field:
+ * <pre>
+ * header  magic:int version:short columnCount:short recordCount:int reserved:int
+ * columns tick:long[] plateKey:long[] positionX:double[] positionY:double[]
+ *         angle:double[] speed:double[] rpm:double[] gear:int[] flags:int[]
+ * </pre>
+ * where {@code flags} holds {@link #FLAG_CLUTCH_ENGAGED} and
+ * {@link #FLAG_COLLIDING}.
+ * <p>
+ * For history beyond a window, the records can instead be drained into a
+ * {@link TelemetryStore}, which keeps them compressed and queryable.
+ *
+ * @see SimulationScheduler#addTickListener(SimulationScheduler.TickListener)
+ */
+public final class TelemetryRecorder implements SimulationScheduler.TickListener, AutoCloseable {
+
+    // region ⮞ Export Formats
+
+    public enum Format {
+        CSV("csv"),
+        COLUMNAR("tlm");
+
+        private final @NotNull String extension;
+
+        Format(@NotNull String extension) {
+            this.extension = extension;
+        }
+
+        public @NotNull String getExtension() {
+            return extension;
+        }
+    }
+    // endregion
+
+    // region ⮞ Constants
+
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+    public static final long DEFAULT_EXPORT_INTERVAL = 5_000L;
+
+    static final int RECORD_SIZE = 64;
+
+    static final int MAGIC = 0x434D_4C54; // "TLMC" in little endian
+    static final short VERSION = 1;
+    static final int COLUMNAR_HEADER_SIZE = 16;
+    static final int COLUMN_COUNT = 9;
+
+    public static final int FLAG_CLUTCH_ENGAGED = 1;
+    public static final int FLAG_COLLIDING = 1 << 1;
+
+    // Field offsets within a record.
+    private static final int TICK = 0;
+    private static final int PLATE_KEY = 8;
+    private static final int POSITION_X = 16;
+    private static final int POSITION_Y = 24;
+    private static final int ANGLE = 32;
+    private static final int SPEED = 40;
+    private static final int RPM = 48;
+    private static final int GEAR = 56;
+    private static final int FLAGS = 60;
+
+    // Fields in the column order of the columnar format, after the two longs.
+    private static final int[] DOUBLE_FIELDS = {POSITION_X, POSITION_Y, ANGLE, SPEED, RPM};
+    private static final int[] INT_FIELDS = {GEAR, FLAGS};
+
+    private static final ValueLayout.OfLong FILE_LONG =
+            ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfDouble FILE_DOUBLE =
+            ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt FILE_INT =
+            ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfShort FILE_SHORT =
+            ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private static final String CSV_HEADER = "tick,plate,x,y,angle,speed,rpm,gear,clutch_engaged,colliding";
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(TelemetryRecorder.class, "head", long.class);
+            TAIL = lookup.findVarHandle(TelemetryRecorder.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    // endregion
+
+    // region ⮞ Instance Fields
+
+    private final @NotNull SimulationScheduler scheduler;
+    private final @NotNull FleetState fleet;
+
+    private final @NotNull Arena arena = Arena.ofShared();
+    private final @NotNull MemorySegment records;
+    private final long capacity;
+    private final long mask;
+
+    /**
+     * Number of records ever appended. Only written by the ticking thread.
+     */
+    private volatile long head = 0L;
+
+    /**
+     * Number of records ever drained. Only written by the draining thread.
+     */
+    private volatile long tail = 0L;
+
+    private volatile long droppedCount = 0L;
+
+    private @Nullable ScheduledExecutorService exporter = null;
+    private boolean closed = false;
+    // endregion
+
+    // region ⮞ Initialization
+
+    /**
+     * Allocates a buffer of the given number of records, rounded up to a
+     * power of two. Nothing is recorded until {@link #start()} is called.
+     *
+     * @param capacity the number of records the buffer holds; at
+     *                 {@link #RECORD_SIZE} bytes each
+     */
+    public TelemetryRecorder(@NotNull SimulationScheduler scheduler, int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive: %d".formatted(capacity));
+
+        this.scheduler = scheduler;
+        fleet = scheduler.fleet();
+
+        long rounded = Long.highestOneBit(capacity);
+        if (rounded < capacity) rounded <<= 1;
+
+        this.capacity = rounded;
+        mask = rounded - 1L;
+
+        records = arena.allocate(rounded * RECORD_SIZE, RECORD_SIZE);
+    }
+
+    public TelemetryRecorder(@NotNull SimulationScheduler scheduler) {
+        this(scheduler, DEFAULT_CAPACITY);
+    }
+    // endregion
+
+    // region ⮞ Getters
+
+    /**
+     * @return The number of records the buffer holds.
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The number of records waiting to be drained.
+     */
+    public long getPendingCount() {
+        return head - tail;
+    }
+
+    /**
+     * @return The number of records ever appended.
+     */
+    public long getRecordedCount() {
+        return head;
+    }
+
+    /**
+     * @return The number of records dropped because the buffer was full.
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+    // endregion
+
+    // region ⮞ Recording
+
+    /**
+     * Starts recording at the end of every tick.
+     */
+    public void start() {
+        scheduler.removeTickListener(this);
+        scheduler.addTickListener(this);
+    }
+
+    /**
+     * Stops recording. Records already in the buffer can still be drained.
+     */
+    public void stop() {
+        scheduler.removeTickListener(this);
+    }
+
+    /**
+     * Appends a record for every awake slot.
+     *
+     * @implNote Called on the ticking thread. The fleet's monitor is held
+     * while recording, so no slot changes underneath. Allocation-free.
+     */
+    @Override
+    public void onTickCompleted(long tick) {
+        synchronized (fleet) {
+            // The tick may have picked this listener up before close() removed
+            // it; closed is only set with the fleet's monitor held.
+            if (!closed) append(tick);
+        }
+    }
+
+    private void append(long tick) {
+        int slotCount = fleet.getSlotCount();
+
+        long position = head;
+        long limit = (long) TAIL.getAcquire(this) + capacity;
+        long dropped = 0L;
+
+        for (int base = 0; base < slotCount; base += FleetState.PAGE_SIZE) {
+            var page = fleet.page(base);
+            int end = Math.min(FleetState.PAGE_SIZE, slotCount - base);
+
+            for (int i = 0; i < end; i++) {
+                var handle = page.handles[i];
+                if (handle == null || page.idle[i]) continue;
+
+                if (position == limit) {
+                    dropped++;
+                    continue;
+                }
+
+                long offset = (position & mask) * RECORD_SIZE;
+                int flags = (page.clutchEngaged[i] ? FLAG_CLUTCH_ENGAGED : 0) | (page.colliding[i] ? FLAG_COLLIDING : 0);
+
+                records.set(ValueLayout.JAVA_LONG, offset + TICK, tick);
+                records.set(ValueLayout.JAVA_LONG, offset + PLATE_KEY, handle.getPlateKey());
+                records.set(ValueLayout.JAVA_DOUBLE, offset + POSITION_X, page.positionX[i]);
+                records.set(ValueLayout.JAVA_DOUBLE, offset + POSITION_Y, page.positionY[i]);
+                records.set(ValueLayout.JAVA_DOUBLE, offset + ANGLE, page.angle[i]);
+                records.set(ValueLayout.JAVA_DOUBLE, offset + SPEED, page.speed[i]);
+                records.set(ValueLayout.JAVA_DOUBLE, offset + RPM, page.rpm[i]);
+                records.set(ValueLayout.JAVA_INT, offset + GEAR, page.gear[i]);
+                records.set(ValueLayout.JAVA_INT, offset + FLAGS, flags);
+
+                position++;
+            }
+        }
+
+        if (dropped > 0L) droppedCount += dropped;
+
+        // Publishes the records of the whole tick at once.
+        HEAD.setRelease(this, position);
+    }
+    // endregion
+
+    // region ⮞ Export
+
+    /**
+     * Drains every record appended so far into a new file at the given path.
+     * Nothing is written if no record is pending.
+     *
+     * @return The number of records written.
+     * @throws IllegalStateException if this recorder is closed
+     */
+    public synchronized long drainTo(@NotNull Path path, @NotNull Format format) throws IOException {
+        if (closed) throw new IllegalStateException("The telemetry recorder is closed");
+
+        long from = tail;
+        long to = (long) HEAD.getAcquire(this);
+
+        if (from == to) return 0L;
+
+        switch (format) {
+            case CSV -> writeCsv(path, from, to);
+            case COLUMNAR -> writeColumnar(path, from, to);
+        }
+
+        // Frees the space for the producer only once copied out.
+        TAIL.setRelease(this, to);
+
+        return to - from;
+    }
+
+    /**
+     * Drains every record appended so far into the given store. If the store
+     * fails, the records it already took are consumed; the rest stay pending.
+     *
+     * @return The number of records appended to the store.
+     * @throws IllegalStateException if this recorder or the store is closed
+     */
+    public synchronized long drainTo(@NotNull TelemetryStore store) throws IOException {
+        if (closed) throw new IllegalStateException("The telemetry recorder is closed");
+
+        long from = tail;
+        long to = (long) HEAD.getAcquire(this);
+        long position = from;
+
+        try {
+            for (; position < to; position++) {
+                long offset = offset(position);
+
+                store.append(
+                        records.get(ValueLayout.JAVA_LONG, offset + TICK),
+                        records.get(ValueLayout.JAVA_LONG, offset + PLATE_KEY),
+                        records.get(ValueLayout.JAVA_DOUBLE, offset + POSITION_X),
+                        records.get(ValueLayout.JAVA_DOUBLE, offset + POSITION_Y),
+                        records.get(ValueLayout.JAVA_DOUBLE, offset + ANGLE),
+                        records.get(ValueLayout.JAVA_DOUBLE, offset + SPEED),
+                        records.get(ValueLayout.JAVA_DOUBLE, offset + RPM)
+                );
+            }
+        } finally {
+            TAIL.setRelease(this, position);
+        }
+
+        return to - from;
+    }
+
+    private long offset(long position) {
+        return (position & mask) * RECORD_SIZE;
+    }
+
+    private void writeCsv(@NotNull Path path, long from, long to) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            var line = new StringBuilder(128);
+
+            writer.write(CSV_HEADER);
+            writer.newLine();
+
+            for (long position = from; position < to; position++) {
+                long offset = offset(position);
+                int flags = records.get(ValueLayout.JAVA_INT, offset + FLAGS);
+
+                line.setLength(0);
+                line.append(records.get(ValueLayout.JAVA_LONG, offset + TICK)).append(',')
+                        .append(PlateKey.decode(records.get(ValueLayout.JAVA_LONG, offset + PLATE_KEY))).append(',')
+                        .append(records.get(ValueLayout.JAVA_DOUBLE, offset + POSITION_X)).append(',')
+                        .append(records.get(ValueLayout.JAVA_DOUBLE, offset + POSITION_Y)).append(',')
+                        .append(records.get(ValueLayout.JAVA_DOUBLE, offset + ANGLE)).append(',')
+                        .append(records.get(ValueLayout.JAVA_DOUBLE, offset + SPEED)).append(',')
+                        .append(records.get(ValueLayout.JAVA_DOUBLE, offset + RPM)).append(',')
+                        .append(records.get(ValueLayout.JAVA_INT, offset + GEAR)).append(',')
+                        .append((flags & FLAG_CLUTCH_ENGAGED) != 0).append(',')
+                        .append((flags & FLAG_COLLIDING) != 0);
+
+                writer.append(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Transposes the records into columns, straight into a mapped file.
+     */
+    private void writeColumnar(@NotNull Path path, long from, long to) throws IOException {
+        long count = to - from;
+        long size = COLUMNAR_HEADER_SIZE + count * (7L * Long.BYTES + 2L * Integer.BYTES);
+
+        try (var channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE
+        ); var fileArena = Arena.ofConfined()) {
+            var file = channel.map(FileChannel.MapMode.READ_WRITE, 0L, size, fileArena);
+
+            file.set(FILE_INT, 0L, MAGIC);
+            file.set(FILE_SHORT, 4L, VERSION);
+            file.set(FILE_SHORT, 6L, (short) COLUMN_COUNT);
+            file.set(FILE_INT, 8L, (int) count);
+
+            long column = COLUMNAR_HEADER_SIZE;
+
+            for (long i = 0; i < count; i++)
+                file.set(FILE_LONG, column + i * Long.BYTES, records.get(ValueLayout.JAVA_LONG, offset(from + i) + TICK));
+            column += count * Long.BYTES;
+
+            for (long i = 0; i < count; i++)
+                file.set(FILE_LONG, column + i * Long.BYTES, records.get(ValueLayout.JAVA_LONG, offset(from + i) + PLATE_KEY));
+            column += count * Long.BYTES;
+
+            for (int field : DOUBLE_FIELDS) {
+                for (long i = 0; i < count; i++)
+                    file.set(FILE_DOUBLE, column + i * Double.BYTES, records.get(ValueLayout.JAVA_DOUBLE, offset(from + i) + field));
+                column += count * Double.BYTES;
+            }
+
+            for (int field : INT_FIELDS) {
+                for (long i = 0; i < count; i++)
+                    file.set(FILE_INT, column + i * Integer.BYTES, records.get(ValueLayout.JAVA_INT, offset(from + i) + field));
+                column += count * Integer.BYTES;
+            }
+
+            file.force();
+        }
+    }
+
+    /**
+     * Starts draining the buffer every interval on a separate thread, into a
+     * new file per window in the given directory, named after the window's
+     * position in the stream: {@code telemetry-<first record>.<extension>}.
+     * Failed exports are reported to the thread's uncaught exception handler.
+     *
+     * @param interval the delay between windows, in milliseconds
+     * @throws IllegalStateException if an export is already running
+     */
+    public synchronized void startExport(@NotNull Path directory, @NotNull Format format, long interval) throws IOException {
+        checkExport(interval);
+
+        Files.createDirectories(directory);
+
+        scheduleExport(
+                () -> drainTo(directory.resolve("telemetry-%019d.%s".formatted(tail, format.getExtension())), format),
+                interval
+        );
+    }
+
+    /**
+     * Starts draining the buffer every interval on a separate thread, into
+     * the given store. The store is not closed with this recorder.
+     *
+     * @param interval the delay between windows, in milliseconds
+     * @throws IllegalStateException if an export is already running
+     */
+    public synchronized void startExport(@NotNull TelemetryStore store, long interval) {
+        checkExport(interval);
+
+        scheduleExport(() -> drainTo(store), interval);
+    }
+
+    private void checkExport(long interval) {
+        if (interval <= 0L)
+            throw new IllegalArgumentException("Export interval must be positive: %d".formatted(interval));
+        if (closed) throw new IllegalStateException("The telemetry recorder is closed");
+        if (exporter != null) throw new IllegalStateException("An export is already running");
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        void run() throws IOException;
+    }
+
+    private void scheduleExport(@NotNull Export export, long interval) {
+        exporter = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("TelemetryExporter").daemon().factory()
+        );
+        exporter.scheduleWithFixedDelay(() -> {
+            try {
+                export.run();
+            } catch (IOException | RuntimeException e) {
+                var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void startExport(@NotNull Path directory, @NotNull Format format) throws IOException {
+        startExport(directory, format, DEFAULT_EXPORT_INTERVAL);
+    }
+
+    public void startExport(@NotNull TelemetryStore store) {
+        startExport(store, DEFAULT_EXPORT_INTERVAL);
+    }
+
+    /**
+     * Stops recording and the export, then frees the buffer. Records not yet
+     * drained are lost; drain them first to keep them.
+     */
+    @Override
+    public void close() {
+        stop();
+
+        ScheduledExecutorService running;
+
+        synchronized (this) {
+            running = exporter;
+            exporter = null;
+        }
+
+        if (running != null) {
+            running.shutdown();
+
+            try {
+                running.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Ticks are recorded with the fleet's monitor held, so none is still
+        // recording once it is acquired.
+        synchronized (fleet) {
+            synchronized (this) {
+                if (closed) return;
+
+                closed = true;
+                arena.close();
+            }
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,569 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Compressed, append-only store of the telemetry of a fleet, e.g. as drained
+ * from a {@link TelemetryRecorder}.
+ * <p>
+ * Samples are encoded per car as they arrive (see {@link TimeSeriesCodec}):
+ * ticks as delta-of-deltas and every {@link Channel} as XORs with its
+ * previous value, each into its own bit stream. Once the open segment spans
+ * {@code segmentTicks} ticks, it is sealed into an immutable segment file and
+ * a new one is opened.
+ *
+ * <h2>Segment Files</h2>
+ * Each segment is written to {@code segment-<first tick>.tss} next to the
+ * others and is memory-mapped for reading. Its index lists the cars it holds
+ * sorted by plate key, each with its tick range, sample count and the offsets
+ * of its streams:
+ * <pre>
+ * header  magic:int version:short channelCount:short seriesCount:int
+ *         reserved:int firstTick:long lastTick:long
+ * index   seriesCount x (plateKey:long firstTick:long lastTick:long
+ *         sampleCount:int offsets:int[channelCount + 1] end:int)
+ * streams tick and channel streams of every series, in whole words
+ * </pre>
+ * All values are little endian.
+ *
+ * <h2>Queries</h2>
+ * The tick ranges of the segments form an in-memory time index, so a
+ * {@link #query} maps and decodes only the segments overlapping the range.
+ * Within a segment, the car is found by binary search over the index, and
+ * only its tick stream and the requested channel are decoded. Samples still
+ * in the open segment are included.
+ */
+public final class TelemetryStore implements AutoCloseable {
+
+    // region ⮞ Channels
+
+    public enum Channel {
+        POSITION_X,
+        POSITION_Y,
+        ANGLE,
+        SPEED,
+        RPM
+    }
+
+    /**
+     * The samples of one channel of one car, in tick order.
+     */
+    public record Series(long @NotNull [] ticks, double @NotNull [] values) {
+
+        public int size() {
+            return ticks.length;
+        }
+    }
+    // endregion
+
+    // region ⮞ Constants
+
+    public static final long DEFAULT_SEGMENT_TICKS = 4_096L;
+
+    static final int MAGIC = 0x4753_5354; // "TSSG" in little endian
+    static final short VERSION = 1;
+
+    static final int HEADER_SIZE = 32;
+    static final int CHANNEL_COUNT = Channel.values().length;
+
+    /**
+     * Plate key, first and last tick, sample count, then the offset of the
+     * tick stream, of every channel stream and of the end of the series.
+     */
+    static final int INDEX_ENTRY_SIZE = 3 * Long.BYTES + (CHANNEL_COUNT + 3) * Integer.BYTES;
+
+    private static final ByteOrder BYTE_ORDER = TimeSeriesCodec.WORD_ORDER;
+
+    // Offsets within an index entry.
+    private static final int ENTRY_PLATE_KEY = 0;
+    private static final int ENTRY_FIRST_TICK = 8;
+    private static final int ENTRY_LAST_TICK = 16;
+    private static final int ENTRY_SAMPLE_COUNT = 24;
+    private static final int ENTRY_OFFSETS = 28;
+
+    private static final Pattern FILE_NAME = Pattern.compile("segment-(\\d{19})\\.tss");
+
+    private static final Channel[] CHANNELS = Channel.values();
+    // endregion
+
+    // region ⮞ Segment
+
+    /**
+     * A sealed segment file. Mapped on first access.
+     */
+    private static final class Segment {
+
+        final @NotNull Path path;
+        final long firstTick;
+        final long lastTick;
+        final int seriesCount;
+
+        private @Nullable MappedByteBuffer buffer = null;
+
+        Segment(@NotNull Path path, long firstTick, long lastTick, int seriesCount) {
+            this.path = path;
+            this.firstTick = firstTick;
+            this.lastTick = lastTick;
+            this.seriesCount = seriesCount;
+        }
+
+        @NotNull ByteBuffer buffer() throws IOException {
+            if (buffer == null) buffer = map(path);
+
+            return buffer;
+        }
+
+        /**
+         * @return The offset of the car's index entry, or {@code -1} if the
+         * segment holds no samples of it.
+         */
+        int find(long plateKey) throws IOException {
+            var data = buffer();
+            int low = 0;
+            int high = seriesCount - 1;
+
+            while (low <= high) {
+                int middle = low + high >>> 1;
+                int entry = HEADER_SIZE + middle * INDEX_ENTRY_SIZE;
+                long key = data.getLong(entry + ENTRY_PLATE_KEY);
+
+                if (key < plateKey) low = middle + 1;
+                else if (key > plateKey) high = middle - 1;
+                else return entry;
+            }
+
+            return -1;
+        }
+    }
+    // endregion
+
+    // region ⮞ Instance Fields
+
+    private final @NotNull Path directory;
+    private final long segmentTicks;
+
+    /**
+     * Sealed segments keyed by their first tick.
+     */
+    private final @NotNull NavigableMap<Long, Segment> segments = new TreeMap<>();
+
+    /**
+     * Series of the open segment keyed by plate key.
+     */
+    private final @NotNull Map<Long, TimeSeriesCodec.Encoder> open = new HashMap<>();
+
+    private long openFirstTick = -1L;
+
+    /**
+     * Highest tick appended or sealed, so that appends stay in order.
+     */
+    private long lastTick = -1L;
+
+    private long sampleCount = 0L;
+    private int lastDecodedSegmentCount = 0;
+    private boolean closed = false;
+    // endregion
+
+    // region ⮞ Initialization
+
+    /**
+     * Opens the store in the given directory, created if needed. Segments
+     * already in it are indexed and remain queryable; new samples must come
+     * after them.
+     *
+     * @param segmentTicks the number of ticks covered by a segment
+     * @throws IOException if a segment file cannot be read or is corrupt
+     */
+    public TelemetryStore(@NotNull Path directory, long segmentTicks) throws IOException {
+        if (segmentTicks <= 0L)
+            throw new IllegalArgumentException("Segment length must be positive: %d".formatted(segmentTicks));
+
+        this.directory = directory;
+        this.segmentTicks = segmentTicks;
+
+        Files.createDirectories(directory);
+
+        try (var entries = Files.newDirectoryStream(directory)) {
+            for (var entry : entries) {
+                if (!FILE_NAME.matcher(entry.getFileName().toString()).matches()) continue;
+
+                var segment = readHeader(entry);
+
+                segments.put(segment.firstTick, segment);
+                lastTick = Math.max(lastTick, segment.lastTick);
+            }
+        }
+    }
+
+    public TelemetryStore(@NotNull Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_TICKS);
+    }
+    // endregion
+
+    // region ⮞ Getters
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * @return The number of samples appended since the store was opened.
+     */
+    public synchronized long getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * @return The number of sealed segments decoded by the last query.
+     */
+    public synchronized int getLastDecodedSegmentCount() {
+        return lastDecodedSegmentCount;
+    }
+
+    /**
+     * @return The size of the sealed segment files, in bytes.
+     */
+    public synchronized long getSealedSize() throws IOException {
+        long size = 0L;
+        for (var segment : segments.values()) size += Files.size(segment.path);
+
+        return size;
+    }
+    // endregion
+
+    // region ⮞ Helper Methods
+
+    private static @NotNull MappedByteBuffer map(@NotNull Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE)
+                throw corrupt(path, "size: %d bytes".formatted(size));
+
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+            buffer.order(BYTE_ORDER);
+
+            return buffer;
+        }
+    }
+
+    private static @NotNull IOException corrupt(@NotNull Path path, @NotNull String reason) {
+        return new IOException("Corrupt telemetry segment: %s (%s)".formatted(path, reason));
+    }
+
+    /**
+     * Validates a segment file and reads its tick range. The streams are
+     * not read until queried.
+     */
+    private static @NotNull Segment readHeader(@NotNull Path path) throws IOException {
+        var buffer = map(path);
+
+        if (buffer.getInt(0) != MAGIC) throw corrupt(path, "not a telemetry segment");
+        if (buffer.getShort(4) != VERSION || buffer.getShort(6) != CHANNEL_COUNT)
+            throw corrupt(path, "unsupported version: %d".formatted(buffer.getShort(4)));
+
+        int seriesCount = buffer.getInt(8);
+        long firstTick = buffer.getLong(16);
+        long lastTick = buffer.getLong(24);
+
+        long dataOffset = HEADER_SIZE + (long) seriesCount * INDEX_ENTRY_SIZE;
+
+        if (seriesCount <= 0 || firstTick > lastTick || dataOffset > buffer.capacity())
+            throw corrupt(path, "header");
+
+        int lastEntry = (int) dataOffset - INDEX_ENTRY_SIZE;
+        int end = buffer.getInt(lastEntry + ENTRY_OFFSETS + (CHANNEL_COUNT + 1) * Integer.BYTES);
+
+        if (end != buffer.capacity()) throw corrupt(path, "size does not match the index");
+
+        return new Segment(path, firstTick, lastTick, seriesCount);
+    }
+    // endregion
+
+    // region ⮞ Appending
+
+    /**
+     * Appends a sample of the given car. Samples must arrive in tick order:
+     * per car strictly increasing, and never before the open segment.
+     *
+     * @throws IllegalArgumentException if the sample is out of order
+     * @throws IllegalStateException    if the store is closed
+     */
+    public synchronized void append(
+            long tick, long plateKey,
+            double positionX, double positionY, double angle, double speed, double rpm
+    ) throws IOException {
+        if (closed) throw new IllegalStateException("The telemetry store is closed");
+
+        if (openFirstTick >= 0L && tick >= openFirstTick + segmentTicks) seal();
+
+        if (openFirstTick < 0L) {
+            if (tick <= lastTick)
+                throw new IllegalArgumentException(
+                        "Samples must follow the stored ones: %d after %d".formatted(tick, lastTick)
+                );
+
+            openFirstTick = tick;
+        } else if (tick < openFirstTick) {
+            throw new IllegalArgumentException(
+                    "Samples must follow the open segment: %d before %d".formatted(tick, openFirstTick)
+            );
+        }
+
+        var encoder = open.get(plateKey);
+
+        if (encoder == null) {
+            encoder = new TimeSeriesCodec.Encoder(tick, CHANNEL_COUNT);
+            open.put(plateKey, encoder);
+        }
+
+        encoder.appendTick(tick);
+        encoder.appendValue(Channel.POSITION_X.ordinal(), positionX);
+        encoder.appendValue(Channel.POSITION_Y.ordinal(), positionY);
+        encoder.appendValue(Channel.ANGLE.ordinal(), angle);
+        encoder.appendValue(Channel.SPEED.ordinal(), speed);
+        encoder.appendValue(Channel.RPM.ordinal(), rpm);
+
+        lastTick = Math.max(lastTick, tick);
+        sampleCount++;
+    }
+
+    /**
+     * Seals the open segment into a segment file, so that its samples are
+     * durable. Does nothing if no sample is pending.
+     */
+    public synchronized void flush() throws IOException {
+        if (!open.isEmpty()) seal();
+    }
+
+    /**
+     * Writes the open segment next to its final name, forces it to disk and
+     * moves it into place.
+     */
+    private void seal() throws IOException {
+        var plateKeys = new long[open.size()];
+        int count = 0;
+        long segmentLastTick = openFirstTick;
+
+        for (var entry : open.entrySet()) {
+            plateKeys[count++] = entry.getKey();
+            segmentLastTick = Math.max(segmentLastTick, entry.getValue().getLastTick());
+        }
+
+        Arrays.sort(plateKeys);
+
+        long size = HEADER_SIZE + (long) count * INDEX_ENTRY_SIZE;
+        for (var encoder : open.values()) size += encoder.byteSize();
+
+        if (size > Integer.MAX_VALUE)
+            throw new IllegalStateException("Telemetry segment is too large: %d bytes".formatted(size));
+
+        var path = directory.resolve("segment-%019d.tss".formatted(openFirstTick));
+        var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (var channel = FileChannel.open(
+                temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE
+        )) {
+            var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, size);
+            buffer.order(BYTE_ORDER);
+
+            buffer.putInt(0, MAGIC);
+            buffer.putShort(4, VERSION);
+            buffer.putShort(6, (short) CHANNEL_COUNT);
+            buffer.putInt(8, count);
+            buffer.putLong(16, openFirstTick);
+            buffer.putLong(24, segmentLastTick);
+
+            int offset = HEADER_SIZE + count * INDEX_ENTRY_SIZE;
+
+            for (int i = 0; i < count; i++) {
+                var encoder = open.get(plateKeys[i]);
+                int entry = HEADER_SIZE + i * INDEX_ENTRY_SIZE;
+
+                buffer.putLong(entry + ENTRY_PLATE_KEY, plateKeys[i]);
+                buffer.putLong(entry + ENTRY_FIRST_TICK, encoder.getFirstTick());
+                buffer.putLong(entry + ENTRY_LAST_TICK, encoder.getLastTick());
+                buffer.putInt(entry + ENTRY_SAMPLE_COUNT, encoder.getSampleCount());
+
+                buffer.putInt(entry + ENTRY_OFFSETS, offset);
+                encoder.ticks().copyTo(buffer, offset);
+                offset += encoder.ticks().byteSize();
+
+                for (int j = 0; j < CHANNEL_COUNT; j++) {
+                    var stream = encoder.channel(j);
+
+                    buffer.putInt(entry + ENTRY_OFFSETS + (j + 1) * Integer.BYTES, offset);
+                    stream.copyTo(buffer, offset);
+                    offset += stream.byteSize();
+                }
+
+                buffer.putInt(entry + ENTRY_OFFSETS + (CHANNEL_COUNT + 1) * Integer.BYTES, offset);
+            }
+
+            buffer.force();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+
+        segments.put(openFirstTick, new Segment(path, openFirstTick, segmentLastTick, count));
+
+        open.clear();
+        openFirstTick = -1L;
+    }
+    // endregion
+
+    // region ⮞ Queries
+
+    /**
+     * Returns the samples of one channel of the given car between the given
+     * ticks, both inclusive.
+     *
+     * @throws IllegalStateException if the store is closed
+     */
+    public synchronized @NotNull Series query(
+            @NotNull String plateNumber, @NotNull Channel channel, long fromTick, long toTick
+    ) throws IOException {
+        return query(PlateKey.encode(plateNumber), channel, fromTick, toTick);
+    }
+
+    /**
+     * @see #query(String, Channel, long, long)
+     */
+    public synchronized @NotNull Series query(
+            long plateKey, @NotNull Channel channel, long fromTick, long toTick
+    ) throws IOException {
+        if (closed) throw new IllegalStateException("The telemetry store is closed");
+
+        var result = new SeriesBuilder(fromTick, toTick);
+        int decoded = 0;
+
+        // Segments never overlap, so only the one starting at or before the
+        // range can reach into it from earlier ticks.
+        var first = segments.floorKey(fromTick);
+        var candidates = segments.subMap(first != null ? first : fromTick, true, toTick, true).values();
+
+        for (var segment : candidates) {
+            if (segment.lastTick < fromTick) continue;
+
+            int entry = segment.find(plateKey);
+            decoded++;
+
+            if (entry < 0) continue;
+
+            var data = segment.buffer();
+            long firstTick = data.getLong(entry + ENTRY_FIRST_TICK);
+
+            if (data.getLong(entry + ENTRY_LAST_TICK) < fromTick || firstTick > toTick) continue;
+
+            result.decode(
+                    new TimeSeriesCodec.BitReader(data, data.getInt(entry + ENTRY_OFFSETS)),
+                    new TimeSeriesCodec.BitReader(
+                            data, data.getInt(entry + ENTRY_OFFSETS + (channel.ordinal() + 1) * Integer.BYTES)
+                    ),
+                    firstTick, data.getInt(entry + ENTRY_SAMPLE_COUNT)
+            );
+        }
+
+        lastDecodedSegmentCount = decoded;
+
+        var encoder = open.get(plateKey);
+
+        if (encoder != null && encoder.getLastTick() >= fromTick && encoder.getFirstTick() <= toTick) {
+            result.decode(
+                    new TimeSeriesCodec.BitReader(encoder.ticks().toBuffer(), 0),
+                    new TimeSeriesCodec.BitReader(encoder.channel(channel.ordinal()).toBuffer(), 0),
+                    encoder.getFirstTick(), encoder.getSampleCount()
+            );
+        }
+
+        return result.build();
+    }
+
+    /**
+     * Collects the decoded samples within a tick range.
+     */
+    private static final class SeriesBuilder {
+
+        private final long fromTick;
+        private final long toTick;
+
+        private long @NotNull [] ticks = new long[16];
+        private double @NotNull [] values = new double[16];
+        private int count = 0;
+
+        SeriesBuilder(long fromTick, long toTick) {
+            this.fromTick = fromTick;
+            this.toTick = toTick;
+        }
+
+        void decode(
+                @NotNull TimeSeriesCodec.BitReader tickStream, @NotNull TimeSeriesCodec.BitReader valueStream,
+                long firstTick, int sampleCount
+        ) {
+            var tickDecoder = new TimeSeriesCodec.TickDecoder(tickStream, firstTick);
+            var valueDecoder = new TimeSeriesCodec.ValueDecoder(valueStream);
+
+            for (int i = 0; i < sampleCount; i++) {
+                long tick = tickDecoder.next();
+                double value = valueDecoder.next();
+
+                if (tick > toTick) break;
+                if (tick < fromTick) continue;
+
+                if (count == ticks.length) {
+                    ticks = Arrays.copyOf(ticks, count * 2);
+                    values = Arrays.copyOf(values, count * 2);
+                }
+
+                ticks[count] = tick;
+                values[count++] = value;
+            }
+        }
+
+        @NotNull Series build() {
+            return new Series(Arrays.copyOf(ticks, count), Arrays.copyOf(values, count));
+        }
+    }
+    // endregion
+
+    // region ⮞ Lifecycle
+
+    /**
+     * Seals the open segment and closes the store.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+
+        try {
+            flush();
+        } finally {
+            closed = true;
+            open.clear();
+            segments.clear();
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,376 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Gorilla-style compression of the time series kept by a
+ * {@link TelemetryStore}.
+ * <p>
+ * A series is a run of samples of one car: a tick and one value per channel.
+ * Ticks and every channel are encoded into separate bit streams, so that a
+ * query decodes only the ticks and the channel it asks for.
+ * <ul>
+ *     <li>Ticks are stored as delta-of-deltas. The first tick is kept
+ *     outside the stream; a car sampled at every tick then costs one bit per
+ *     sample.</li>
+ *     <li>Values are XORed with the previous value of their channel. An
+ *     unchanged value costs one bit; otherwise only the meaningful bits of
+ *     the XOR are stored, reusing the previous window of leading and
+ *     trailing zeros when they fit in it.</li>
+ * </ul>
+ * Streams are written in whole 64-bit words, most significant bit first,
+ * each word stored little endian.
+ */
+final class TimeSeriesCodec {
+
+    // region ⮞ Constants
+
+    // Value-range biases of the delta-of-delta buckets.
+    private static final int BIAS_7 = 63;
+    private static final int BIAS_9 = 255;
+    private static final int BIAS_12 = 2047;
+
+    private static final int MAX_LEADING_ZEROS = 31;
+
+    static final ByteOrder WORD_ORDER = ByteOrder.LITTLE_ENDIAN;
+    // endregion
+
+    // region ⮞ Initialization
+
+    private TimeSeriesCodec() {
+    }
+    // endregion
+
+    // region ⮞ Bit Streams
+
+    /**
+     * Growable stream of bits.
+     */
+    static final class BitWriter {
+
+        private long @NotNull [] words = new long[2];
+        private long bitCount = 0L;
+
+        /**
+         * Appends the low {@code count} bits of the given value, from the
+         * most significant one.
+         *
+         * @param count from {@code 1} to {@code 64}
+         */
+        void write(long value, int count) {
+            int index = (int) (bitCount >>> 6);
+            int free = Long.SIZE - (int) (bitCount & 63);
+
+            if (index + 1 >= words.length) words = Arrays.copyOf(words, words.length * 2);
+
+            if (count < Long.SIZE) value &= (1L << count) - 1;
+
+            if (count <= free) {
+                words[index] |= value << free - count;
+            } else {
+                int rest = count - free;
+
+                words[index] |= value >>> rest;
+                words[index + 1] |= value << Long.SIZE - rest;
+            }
+
+            bitCount += count;
+        }
+
+        /**
+         * @return The size of the stream in bytes, padded to whole words.
+         */
+        int byteSize() {
+            return (int) (bitCount + 63 >>> 6) * Long.BYTES;
+        }
+
+        /**
+         * Writes the words of the stream at the given absolute offset.
+         */
+        void copyTo(@NotNull ByteBuffer target, int offset) {
+            int wordCount = byteSize() / Long.BYTES;
+
+            for (int i = 0; i < wordCount; i++) target.putLong(offset + i * Long.BYTES, words[i]);
+        }
+
+        /**
+         * @return A copy of the stream, readable by a {@link BitReader}.
+         */
+        @NotNull ByteBuffer toBuffer() {
+            var buffer = ByteBuffer.allocate(byteSize()).order(WORD_ORDER);
+
+            copyTo(buffer, 0);
+
+            return buffer;
+        }
+    }
+
+    /**
+     * Reads a stream written by a {@link BitWriter}, from the given absolute
+     * offset of a buffer in {@link #WORD_ORDER}.
+     */
+    static final class BitReader {
+
+        private final @NotNull ByteBuffer buffer;
+        private final int offset;
+        private long bitPosition = 0L;
+
+        BitReader(@NotNull ByteBuffer buffer, int offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+        }
+
+        /**
+         * @param count from {@code 1} to {@code 64}
+         */
+        long read(int count) {
+            int index = (int) (bitPosition >>> 6);
+            int used = (int) (bitPosition & 63);
+
+            long word = buffer.getLong(offset + index * Long.BYTES) << used;
+            long value = word >>> Long.SIZE - count;
+
+            if (count > Long.SIZE - used) {
+                int rest = count - (Long.SIZE - used);
+                value |= buffer.getLong(offset + (index + 1) * Long.BYTES) >>> Long.SIZE - rest;
+            }
+
+            bitPosition += count;
+
+            return value;
+        }
+
+        boolean readBit() {
+            return read(1) != 0L;
+        }
+    }
+    // endregion
+
+    // region ⮞ Encoder
+
+    /**
+     * Encodes the samples of one series, appended in increasing tick order.
+     */
+    static final class Encoder {
+
+        private final long firstTick;
+        private long lastTick;
+        private long lastDelta = 0L;
+        private int sampleCount = 0;
+
+        private final @NotNull BitWriter ticks = new BitWriter();
+        private final @NotNull BitWriter @NotNull [] channels;
+
+        private final long @NotNull [] lastBits;
+        private final int @NotNull [] lastLeading;
+        private final int @NotNull [] lastTrailing;
+
+        Encoder(long firstTick, int channelCount) {
+            this.firstTick = firstTick;
+            lastTick = firstTick;
+
+            channels = new BitWriter[channelCount];
+            for (int i = 0; i < channelCount; i++) channels[i] = new BitWriter();
+
+            lastBits = new long[channelCount];
+            lastLeading = new int[channelCount];
+            lastTrailing = new int[channelCount];
+        }
+
+        long getFirstTick() {
+            return firstTick;
+        }
+
+        long getLastTick() {
+            return lastTick;
+        }
+
+        int getSampleCount() {
+            return sampleCount;
+        }
+
+        @NotNull BitWriter ticks() {
+            return ticks;
+        }
+
+        @NotNull BitWriter channel(int channel) {
+            return channels[channel];
+        }
+
+        /**
+         * @return The size of every stream together, in bytes.
+         */
+        int byteSize() {
+            int size = ticks.byteSize();
+            for (var channel : channels) size += channel.byteSize();
+
+            return size;
+        }
+
+        /**
+         * Begins a sample at the given tick; each channel is then added with
+         * {@link #appendValue}.
+         *
+         * @throws IllegalArgumentException if the tick does not follow the
+         *                                  previous one
+         */
+        void appendTick(long tick) {
+            if (sampleCount > 0) {
+                if (tick <= lastTick)
+                    throw new IllegalArgumentException(
+                            "Samples must be appended in tick order: %d after %d".formatted(tick, lastTick)
+                    );
+
+                long delta = tick - lastTick;
+                writeDeltaOfDelta(delta - lastDelta);
+
+                lastDelta = delta;
+                lastTick = tick;
+            } else if (tick != firstTick) {
+                throw new IllegalArgumentException("First sample must be at tick %d: %d".formatted(firstTick, tick));
+            }
+
+            sampleCount++;
+        }
+
+        private void writeDeltaOfDelta(long deltaOfDelta) {
+            if (deltaOfDelta == 0L) {
+                ticks.write(0b0, 1);
+            } else if (deltaOfDelta >= -BIAS_7 && deltaOfDelta <= BIAS_7 + 1) {
+                ticks.write(0b10, 2);
+                ticks.write(deltaOfDelta + BIAS_7, 7);
+            } else if (deltaOfDelta >= -BIAS_9 && deltaOfDelta <= BIAS_9 + 1) {
+                ticks.write(0b110, 3);
+                ticks.write(deltaOfDelta + BIAS_9, 9);
+            } else if (deltaOfDelta >= -BIAS_12 && deltaOfDelta <= BIAS_12 + 1) {
+                ticks.write(0b1110, 4);
+                ticks.write(deltaOfDelta + BIAS_12, 12);
+            } else {
+                ticks.write(0b1111, 4);
+                ticks.write(deltaOfDelta, 64);
+            }
+        }
+
+        void appendValue(int channel, double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            var stream = channels[channel];
+
+            if (sampleCount == 1) {
+                stream.write(bits, 64);
+
+                lastBits[channel] = bits;
+                lastLeading[channel] = -1;
+                return;
+            }
+
+            long xor = bits ^ lastBits[channel];
+            lastBits[channel] = bits;
+
+            if (xor == 0L) {
+                stream.write(0b0, 1);
+                return;
+            }
+
+            int leading = Math.min(Long.numberOfLeadingZeros(xor), MAX_LEADING_ZEROS);
+            int trailing = Long.numberOfTrailingZeros(xor);
+
+            if (lastLeading[channel] >= 0 && leading >= lastLeading[channel] && trailing >= lastTrailing[channel]) {
+                // Fits in the previous window of meaningful bits.
+                stream.write(0b10, 2);
+                stream.write(xor >>> lastTrailing[channel], Long.SIZE - lastLeading[channel] - lastTrailing[channel]);
+                return;
+            }
+
+            int length = Long.SIZE - leading - trailing;
+
+            stream.write(0b11, 2);
+            stream.write(leading, 5);
+            stream.write(length - 1, 6);
+            stream.write(xor >>> trailing, length);
+
+            lastLeading[channel] = leading;
+            lastTrailing[channel] = trailing;
+        }
+    }
+    // endregion
+
+    // region ⮞ Decoders
+
+    /**
+     * Decodes the ticks of a series, one call per sample.
+     */
+    static final class TickDecoder {
+
+        private final @NotNull BitReader reader;
+        private long tick;
+        private long delta = 0L;
+        private boolean started = false;
+
+        TickDecoder(@NotNull BitReader reader, long firstTick) {
+            this.reader = reader;
+            tick = firstTick;
+        }
+
+        long next() {
+            if (!started) {
+                started = true;
+                return tick;
+            }
+
+            long deltaOfDelta;
+
+            if (!reader.readBit()) deltaOfDelta = 0L;
+            else if (!reader.readBit()) deltaOfDelta = reader.read(7) - BIAS_7;
+            else if (!reader.readBit()) deltaOfDelta = reader.read(9) - BIAS_9;
+            else if (!reader.readBit()) deltaOfDelta = reader.read(12) - BIAS_12;
+            else deltaOfDelta = reader.read(64);
+
+            delta += deltaOfDelta;
+            tick += delta;
+
+            return tick;
+        }
+    }
+
+    /**
+     * Decodes the values of one channel of a series, one call per sample.
+     */
+    static final class ValueDecoder {
+
+        private final @NotNull BitReader reader;
+        private long bits;
+        private int leading = 0;
+        private int trailing = 0;
+        private boolean started = false;
+
+        ValueDecoder(@NotNull BitReader reader) {
+            this.reader = reader;
+        }
+
+        double next() {
+            if (!started) {
+                started = true;
+                bits = reader.read(64);
+
+                return Double.longBitsToDouble(bits);
+            }
+
+            if (reader.readBit()) {
+                if (reader.readBit()) {
+                    leading = (int) reader.read(5);
+                    int length = (int) reader.read(6) + 1;
+                    trailing = Long.SIZE - leading - length;
+                }
+
+                bits ^= reader.read(Long.SIZE - leading - trailing) << trailing;
+            }
+
+            return Double.longBitsToDouble(bits);
+        }
+    }
+    // endregion
+}
@@ -1,32 +1,44 @@
 package com.github.skumoreq.simulator;
 
-import com.github.skumoreq.simulator.exception.ClutchEngagedException;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.StringJoiner;
 
 /**
- * Represents the vehicle's transmission (gearbox) component.
+ * Immutable specification of the vehicle's transmission (gearbox) component.
  * <p>
- * Manages gear shifting logic and the connection to the wheels. It contains a
- * clutch instance to verify torque flow from the engine.
+ * Defines the gear ratios and the clutch that controls the torque flow from
+ * the engine. The selected gear is per-car state kept by {@link Car}, so a
+ * single instance, including its clutch, is shared by every car built with
+ * it.
  * <p>
- * While in neutral, the wheels are disconnected from the transmission.
- * Otherwise, torque is transferred through a set of predefined gear ratios.
+ * While in neutral (gear {@code 0}), the wheels are disconnected from the
+ * transmission. Otherwise, torque is transferred through a set of predefined
+ * gear ratios.
+ * <p>
+ * Everything derived from the ratios is tabulated once at construction: the
+ * speed per RPM of every gear and the RPM factor of every possible gear shift,
+ * so that control methods only multiply by a table entry.
  *
  * @see Clutch
  * @see Engine
  */
-public class Transmission extends CarComponent {
+public final class Transmission extends CarComponent {
 
     // region ⮞ Constants
 
     public static final String UI_SEPARATOR_RATIO = "|";
     public static final String UI_FORMAT_RATIO = "%.2f";
+    public static final FixedPointFormat RATIO_FORMAT = new FixedPointFormat(2, "");
     private static final String UI_NEUTRAL_GEAR = "N";
     private static final String UI_SHIFT_UP = "↑";
     private static final String UI_SHIFT_DOWN = "↓";
-    private static final String UI_DROP_FACTOR_FORMAT = "%.2f%%";
+    private static final FixedPointFormat UI_DROP_FACTOR_FORMAT = new FixedPointFormat(2, "%");
+
+    /**
+     * Speed in km/h per unit of RPM divided by the gear ratio.
+     */
+    private static final double SPEED_MULTIPLIER = 0.03;
     // endregion
 
     // region ⮞ Instance Fields
@@ -35,8 +47,16 @@ public class Transmission extends CarComponent {
     private final double @NotNull [] ratios;
     private final double dropFactor;
 
-    private int previousGear;
-    private int gear;
+    /**
+     * Speed in km/h per RPM, indexed by gear; {@code 0.0} in neutral.
+     */
+    private final double @NotNull [] speedPerRpm;
+
+    /**
+     * Powers of {@link #dropFactor}, indexed by gear shift delta offset by
+     * the gear count.
+     */
+    private final double @NotNull [] shiftRpmFactors;
     // endregion
 
     // region ⮞ Initialization
@@ -46,49 +66,39 @@ public class Transmission extends CarComponent {
             @NotNull Clutch clutch, double @NotNull [] ratios
     ) {
         super(name, weight, price);
-        this.clutch = new Clutch(clutch);
+        this.clutch = clutch;
         this.ratios = ratios.clone();
 
-        dropFactor = Math.pow(getGearRatio(getGearCount()) / getGearRatio(1), 1.0 / getGearCount());
+        if (this.ratios.length == 0)
+            throw new IllegalArgumentException("Transmission must have at least one gear.");
 
-        previousGear = 0;
-        gear = 0;
-    }
+        for (var ratio : this.ratios)
+            if (!(ratio > 0.0))
+                throw new IllegalArgumentException("Gear ratio must be positive: %.2f".formatted(ratio));
 
-    /**
-     * Creates a new Transmission based on an existing instance.
-     */
-    public Transmission(@NotNull Transmission transmission) {
-        this(transmission.name, transmission.weight, transmission.price, transmission.clutch, transmission.ratios);
-    }
+        int gearCount = getGearCount();
+
+        dropFactor = Math.pow(getGearRatio(gearCount) / getGearRatio(1), 1.0 / gearCount);
 
+        speedPerRpm = new double[gearCount + 1];
+        for (int gear = 1; gear <= gearCount; gear++)
+            speedPerRpm[gear] = SPEED_MULTIPLIER / getGearRatio(gear);
+
+        shiftRpmFactors = new double[2 * gearCount + 1];
+        for (int delta = -gearCount; delta <= gearCount; delta++)
+            shiftRpmFactors[delta + gearCount] = Math.pow(dropFactor, delta);
+    }
     // endregion
 
     // region ⮞ Getters
 
     /**
-     * @return The transmission's clutch instance.
+     * @return The transmission's clutch specification.
      */
     public @NotNull Clutch clutch() {
         return clutch;
     }
 
-    /**
-     * @return {@code true} if the wheels are disconnected from the transmission.
-     */
-    public boolean isInNeutral() {
-        return gear == 0;
-    }
-
-    /**
-     * @return {@code true} if the engine-wheels torque transfer isn't
-     * interrupted by either the transmission being in neutral state or a
-     * disengaged clutch.
-     */
-    public boolean isTorqueTransferred() {
-        return !isInNeutral() && clutch.isEngaged();
-    }
-
     /**
      * @return The average percentage of RPM retained between gear shifts.
      */
@@ -103,15 +113,6 @@ public class Transmission extends CarComponent {
         return ratios.length;
     }
 
-    /**
-     * Positive value means upshifting, negative means downshifting.
-     *
-     * @return The number of gears changed in the last shift.
-     */
-    public int getGearShiftDelta() {
-        return gear - previousGear;
-    }
-
     /**
      * @return The ratio of the specified gear, regardless of clutch state.
      * @throws IllegalArgumentException if the gear is out of range.
@@ -127,52 +128,28 @@ public class Transmission extends CarComponent {
     }
 
     /**
-     * @return The effective torque ratio currently being transferred to the
-     * wheels.
-     */
-    public double getEffectiveRatio() {
-        return isTorqueTransferred() ? getGearRatio(gear) : 0.0;
-    }
-    // endregion
-
-    // region ⮞ Control Methods
-
-    /**
-     * Updates the previous gear to the current gear.
-     */
-    public void updatePreviousGear() {
-        previousGear = gear;
-    }
-
-    /**
-     * Resets the previous gear to the neutral gear.
-     */
-    public void clearPreviousGear() {
-        previousGear = 0;
-    }
-
-    /**
-     * Shifts the gear up by one, if not already at the highest gear.
+     * @return The speed in km/h per RPM in the specified gear, {@code 0.0} in
+     * neutral.
+     * @throws IllegalArgumentException if the gear is out of range.
      */
-    public boolean shiftUp() throws ClutchEngagedException {
-        if (gear == getGearCount()) return false;
-        if (clutch.isEngaged()) throw new ClutchEngagedException();
-
-        gear++;
+    public double getSpeedPerRpm(int gear) {
+        if (gear < 0 || gear > getGearCount())
+            throw new IllegalArgumentException(
+                    "Invalid gear: %d (available range: 0 to %d)"
+                    .formatted(gear, getGearCount())
+            );
 
-        return true;
+        return speedPerRpm[gear];
     }
 
     /**
-     * Shifts the gear down by one, if not already in the neutral gear.
+     * Positive delta means upshifting, negative means downshifting.
+     *
+     * @return The factor the RPM is multiplied by after shifting by the given
+     * number of gears, i.e. {@link #getDropFactor()} raised to the delta.
      */
-    public boolean shiftDown() throws ClutchEngagedException {
-        if (gear == 0) return false;
-        if (clutch.isEngaged()) throw new ClutchEngagedException();
-
-        gear--;
-
-        return true;
+    double getShiftRpmFactor(int gearShiftDelta) {
+        return shiftRpmFactors[gearShiftDelta + getGearCount()];
     }
     // endregion
 
@@ -182,17 +159,20 @@ public class Transmission extends CarComponent {
         var joiner = new StringJoiner(UI_SEPARATOR_RATIO);
 
         for (var ratio : ratios)
-            joiner.add(UI_FORMAT_RATIO.formatted(ratio));
+            joiner.add(RATIO_FORMAT.format(ratio));
 
         return joiner.toString();
     }
 
-    public @NotNull String getGearDisplay() {
+    /**
+     * Formats the given gear of this transmission.
+     */
+    @NotNull String formatGear(int gear, boolean clutchEngaged) {
         var builder = new StringBuilder();
 
-        builder.append(isInNeutral() ? UI_NEUTRAL_GEAR : gear);
+        builder.append(gear == 0 ? UI_NEUTRAL_GEAR : gear);
 
-        if (!isInNeutral() && !clutch.isEngaged()) {
+        if (gear != 0 && !clutchEngaged) {
             if (gear > 1) builder.append(UI_SHIFT_DOWN);
             if (gear < getGearCount()) builder.append(UI_SHIFT_UP);
         }
@@ -201,7 +181,7 @@ public class Transmission extends CarComponent {
     }
 
     public @NotNull String getDropFactorDisplay() {
-        return UI_DROP_FACTOR_FORMAT.formatted(dropFactor * 100.0);
+        return UI_DROP_FACTOR_FORMAT.format(dropFactor * 100.0);
     }
     // endregion
 }
@@ -0,0 +1,72 @@
+package com.github.skumoreq.simulator;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+import org.jetbrains.annotations.NotNull;
+
+import static jdk.incubator.vector.VectorOperators.NE;
+
+/**
+ * SIMD implementation of {@link MovementKernel} that advances
+ * {@code SPECIES.length()} slots per iteration using {@link DoubleVector}
+ * lanes.
+ * <p>
+ * The lane-wise operations are performed in exactly the same order as in the
+ * scalar kernel, and all of them (including the square root) are correctly
+ * rounded, so both kernels produce identical results. Lanes that must not move
+ * are excluded with a mask and keep their original values.
+ *
+ * @implNote Only loaded after {@link MovementKernel.VectorSupport} has
+ * verified that the {@code jdk.incubator.vector} module is present.
+ */
+final class VectorMovementKernel implements MovementKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    static boolean isSupported() {
+        return SPECIES.length() >= 2;
+    }
+
+    @Override
+    public void move(@NotNull FleetState.Page page, int from, int to, long interval, double unitScale) {
+        if (interval == 0L) return;
+
+        int i = from;
+        int upperBound = from + SPECIES.loopBound(to - from);
+
+        for (; i < upperBound; i += SPECIES.length()) {
+            var active = VectorMask.fromArray(SPECIES, page.idle, i).not();
+
+            if (!active.anyTrue()) continue;
+
+            var x = DoubleVector.fromArray(SPECIES, page.positionX, i);
+            var y = DoubleVector.fromArray(SPECIES, page.positionY, i);
+            var dx = DoubleVector.fromArray(SPECIES, page.destinationX, i).sub(x);
+            var dy = DoubleVector.fromArray(SPECIES, page.destinationY, i).sub(y);
+            var speed = DoubleVector.fromArray(SPECIES, page.speed, i);
+
+            var moving = active
+                    .and(speed.compare(NE, 0.0))
+                    .and(dx.compare(NE, 0.0).or(dy.compare(NE, 0.0)));
+
+            if (!moving.anyTrue()) continue;
+
+            var distanceToTarget = dx.mul(dx).add(dy.mul(dy)).sqrt();
+            var distanceToMove = speed.mul(unitScale).mul((double) interval).div(3600.0).min(distanceToTarget);
+            var factor = distanceToMove.div(distanceToTarget);
+
+            // Blended rather than mask-stored: lanes that must not move write
+            // back the value they were loaded with, and only the sweep ever
+            // writes positions. Full-width stores are much cheaper than masked
+            // ones on hardware without native masked stores.
+            x.blend(x.add(dx.mul(factor)), moving).intoArray(page.positionX, i);
+            y.blend(y.add(dy.mul(factor)), moving).intoArray(page.positionY, i);
+
+            for (long lanes = moving.toLong(); lanes != 0L; lanes &= lanes - 1L)
+                page.changes[i + Long.numberOfTrailingZeros(lanes)] |= FleetState.POSITION_CHANGED;
+        }
+
+        SCALAR.move(page, i, to, interval, unitScale);
+    }
+}
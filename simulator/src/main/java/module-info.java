@@ -1,11 +1,11 @@
 module com.github.skumoreq.simulator {
     requires static org.jetbrains.annotations;
 
-    requires javafx.base;     // for ObservableList
-    requires javafx.graphics; // for Platform.runLater
-
+    requires transitive java.management; // JMException in SimulatorMetrics
     requires tools.jackson.databind;
 
+    requires static jdk.incubator.vector; // optional SIMD movement kernel
+
     exports com.github.skumoreq.simulator;
     exports com.github.skumoreq.simulator.exception;
 }
@@ -0,0 +1,125 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.ClutchEngagedException;
+import com.github.skumoreq.simulator.exception.EngineStalledException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the {@code ...Async} control methods of {@link Car} are queued
+ * and applied at the start of the next tick.
+ */
+class CarCommandTest {
+
+    // region ⮞ Test Configuration
+
+    private @NotNull SimulationScheduler scheduler;
+    private @NotNull Car car;
+
+    @BeforeEach
+    void setUp() {
+        // Never started; ticks are run manually.
+        scheduler = new SimulationScheduler(1);
+        car = new Car(
+                "AB 00001", "Test",
+                CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                new Point()
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    private static @NotNull Throwable failureOf(@NotNull CompletableFuture<Void> result) {
+        var failure = assertThrows(CompletionException.class, result::join);
+
+        return failure.getCause();
+    }
+    // endregion
+
+    // region ⮞ Queuing
+
+    @Test
+    void async_unregisteredCar_appliesImmediately() {
+        var result = car.startEngineAsync();
+
+        assertTrue(result.isDone());
+        assertTrue(car.snapshot().engineRunning());
+    }
+
+    @Test
+    void async_registeredCar_waitsForNextTick() {
+        scheduler.register(car);
+
+        var result = car.startEngineAsync();
+
+        assertFalse(result.isDone(), "Command must not be applied before the tick");
+        assertFalse(car.snapshot().engineRunning());
+
+        scheduler.tick();
+
+        assertTrue(result.isDone());
+        assertTrue(car.snapshot().engineRunning());
+    }
+
+    @Test
+    void async_appliesCommandsInSubmissionOrder() {
+        scheduler.register(car);
+
+        car.startEngineAsync();
+        car.pressClutchAsync();
+        var shift = car.shiftUpAsync();
+
+        scheduler.tick();
+
+        assertDoesNotThrow(shift::join);
+        assertEquals(1, car.snapshot().gear());
+    }
+
+    @Test
+    void async_completesExceptionallyWithCarException() {
+        scheduler.register(car);
+
+        var shift = car.shiftUpAsync();
+        scheduler.tick();
+
+        assertInstanceOf(ClutchEngagedException.class, failureOf(shift));
+    }
+
+    @Test
+    void async_failureDoesNotStopLaterCommands() {
+        scheduler.register(car);
+
+        car.startEngineAsync();
+        var stall = car.revDownAsync(1.0);
+        var restart = car.startEngineAsync();
+
+        scheduler.tick();
+
+        assertInstanceOf(EngineStalledException.class, failureOf(stall));
+        assertDoesNotThrow(restart::join);
+        assertTrue(car.snapshot().engineRunning());
+    }
+
+    @Test
+    void async_unregisteredAfterSubmission_isStillApplied() {
+        scheduler.register(car);
+
+        var result = car.startEngineAsync();
+        scheduler.unregister(car);
+        scheduler.tick();
+
+        assertTrue(result.isDone());
+        assertTrue(car.snapshot().engineRunning());
+    }
+    // endregion
+}
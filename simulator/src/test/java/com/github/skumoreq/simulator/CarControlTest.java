@@ -0,0 +1,194 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.CarException;
+import com.github.skumoreq.simulator.exception.ClutchEngagedException;
+import com.github.skumoreq.simulator.exception.EngineStalledException;
+import com.github.skumoreq.simulator.exception.TorqueTransferActiveException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the control methods keep their state per car while the
+ * component specifications are shared.
+ */
+class CarControlTest {
+
+    // region ⮞ Test Configuration
+
+    private static final Transmission TRANSMISSION = CarManager.TRANSMISSIONS.getFirst();
+    private static final Engine ENGINE = CarManager.ENGINES.getFirst();
+
+    private @NotNull Car car;
+
+    private static @NotNull Car createCar(@NotNull String plateNumber) {
+        return new Car(plateNumber, "Test", TRANSMISSION, ENGINE, new Point());
+    }
+
+    @BeforeEach
+    void setUp() {
+        car = createCar("AB 00001");
+    }
+
+    private void shiftIntoFirstGear() throws CarException {
+        car.pressClutch();
+        car.shiftUp();
+        car.releaseClutch();
+    }
+    // endregion
+
+    // region ⮞ Shared Specifications
+
+    @Test
+    void constructor_sharesCatalogSpecifications() {
+        var other = createCar("AB 00002");
+
+        assertSame(ENGINE, car.getEngine());
+        assertSame(TRANSMISSION, car.getGearbox());
+        assertSame(TRANSMISSION.clutch(), car.getClutch());
+        assertSame(car.getEngine(), other.getEngine());
+    }
+
+    @Test
+    void controlMethods_doNotAffectOtherCars() throws CarException {
+        var other = createCar("AB 00002");
+
+        car.startEngine();
+        car.revUp(1.0);
+        car.pressClutch();
+        car.shiftUp();
+
+        var untouched = other.snapshot();
+
+        assertEquals(0.0, untouched.rpm());
+        assertEquals(0, untouched.gear());
+        assertTrue(untouched.clutchEngaged());
+        assertEquals(1, car.snapshot().gear());
+        assertFalse(car.snapshot().clutchEngaged());
+    }
+    // endregion
+
+    // region ⮞ Engine
+
+    @Test
+    void startEngine_setsIdleRpm() throws CarException {
+        car.startEngine();
+
+        assertEquals(Engine.RPM_IDLE, car.snapshot().rpm());
+        assertTrue(car.snapshot().engineRunning());
+    }
+
+    @Test
+    void startEngine_inGearWithEngagedClutch_throws() throws CarException {
+        car.pressClutch();
+        car.shiftUp();
+        car.releaseClutch();
+
+        assertThrows(TorqueTransferActiveException.class, car::startEngine);
+    }
+
+    @Test
+    void revUp_isCappedAtMaxRpm() throws CarException {
+        car.startEngine();
+
+        for (int i = 0; i < 1000; i++) car.revUp(1.0);
+
+        assertEquals(ENGINE.getMaxRpm(), car.snapshot().rpm());
+    }
+
+    @Test
+    void revUp_withNegativeIntensity_throws() {
+        assertThrows(IllegalArgumentException.class, () -> car.revUp(-1.0));
+    }
+
+    @Test
+    void revDown_belowIdle_stallsEngine() throws CarException {
+        car.startEngine();
+
+        assertThrows(EngineStalledException.class, () -> car.revDown(1.0));
+        assertEquals(0.0, car.snapshot().rpm());
+        assertEquals(0.0, car.snapshot().speed());
+    }
+    // endregion
+
+    // region ⮞ Transmission
+
+    @Test
+    void shiftUp_withEngagedClutch_throws() {
+        assertThrows(ClutchEngagedException.class, car::shiftUp);
+    }
+
+    @Test
+    void releaseClutch_afterUpshift_dropsRpmAndSetsSpeed() throws CarException {
+        car.startEngine();
+        for (int i = 0; i < 30; i++) car.revUp(1.0);
+
+        double rpmBeforeShift = car.snapshot().rpm();
+
+        shiftIntoFirstGear();
+
+        var snapshot = car.snapshot();
+
+        assertEquals(rpmBeforeShift * TRANSMISSION.getDropFactor(), snapshot.rpm(), 1.0e-9);
+        assertTrue(snapshot.speed() > 0.0);
+        assertEquals(1, snapshot.gear());
+    }
+
+    @Test
+    void releaseClutch_withLowRpmAfterUpshift_stallsEngine() throws CarException {
+        car.startEngine();
+        car.pressClutch();
+        car.shiftUp();
+
+        assertThrows(EngineStalledException.class, car::releaseClutch);
+        assertFalse(car.snapshot().engineRunning());
+        assertTrue(car.snapshot().clutchEngaged());
+    }
+    // endregion
+
+    // region ⮞ Result Codes
+
+    @Test
+    void tryMethods_onSuccess_returnOk() {
+        assertEquals(ControlResult.OK, car.tryStartEngine());
+        assertEquals(ControlResult.OK, car.tryStartEngine());
+        assertEquals(ControlResult.OK, car.tryShiftDown());
+        assertEquals(ControlResult.OK, car.tryRevDown(0.0));
+        assertTrue(car.snapshot().engineRunning());
+    }
+
+    @Test
+    void tryShiftUp_withEngagedClutch_returnsClutchEngaged() {
+        assertEquals(ControlResult.CLUTCH_ENGAGED, car.tryShiftUp());
+        assertEquals(0, car.snapshot().gear());
+    }
+
+    @Test
+    void tryStartEngine_inGearWithEngagedClutch_returnsTorqueTransferActive() throws CarException {
+        shiftIntoFirstGear();
+
+        assertEquals(ControlResult.TORQUE_TRANSFER_ACTIVE, car.tryStartEngine());
+        assertFalse(car.snapshot().engineRunning());
+    }
+
+    @Test
+    void tryRevDown_belowIdle_returnsEngineStalledAndStalls() {
+        car.tryStartEngine();
+
+        assertEquals(ControlResult.ENGINE_STALLED, car.tryRevDown(1.0));
+        assertFalse(car.snapshot().engineRunning());
+    }
+
+    @Test
+    void tryReleaseClutch_withLowRpmAfterUpshift_returnsEngineStalled() {
+        car.tryStartEngine();
+        car.pressClutch();
+        car.tryShiftUp();
+
+        assertEquals(ControlResult.ENGINE_STALLED, car.tryReleaseClutch());
+        assertTrue(car.snapshot().clutchEngaged());
+    }
+    // endregion
+}
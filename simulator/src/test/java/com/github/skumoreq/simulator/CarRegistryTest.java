@@ -0,0 +1,305 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.CarException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the plate-number-keyed registry of the {@link CarManager}.
+ */
+class CarRegistryTest {
+
+    // region ⮞ Test Configuration
+
+    private @NotNull CarManager carManager;
+
+    @BeforeEach
+    void setUp() {
+        carManager = new CarManager();
+    }
+
+    @AfterEach
+    void tearDown() {
+        carManager.close();
+    }
+
+    private static @NotNull Car createCar(@NotNull String plateNumber) {
+        return new Car(
+                plateNumber, "Test",
+                CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                new Point()
+        );
+    }
+    // endregion
+
+    // region ⮞ Lookup
+
+    @Test
+    void findByPlateNumber_returnsRegisteredCar() {
+        var car = createCar("AB 00001");
+        carManager.addEntry(car);
+
+        assertSame(car, carManager.findByPlateNumber("AB 00001"));
+        assertSame(car, carManager.findByPlateKey(car.getPlateKey()));
+        assertNull(carManager.findByPlateNumber("AB 00002"));
+        assertNull(carManager.findByPlateNumber("not a plate"));
+    }
+
+    @Test
+    void addEntry_rejectsUsedPlateNumber() {
+        var first = createCar("AB 00001");
+        carManager.addEntry(first);
+        carManager.addEntry(createCar("AB 00001"));
+
+        assertEquals(1, carManager.getCarCount());
+        assertSame(first, carManager.findByPlateNumber("AB 00001"));
+    }
+
+    @Test
+    void removeEntry_ignoresCarWithSamePlateNumber() {
+        var registered = createCar("AB 00001");
+        carManager.addEntry(registered);
+
+        carManager.removeEntry(createCar("AB 00001"));
+
+        assertTrue(carManager.isPlateNumberUsed("AB 00001"));
+
+        carManager.removeEntry(registered);
+
+        assertFalse(carManager.isPlateNumberUsed("AB 00001"));
+    }
+
+    @Test
+    void getUsedPlateKeys_returnsCopyOfKeysInUse() {
+        long plateKey = PlateKey.encode("AB 00001");
+
+        carManager.addEntry(createCar("AB 00001"));
+        carManager.addEntry(createCar("AB 00002"));
+
+        var expected = new long[]{plateKey, PlateKey.encode("AB 00002")};
+        var usedPlateKeys = carManager.getUsedPlateKeys();
+
+        Arrays.sort(expected);
+        Arrays.sort(usedPlateKeys);
+
+        assertArrayEquals(expected, usedPlateKeys);
+        assertTrue(carManager.isPlateKeyUsed(plateKey));
+
+        carManager.removeEntry(carManager.findByPlateKey(plateKey));
+
+        assertFalse(carManager.isPlateKeyUsed(plateKey));
+        assertEquals(1, carManager.getUsedPlateKeys().length);
+    }
+    // endregion
+
+    // region ⮞ Bulk Registration
+
+    private static final class RecordingListener implements CarRegistryListener {
+
+        final @NotNull List<List<Car>> addedBatches = new ArrayList<>();
+        final @NotNull List<List<Car>> removedBatches = new ArrayList<>();
+
+        @Override
+        public void onCarsAdded(@NotNull @Unmodifiable List<Car> added) {
+            addedBatches.add(added);
+        }
+
+        @Override
+        public void onCarsRemoved(@NotNull @Unmodifiable List<Car> removed) {
+            removedBatches.add(removed);
+        }
+    }
+
+    private static @NotNull List<Car> createCars(int count) {
+        var cars = new ArrayList<Car>(count);
+
+        for (int i = 0; i < count; i++) cars.add(createCar("AB %05d".formatted(i)));
+
+        return cars;
+    }
+
+    @Test
+    void addEntries_registersAllCarsInOneEvent() {
+        var listener = new RecordingListener();
+        carManager.addRegistryListener(listener);
+
+        var cars = createCars(1000);
+        carManager.addEntries(cars);
+
+        assertEquals(1000, carManager.getCarCount());
+        assertEquals(1000, carManager.scheduler().getCarCount());
+        assertEquals(List.of(cars), listener.addedBatches);
+    }
+
+    @Test
+    void addEntries_withUsedPlateNumber_registersNothing() {
+        carManager.addEntry(createCar("AB 00500"));
+
+        var listener = new RecordingListener();
+        carManager.addRegistryListener(listener);
+
+        assertThrows(IllegalArgumentException.class, () -> carManager.addEntries(createCars(1000)));
+
+        assertEquals(1, carManager.getCarCount());
+        assertTrue(listener.addedBatches.isEmpty());
+    }
+
+    @Test
+    void addEntries_withDuplicateInBatch_registersNothing() {
+        var cars = createCars(10);
+        cars.add(createCar("AB 00003"));
+
+        assertThrows(IllegalArgumentException.class, () -> carManager.addEntries(cars));
+
+        assertEquals(0, carManager.getCarCount());
+    }
+
+    @Test
+    void removeEntries_removesRegisteredCarsInOneEvent() {
+        var cars = createCars(100);
+        carManager.addEntries(cars);
+
+        var listener = new RecordingListener();
+        carManager.addRegistryListener(listener);
+
+        var toRemove = new ArrayList<>(cars.subList(0, 50));
+        toRemove.add(createCar("XY 00001")); // not registered
+
+        carManager.removeEntries(toRemove);
+
+        assertEquals(50, carManager.getCarCount());
+        assertEquals(50, carManager.scheduler().getCarCount());
+        assertEquals(List.of(cars.subList(0, 50)), listener.removedBatches);
+    }
+    // endregion
+
+    // region ⮞ Concurrency
+
+    @Test
+    void addEntry_fromManyThreads_registersEachPlateNumberOnce() throws InterruptedException {
+        int threadCount = 8;
+        int plateCount = 200;
+        var start = new CountDownLatch(1);
+        var threads = new ArrayList<Thread>();
+
+        for (int t = 0; t < threadCount; t++)
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                for (int i = 0; i < plateCount; i++) carManager.addEntry(createCar("AB %05d".formatted(i)));
+            }));
+
+        start.countDown();
+        for (var thread : threads) thread.join();
+
+        assertEquals(plateCount, carManager.getCarCount());
+        assertEquals(plateCount, carManager.getCars().size());
+        assertEquals(plateCount, carManager.scheduler().getCarCount());
+    }
+
+    @Test
+    void addRegistryListenerAndGetCars_duringRegistration_reportsEachCarOnce() throws InterruptedException {
+        var cars = createCars(2000);
+        var listener = new RecordingListener();
+
+        var adder = Thread.ofPlatform().start(() -> {
+            for (var car : cars) carManager.addEntry(car);
+        });
+
+        var seen = new ArrayList<>(carManager.addRegistryListenerAndGetCars(listener));
+        adder.join();
+
+        for (var batch : listener.addedBatches) seen.addAll(batch);
+
+        assertEquals(cars.size(), seen.size());
+        assertEquals(Set.copyOf(cars), Set.copyOf(seen));
+    }
+    // endregion
+
+    // region ⮞ Execution Modes
+
+    @Test
+    void sharedScheduler_withVirtualThreadManager_movesEachCarOncePerTick() throws CarException {
+        var scheduler = new SimulationScheduler(1, SimulationScheduler.ClockMode.LOCKSTEP);
+        var swept = new CarManager(CarManager.ExecutionMode.SHARED_SCHEDULER, scheduler, Runnable::run);
+        var selfDriven = new CarManager(CarManager.ExecutionMode.VIRTUAL_THREADS, scheduler, Runnable::run);
+
+        try {
+            var reference = TestCars.driving("AB 00000", new Point(0.0, 0.0), 0.0, 1.0e6);
+            var sweptCar = TestCars.driving("AB 00001", new Point(0.0, 0.0), 0.0, 1.0e6);
+            var threadedCar = TestCars.driving("AB 00002", new Point(100.0, 0.0), 100.0, 1.0e6);
+
+            swept.addEntry(sweptCar);
+            selfDriven.addEntry(threadedCar);
+
+            // Observers are notified synchronously, on the thread that moved
+            // the car.
+            var steppingThread = Thread.currentThread();
+            var movedBySweep = new AtomicBoolean(false);
+
+            threadedCar.addObserver((_, property) -> {
+                if (property == CarObserver.ChangedProperty.POSITION && Thread.currentThread() == steppingThread)
+                    movedBySweep.set(true);
+            });
+
+            for (int i = 0; i < 50; i++) {
+                scheduler.step();
+                reference.tick();
+            }
+
+            assertEquals(1, scheduler.getCarCount());
+            assertEquals(reference.getPositionY(), sweptCar.getPositionY(), 1.0e-9);
+            assertFalse(movedBySweep.get());
+        } finally {
+            selfDriven.close();
+            swept.close();
+            scheduler.shutdown();
+        }
+    }
+    // endregion
+
+    // region ⮞ Lifecycle
+
+    @Test
+    void close_shutsDownOwnScheduler() {
+        carManager.addEntry(createCar("AB 00001"));
+
+        assertTrue(carManager.scheduler().isRunning());
+
+        carManager.close();
+
+        assertFalse(carManager.scheduler().isRunning());
+    }
+
+    @Test
+    void close_keepsSharedSchedulerRunning() {
+        var scheduler = new SimulationScheduler(1, SimulationScheduler.ClockMode.LOCKSTEP);
+
+        try {
+            try (var shared = new CarManager(CarManager.ExecutionMode.SHARED_SCHEDULER, scheduler, Runnable::run)) {
+                shared.addEntry(createCar("AB 00001"));
+            }
+
+            assertTrue(scheduler.isRunning());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+    // endregion
+}
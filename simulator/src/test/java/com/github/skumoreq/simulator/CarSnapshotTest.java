@@ -0,0 +1,100 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link Car#snapshot()} reflects both control changes and
+ * simulation ticks.
+ */
+class CarSnapshotTest {
+
+    // region ⮞ Test Configuration
+
+    private static final double START_X = 100.0;
+    private static final double START_Y = 200.0;
+
+    private @NotNull Car car;
+
+    @BeforeEach
+    void setUp() {
+        car = new Car(
+                "AB 00001", "Test",
+                CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                new Point(START_X, START_Y)
+        );
+    }
+
+    /**
+     * Starts the engine and engages the first gear at a high RPM, so the car
+     * moves on the next tick.
+     */
+    private void driveOff() throws Exception {
+        TestCars.driveOff(car);
+        car.resume();
+    }
+    // endregion
+
+    // region ⮞ Publication
+
+    @Test
+    void snapshot_initiallyMatchesConstructorArguments() {
+        var snapshot = car.snapshot();
+
+        assertAll(
+                () -> assertEquals(START_X, snapshot.positionX()),
+                () -> assertEquals(START_Y, snapshot.positionY()),
+                () -> assertEquals(0.0, snapshot.speed()),
+                () -> assertEquals(0, snapshot.gear()),
+                () -> assertTrue(snapshot.clutchEngaged()),
+                () -> assertFalse(snapshot.engineRunning())
+        );
+    }
+
+    @Test
+    void snapshot_isReplacedByControlMethods() throws Exception {
+        var before = car.snapshot();
+
+        driveOff();
+
+        var after = car.snapshot();
+
+        assertNotSame(before, after);
+        assertAll(
+                () -> assertTrue(after.engineRunning()),
+                () -> assertEquals(1, after.gear()),
+                () -> assertTrue(after.speed() > 0.0),
+                () -> assertEquals(START_X, after.positionX(), "Control methods must not move the car")
+        );
+    }
+
+    @Test
+    void snapshot_isReplacedByTick() throws Exception {
+        driveOff();
+        car.updateDestination(START_X + 1000.0, START_Y, 0.0);
+
+        var beforeTick = car.snapshot();
+        car.tick();
+        var afterTick = car.snapshot();
+
+        assertAll(
+                () -> assertTrue(afterTick.positionX() > START_X, "Car should have moved towards the destination"),
+                () -> assertEquals(START_Y, afterTick.positionY()),
+                () -> assertEquals(beforeTick.speed(), afterTick.speed(), "Tick must keep the control values"),
+                () -> assertEquals(beforeTick.rpm(), afterTick.rpm(), "Tick must keep the control values")
+        );
+    }
+
+    @Test
+    void snapshot_isKeptWhileNothingChanges() {
+        var before = car.snapshot();
+
+        car.tick();
+
+        assertSame(before, car.snapshot());
+    }
+    // endregion
+}
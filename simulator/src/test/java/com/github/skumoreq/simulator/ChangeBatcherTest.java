@@ -0,0 +1,155 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.skumoreq.simulator.CarObserver.ChangedProperty.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link ChangeBatcher} merges notifications of many changes into
+ * at most one delivery per car and flush.
+ */
+class ChangeBatcherTest {
+
+    // region ⮞ Test Configuration
+
+    private static final int THREAD_COUNT = 8;
+    private static final int NOTIFICATIONS_PER_THREAD = 20_000;
+
+    private record Update(@NotNull Car car, @NotNull CarObserver.ChangedProperty property) {}
+
+    /**
+     * Collects scheduled flushes instead of running them, standing in for
+     * the FX event queue.
+     */
+    private final @NotNull List<Runnable> scheduledFlushes = new ArrayList<>();
+    private final @NotNull List<Update> updates = new ArrayList<>();
+
+    private @NotNull ChangeBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        batcher = new ChangeBatcher(scheduledFlushes::add);
+    }
+
+    private @NotNull Car createCar(@NotNull String plateNumber) {
+        var car = new Car(
+                plateNumber, "Test",
+                CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                new Point()
+        );
+
+        car.setChangeBatcher(batcher);
+        car.addObserver((changed, property) -> updates.add(new Update(changed, property)));
+
+        return car;
+    }
+
+    private void runScheduledFlushes() {
+        var pending = List.copyOf(scheduledFlushes);
+        scheduledFlushes.clear();
+
+        for (var flush : pending) flush.run();
+    }
+    // endregion
+
+    // region ⮞ Coalescing
+
+    @Test
+    void notify_schedulesSingleFlushForManyChanges() {
+        var first = createCar("AB 00001");
+        var second = createCar("AB 00002");
+
+        for (int i = 0; i < 50; i++) {
+            first.notifyAllObservers(RPM, SPEED);
+            second.notifyAllObservers(POSITION);
+        }
+
+        assertEquals(1, scheduledFlushes.size(), "Only one flush should be pending");
+        assertTrue(updates.isEmpty(), "Nothing should be delivered before the flush");
+    }
+
+    @Test
+    void flush_deliversMergedChangesOncePerCar() {
+        var car = createCar("AB 00001");
+
+        car.notifyAllObservers(RPM);
+        car.notifyAllObservers(SPEED, RPM);
+        car.notifyAllObservers(ANGLE);
+
+        runScheduledFlushes();
+
+        assertEquals(
+                List.of(new Update(car, RPM), new Update(car, SPEED), new Update(car, ANGLE)),
+                updates
+        );
+    }
+
+    @Test
+    void flush_allowsNextBatchAfterwards() {
+        var car = createCar("AB 00001");
+
+        car.notifyAllObservers(GEAR);
+        runScheduledFlushes();
+        car.notifyAllObservers(CLUTCH_STATE);
+
+        assertEquals(1, scheduledFlushes.size(), "A new flush should be scheduled after the previous one ran");
+
+        runScheduledFlushes();
+
+        assertEquals(List.of(new Update(car, GEAR), new Update(car, CLUTCH_STATE)), updates);
+    }
+
+    @Test
+    void notify_withoutProperties_schedulesNothing() {
+        createCar("AB 00001").notifyAllObservers();
+
+        assertTrue(scheduledFlushes.isEmpty());
+    }
+
+    @Test
+    void unmanaged_deliversOnMarkingThread() {
+        var car = createCar("AB 00001");
+        car.setChangeBatcher(null);
+
+        car.notifyAllObservers(ENGINE_STATE);
+
+        assertEquals(List.of(new Update(car, ENGINE_STATE)), updates);
+        assertTrue(scheduledFlushes.isEmpty());
+    }
+
+    @Test
+    void unmanaged_concurrentCars_neverDeliverOnOtherThread() throws InterruptedException {
+        var foreignDelivery = new AtomicBoolean(false);
+        var threads = new ArrayList<Thread>();
+
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            var car = new Car(
+                    "AB %05d".formatted(i), "Test",
+                    CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                    new Point()
+            );
+
+            threads.add(Thread.ofPlatform().unstarted(() -> {
+                var owner = Thread.currentThread();
+                car.addObserver((_, _) -> {
+                    if (Thread.currentThread() != owner) foreignDelivery.set(true);
+                });
+
+                for (int n = 0; n < NOTIFICATIONS_PER_THREAD; n++) car.notifyAllObservers(POSITION);
+            }));
+        }
+
+        for (var thread : threads) thread.start();
+        for (var thread : threads) thread.join();
+
+        assertFalse(foreignDelivery.get());
+    }
+    // endregion
+}
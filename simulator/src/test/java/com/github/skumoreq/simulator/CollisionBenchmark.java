@@ -0,0 +1,118 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Random;
+
+/**
+ * Compares the grid broad-phase of the {@link CollisionDetector} with the
+ * naive all-pairs test for increasing fleet sizes.
+ * <p>
+ * Cars are scattered uniformly over a square sized so that the density stays
+ * constant (about one car per {@value #AREA_PER_CAR} square pixels), which
+ * keeps the number of touching pairs proportional to the fleet size. Both
+ * methods must find the same number of pairs.
+ * <p>
+ * Not part of the test suite; run manually. The largest fleet size can be
+ * changed with {@code -Dbenchmark.cars=100000}.
+ */
+class CollisionBenchmark {
+
+    // region ⮞ Benchmark Configuration
+
+    private static final int MAX_FLEET_SIZE = Integer.getInteger("benchmark.cars", 50_000);
+
+    private static final int AREA_PER_CAR = 40_000;
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    private static final Random RANDOM = new Random(2026L);
+    // endregion
+
+    // region ⮞ Helper Methods
+
+    private static @NotNull FleetState createFleet(int fleetSize) {
+        var fleet = new FleetState(() -> {});
+        double side = Math.sqrt((double) fleetSize * AREA_PER_CAR);
+
+        for (int i = 0; i < fleetSize; i++) {
+            var car = new Car(
+                    "B%c %05d".formatted('A' + i / 100_000 % 26, i % 100_000), "Benchmark",
+                    CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                    new Point(RANDOM.nextDouble(side), RANDOM.nextDouble(side))
+            );
+            car.attach(fleet);
+        }
+
+        return fleet;
+    }
+
+    private static int countPairsNaively(@NotNull FleetState fleet, int slotCount, double radius) {
+        double squaredDiameter = 4.0 * radius * radius;
+        int pairs = 0;
+
+        for (int slot = 0; slot < slotCount; slot++) {
+            var page = fleet.page(slot);
+            int index = FleetState.indexInPage(slot);
+
+            for (int other = slot + 1; other < slotCount; other++) {
+                var otherPage = fleet.page(other);
+                int otherIndex = FleetState.indexInPage(other);
+
+                double dx = otherPage.positionX[otherIndex] - page.positionX[index];
+                double dy = otherPage.positionY[otherIndex] - page.positionY[index];
+
+                if (dx * dx + dy * dy < squaredDiameter) pairs++;
+            }
+        }
+
+        return pairs;
+    }
+
+    @FunctionalInterface
+    private interface Round {
+        int run();
+    }
+
+    /**
+     * @return The average duration of a round in milliseconds.
+     */
+    private static double measure(@NotNull Round round, int expectedPairs) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) round.run();
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            int pairs = round.run();
+
+            if (pairs != expectedPairs)
+                throw new IllegalStateException("Expected %d pairs, found %d".formatted(expectedPairs, pairs));
+        }
+
+        return (System.nanoTime() - start) / 1.0e6 / MEASURED_ROUNDS;
+    }
+    // endregion
+
+    // region ⮞ Benchmark Execution
+
+    static void main() {
+        var detector = new CollisionDetector();
+        double radius = detector.getRadius();
+
+        for (int fleetSize = 1_000; fleetSize <= MAX_FLEET_SIZE; fleetSize *= 2) {
+            var fleet = createFleet(fleetSize);
+            int slotCount = fleet.getSlotCount();
+            int expectedPairs = countPairsNaively(fleet, slotCount, radius);
+
+            double grid = measure(() -> detector.detect(fleet, slotCount, _ -> {}), expectedPairs);
+            double naive = measure(() -> countPairsNaively(fleet, slotCount, radius), expectedPairs);
+
+            System.out.printf(
+                    "cars: %7d | pairs: %6d | grid: %8.3f ms | naive: %10.3f ms | speedup: %7.1fx%n",
+                    fleetSize, expectedPairs, grid, naive, naive / grid
+            );
+        }
+    }
+    // endregion
+}
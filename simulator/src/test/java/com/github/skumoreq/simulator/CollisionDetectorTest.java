@@ -0,0 +1,196 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.CarException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.github.skumoreq.simulator.CarObserver.ChangedProperty.COLLISION;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the broad-phase collision stage against the all-pairs test and its
+ * integration into the scheduler's tick.
+ */
+class CollisionDetectorTest {
+
+    // region ⮞ Test Configuration
+
+    // Random initialized with fixed seed for reproducibility.
+    private static final Random TEST_RANDOM = new Random(2026L);
+
+    private static final double RADIUS = CollisionDetector.DEFAULT_RADIUS;
+    private static final int MAX_TICKS = 10_000;
+
+    private @NotNull SimulationScheduler scheduler;
+    private int plateCounter;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new SimulationScheduler(1);
+        plateCounter = 0;
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    private @NotNull Car registerCar(double x, double y) {
+        var car = new Car(
+                "AB %05d".formatted(plateCounter++), "Test",
+                CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                new Point(x, y)
+        );
+
+        scheduler.register(car);
+
+        return car;
+    }
+
+    private void tickUntilColliding(@NotNull Car car) {
+        for (int i = 0; i < MAX_TICKS && !car.snapshot().colliding(); i++) scheduler.tick();
+
+        assertTrue(car.snapshot().colliding(), "Car never collided");
+    }
+
+    private static int countPairsNaively(@NotNull List<Car> cars) {
+        double squaredDiameter = 4.0 * RADIUS * RADIUS;
+        int pairs = 0;
+
+        for (int i = 0; i < cars.size(); i++)
+            for (int j = i + 1; j < cars.size(); j++) {
+                double dx = cars.get(i).getPositionX() - cars.get(j).getPositionX();
+                double dy = cars.get(i).getPositionY() - cars.get(j).getPositionY();
+
+                if (dx * dx + dy * dy < squaredDiameter) pairs++;
+            }
+
+        return pairs;
+    }
+    // endregion
+
+    // region ⮞ Detection
+
+    @RepeatedTest(20)
+    void detect_matchesAllPairsTest() {
+        var cars = new ArrayList<Car>();
+
+        for (int i = 0; i < 500; i++)
+            cars.add(registerCar(TEST_RANDOM.nextDouble(-1000.0, 1000.0), TEST_RANDOM.nextDouble(-1000.0, 1000.0)));
+
+        // Leaves free slots behind, which must be skipped.
+        for (int i = 0; i < 50; i++) scheduler.unregister(cars.removeLast());
+
+        var fleet = scheduler.fleet();
+        int pairs = new CollisionDetector().detect(fleet, fleet.getSlotCount(), _ -> {});
+
+        assertEquals(countPairsNaively(cars), pairs);
+    }
+
+    @Test
+    void detect_reportsEveryNewContactOnce() {
+        var first = registerCar(0.0, 0.0);
+        var second = registerCar(10.0, 0.0);
+        registerCar(500.0, 500.0);
+
+        var fleet = scheduler.fleet();
+        var detector = new CollisionDetector();
+        var contacts = new ArrayList<Car>();
+
+        assertEquals(1, detector.detect(fleet, fleet.getSlotCount(), contacts::add));
+        assertEquals(1, detector.detect(fleet, fleet.getSlotCount(), contacts::add));
+
+        assertEquals(2, contacts.size());
+        assertTrue(contacts.containsAll(List.of(first, second)));
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveRadius() {
+        assertThrows(IllegalArgumentException.class, () -> new CollisionDetector(0.0));
+        assertThrows(IllegalArgumentException.class, () -> new CollisionDetector(Double.NaN));
+    }
+    // endregion
+
+    // region ⮞ Tick Integration
+
+    @Test
+    void tick_flagsTouchingCarsAndNotifiesObservers() {
+        var first = registerCar(0.0, 0.0);
+        var second = registerCar(10.0, 0.0);
+        var far = registerCar(500.0, 0.0);
+
+        var collisions = new ArrayList<Car>();
+        CarObserver observer = (car, property) -> {
+            if (property == COLLISION) collisions.add(car);
+        };
+        for (var car : List.of(first, second, far)) car.addObserver(observer);
+
+        first.resume();
+        scheduler.tick();
+
+        assertTrue(first.snapshot().colliding());
+        assertTrue(second.snapshot().colliding());
+        assertFalse(far.snapshot().colliding());
+        assertEquals(List.of(first, second), collisions);
+        assertEquals(1, scheduler.getContactCount());
+    }
+
+    @Test
+    void tick_reportsEndOfContact() throws CarException {
+        var leaving = registerCar(0.0, 0.0);
+        var staying = registerCar(10.0, 0.0);
+
+        scheduler.setCollisionPolicy(SimulationScheduler.CollisionPolicy.REPORT);
+        TestCars.driveTo(leaving, -1000.0, 0.0);
+
+        scheduler.tick();
+        assertTrue(staying.snapshot().colliding());
+
+        for (int i = 0; i < MAX_TICKS && staying.snapshot().colliding(); i++) scheduler.tick();
+
+        assertFalse(staying.snapshot().colliding());
+        assertFalse(leaving.snapshot().colliding());
+        assertEquals(0, scheduler.getContactCount());
+    }
+
+    @Test
+    void tick_withIgnorePolicy_detectsNothing() {
+        var first = registerCar(0.0, 0.0);
+        registerCar(10.0, 0.0);
+
+        scheduler.setCollisionPolicy(SimulationScheduler.CollisionPolicy.IGNORE);
+        first.resume();
+        scheduler.tick();
+
+        assertFalse(first.snapshot().colliding());
+        assertEquals(0, scheduler.getContactCount());
+    }
+
+    @Test
+    void tick_withStopPolicy_stopsBothCars() throws CarException {
+        var moving = registerCar(0.0, 0.0);
+        var obstacle = registerCar(200.0, 0.0);
+
+        scheduler.setCollisionPolicy(SimulationScheduler.CollisionPolicy.STOP);
+        TestCars.driveTo(moving, 1000.0, 0.0);
+
+        tickUntilColliding(moving);
+
+        scheduler.tick(); // applies the queued stop
+        double stoppedAt = moving.getPositionX();
+
+        for (int i = 0; i < 10; i++) scheduler.tick();
+
+        assertEquals(stoppedAt, moving.getPositionX());
+        assertTrue(stoppedAt < obstacle.getPositionX());
+        assertTrue(moving.isParked());
+    }
+    // endregion
+}
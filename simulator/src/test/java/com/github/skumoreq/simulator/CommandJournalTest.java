@@ -0,0 +1,342 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a recorded session replays into the same fleet state, bit for
+ * bit.
+ */
+class CommandJournalTest {
+
+    // region ⮞ Test Configuration
+
+    private static final int CAR_COUNT = 24;
+    private static final int SESSION_TICKS = 600;
+
+    @TempDir
+    private Path directory;
+
+    private @NotNull Path journalPath;
+    private @NotNull SimulationScheduler recorded;
+    private @NotNull SimulationScheduler replayed;
+
+    @BeforeEach
+    void setUp() {
+        journalPath = directory.resolve("session.journal");
+        recorded = new SimulationScheduler(2, SimulationScheduler.ClockMode.LOCKSTEP);
+        replayed = new SimulationScheduler(2, SimulationScheduler.ClockMode.LOCKSTEP);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recorded.shutdown();
+        replayed.shutdown();
+    }
+
+    private static @NotNull List<Car> createCars(int count) {
+        var cars = new ArrayList<Car>(count);
+
+        for (int i = 0; i < count; i++)
+            cars.add(new Car(
+                    "WA %05d".formatted(i), "Test " + i,
+                    CarManager.TRANSMISSIONS.get(i % CarManager.TRANSMISSIONS.size()),
+                    CarManager.ENGINES.get(i % CarManager.ENGINES.size()),
+                    new Point(40.0 * (i % 6), 40.0 * (i / 6))
+            ));
+
+        return cars;
+    }
+
+    /**
+     * Drives the cars with random commands, both direct and queued, including
+     * ones that fail or stall the engine.
+     */
+    private static void drive(
+            @NotNull SimulationScheduler scheduler, @NotNull List<Car> cars, @NotNull Random random, int ticks
+    ) {
+        for (int tick = 0; tick < ticks; tick++) {
+            for (int i = 0; i < 4; i++) {
+                var car = cars.get(random.nextInt(cars.size()));
+
+                switch (random.nextInt(12)) {
+                    case 0 -> car.tryStartEngine();
+                    case 1 -> car.stopEngineAsync();
+                    case 2 -> car.pressClutch();
+                    case 3 -> car.releaseClutchAsync();
+                    case 4 -> car.tryShiftUp();
+                    case 5 -> car.shiftDownAsync();
+                    case 6, 7 -> car.revUp(random.nextDouble());
+                    case 8 -> car.tryRevDown(random.nextDouble() * 0.2);
+                    case 9 -> car.updateDestinationAsync(random.nextDouble(400.0), random.nextDouble(400.0), 8.0);
+                    case 10 -> car.holdPosition();
+                    default -> {
+                        if (random.nextBoolean()) car.resume();
+                        else car.pause();
+                    }
+                }
+            }
+
+            scheduler.step();
+        }
+    }
+
+    private @NotNull JournalReplay replayAll() throws IOException {
+        var replay = new JournalReplay(journalPath, replayed);
+        replay.replayAll();
+
+        return replay;
+    }
+
+    private static void assertSomeCarMoved(@NotNull List<Car> cars) {
+        var initial = createCars(cars.size());
+
+        for (int i = 0; i < cars.size(); i++)
+            if (cars.get(i).getPositionX() != initial.get(i).getPositionX()
+                    || cars.get(i).getPositionY() != initial.get(i).getPositionY()) return;
+
+        fail("The session moved no car");
+    }
+
+    private static void assertSameState(@NotNull List<Car> expected, @NotNull JournalReplay replay) {
+        assertEquals(expected.size(), replay.getCars().size());
+
+        for (var car : expected) {
+            var replayedCar = replay.findByPlateKey(car.getPlateKey());
+
+            assertNotNull(replayedCar, car.getPlateNumber());
+            assertEquals(car.getModelName(), replayedCar.getModelName());
+            assertSame(car.getEngine(), replayedCar.getEngine());
+            assertEquals(car.snapshot(), replayedCar.snapshot(), car.getPlateNumber());
+            assertEquals(car.isPaused(), replayedCar.isPaused(), car.getPlateNumber());
+        }
+    }
+    // endregion
+
+    // region ⮞ Replay
+
+    @Test
+    void replay_reproducesRecordedSession() throws IOException {
+        var cars = createCars(CAR_COUNT);
+        recorded.setCollisionPolicy(SimulationScheduler.CollisionPolicy.STOP);
+
+        try (var journal = CommandJournal.create(journalPath)) {
+            recorded.startRecording(journal);
+
+            for (var car : cars) recorded.register(car);
+
+            drive(recorded, cars, new Random(2026L), SESSION_TICKS);
+
+            // Re-registering records the state gathered while detached.
+            var detached = cars.getLast();
+            recorded.unregister(detached);
+            detached.resume();
+            detached.tryStartEngine();
+            recorded.register(detached);
+
+            drive(recorded, cars, new Random(2027L), SESSION_TICKS);
+
+            recorded.stopRecording();
+        }
+
+        var replay = replayAll();
+
+        assertTrue(replay.isFinished());
+        assertEquals(recorded.getTickCount(), replayed.getTickCount());
+        assertEquals(SimulationScheduler.CollisionPolicy.STOP, replayed.getCollisionPolicy());
+        assertSomeCarMoved(cars);
+        assertSameState(cars, replay);
+    }
+
+    @Test
+    void replay_includesCarsRegisteredBeforeRecording() throws IOException {
+        var cars = createCars(CAR_COUNT);
+
+        for (var car : cars) recorded.register(car);
+        drive(recorded, cars, new Random(2026L), SESSION_TICKS);
+
+        try (var journal = CommandJournal.create(journalPath)) {
+            recorded.startRecording(journal);
+            drive(recorded, cars, new Random(2027L), SESSION_TICKS);
+            recorded.stopRecording();
+        }
+
+        var replay = replayAll();
+
+        assertEquals(SESSION_TICKS, replayed.getTickCount());
+        assertSameState(cars, replay);
+    }
+
+    @Test
+    void replay_dropsUnregisteredCars() throws IOException {
+        var cars = createCars(2);
+
+        try (var journal = CommandJournal.create(journalPath)) {
+            recorded.startRecording(journal);
+
+            for (var car : cars) recorded.register(car);
+            recorded.step(3);
+            recorded.unregister(cars.getFirst());
+
+            recorded.stopRecording();
+        }
+
+        var replay = replayAll();
+
+        assertEquals(List.of(cars.getLast().getPlateKey()), replay.getCars().stream().map(Car::getPlateKey).toList());
+        assertEquals(1, replayed.getCarCount());
+    }
+
+    @Test
+    void replayTo_stopsAtGivenTick() throws IOException {
+        var cars = createCars(CAR_COUNT);
+
+        try (var journal = CommandJournal.create(journalPath)) {
+            recorded.startRecording(journal);
+            for (var car : cars) recorded.register(car);
+
+            drive(recorded, cars, new Random(2026L), SESSION_TICKS);
+
+            recorded.stopRecording();
+        }
+
+        var replay = new JournalReplay(journalPath, replayed);
+        replay.replayTo(SESSION_TICKS / 2);
+
+        assertEquals(SESSION_TICKS / 2, replayed.getTickCount());
+        assertFalse(replay.isFinished());
+
+        replay.replayAll();
+
+        assertEquals(SESSION_TICKS, replayed.getTickCount());
+        assertSameState(cars, replay);
+    }
+    // endregion
+
+    // region ⮞ File Format
+
+    @Test
+    void journal_growsBeyondOneRegion() throws IOException {
+        var cars = createCars(CAR_COUNT);
+
+        try (var journal = CommandJournal.create(journalPath)) {
+            recorded.startRecording(journal);
+            for (var car : cars) recorded.register(car);
+
+            while (journal.getSize() < 2L * CommandJournal.REGION_SIZE) drive(recorded, cars, new Random(2026L), 100);
+
+            recorded.stopRecording();
+
+            assertTrue(journal.getRecordCount() > 0);
+        }
+
+        assertTrue(Files.size(journalPath) > CommandJournal.REGION_SIZE);
+        assertSameState(cars, replayAll());
+    }
+
+    @Test
+    void close_trimsFileToRecords() throws IOException {
+        long size;
+
+        try (var journal = CommandJournal.create(journalPath)) {
+            recorded.startRecording(journal);
+            recorded.register(createCars(1).getFirst());
+            recorded.stopRecording();
+
+            size = journal.getSize();
+        }
+
+        assertEquals(size, Files.size(journalPath));
+    }
+
+    @Test
+    void replay_readsUnclosedJournalUpToLastRecord() throws IOException {
+        var cars = createCars(CAR_COUNT);
+
+        try (var journal = CommandJournal.create(journalPath)) {
+            recorded.startRecording(journal);
+            for (var car : cars) recorded.register(car);
+
+            drive(recorded, cars, new Random(2026L), SESSION_TICKS);
+            journal.flush();
+
+            // Still recording: the rest of the mapped window reads as zeros.
+            var replay = replayAll();
+
+            assertTrue(replay.isFinished());
+            assertEquals(journal.getRecordCount(), replay.getAppliedCount());
+
+            recorded.stopRecording();
+        }
+    }
+
+    @Test
+    void replay_rejectsOtherFiles() throws IOException {
+        Files.write(journalPath, new byte[64]);
+
+        assertThrows(IOException.class, () -> new JournalReplay(journalPath, replayed));
+    }
+    // endregion
+
+    // region ⮞ Validation
+
+    @Test
+    void replay_rejectsRealTimeScheduler() throws IOException {
+        try (var journal = CommandJournal.create(journalPath)) {
+            recorded.startRecording(journal);
+            recorded.stopRecording();
+        }
+
+        var realTime = new SimulationScheduler(1);
+
+        try {
+            assertThrows(IllegalArgumentException.class, () -> new JournalReplay(journalPath, realTime));
+            assertThrows(IllegalStateException.class, realTime::step);
+        } finally {
+            realTime.shutdown();
+        }
+    }
+
+    @Test
+    void startRecording_twice_throws() throws IOException {
+        try (var journal = CommandJournal.create(journalPath)) {
+            recorded.startRecording(journal);
+
+            assertThrows(IllegalStateException.class, () -> recorded.startRecording(journal));
+
+            recorded.stopRecording();
+        }
+    }
+
+    @Test
+    void register_whileRecording_rejectsComponentsOutsideCatalog() throws IOException {
+        var clutch = new Clutch("Custom", 1.0, 1.0);
+        var car = new Car(
+                "AB 00001", "Custom",
+                new Transmission("Custom", 1.0, 1.0, clutch, new double[]{1.0}), CarManager.ENGINES.getFirst(),
+                new Point()
+        );
+
+        try (var journal = CommandJournal.create(journalPath)) {
+            recorded.startRecording(journal);
+
+            assertThrows(IllegalArgumentException.class, () -> recorded.register(car));
+            assertEquals(0, recorded.getCarCount());
+
+            recorded.stopRecording();
+        }
+    }
+    // endregion
+}
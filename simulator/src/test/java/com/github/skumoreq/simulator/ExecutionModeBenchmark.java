@@ -0,0 +1,124 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how many idle-but-registered cars a single JVM can hold in each
+ * execution mode.
+ * <p>
+ * Cars are registered in batches until the target count is reached or the JVM
+ * refuses to create more threads / runs out of memory. After each batch the
+ * elapsed time, retained heap and live platform thread count are printed.
+ * <p>
+ * Not part of the test suite; run manually, e.g. with {@code -Xmx2g}. The
+ * target can be changed with {@code -Dbenchmark.cars=100000}.
+ * {@code PLATFORM_THREADS} is the former thread-per-car model and serves as
+ * the baseline.
+ */
+class ExecutionModeBenchmark {
+
+    // region ⮞ Benchmark Configuration
+
+    private static final int TARGET_CARS = Integer.getInteger("benchmark.cars", 50_000);
+    private static final int BATCH_SIZE = 5_000;
+
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+    private enum Mode {
+        PLATFORM_THREADS, SHARED_SCHEDULER, VIRTUAL_THREADS
+    }
+    // endregion
+
+    // region ⮞ Helper Methods
+
+    /**
+     * @return A unique plate number for the given index, e.g. {@code KR 00042}.
+     */
+    private static @NotNull String plateNumber(int index) {
+        char first = (char) ('A' + index / 100_000 % 26);
+        char second = (char) ('A' + index / 2_600_000 % 26);
+
+        return "%c%c %05d".formatted(first, second, index % 100_000);
+    }
+
+    private static @NotNull Car createCar(int index) {
+        return new Car(
+                plateNumber(index), "Benchmark",
+                CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                new Point()
+        );
+    }
+
+    private static long usedHeap() {
+        var runtime = Runtime.getRuntime();
+
+        for (int i = 0; i < 3; i++) System.gc();
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void report(@NotNull Mode mode, int cars, long startNanos, long baselineHeap) {
+        System.out.printf(
+                "%-16s cars: %7d | elapsed: %7.1f ms | heap: %8.1f MB | platform threads: %6d%n",
+                mode, cars,
+                (System.nanoTime() - startNanos) / 1.0e6,
+                (usedHeap() - baselineHeap) / BYTES_PER_MEGABYTE,
+                Thread.getAllStackTraces().size()
+        );
+    }
+    // endregion
+
+    // region ⮞ Benchmark Execution
+
+    private static void run(@NotNull Mode mode) throws InterruptedException {
+        var platformThreads = new ArrayList<Thread>();
+        var manager = switch (mode) {
+            case PLATFORM_THREADS -> null;
+            case SHARED_SCHEDULER -> new CarManager(CarManager.ExecutionMode.SHARED_SCHEDULER);
+            case VIRTUAL_THREADS -> new CarManager(CarManager.ExecutionMode.VIRTUAL_THREADS);
+        };
+        var registered = new ArrayList<Car>(TARGET_CARS);
+
+        long baselineHeap = usedHeap();
+        long start = System.nanoTime();
+
+        try {
+            while (registered.size() < TARGET_CARS) {
+                int batchEnd = Math.min(registered.size() + BATCH_SIZE, TARGET_CARS);
+
+                for (int i = registered.size(); i < batchEnd; i++) {
+                    var car = createCar(i);
+
+                    if (manager == null) platformThreads.add(Thread.ofPlatform().daemon().start(car));
+                    else manager.addEntry(car);
+
+                    registered.add(car);
+                }
+
+                report(mode, registered.size(), start, baselineHeap);
+            }
+        } catch (OutOfMemoryError e) {
+            System.out.printf("%-16s limit reached after %d cars: %s%n", mode, registered.size(), e.getMessage());
+        } finally {
+            for (var thread : platformThreads) thread.interrupt();
+            for (var thread : platformThreads) thread.join();
+
+            if (manager != null) {
+                for (var car : List.copyOf(registered)) manager.removeEntry(car);
+
+                manager.close();
+            }
+        }
+    }
+
+    static void main() throws InterruptedException {
+        for (var mode : Mode.values()) {
+            run(mode);
+            System.out.println();
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,108 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link FixedPointFormat} renders exactly what the formatter
+ * would.
+ */
+class FixedPointFormatTest {
+
+    // region ⮞ Test Configuration
+
+    // Random initialized with fixed seed for reproducibility.
+    private static final Random TEST_RANDOM = new Random(2026L);
+
+    private static final int TEST_RUNS = 500;
+
+    private static final Locale @NotNull [] LOCALES = {
+            Locale.ROOT, Locale.US, Locale.forLanguageTag("pl-PL"), Locale.GERMANY, Locale.forLanguageTag("ar-EG"),
+            Locale.forLanguageTag("sv-SE"), Locale.forLanguageTag("fi-FI"), Locale.forLanguageTag("nb-NO")
+    };
+
+    private static void assertFormatsLikeFormatter(double value) {
+        for (var locale : LOCALES)
+            for (int decimals = 0; decimals <= FixedPointFormat.MAX_DECIMALS; decimals++) {
+                var format = new FixedPointFormat(decimals, " km/h", locale);
+                var expected = String.format(locale, "%." + decimals + "f km/h", value);
+
+                assertEquals(expected, format.format(value), "%s, %d decimals".formatted(locale, decimals));
+                // A second call is answered from the cache.
+                assertEquals(expected, format.format(value), "%s, %d decimals, cached".formatted(locale, decimals));
+            }
+    }
+    // endregion
+
+    // region ⮞ Formatter Parity
+
+    @RepeatedTest(TEST_RUNS)
+    void format_matchesFormatter_forRandomValues() {
+        double magnitude = Math.pow(10.0, TEST_RANDOM.nextInt(-3, 8));
+
+        assertFormatsLikeFormatter(TEST_RANDOM.nextDouble(-magnitude, magnitude));
+    }
+
+    @RepeatedTest(TEST_RUNS)
+    void format_matchesFormatter_forDecimalTies() {
+        // Values such as 1.005 or 2.5, whose shortest representation ends in 5.
+        int decimals = TEST_RANDOM.nextInt(0, FixedPointFormat.MAX_DECIMALS + 1);
+        double value = (TEST_RANDOM.nextInt(-100_000, 100_000) * 10 + 5) / Math.pow(10.0, decimals + 1);
+
+        assertFormatsLikeFormatter(value);
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {
+            0.0, -0.0, -0.3, 0.5, 1.5, 2.5, 0.125, 1.005, 999.9999, 9.5, 99.95,
+            1.0e14, 1.0e15, 1.0e300, -1.0e300, Double.MIN_VALUE, Double.MAX_VALUE,
+            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY
+    })
+    void format_matchesFormatter_forEdgeCases(double value) {
+        assertFormatsLikeFormatter(value);
+    }
+    // endregion
+
+    // region ⮞ Configuration
+
+    @ParameterizedTest
+    @ValueSource(strings = {"sv-SE", "fi-FI", "nb-NO", "de-CH", "fa-IR", "he-IL"})
+    void format_usesFormatterMinusSign_forNonDefaultLocales(String languageTag) {
+        // Their DecimalFormatSymbols minus sign is not the ASCII hyphen-minus
+        // the formatter renders.
+        var locale = Locale.forLanguageTag(languageTag);
+        var format = new FixedPointFormat(1, "", locale);
+
+        for (double value : new double[]{-0.04, -1.25, -12.3, -4096.75})
+            assertEquals(String.format(locale, "%.1f", value), format.format(value), "%s, %s".formatted(locale, value));
+    }
+
+    @Test
+    void format_appendsSuffixVerbatim() {
+        var format = new FixedPointFormat(2, "%", Locale.ROOT);
+
+        assertEquals("12.35%", format.format(12.345678));
+    }
+
+    @Test
+    void constructor_rejectsInvalidDecimals() {
+        assertThrows(IllegalArgumentException.class, () -> new FixedPointFormat(-1, ""));
+        assertThrows(IllegalArgumentException.class, () -> new FixedPointFormat(FixedPointFormat.MAX_DECIMALS + 1, ""));
+    }
+
+    @Test
+    void format_returnsCachedInstanceForSameRoundedValue() {
+        var format = new FixedPointFormat(0, " obr./min", Locale.ROOT);
+
+        assertSame(format.format(2500.2), format.format(2499.9));
+    }
+    // endregion
+}
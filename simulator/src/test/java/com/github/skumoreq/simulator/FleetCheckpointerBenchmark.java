@@ -0,0 +1,98 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.CarException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Measures how long incremental checkpoints hold off the ticks, compared to a
+ * full {@link FleetSnapshot} written while the fleet is stopped.
+ * <p>
+ * Not part of the test suite; run manually. The fleet size and the share of
+ * moving cars can be changed with {@code -Dbenchmark.cars=500000} and
+ * {@code -Dbenchmark.moving=0.1}.
+ */
+class FleetCheckpointerBenchmark {
+
+    // region ⮞ Benchmark Configuration
+
+    private static final int FLEET_SIZE = Integer.getInteger("benchmark.cars", 100_000);
+    private static final double MOVING_SHARE = Double.parseDouble(System.getProperty("benchmark.moving", "0.01"));
+
+    private static final int CHECKPOINTS = 20;
+    private static final int TICKS_PER_CHECKPOINT = 50;
+    // endregion
+
+    // region ⮞ Benchmark Execution
+
+    static void main() throws CarException, IOException {
+        var scheduler = new SimulationScheduler(
+                Runtime.getRuntime().availableProcessors(), SimulationScheduler.ClockMode.LOCKSTEP
+        );
+        var carManager = new CarManager(CarManager.ExecutionMode.SHARED_SCHEDULER, scheduler, Runnable::run);
+
+        int movingEvery = (int) Math.max(1L, Math.round(1.0 / MOVING_SHARE));
+        var cars = new ArrayList<Car>(FLEET_SIZE);
+
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            var car = new Car(
+                    "B%c %05d".formatted('A' + i / 100_000 % 26, i % 100_000), "Benchmark",
+                    CarManager.TRANSMISSIONS.get(i % CarManager.TRANSMISSIONS.size()),
+                    CarManager.ENGINES.get(i % CarManager.ENGINES.size()),
+                    new Point(i % 1000 * 50.0, i / 1000 * 50.0)
+            );
+
+            if (i % movingEvery == 0) TestCars.driveTo(car, 1.0e7, 1.0e7);
+
+            cars.add(car);
+        }
+
+        carManager.addEntries(cars);
+        scheduler.setCollisionPolicy(SimulationScheduler.CollisionPolicy.IGNORE);
+
+        var directory = Files.createTempDirectory("checkpoints");
+
+        System.out.printf("Fleet size: %d cars, %d moving%n", FLEET_SIZE, (FLEET_SIZE + movingEvery - 1) / movingEvery);
+
+        try (var checkpointer = new FleetCheckpointer(directory, scheduler, 60_000L, 10)) {
+            for (int run = 1; run <= CHECKPOINTS; run++) {
+                scheduler.step(TICKS_PER_CHECKPOINT);
+
+                long start = System.nanoTime();
+                checkpointer.checkpoint();
+                double totalMillis = (System.nanoTime() - start) / 1.0e6;
+
+                System.out.printf(
+                        "checkpoint %2d | changed: %6d | ticks held off: %7.3f ms | written in: %7.1f ms%n",
+                        run, checkpointer.getLastChangedCount(), checkpointer.getLastCaptureNanos() / 1.0e6,
+                        totalMillis
+                );
+            }
+
+            // The stop-the-world alternative: the ticks wait for the dump.
+            var fleet = scheduler.fleet();
+
+            for (int run = 1; run <= 3; run++) {
+                long start = System.nanoTime();
+
+                synchronized (fleet) {
+                    FleetSnapshot.write(directory.resolve("full.snapshot"), carManager.getCars());
+                }
+
+                System.out.printf("full dump %d | ticks held off: %7.1f ms%n", run, (System.nanoTime() - start) / 1.0e6);
+            }
+        } finally {
+            scheduler.shutdown();
+
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (var path : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(path);
+            }
+        }
+    }
+    // endregion
+}
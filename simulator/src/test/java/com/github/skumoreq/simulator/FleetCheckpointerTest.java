@@ -0,0 +1,248 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.CarException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that incremental checkpoints only hold the changed cars and that
+ * recovery rebuilds the fleet as of the last checkpoint.
+ */
+class FleetCheckpointerTest {
+
+    // region ⮞ Test Configuration
+
+    private static final int CAR_COUNT = 40;
+
+    @TempDir
+    private Path directory;
+
+    private @NotNull CarManager carManager;
+    private @NotNull FleetCheckpointer checkpointer;
+
+    @BeforeEach
+    void setUp() throws CarException, IOException {
+        carManager = TestCars.lockstepManager();
+
+        var cars = new ArrayList<Car>(CAR_COUNT);
+
+        for (int i = 0; i < CAR_COUNT; i++) {
+            var car = new Car(
+                    "WA %05d".formatted(i), "Model " + i % 3,
+                    CarManager.TRANSMISSIONS.get(i % CarManager.TRANSMISSIONS.size()),
+                    CarManager.ENGINES.get(i % CarManager.ENGINES.size()),
+                    new Point(100.0 * i, 0.0)
+            );
+
+            if (i % 4 == 0) TestCars.driveTo(car, 100.0 * i, 5000.0);
+
+            cars.add(car);
+        }
+
+        carManager.addEntries(cars);
+
+        checkpointer = new FleetCheckpointer(directory, carManager.scheduler(), 60_000L, 4);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        checkpointer.close();
+        carManager.close();
+    }
+
+    private @NotNull List<Path> files(@NotNull String extension) throws IOException {
+        try (var stream = Files.list(directory)) {
+            return stream.filter(path -> path.toString().endsWith(extension)).sorted().toList();
+        }
+    }
+
+    private static @NotNull FleetSnapshot.Contents latest(@NotNull List<Path> files) throws IOException {
+        return FleetSnapshot.readContents(files.getLast());
+    }
+
+    private void assertRecoversFleet() throws IOException {
+        var recovered = FleetCheckpointer.recover(directory);
+
+        assertEquals(carManager.getCarCount(), recovered.size());
+
+        for (var car : recovered) {
+            var original = carManager.findByPlateKey(car.getPlateKey());
+
+            assertNotNull(original, car.getPlateNumber());
+            assertEquals(original.getModelName(), car.getModelName());
+            assertSame(original.getEngine(), car.getEngine());
+            assertEquals(original.snapshot(), car.snapshot(), car.getPlateNumber());
+            assertEquals(original.isPaused(), car.isPaused(), car.getPlateNumber());
+        }
+    }
+    // endregion
+
+    // region ⮞ Checkpoints
+
+    @Test
+    void checkpoint_firstIsFullImage() throws IOException {
+        assertTrue(checkpointer.checkpoint());
+
+        assertEquals(1, files(".image").size());
+        assertEquals(CAR_COUNT, checkpointer.getLastChangedCount());
+        assertRecoversFleet();
+    }
+
+    @Test
+    void checkpoint_deltaHoldsOnlyChangedCars() throws IOException {
+        checkpointer.checkpoint();
+
+        // Only the driving cars move.
+        carManager.scheduler().step();
+        checkpointer.checkpoint();
+
+        var delta = latest(files(".delta"));
+
+        assertEquals(FleetSnapshot.KIND_DELTA, delta.kind());
+        assertEquals(CAR_COUNT / 4, delta.cars().size());
+        assertRecoversFleet();
+
+        // A single command changes a single car.
+        carManager.getCars().get(1).resume();
+        checkpointer.checkpoint();
+
+        assertEquals(1, latest(files(".delta")).cars().size());
+        assertRecoversFleet();
+    }
+
+    @Test
+    void checkpoint_withoutChanges_writesNothing() throws IOException {
+        for (var car : carManager.getCars()) car.pause();
+        carManager.scheduler().step();
+        checkpointer.checkpoint();
+
+        long sequence = checkpointer.getSequence();
+
+        assertFalse(checkpointer.checkpoint());
+        assertEquals(sequence, checkpointer.getSequence());
+    }
+
+    @Test
+    void checkpoint_recordsRemovalsAndSlotReuse() throws CarException, IOException {
+        checkpointer.checkpoint();
+
+        var removed = carManager.getCars().getFirst();
+        carManager.removeEntry(removed);
+
+        // Takes over the released slot.
+        carManager.addEntry(new Car(
+                "WB 00001", "Newcomer",
+                CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                new Point(5.0, 5.0)
+        ));
+
+        checkpointer.checkpoint();
+
+        var delta = latest(files(".delta"));
+
+        assertArrayEquals(new long[]{removed.getPlateKey()}, delta.removed());
+        assertRecoversFleet();
+        assertTrue(FleetCheckpointer.recover(directory).stream().noneMatch(car -> car.getPlateKey() == removed.getPlateKey()));
+    }
+
+    @Test
+    void checkpoint_compactsIntoPeriodicImage() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            carManager.scheduler().step();
+            checkpointer.checkpoint();
+        }
+
+        assertEquals(1, files(".image").size());
+        assertEquals(3, files(".delta").size());
+
+        carManager.scheduler().step();
+        checkpointer.checkpoint();
+
+        // The new image supersedes every older file.
+        assertEquals(1, files(".image").size());
+        assertTrue(files(".delta").isEmpty());
+        assertEquals(CAR_COUNT, latest(files(".image")).cars().size());
+        assertRecoversFleet();
+    }
+
+    @Test
+    void close_writesFinalCheckpoint() throws IOException {
+        checkpointer.checkpoint();
+        carManager.scheduler().step(3);
+        checkpointer.close();
+
+        assertRecoversFleet();
+        assertThrows(IllegalStateException.class, checkpointer::checkpoint);
+    }
+    // endregion
+
+    // region ⮞ Recovery
+
+    @Test
+    void recover_withoutCheckpoint_returnsNothing() throws IOException {
+        assertTrue(FleetCheckpointer.recover(directory).isEmpty());
+        assertTrue(FleetCheckpointer.recover(directory.resolve("missing")).isEmpty());
+    }
+
+    @Test
+    void recover_stopsAtMissingDelta() throws IOException {
+        checkpointer.checkpoint();
+        carManager.scheduler().step();
+        checkpointer.checkpoint();
+
+        var recovered = FleetCheckpointer.recover(directory);
+
+        carManager.scheduler().step();
+        checkpointer.checkpoint();
+        carManager.scheduler().step();
+        checkpointer.checkpoint();
+
+        Files.delete(files(".delta").get(1));
+
+        assertEquals(
+                recovered.stream().map(Car::snapshot).toList(),
+                FleetCheckpointer.recover(directory).stream().map(Car::snapshot).toList()
+        );
+    }
+
+    @Test
+    void restoreCheckpoint_continuesSequenceAfterRestart() throws IOException {
+        carManager.scheduler().step(5);
+        checkpointer.close();
+
+        long sequence = checkpointer.getSequence();
+
+        var other = TestCars.lockstepManager();
+
+        try (var restarted = new FleetCheckpointer(directory, other.scheduler(), 60_000L, 4)) {
+            assertEquals(CAR_COUNT, other.restoreCheckpoint(directory).size());
+
+            restarted.checkpoint();
+
+            assertEquals(sequence + 1, restarted.getSequence());
+            assertEquals(1, files(".image").size());
+        } finally {
+            other.close();
+        }
+    }
+
+    @Test
+    void constructor_rejectsSecondCheckpointer() {
+        assertThrows(
+                IllegalStateException.class,
+                () -> new FleetCheckpointer(directory.resolve("other"), carManager.scheduler())
+        );
+    }
+    // endregion
+}
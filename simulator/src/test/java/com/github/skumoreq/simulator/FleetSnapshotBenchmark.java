@@ -0,0 +1,90 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.CarException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures how long it takes to save a fleet to a {@link FleetSnapshot}, to
+ * read it back, and to register the restored cars with a {@link CarManager}.
+ * <p>
+ * Not part of the test suite; run manually. The fleet size can be changed
+ * with {@code -Dbenchmark.cars=500000}.
+ */
+class FleetSnapshotBenchmark {
+
+    // region ⮞ Benchmark Configuration
+
+    private static final int FLEET_SIZE = Integer.getInteger("benchmark.cars", 100_000);
+
+    private static final int RUNS = 5;
+    // endregion
+
+    // region ⮞ Helper Methods
+
+    private static @NotNull List<Car> createFleet() throws CarException {
+        var cars = new ArrayList<Car>(FLEET_SIZE);
+
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            var car = new Car(
+                    "B%c %05d".formatted('A' + i / 100_000 % 26, i % 100_000), "Benchmark",
+                    CarManager.TRANSMISSIONS.get(i % CarManager.TRANSMISSIONS.size()),
+                    CarManager.ENGINES.get(i % CarManager.ENGINES.size()),
+                    new Point(i % 1000, i / 1000)
+            );
+
+            car.startEngine();
+            car.updateDestination(1.0e6, 1.0e6, 0.0);
+
+            cars.add(car);
+        }
+
+        return cars;
+    }
+
+    private static double millisSince(long start) {
+        return (System.nanoTime() - start) / 1.0e6;
+    }
+    // endregion
+
+    // region ⮞ Benchmark Execution
+
+    static void main() throws CarException, IOException {
+        var fleet = createFleet();
+        var path = Files.createTempFile("fleet", ".snapshot");
+
+        System.out.printf("Fleet size: %d cars%n", FLEET_SIZE);
+
+        try {
+            for (int run = 1; run <= RUNS; run++) {
+                long start = System.nanoTime();
+                FleetSnapshot.write(path, fleet);
+                double writeMillis = millisSince(start);
+
+                start = System.nanoTime();
+                var restored = FleetSnapshot.read(path);
+                double readMillis = millisSince(start);
+
+                var carManager = TestCars.lockstepManager();
+
+                start = System.nanoTime();
+                carManager.addEntries(restored);
+                double registerMillis = millisSince(start);
+
+                carManager.close();
+
+                System.out.printf(
+                        "run %d | write: %7.1f ms | read: %7.1f ms | register: %7.1f ms | %5.1f MiB%n",
+                        run, writeMillis, readMillis, registerMillis, Files.size(path) / (1024.0 * 1024.0)
+                );
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,205 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.CarException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a fleet survives a save and restore unchanged, and that
+ * malformed snapshots are rejected.
+ */
+class FleetSnapshotTest {
+
+    // region ⮞ Test Configuration
+
+    private static final int CAR_COUNT = 50;
+
+    @TempDir
+    private Path directory;
+
+    private @NotNull Path snapshotPath;
+    private @NotNull CarManager carManager;
+
+    @BeforeEach
+    void setUp() {
+        snapshotPath = directory.resolve("fleet.snapshot");
+        carManager = TestCars.lockstepManager();
+    }
+
+    @AfterEach
+    void tearDown() {
+        carManager.close();
+    }
+
+    /**
+     * Creates cars in varied states: paused, parked, driving in various gears
+     * and with the clutch pressed.
+     */
+    private static @NotNull List<Car> createCars() throws CarException {
+        var cars = new ArrayList<Car>(CAR_COUNT);
+
+        for (int i = 0; i < CAR_COUNT; i++) {
+            var car = new Car(
+                    "KR %05d".formatted(i), i % 2 == 0 ? "Sedan" : "Kombi ąę",
+                    CarManager.TRANSMISSIONS.get(i % CarManager.TRANSMISSIONS.size()),
+                    CarManager.ENGINES.get(i % CarManager.ENGINES.size()),
+                    new Point(10.0 * i, 5.0 * i)
+            );
+
+            if (i % 5 != 0) {
+                TestCars.driveTo(car, 1000.0 - i, 500.0 + i);
+                if (i % 3 == 0) car.pressClutch();
+            }
+
+            cars.add(car);
+        }
+
+        return cars;
+    }
+
+    private static void assertSameCar(@NotNull Car expected, @NotNull Car actual) {
+        assertEquals(expected.getPlateNumber(), actual.getPlateNumber());
+        assertEquals(expected.getModelName(), actual.getModelName());
+        assertSame(expected.getEngine(), actual.getEngine());
+        assertSame(expected.getGearbox(), actual.getGearbox());
+        assertEquals(expected.snapshot(), actual.snapshot(), expected.getPlateNumber());
+        assertEquals(expected.isPaused(), actual.isPaused(), expected.getPlateNumber());
+        assertEquals(expected.isParked(), actual.isParked(), expected.getPlateNumber());
+    }
+
+    private void writeHeader(int magic, short version, short recordSize) throws IOException {
+        var header = ByteBuffer.allocate(FleetSnapshot.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(magic).putShort(version).putShort(recordSize);
+
+        Files.write(snapshotPath, header.array());
+    }
+    // endregion
+
+    // region ⮞ Round Trip
+
+    @Test
+    void read_reversesWrite() throws CarException, IOException {
+        var cars = createCars();
+
+        FleetSnapshot.write(snapshotPath, cars);
+        var restored = FleetSnapshot.read(snapshotPath);
+
+        assertEquals(cars.size(), restored.size());
+
+        for (int i = 0; i < cars.size(); i++) assertSameCar(cars.get(i), restored.get(i));
+    }
+
+    @Test
+    void restoreSnapshot_resumesSimulationWhereItStopped() throws CarException, IOException {
+        carManager.addEntries(createCars());
+        carManager.scheduler().step(25);
+        carManager.saveSnapshot(snapshotPath);
+
+        var other = TestCars.lockstepManager();
+
+        try {
+            other.restoreSnapshot(snapshotPath);
+
+            assertEquals(CAR_COUNT, other.getCarCount());
+
+            carManager.scheduler().step(25);
+            other.scheduler().step(25);
+
+            for (var car : carManager.getCars())
+                assertSameCar(car, other.findByPlateKey(car.getPlateKey()));
+        } finally {
+            other.close();
+        }
+    }
+
+    @Test
+    void restoreSnapshot_withUsedPlate_registersNothing() throws CarException, IOException {
+        var cars = createCars();
+
+        FleetSnapshot.write(snapshotPath, cars);
+        carManager.addEntry(cars.getLast());
+
+        assertThrows(IllegalArgumentException.class, () -> carManager.restoreSnapshot(snapshotPath));
+        assertEquals(1, carManager.getCarCount());
+    }
+
+    @Test
+    void write_emptyFleet() throws IOException {
+        FleetSnapshot.write(snapshotPath, List.of());
+
+        assertEquals(FleetSnapshot.HEADER_SIZE, Files.size(snapshotPath));
+        assertTrue(FleetSnapshot.read(snapshotPath).isEmpty());
+    }
+    // endregion
+
+    // region ⮞ Validation
+
+    @Test
+    void write_rejectsComponentsOutsideCatalog() throws CarException, IOException {
+        FleetSnapshot.write(snapshotPath, createCars());
+        long previousSize = Files.size(snapshotPath);
+
+        var clutch = new Clutch("Custom", 1.0, 1.0);
+        var custom = new Car(
+                "AB 00001", "Custom",
+                new Transmission("Custom", 1.0, 1.0, clutch, new double[]{1.0}), CarManager.ENGINES.getFirst(),
+                new Point()
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> FleetSnapshot.write(snapshotPath, List.of(custom)));
+
+        // The previous snapshot is left intact.
+        assertEquals(previousSize, Files.size(snapshotPath));
+        assertEquals(CAR_COUNT, FleetSnapshot.read(snapshotPath).size());
+    }
+
+    @Test
+    void read_rejectsOtherFiles() throws IOException {
+        writeHeader(0x1234_5678, FleetSnapshot.VERSION, (short) FleetSnapshot.RECORD_SIZE);
+
+        assertThrows(IOException.class, () -> FleetSnapshot.read(snapshotPath));
+    }
+
+    @Test
+    void read_rejectsOtherVersions() throws IOException {
+        writeHeader(FleetSnapshot.MAGIC, (short) (FleetSnapshot.VERSION + 1), (short) FleetSnapshot.RECORD_SIZE);
+
+        assertThrows(IOException.class, () -> FleetSnapshot.read(snapshotPath));
+    }
+
+    @Test
+    void read_rejectsTruncatedFile() throws CarException, IOException {
+        FleetSnapshot.write(snapshotPath, createCars());
+
+        var bytes = Files.readAllBytes(snapshotPath);
+        Files.write(snapshotPath, java.util.Arrays.copyOf(bytes, bytes.length - 1));
+
+        assertThrows(IOException.class, () -> FleetSnapshot.read(snapshotPath));
+    }
+
+    @Test
+    void read_rejectsInvalidPlateKey() throws CarException, IOException {
+        FleetSnapshot.write(snapshotPath, createCars());
+
+        var bytes = Files.readAllBytes(snapshotPath);
+        int lastRecord = bytes.length - FleetSnapshot.RECORD_SIZE;
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putLong(lastRecord, -1L);
+        Files.write(snapshotPath, bytes);
+
+        assertThrows(IOException.class, () -> FleetSnapshot.read(snapshotPath));
+    }
+    // endregion
+}
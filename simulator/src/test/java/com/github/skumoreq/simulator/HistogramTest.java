@@ -0,0 +1,116 @@
+package com.github.skumoreq.simulator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the bucket layout, percentiles and concurrent recording of the
+ * lock-free histogram.
+ */
+class HistogramTest {
+
+    // region ⮞ Buckets
+
+    @Test
+    void buckets_coverEveryValueContiguously() {
+        assertEquals(0L, Histogram.lowestValue(0));
+        assertEquals(Long.MAX_VALUE, Histogram.highestValue(Histogram.BUCKET_COUNT - 1));
+
+        for (int i = 1; i < Histogram.BUCKET_COUNT; i++)
+            assertEquals(Histogram.highestValue(i - 1) + 1L, Histogram.lowestValue(i), "bucket " + i);
+    }
+
+    @Test
+    void bucketIndex_isWithinBucketBounds() {
+        long[] values = {0L, 1L, 63L, 64L, 65L, 127L, 128L, 1_000L, 16_777_217L, 1L << 40, Long.MAX_VALUE};
+
+        for (long value : values) {
+            int bucket = Histogram.bucketIndex(value);
+
+            assertTrue(Histogram.lowestValue(bucket) <= value && value <= Histogram.highestValue(bucket), "" + value);
+            assertTrue(Histogram.highestValue(bucket) - value <= value / 32, "error of " + value);
+        }
+    }
+    // endregion
+
+    // region ⮞ Percentiles
+
+    @Test
+    void percentile_ofUniformValues() {
+        var histogram = new Histogram("Uniform", "ns");
+
+        for (long value = 1L; value <= 10_000L; value++) histogram.record(value);
+
+        var snapshot = histogram.snapshot();
+
+        assertEquals(10_000L, snapshot.count());
+        assertEquals(5_000.5, snapshot.mean());
+        assertEquals(10_000L, snapshot.max());
+
+        assertEquals(5_000.0, snapshot.percentile(50.0), 5_000.0 / 32);
+        assertEquals(9_900.0, snapshot.percentile(99.0), 9_900.0 / 32);
+        assertEquals(10_000L, snapshot.percentile(100.0));
+        assertEquals(1L, snapshot.percentile(0.0));
+    }
+
+    @Test
+    void percentile_ofEmptyHistogram_isZero() {
+        var snapshot = new Histogram("Empty", "ns").snapshot();
+
+        assertEquals(0L, snapshot.percentile(99.0));
+        assertEquals(0.0, snapshot.mean());
+        assertThrows(IllegalArgumentException.class, () -> snapshot.percentile(100.1));
+    }
+
+    @Test
+    void record_countsNegativeValuesAsZero() {
+        var histogram = new Histogram("Negative", "ns");
+
+        histogram.record(-5L);
+
+        assertEquals(1L, histogram.getCount());
+        assertEquals(0L, histogram.get50thPercentile());
+    }
+
+    @Test
+    void reset_clearsEveryCount() {
+        var histogram = new Histogram("Reset", "ns");
+
+        histogram.record(42L);
+        histogram.reset();
+
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0L, histogram.getMax());
+    }
+    // endregion
+
+    // region ⮞ Concurrency
+
+    @Test
+    void record_fromManyThreads_losesNothing() throws InterruptedException {
+        var histogram = new Histogram("Concurrent", "ns");
+        int threads = 8;
+        int perThread = 100_000;
+
+        try (var executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    for (int i = 0; i < perThread; i++) histogram.record(i % 1_000);
+                });
+            }
+
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30L, TimeUnit.SECONDS));
+        }
+
+        var snapshot = histogram.snapshot();
+
+        assertEquals((long) threads * perThread, snapshot.count());
+        assertEquals(999L, snapshot.max());
+    }
+    // endregion
+}
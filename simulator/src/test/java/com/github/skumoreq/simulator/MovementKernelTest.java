@@ -0,0 +1,282 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks every available {@link MovementKernel} against the expectations of
+ * {@link PointTest} and against {@link Point#moveTowards} itself.
+ */
+class MovementKernelTest {
+
+    // region ⮞ Test Configuration
+
+    // Random initialized with fixed seed for reproducibility.
+    private static final Random TEST_RANDOM = new Random(2026L);
+
+    private static double nextSignedUnitDouble() {
+        return TEST_RANDOM.nextDouble(-1.0, 1.0);
+    }
+
+    // Deliberately not a multiple of any vector length, so the scalar tail runs too.
+    private static final int SLOT_COUNT = 67;
+    private static final double TEST_DELTA = 1.0e-14;
+
+    // Same presets as PointTest: 216 km/h over 1000 ms at 10.0 scale moves exactly 600 units.
+    private static final double DEFAULT_SPEED = 216.0;
+    private static final long DEFAULT_INTERVAL = 1000L;
+    private static final double DEFAULT_UNIT_SCALE = 10.0;
+    private static final double EXPECTED_STEP = 600.0;
+
+    static @NotNull List<MovementKernel> kernels() {
+        var kernels = new ArrayList<MovementKernel>();
+
+        kernels.add(MovementKernel.SCALAR);
+
+        var vectorized = MovementKernel.vectorized();
+        if (vectorized != null) kernels.add(vectorized);
+
+        return kernels;
+    }
+
+    private @NotNull FleetState.Page page;
+
+    @BeforeEach
+    void setUp() {
+        page = new FleetState.Page(SLOT_COUNT);
+
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            page.idle[i] = false;
+            page.speed[i] = DEFAULT_SPEED;
+        }
+    }
+
+    private void performMove(@NotNull MovementKernel kernel, long interval) {
+        kernel.move(page, 0, SLOT_COUNT, interval, DEFAULT_UNIT_SCALE);
+    }
+
+    private void performDefaultMove(@NotNull MovementKernel kernel) {
+        performMove(kernel, DEFAULT_INTERVAL);
+    }
+
+    private void setDestination(int slot, double x, double y) {
+        page.destinationX[slot] = x;
+        page.destinationY[slot] = y;
+    }
+
+    private void assertSlotEquals(int slot, double expectedX, double expectedY, double delta) {
+        assertAll(
+                "Slot %d coordinates".formatted(slot),
+                () -> assertEquals(expectedX, page.positionX[slot], delta, "X coordinate mismatch"),
+                () -> assertEquals(expectedY, page.positionY[slot], delta, "Y coordinate mismatch")
+        );
+    }
+
+    private void assertNothingMoved() {
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            assertSlotEquals(i, 0.0, 0.0, 0.0);
+            assertEquals(0, page.changes[i] & FleetState.POSITION_CHANGED, "Unexpected POSITION change");
+        }
+    }
+    // endregion
+
+    // region ⮞ Skipped Slots
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void move_skipsSlotsAlreadyAtTarget(@NotNull MovementKernel kernel) {
+        performDefaultMove(kernel);
+        assertNothingMoved();
+    }
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void move_skipsStationarySlots(@NotNull MovementKernel kernel) {
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            setDestination(i, 1.0, 1.0);
+            page.speed[i] = 0.0;
+        }
+
+        performDefaultMove(kernel);
+        assertNothingMoved();
+    }
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void move_skipsZeroInterval(@NotNull MovementKernel kernel) {
+        for (int i = 0; i < SLOT_COUNT; i++) setDestination(i, 1.0, 1.0);
+
+        performMove(kernel, 0L);
+        assertNothingMoved();
+    }
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void move_skipsIdleSlots(@NotNull MovementKernel kernel) {
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            setDestination(i, 1.0, 1.0);
+            page.idle[i] = true;
+        }
+
+        performDefaultMove(kernel);
+        assertNothingMoved();
+    }
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void move_marksMovedSlots(@NotNull MovementKernel kernel) {
+        for (int i = 0; i < SLOT_COUNT; i += 2) setDestination(i, 1.0, 1.0);
+
+        performDefaultMove(kernel);
+
+        for (int i = 0; i < SLOT_COUNT; i++)
+            assertEquals(i % 2 == 0, (page.changes[i] & FleetState.POSITION_CHANGED) != 0, "Slot %d".formatted(i));
+    }
+    // endregion
+
+    // region ⮞ Directional Movement
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void move_positiveX(@NotNull MovementKernel kernel) {
+        var startX = new double[SLOT_COUNT];
+
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            startX[i] = nextSignedUnitDouble();
+            page.positionX[i] = startX[i];
+            setDestination(i, EXPECTED_STEP + 1.0, 0.0);
+        }
+
+        performDefaultMove(kernel);
+
+        for (int i = 0; i < SLOT_COUNT; i++) assertSlotEquals(i, startX[i] + EXPECTED_STEP, 0.0, TEST_DELTA);
+    }
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void move_negativeY(@NotNull MovementKernel kernel) {
+        var startY = new double[SLOT_COUNT];
+
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            startY[i] = nextSignedUnitDouble();
+            page.positionY[i] = startY[i];
+            setDestination(i, 0.0, -EXPECTED_STEP - 1.0);
+        }
+
+        performDefaultMove(kernel);
+
+        for (int i = 0; i < SLOT_COUNT; i++) assertSlotEquals(i, 0.0, startY[i] - EXPECTED_STEP, TEST_DELTA);
+    }
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void move_diagonal(@NotNull MovementKernel kernel) {
+        double[][] signs = {{1.0, 1.0}, {1.0, -1.0}, {-1.0, -1.0}, {-1.0, 1.0}};
+
+        for (int i = 0; i < SLOT_COUNT; i++)
+            setDestination(i, signs[i % 4][0] * EXPECTED_STEP, signs[i % 4][1] * EXPECTED_STEP);
+
+        performDefaultMove(kernel);
+
+        double expectedCoordinateStep = EXPECTED_STEP / Math.sqrt(2.0);
+
+        for (int i = 0; i < SLOT_COUNT; i++)
+            assertSlotEquals(i, signs[i % 4][0] * expectedCoordinateStep, signs[i % 4][1] * expectedCoordinateStep, TEST_DELTA);
+    }
+    // endregion
+
+    // region ⮞ Boundary Conditions & Equivalence
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void move_preventsOvershoot(@NotNull MovementKernel kernel) {
+        for (int i = 0; i < SLOT_COUNT; i++) setDestination(i, nextSignedUnitDouble(), nextSignedUnitDouble());
+
+        performDefaultMove(kernel);
+
+        for (int i = 0; i < SLOT_COUNT; i++) assertSlotEquals(i, page.destinationX[i], page.destinationY[i], 0.0);
+    }
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void move_matchesPointMoveTowardsExactly(@NotNull MovementKernel kernel) {
+        var expected = new Point[SLOT_COUNT];
+
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            page.positionX[i] = nextSignedUnitDouble() * 1000.0;
+            page.positionY[i] = nextSignedUnitDouble() * 1000.0;
+            setDestination(i, nextSignedUnitDouble() * 1000.0, nextSignedUnitDouble() * 1000.0);
+            page.speed[i] = i % 5 == 0 ? 0.0 : TEST_RANDOM.nextDouble(0.0, 300.0);
+            page.idle[i] = i % 7 == 0;
+
+            var point = new Point(page.positionX[i], page.positionY[i]);
+
+            if (!page.idle[i]) point.moveTowards(
+                    new Point(page.destinationX[i], page.destinationY[i]),
+                    page.speed[i], 20L, DEFAULT_UNIT_SCALE
+            );
+
+            expected[i] = point;
+        }
+
+        performMove(kernel, 20L);
+
+        for (int i = 0; i < SLOT_COUNT; i++) assertSlotEquals(i, expected[i].getX(), expected[i].getY(), 0.0);
+    }
+
+    @Test
+    void move_vectorizedMatchesScalarExactly() {
+        var vectorized = MovementKernel.vectorized();
+
+        assumeTrue(vectorized != null, "Vector module not available");
+
+        var reference = new FleetState.Page(SLOT_COUNT);
+
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            page.positionX[i] = reference.positionX[i] = nextSignedUnitDouble() * 500.0;
+            page.positionY[i] = reference.positionY[i] = nextSignedUnitDouble() * 500.0;
+            page.destinationX[i] = reference.destinationX[i] = nextSignedUnitDouble() * 500.0;
+            page.destinationY[i] = reference.destinationY[i] = nextSignedUnitDouble() * 500.0;
+            page.speed[i] = reference.speed[i] = TEST_RANDOM.nextDouble(0.0, 300.0);
+            reference.idle[i] = false;
+        }
+
+        for (int tick = 0; tick < 500; tick++) {
+            vectorized.move(page, 0, SLOT_COUNT, 20L, DEFAULT_UNIT_SCALE);
+            MovementKernel.SCALAR.move(reference, 0, SLOT_COUNT, 20L, DEFAULT_UNIT_SCALE);
+        }
+
+        for (int i = 0; i < SLOT_COUNT; i++) assertSlotEquals(i, reference.positionX[i], reference.positionY[i], 0.0);
+    }
+
+    @ParameterizedTest
+    @MethodSource("kernels")
+    void move_maintainsPrecisionOverManySteps(@NotNull MovementKernel kernel) {
+        var reference = new Point[SLOT_COUNT];
+
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            page.positionX[i] = nextSignedUnitDouble();
+            page.positionY[i] = nextSignedUnitDouble();
+            setDestination(i, EXPECTED_STEP + 1.0, 0.0);
+
+            reference[i] = new Point(page.positionX[i], page.positionY[i]);
+            reference[i].moveTowards(new Point(EXPECTED_STEP + 1.0, 0.0), DEFAULT_SPEED, DEFAULT_INTERVAL, DEFAULT_UNIT_SCALE);
+        }
+
+        for (int step = 0; step < DEFAULT_INTERVAL; step++) performMove(kernel, 1L);
+
+        // Same tolerance as PointTest for accumulated floating-point drift.
+        for (int i = 0; i < SLOT_COUNT; i++) assertSlotEquals(i, reference[i].getX(), reference[i].getY(), 1.0e-7);
+    }
+    // endregion
+}
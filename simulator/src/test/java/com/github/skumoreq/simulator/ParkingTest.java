@@ -0,0 +1,186 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.CarException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that cars with nothing to integrate are parked, that changes which
+ * matter wake them, and that the scheduler's clock follows.
+ */
+class ParkingTest {
+
+    // region ⮞ Test Configuration
+
+    private @NotNull SimulationScheduler scheduler;
+    private @NotNull Car car;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new SimulationScheduler(1);
+        car = new Car(
+                "AB 00001", "Test",
+                CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                new Point()
+        );
+
+        scheduler.register(car);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    private int awakeCount() {
+        return scheduler.fleet().getAwakeCount();
+    }
+    // endregion
+
+    // region ⮞ Parking
+
+    @Test
+    void tick_parksCarWithNothingToDo() {
+        car.resume();
+        assertEquals(1, awakeCount());
+
+        scheduler.tick();
+
+        assertTrue(car.isParked());
+        assertEquals(0, awakeCount());
+    }
+
+    @Test
+    void tick_keepsMovingCarAwake() throws CarException {
+        car.resume();
+        TestCars.driveOff(car);
+        car.updateDestination(1000.0, 0.0, 0.0);
+
+        for (int i = 0; i < 10; i++) scheduler.tick();
+
+        assertFalse(car.isParked());
+        assertEquals(1, awakeCount());
+    }
+
+    @Test
+    void tick_parksCarAtDestination() throws CarException {
+        car.resume();
+        TestCars.driveOff(car);
+        car.updateDestination(1.0, 0.0, 0.0);
+
+        scheduler.tick(); // reaches the destination
+        scheduler.tick(); // nothing left to do
+
+        assertEquals(1.0, car.getPositionX());
+        assertTrue(car.isParked());
+    }
+
+    @Test
+    void controlChange_wakesParkedCar() throws CarException {
+        car.resume();
+        scheduler.tick();
+        assertTrue(car.isParked());
+
+        car.startEngine();
+
+        assertFalse(car.isParked());
+        assertEquals(1, awakeCount());
+    }
+
+    @Test
+    void pause_keepsCarAsleepUntilResumed() throws CarException {
+        car.resume();
+        scheduler.tick();
+        car.pause();
+
+        car.startEngine();
+        assertEquals(0, awakeCount());
+
+        car.resume();
+        assertEquals(1, awakeCount());
+    }
+
+    @Test
+    void unregister_releasesAwakeSlot() {
+        car.resume();
+        scheduler.unregister(car);
+
+        assertEquals(0, awakeCount());
+    }
+    // endregion
+
+    // region ⮞ Clock Suspension
+
+    @Test
+    void start_withParkedFleet_doesNotTick() {
+        scheduler.start();
+
+        assertTrue(scheduler.isRunning());
+        assertFalse(scheduler.isTicking());
+    }
+
+    @Test
+    void dormantFleet_stopsClockUntilWake() throws CarException {
+        scheduler.start();
+
+        car.resume();
+        assertTrue(scheduler.isTicking());
+
+        scheduler.tick(); // parks the car
+
+        assertFalse(scheduler.isTicking());
+        assertTrue(scheduler.isRunning());
+
+        car.startEngine();
+        assertTrue(scheduler.isTicking());
+    }
+
+    @Test
+    void queuedCommand_restartsClock() {
+        scheduler.start();
+
+        car.startEngineAsync();
+
+        assertTrue(scheduler.isTicking());
+    }
+    // endregion
+
+    // region ⮞ Lock Ordering
+
+    @Test
+    void observerControllingCar_doesNotDeadlockWithControlThread() throws CarException {
+        car.resume();
+        TestCars.driveOff(car);
+        car.updateDestination(1.0e6, 0.0, 0.0);
+
+        // Delivered synchronously on the ticking thread, which must not hold
+        // the fleet's monitor while the observer takes the car's.
+        car.addObserver((observed, property) -> {
+            if (property == CarObserver.ChangedProperty.POSITION) observed.revUp(0.01);
+        });
+
+        var controller = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                car.revUp(0.01);
+                car.tryRevDown(0.01);
+            }
+        });
+
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(10L), () -> {
+                for (int i = 0; i < 2_000; i++) scheduler.tick();
+            });
+        } finally {
+            controller.interrupt();
+        }
+
+        assertTrue(scheduler.getTickCount() >= 2_000L);
+    }
+    // endregion
+}
@@ -0,0 +1,140 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the {@link PlateKeyMap} against a {@link HashMap} fed the same
+ * operations, and its lock-free lookups under concurrent writes.
+ */
+class PlateKeyMapTest {
+
+    // region ⮞ Test Configuration
+
+    // Random initialized with fixed seed for reproducibility.
+    private static final Random TEST_RANDOM = new Random(2026L);
+
+    private static final int TEST_RUNS = 50;
+    private static final int CAR_COUNT = 2000;
+
+    private @NotNull PlateKeyMap map;
+
+    @BeforeEach
+    void setUp() {
+        map = new PlateKeyMap();
+    }
+
+    private static @NotNull Car createCar(int index) {
+        return new Car(
+                "AB %05d".formatted(index), "Test",
+                CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                new Point()
+        );
+    }
+
+    private static @NotNull List<Car> createCars(int count) {
+        var cars = new ArrayList<Car>(count);
+
+        for (int i = 0; i < count; i++) cars.add(createCar(i));
+
+        return cars;
+    }
+    // endregion
+
+    // region ⮞ Map Operations
+
+    @Test
+    void putIfAbsent_rejectsMappedKey() {
+        var car = createCar(1);
+
+        assertTrue(map.putIfAbsent(car));
+        assertFalse(map.putIfAbsent(createCar(1)));
+
+        assertSame(car, map.get(car.getPlateKey()));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void remove_ofOtherCarWithSameKey_keepsMapping() {
+        var car = createCar(1);
+        map.putIfAbsent(car);
+
+        assertFalse(map.remove(createCar(1)));
+        assertTrue(map.remove(car));
+
+        assertNull(map.get(car.getPlateKey()));
+        assertEquals(0, map.size());
+    }
+
+    @RepeatedTest(TEST_RUNS)
+    void randomOperations_matchHashMap() {
+        var cars = createCars(CAR_COUNT / 4);
+        var expected = new HashMap<Long, Car>();
+
+        for (int i = 0; i < CAR_COUNT; i++) {
+            var car = cars.get(TEST_RANDOM.nextInt(cars.size()));
+            long plateKey = car.getPlateKey();
+
+            if (TEST_RANDOM.nextBoolean()) {
+                assertEquals(expected.putIfAbsent(plateKey, car) == null, map.putIfAbsent(car));
+            } else {
+                assertSame(expected.remove(plateKey), map.remove(plateKey));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(new HashSet<>(expected.values()), new HashSet<>(map.values()));
+
+        var keys = new HashSet<Long>();
+        for (long plateKey : map.keys()) keys.add(plateKey);
+
+        assertEquals(expected.keySet(), keys);
+
+        for (var car : cars) assertSame(expected.get(car.getPlateKey()), map.get(car.getPlateKey()));
+    }
+    // endregion
+
+    // region ⮞ Concurrency
+
+    @Test
+    void get_duringWrites_neverMissesStableEntry() throws InterruptedException {
+        var stable = createCars(CAR_COUNT);
+        var churning = new ArrayList<Car>();
+
+        for (int i = 0; i < CAR_COUNT; i++) churning.add(createCar(CAR_COUNT + i));
+        for (var car : stable) map.putIfAbsent(car);
+
+        var done = new AtomicBoolean(false);
+        var missed = new AtomicBoolean(false);
+
+        var reader = Thread.ofPlatform().start(() -> {
+            while (!done.get())
+                for (var car : stable)
+                    if (map.get(car.getPlateKey()) != car) missed.set(true);
+        });
+
+        // Growing the table and reusing tombstones while the reader probes.
+        for (int round = 0; round < 20; round++) {
+            for (var car : churning) map.putIfAbsent(car);
+            for (var car : churning) map.remove(car);
+        }
+
+        done.set(true);
+        reader.join();
+
+        assertFalse(missed.get());
+        assertEquals(CAR_COUNT, map.size());
+    }
+    // endregion
+}
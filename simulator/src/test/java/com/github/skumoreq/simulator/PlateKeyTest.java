@@ -0,0 +1,126 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlateKeyTest {
+
+    // region ⮞ Test Configuration
+
+    // Random initialized with fixed seed for reproducibility.
+    private static final Random TEST_RANDOM = new Random(2026L);
+
+    private static final int TEST_RUNS = 500;
+
+    // Reference grammar, as previously enforced by the add form.
+    private static final Pattern PLATE_NUMBER_PATTERN = Pattern.compile("^[A-Z]{1,3} [0-9ACE-HJ-NP-Y]{5}$");
+
+    private static final String SUFFIX_ALPHABET = "0123456789ACEFGHJKLMNPQRSTUVWXY";
+
+    private static @NotNull String randomPlateNumber() {
+        var builder = new StringBuilder();
+        int prefixLength = TEST_RANDOM.nextInt(1, PlateKey.MAX_PREFIX_LENGTH + 1);
+
+        for (int i = 0; i < prefixLength; i++) builder.append((char) ('A' + TEST_RANDOM.nextInt(26)));
+
+        builder.append(' ');
+
+        for (int i = 0; i < PlateKey.SUFFIX_LENGTH; i++)
+            builder.append(SUFFIX_ALPHABET.charAt(TEST_RANDOM.nextInt(SUFFIX_ALPHABET.length())));
+
+        return builder.toString();
+    }
+
+    private static @NotNull String randomString() {
+        var builder = new StringBuilder();
+        int length = TEST_RANDOM.nextInt(6, 10);
+
+        // Mostly characters close to the plate grammar, to hit edge cases.
+        for (int i = 0; i < length; i++) builder.append((char) TEST_RANDOM.nextInt(' ', '_'));
+
+        return builder.toString();
+    }
+    // endregion
+
+    // region ⮞ Round Trip
+
+    @RepeatedTest(TEST_RUNS)
+    void decode_reversesEncode() {
+        var plateNumber = randomPlateNumber();
+        long key = PlateKey.encode(plateNumber);
+
+        assertTrue(key >= 0);
+        assertTrue(PlateKey.isValidKey(key));
+        assertEquals(plateNumber, PlateKey.decode(key));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"A 00000", "ZZZ YYYYY", "KR 12345", "WA 9XY0C"})
+    void decode_reversesEncode_forBoundaryPlates(@NotNull String plateNumber) {
+        assertEquals(plateNumber, PlateKey.decode(PlateKey.encode(plateNumber)));
+    }
+
+    @Test
+    void encode_isInjective() {
+        var plateNumbers = new HashSet<String>();
+        var keys = new HashSet<Long>();
+
+        for (int i = 0; i < 10_000; i++) {
+            var plateNumber = randomPlateNumber();
+
+            if (plateNumbers.add(plateNumber)) assertTrue(keys.add(PlateKey.encode(plateNumber)));
+        }
+    }
+
+    @Test
+    void encode_distinguishesPrefixLengths() {
+        assertNotEquals(PlateKey.encode("A 00000"), PlateKey.encode("AA 00000"));
+        assertNotEquals(PlateKey.encode("AA 00000"), PlateKey.encode("AAA 00000"));
+    }
+    // endregion
+
+    // region ⮞ Validation
+
+    @RepeatedTest(TEST_RUNS)
+    void isValid_matchesReferenceGrammar() {
+        var candidate = TEST_RANDOM.nextBoolean() ? randomString() : randomPlateNumber();
+
+        assertEquals(PLATE_NUMBER_PATTERN.matcher(candidate).matches(), PlateKey.isValid(candidate), candidate);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "", " 12345", "ABCD 12345", "AB12345", "AB  12345", "ab 12345",
+            "AB 1234", "AB 123456", "AB 1234B", "AB 1234D", "AB 1234I", "AB 1234O", "AB 1234Z",
+            "AB 1234ą", "ĄB 12345"
+    })
+    void tryEncode_rejectsMalformedPlates(@NotNull String plateNumber) {
+        assertFalse(PlateKey.isValid(plateNumber));
+        assertEquals(PlateKey.INVALID, PlateKey.tryEncode(plateNumber));
+        assertThrows(IllegalArgumentException.class, () -> PlateKey.encode(plateNumber));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {-1L, 0L, 1L << 42, 0x1F})
+    void decode_rejectsMalformedKeys(long key) {
+        assertFalse(PlateKey.isValidKey(key));
+        assertThrows(IllegalArgumentException.class, () -> PlateKey.decode(key));
+    }
+
+    @Test
+    void decode_rejectsNonZeroUnusedPrefixLetters() {
+        long key = PlateKey.encode("A 00000");
+
+        assertFalse(PlateKey.isValidKey(key | 1L << 25));
+    }
+    // endregion
+}
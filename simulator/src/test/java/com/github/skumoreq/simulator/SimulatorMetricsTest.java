@@ -0,0 +1,149 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.CarException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the hot paths feed the built-in histograms and that these are
+ * exported through JMX and the text dump.
+ */
+class SimulatorMetricsTest {
+
+    // region ⮞ Test Configuration
+
+    @BeforeEach
+    void setUp() {
+        SimulatorMetrics.reset();
+    }
+
+    @AfterEach
+    void tearDown() throws JMException {
+        SimulatorMetrics.unregisterMBeans();
+    }
+    // endregion
+
+    // region ⮞ Instrumentation
+
+    @Test
+    void step_recordsTickDuration() {
+        var scheduler = new SimulationScheduler(1, SimulationScheduler.ClockMode.LOCKSTEP);
+
+        try {
+            scheduler.step(5);
+        } finally {
+            scheduler.shutdown();
+        }
+
+        assertTrue(SimulatorMetrics.TICK_DURATION.getCount() >= 5L);
+    }
+
+    @Test
+    void controlMethods_recordMonitorWait() throws CarException {
+        var car = new Car(
+                "MT 00000", "Metrics", CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                new Point(0.0, 0.0)
+        );
+
+        car.startEngine();
+        car.pressClutch();
+        car.shiftUp();
+
+        assertTrue(SimulatorMetrics.CAR_MONITOR_WAIT.getCount() >= 3L);
+    }
+
+    @Test
+    void flush_recordsFanOutAndDispatchDelay() {
+        var pending = new ArrayList<Runnable>();
+        Executor deferred = pending::add;
+
+        var carManager = TestCars.lockstepManager(deferred);
+
+        try {
+            var car = new Car(
+                    "MT 00001", "Metrics", CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                    new Point(0.0, 0.0)
+            );
+
+            carManager.addEntry(car);
+            car.addObserver((_, _) -> {});
+            car.addObserver((_, _) -> {});
+
+            car.startEngine(); // ENGINE_STATE and RPM
+
+            assertEquals(1, pending.size());
+            pending.forEach(Runnable::run);
+        } catch (CarException e) {
+            fail(e);
+        } finally {
+            carManager.close();
+        }
+
+        assertEquals(1L, SimulatorMetrics.DISPATCH_DELAY.getCount());
+        assertEquals(4L, SimulatorMetrics.OBSERVER_FAN_OUT.getMax());
+    }
+
+    @Test
+    void flush_onSynchronousExecutor_recordsNoDispatchDelay() throws CarException {
+        var carManager = TestCars.lockstepManager();
+
+        try {
+            var car = new Car(
+                    "MT 00002", "Metrics", CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                    new Point(0.0, 0.0)
+            );
+
+            carManager.addEntry(car);
+            car.addObserver((_, _) -> {});
+
+            car.startEngine();
+            car.revUp(0.5);
+        } finally {
+            carManager.close();
+        }
+
+        assertEquals(2L, SimulatorMetrics.OBSERVER_FAN_OUT.getCount());
+        assertEquals(0L, SimulatorMetrics.DISPATCH_DELAY.getCount());
+    }
+    // endregion
+
+    // region ⮞ Export
+
+    @Test
+    void registerMBeans_exposesHistograms() throws JMException {
+        SimulatorMetrics.TICK_DURATION.record(1_000L);
+        SimulatorMetrics.registerMBeans();
+        SimulatorMetrics.registerMBeans(); // idempotent
+
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var name = SimulatorMetrics.objectName(SimulatorMetrics.TICK_DURATION);
+
+        assertEquals(1L, server.getAttribute(name, "Count"));
+        assertEquals(1_000L, server.getAttribute(name, "Max"));
+        assertEquals("ns", server.getAttribute(name, "Unit"));
+
+        server.invoke(name, "reset", null, null);
+
+        assertEquals(0L, SimulatorMetrics.TICK_DURATION.getCount());
+    }
+
+    @Test
+    void dump_listsEveryHistogram() {
+        SimulatorMetrics.OBSERVER_FAN_OUT.record(3L);
+
+        var lines = SimulatorMetrics.dump().lines().toList();
+
+        assertEquals(1 + SimulatorMetrics.HISTOGRAMS.size(), lines.size());
+        assertTrue(lines.get(3).startsWith("ObserverFanOut"), lines.get(3));
+        assertTrue(lines.get(3).contains(" 3.0 "), lines.get(3));
+    }
+    // endregion
+}
@@ -0,0 +1,158 @@
+package com.github.skumoreq.simulator;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the {@link SpatialGrid} queries against a brute-force scan over the
+ * same cars.
+ */
+class SpatialGridTest {
+
+    // region ⮞ Test Configuration
+
+    // Random initialized with fixed seed for reproducibility.
+    private static final Random TEST_RANDOM = new Random(2026L);
+
+    private static final int CAR_COUNT = 500;
+    private static final double AREA_SIZE = 4000.0;
+    private static final double CELL_SIZE = 100.0;
+
+    private @NotNull SpatialGrid grid;
+    private @NotNull List<Car> cars;
+
+    private static double nextCoordinate() {
+        return TEST_RANDOM.nextDouble(-AREA_SIZE * 0.5, AREA_SIZE * 0.5);
+    }
+
+    private static @NotNull Car createCar(int index, double x, double y) {
+        return new Car(
+                "AB %05d".formatted(index), "Test",
+                CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                new Point(x, y)
+        );
+    }
+
+    @BeforeEach
+    void setUp() {
+        grid = new SpatialGrid(CELL_SIZE);
+        cars = new ArrayList<>();
+
+        for (int i = 0; i < CAR_COUNT; i++) {
+            var car = createCar(i, nextCoordinate(), nextCoordinate());
+
+            grid.insert(car);
+            cars.add(car);
+        }
+    }
+
+    private static double distance(@NotNull Car car, double x, double y) {
+        return Math.hypot(car.getPositionX() - x, car.getPositionY() - y);
+    }
+    // endregion
+
+    // region ⮞ Queries
+
+    @RepeatedTest(20)
+    void findWithinRadius_matchesBruteForce() {
+        double x = nextCoordinate();
+        double y = nextCoordinate();
+        double radius = TEST_RANDOM.nextDouble(0.0, AREA_SIZE * 0.3);
+
+        var expected = new HashSet<Car>();
+        for (var car : cars) if (distance(car, x, y) <= radius) expected.add(car);
+
+        assertEquals(expected, new HashSet<>(grid.findWithinRadius(x, y, radius)));
+    }
+
+    @RepeatedTest(20)
+    void findWithinRectangle_matchesBruteForce() {
+        double minX = nextCoordinate();
+        double minY = nextCoordinate();
+        double maxX = minX + TEST_RANDOM.nextDouble(0.0, AREA_SIZE * 0.5);
+        double maxY = minY + TEST_RANDOM.nextDouble(0.0, AREA_SIZE * 0.5);
+
+        var expected = new HashSet<Car>();
+        for (var car : cars) {
+            if (car.getPositionX() >= minX && car.getPositionX() <= maxX
+                    && car.getPositionY() >= minY && car.getPositionY() <= maxY)
+                expected.add(car);
+        }
+
+        assertEquals(expected, new HashSet<>(grid.findWithinRectangle(minX, minY, maxX, maxY)));
+    }
+
+    @RepeatedTest(20)
+    void findNearest_matchesBruteForce() {
+        // Also probes far outside the populated area.
+        double x = nextCoordinate() * 3.0;
+        double y = nextCoordinate() * 3.0;
+
+        double expectedDistance = Double.POSITIVE_INFINITY;
+        for (var car : cars) expectedDistance = Math.min(expectedDistance, distance(car, x, y));
+
+        var nearest = grid.findNearest(x, y, Double.POSITIVE_INFINITY);
+
+        assertNotNull(nearest);
+        assertEquals(expectedDistance, distance(nearest, x, y), 1.0e-9);
+    }
+
+    @Test
+    void findNearest_respectsMaxDistance() {
+        var isolated = new SpatialGrid(CELL_SIZE);
+        isolated.insert(createCar(0, 0.0, 0.0));
+
+        assertNull(isolated.findNearest(500.0, 0.0, 499.0));
+        assertNotNull(isolated.findNearest(500.0, 0.0, 500.0));
+    }
+
+    @Test
+    void findNearest_emptyGrid_returnsNull() {
+        assertNull(new SpatialGrid(CELL_SIZE).findNearest(0.0, 0.0, Double.POSITIVE_INFINITY));
+    }
+    // endregion
+
+    // region ⮞ Indexing
+
+    @Test
+    void publishedMove_relocatesCar() {
+        var car = createCar(0, 0.0, 0.0);
+        var local = new SpatialGrid(CELL_SIZE);
+
+        car.setSpatialGrid(local);
+        local.insert(car);
+
+        long initialCell = car.getGridCell();
+
+        // Same path as a tick that moved the car across cell borders.
+        car.publishMotion(1050.0, -20.0, 0.0, false);
+
+        assertNotEquals(initialCell, car.getGridCell());
+        assertTrue(local.findWithinRadius(0.0, 0.0, CELL_SIZE).isEmpty());
+        assertSame(car, local.findNearest(1000.0, 0.0, CELL_SIZE));
+
+        local.remove(car);
+
+        assertEquals(SpatialGrid.NO_CELL, car.getGridCell());
+        assertNull(local.findNearest(0.0, 0.0, Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void update_ignoresCarsThatAreNotIndexed() {
+        var car = createCar(0, 0.0, 0.0);
+
+        grid.update(car, 10.0, 10.0);
+
+        assertEquals(SpatialGrid.NO_CELL, car.getGridCell());
+    }
+    // endregion
+}
@@ -0,0 +1,91 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.CarException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Measures the cost the {@link TelemetryRecorder} adds to a tick of a fully
+ * moving fleet, and how fast a window drains to each export format.
+ * <p>
+ * Not part of the test suite; run manually. The fleet size can be changed
+ * with {@code -Dbenchmark.cars=500000}.
+ */
+class TelemetryRecorderBenchmark {
+
+    // region ⮞ Benchmark Configuration
+
+    private static final int FLEET_SIZE = Integer.getInteger("benchmark.cars", 100_000);
+
+    private static final int WARMUP_TICKS = 100;
+    private static final int MEASURED_TICKS = 40;
+    // endregion
+
+    // region ⮞ Helper Methods
+
+    private static double millisPerTick(SimulationScheduler scheduler) {
+        scheduler.step(WARMUP_TICKS);
+
+        long start = System.nanoTime();
+        scheduler.step(MEASURED_TICKS);
+
+        return (System.nanoTime() - start) / 1.0e6 / MEASURED_TICKS;
+    }
+    // endregion
+
+    // region ⮞ Benchmark Execution
+
+    static void main() throws CarException, IOException {
+        var scheduler = new SimulationScheduler(
+                Runtime.getRuntime().availableProcessors(), SimulationScheduler.ClockMode.LOCKSTEP
+        );
+        var carManager = new CarManager(CarManager.ExecutionMode.SHARED_SCHEDULER, scheduler, Runnable::run);
+
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            var car = new Car(
+                    "B%c %05d".formatted('A' + i / 100_000 % 26, i % 100_000), "Benchmark",
+                    CarManager.TRANSMISSIONS.get(i % CarManager.TRANSMISSIONS.size()),
+                    CarManager.ENGINES.get(i % CarManager.ENGINES.size()),
+                    new Point(i % 1000 * 50.0, i / 1000 * 50.0)
+            );
+
+            TestCars.driveTo(car, 1.0e7, 1.0e7);
+
+            carManager.addEntry(car);
+        }
+
+        scheduler.setCollisionPolicy(SimulationScheduler.CollisionPolicy.IGNORE);
+
+        System.out.printf("Fleet size: %d moving cars%n", FLEET_SIZE);
+        System.out.printf("without recorder | %7.3f ms/tick%n", millisPerTick(scheduler));
+
+        var window = Files.createTempFile("telemetry", ".window");
+
+        try (var recorder = new TelemetryRecorder(scheduler, FLEET_SIZE * (WARMUP_TICKS + MEASURED_TICKS))) {
+            recorder.start();
+
+            System.out.printf("with recorder    | %7.3f ms/tick%n", millisPerTick(scheduler));
+
+            for (var format : TelemetryRecorder.Format.values()) {
+                recorder.stop();
+                recorder.drainTo(window, format);
+                recorder.start();
+                scheduler.step(MEASURED_TICKS);
+
+                long start = System.nanoTime();
+                long drained = recorder.drainTo(window, format);
+                double seconds = (System.nanoTime() - start) / 1.0e9;
+
+                System.out.printf(
+                        "drain %-8s | %9d records | %7.1f ms | %6.1f M records/s%n",
+                        format, drained, seconds * 1.0e3, drained / seconds / 1.0e6
+                );
+            }
+        } finally {
+            scheduler.shutdown();
+            Files.deleteIfExists(window);
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,210 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.CarException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks what the telemetry ring buffer records and that both export formats
+ * hold the recorded values.
+ */
+class TelemetryRecorderTest {
+
+    // region ⮞ Test Configuration
+
+    private static final int MOVING_COUNT = 6;
+    private static final int PAUSED_COUNT = 4;
+
+    @TempDir
+    private Path directory;
+
+    private @NotNull CarManager carManager;
+    private @NotNull TelemetryRecorder recorder;
+
+    @BeforeEach
+    void setUp() throws CarException {
+        carManager = TestCars.lockstepManager();
+
+        for (int i = 0; i < MOVING_COUNT + PAUSED_COUNT; i++) {
+            var car = new Car(
+                    "TL %05d".formatted(i), "Telemetry",
+                    CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(),
+                    new Point(100.0 * i, 0.0)
+            );
+
+            if (i < MOVING_COUNT) TestCars.driveTo(car, 100.0 * i, 5000.0);
+
+            carManager.addEntry(car);
+        }
+
+        recorder = new TelemetryRecorder(carManager.scheduler(), 1024);
+        recorder.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recorder.close();
+        carManager.close();
+    }
+
+    private @NotNull Car movingCar() {
+        return carManager.findByPlateNumber("TL 00000");
+    }
+    // endregion
+
+    // region ⮞ Recording
+
+    @Test
+    void onTickCompleted_recordsOnlyMovingCars() {
+        carManager.scheduler().step(5);
+
+        assertEquals(5L * MOVING_COUNT, recorder.getRecordedCount());
+        assertEquals(5L * MOVING_COUNT, recorder.getPendingCount());
+        assertEquals(0L, recorder.getDroppedCount());
+    }
+
+    @Test
+    void stop_endsRecording() {
+        carManager.scheduler().step();
+        recorder.stop();
+        carManager.scheduler().step();
+
+        assertEquals(MOVING_COUNT, recorder.getRecordedCount());
+    }
+
+    @Test
+    void onTickCompleted_dropsRecordsWhenFull() throws IOException {
+        recorder.close();
+        recorder = new TelemetryRecorder(carManager.scheduler(), 5);
+        recorder.start();
+
+        assertEquals(8L, recorder.getCapacity());
+
+        carManager.scheduler().step(2);
+
+        assertEquals(8L, recorder.getRecordedCount());
+        assertEquals(2L * MOVING_COUNT - 8L, recorder.getDroppedCount());
+
+        // Draining frees the space again.
+        assertEquals(8L, recorder.drainTo(directory.resolve("window.csv"), TelemetryRecorder.Format.CSV));
+
+        carManager.scheduler().step();
+
+        assertEquals(8L + MOVING_COUNT, recorder.getRecordedCount());
+    }
+    // endregion
+
+    // region ⮞ Export
+
+    @Test
+    void drainTo_csv() throws IOException {
+        carManager.scheduler().step(3);
+
+        var path = directory.resolve("window.csv");
+
+        assertEquals(3L * MOVING_COUNT, recorder.drainTo(path, TelemetryRecorder.Format.CSV));
+        assertEquals(0L, recorder.getPendingCount());
+
+        List<String> lines = Files.readAllLines(path);
+
+        assertEquals(1 + 3 * MOVING_COUNT, lines.size());
+        assertEquals("tick,plate,x,y,angle,speed,rpm,gear,clutch_engaged,colliding", lines.getFirst());
+
+        var last = lines.getLast().split(",");
+        var snapshot = carManager.findByPlateNumber(last[1]).snapshot();
+
+        assertEquals("3", last[0]);
+        assertEquals(snapshot.positionX(), Double.parseDouble(last[2]));
+        assertEquals(snapshot.positionY(), Double.parseDouble(last[3]));
+        assertEquals(snapshot.speed(), Double.parseDouble(last[5]));
+        assertEquals(snapshot.gear(), Integer.parseInt(last[7]));
+        assertEquals("true", last[8]);
+    }
+
+    @Test
+    void drainTo_columnar() throws IOException {
+        carManager.scheduler().step(2);
+
+        var path = directory.resolve("window.tlm");
+        int count = 2 * MOVING_COUNT;
+
+        assertEquals(count, recorder.drainTo(path, TelemetryRecorder.Format.COLUMNAR));
+
+        var file = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+
+        assertEquals(TelemetryRecorder.MAGIC, file.getInt(0));
+        assertEquals(TelemetryRecorder.COLUMN_COUNT, file.getShort(6));
+        assertEquals(count, file.getInt(8));
+        assertEquals(TelemetryRecorder.COLUMNAR_HEADER_SIZE + count * 64L, file.capacity());
+
+        int ticks = TelemetryRecorder.COLUMNAR_HEADER_SIZE;
+        int plates = ticks + count * Long.BYTES;
+        int positionsY = plates + 2 * count * Long.BYTES;
+        int flags = plates + count * Long.BYTES + 5 * count * Double.BYTES + count * Integer.BYTES;
+
+        assertEquals(1L, file.getLong(ticks));
+        assertEquals(2L, file.getLong(ticks + (count - 1) * Long.BYTES));
+
+        var car = movingCar();
+        int last = count - MOVING_COUNT; // first car of the second tick
+
+        assertEquals(car.getPlateKey(), file.getLong(plates + last * Long.BYTES));
+        assertEquals(car.snapshot().positionY(), file.getDouble(positionsY + last * Double.BYTES));
+        assertEquals(TelemetryRecorder.FLAG_CLUTCH_ENGAGED, file.getInt(flags + last * Integer.BYTES));
+    }
+
+    @Test
+    void drainTo_withoutRecords_writesNothing() throws IOException {
+        var path = directory.resolve("empty.csv");
+
+        assertEquals(0L, recorder.drainTo(path, TelemetryRecorder.Format.CSV));
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    void startExport_writesWindowsInBackground() throws IOException, InterruptedException {
+        carManager.scheduler().step(4);
+
+        var exportDirectory = directory.resolve("export");
+        recorder.startExport(exportDirectory, TelemetryRecorder.Format.COLUMNAR, 10L);
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (recorder.getPendingCount() > 0L && System.nanoTime() < deadline) Thread.sleep(10L);
+
+        assertEquals(0L, recorder.getPendingCount());
+
+        try (var files = Files.list(exportDirectory)) {
+            assertEquals(List.of("telemetry-0000000000000000000.tlm"), files.map(path -> path.getFileName().toString()).toList());
+        }
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> recorder.startExport(exportDirectory, TelemetryRecorder.Format.CSV, 10L)
+        );
+    }
+
+    @Test
+    void close_rejectsFurtherDrains() {
+        carManager.scheduler().step();
+        recorder.close();
+        carManager.scheduler().step();
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> recorder.drainTo(directory.resolve("late.csv"), TelemetryRecorder.Format.CSV)
+        );
+    }
+    // endregion
+}
@@ -0,0 +1,109 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.CarException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Measures how well the {@link TelemetryStore} compresses the telemetry of a
+ * moving fleet, and how long a range query over one car takes.
+ * <p>
+ * Not part of the test suite; run manually. The fleet size can be changed
+ * with {@code -Dbenchmark.cars=5000}.
+ */
+class TelemetryStoreBenchmark {
+
+    // region ⮞ Benchmark Configuration
+
+    private static final int FLEET_SIZE = Integer.getInteger("benchmark.cars", 1_000);
+
+    private static final int RECORDED_TICKS = 20_000;
+    private static final int DRAIN_INTERVAL = 500;
+
+    private static final int QUERY_REPETITIONS = 1_000;
+    // endregion
+
+    // region ⮞ Benchmark Execution
+
+    static void main() throws CarException, IOException {
+        var scheduler = new SimulationScheduler(
+                Runtime.getRuntime().availableProcessors(), SimulationScheduler.ClockMode.LOCKSTEP
+        );
+        var carManager = new CarManager(CarManager.ExecutionMode.SHARED_SCHEDULER, scheduler, Runnable::run);
+
+        for (int i = 0; i < FLEET_SIZE; i++) {
+            var car = new Car(
+                    "B%c %05d".formatted('A' + i / 100_000 % 26, i % 100_000), "Benchmark",
+                    CarManager.TRANSMISSIONS.get(i % CarManager.TRANSMISSIONS.size()),
+                    CarManager.ENGINES.get(i % CarManager.ENGINES.size()),
+                    new Point(i % 100 * 200.0, i / 100 * 200.0)
+            );
+
+            TestCars.driveTo(car, 1.0e7, 1.0e7);
+
+            carManager.addEntry(car);
+        }
+
+        scheduler.setCollisionPolicy(SimulationScheduler.CollisionPolicy.IGNORE);
+
+        Path directory = Files.createTempDirectory("telemetry-store");
+
+        try (var recorder = new TelemetryRecorder(scheduler, FLEET_SIZE * DRAIN_INTERVAL);
+             var store = new TelemetryStore(directory)) {
+            recorder.start();
+
+            long drainNanos = 0L;
+
+            for (int tick = 0; tick < RECORDED_TICKS; tick += DRAIN_INTERVAL) {
+                scheduler.step(DRAIN_INTERVAL);
+
+                long start = System.nanoTime();
+                recorder.drainTo(store);
+                drainNanos += System.nanoTime() - start;
+            }
+
+            store.flush();
+
+            long samples = store.getSampleCount();
+            long size = store.getSealedSize();
+
+            System.out.printf("Fleet size: %d moving cars, %d ticks%n", FLEET_SIZE, RECORDED_TICKS);
+            System.out.printf(
+                    "append   | %d samples | %7.1f ms | %6.2f M samples/s%n",
+                    samples, drainNanos / 1.0e6, samples / (drainNanos / 1.0e9) / 1.0e6
+            );
+            System.out.printf(
+                    "size     | %d segments | %.1f MiB | %5.2f bytes/sample (raw: %d)%n",
+                    store.getSegmentCount(), size / 1048576.0, (double) size / samples, 6 * Long.BYTES
+            );
+
+            long plateKey = carManager.findByPlateNumber("BA 00000").getPlateKey();
+
+            for (long range : new long[]{1_000L, 10_000L}) {
+                long from = RECORDED_TICKS / 2 - range / 2;
+                int count = 0;
+
+                long start = System.nanoTime();
+                for (int i = 0; i < QUERY_REPETITIONS; i++)
+                    count = store.query(plateKey, TelemetryStore.Channel.RPM, from, from + range - 1).size();
+                double micros = (System.nanoTime() - start) / 1.0e3 / QUERY_REPETITIONS;
+
+                System.out.printf(
+                        "query    | %5d ticks | %d segments | %8.1f µs%n",
+                        count, store.getLastDecodedSegmentCount(), micros
+                );
+            }
+        } finally {
+            scheduler.shutdown();
+
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (var file : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(file);
+            }
+        }
+    }
+    // endregion
+}
@@ -0,0 +1,204 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.CarException;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the telemetry store answers range queries from sealed and open
+ * segments, decodes only the segments a query touches, and survives being
+ * reopened.
+ */
+class TelemetryStoreTest {
+
+    // region ⮞ Test Configuration
+
+    private static final long SEGMENT_TICKS = 100L;
+    private static final int CAR_COUNT = 3;
+    private static final long TICK_COUNT = 1_000L;
+
+    @TempDir
+    private Path directory;
+
+    private @NotNull TelemetryStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new TelemetryStore(directory, SEGMENT_TICKS);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    private static long plateKey(int car) {
+        return PlateKey.encode("TS %05d".formatted(car));
+    }
+
+    private static double rpm(long tick, int car) {
+        return 1000.0 + car * 100.0 + tick % 37 * 12.5;
+    }
+
+    /**
+     * Appends a sample of every car at every tick from 1 to
+     * {@link #TICK_COUNT}; car 1 is only sampled at even ticks.
+     */
+    private void appendFleet() throws IOException {
+        for (long tick = 1L; tick <= TICK_COUNT; tick++) {
+            for (int car = 0; car < CAR_COUNT; car++) {
+                if (car == 1 && tick % 2 != 0) continue;
+
+                store.append(tick, plateKey(car), tick * 0.5, car * 100.0, 90.0, car + 10.0, rpm(tick, car));
+            }
+        }
+    }
+    // endregion
+
+    // region ⮞ Queries
+
+    @Test
+    void query_returnsRangeAcrossSegments() throws IOException {
+        appendFleet();
+
+        var series = store.query("TS 00002", TelemetryStore.Channel.RPM, 250L, 449L);
+
+        assertEquals(200, series.size());
+
+        for (int i = 0; i < series.size(); i++) {
+            assertEquals(250L + i, series.ticks()[i]);
+            assertEquals(rpm(250L + i, 2), series.values()[i]);
+        }
+    }
+
+    @Test
+    void query_returnsEachChannel() throws IOException {
+        appendFleet();
+
+        var key = plateKey(1);
+
+        assertArrayEquals(new long[]{10L, 12L}, store.query(key, TelemetryStore.Channel.POSITION_X, 9L, 12L).ticks());
+        assertArrayEquals(new double[]{5.0, 6.0}, store.query(key, TelemetryStore.Channel.POSITION_X, 9L, 12L).values());
+        assertArrayEquals(new double[]{100.0, 100.0}, store.query(key, TelemetryStore.Channel.POSITION_Y, 9L, 12L).values());
+        assertArrayEquals(new double[]{90.0, 90.0}, store.query(key, TelemetryStore.Channel.ANGLE, 9L, 12L).values());
+        assertArrayEquals(new double[]{11.0, 11.0}, store.query(key, TelemetryStore.Channel.SPEED, 9L, 12L).values());
+    }
+
+    @Test
+    void query_decodesOnlyTouchedSegments() throws IOException {
+        appendFleet();
+        store.flush();
+
+        assertEquals(10, store.getSegmentCount());
+
+        store.query(plateKey(0), TelemetryStore.Channel.SPEED, 10_000L, 20_000L);
+        assertEquals(0, store.getLastDecodedSegmentCount());
+
+        store.query(plateKey(0), TelemetryStore.Channel.SPEED, 420L, 430L);
+        assertEquals(1, store.getLastDecodedSegmentCount());
+
+        store.query(plateKey(0), TelemetryStore.Channel.SPEED, 199L, 301L);
+        assertEquals(3, store.getLastDecodedSegmentCount());
+    }
+
+    @Test
+    void query_includesOpenSegment() throws IOException {
+        appendFleet();
+
+        // The last segment is still open until flushed.
+        assertEquals(9, store.getSegmentCount());
+
+        var series = store.query(plateKey(0), TelemetryStore.Channel.RPM, 990L, 2_000L);
+
+        assertEquals(11, series.size());
+        assertEquals(TICK_COUNT, series.ticks()[10]);
+    }
+
+    @Test
+    void query_unknownCar_returnsNothing() throws IOException {
+        appendFleet();
+
+        assertEquals(0, store.query("ZZ 99999", TelemetryStore.Channel.RPM, 0L, TICK_COUNT).size());
+    }
+
+    @Test
+    void store_compressesSamples() throws IOException {
+        appendFleet();
+        store.flush();
+
+        long rawSize = store.getSampleCount() * 6L * Long.BYTES;
+
+        assertTrue(store.getSealedSize() < rawSize / 3, "%d of %d bytes".formatted(store.getSealedSize(), rawSize));
+    }
+    // endregion
+
+    // region ⮞ Persistence
+
+    @Test
+    void reopen_keepsSealedSegments() throws IOException {
+        appendFleet();
+        store.close();
+
+        store = new TelemetryStore(directory, SEGMENT_TICKS);
+
+        assertEquals(10, store.getSegmentCount());
+        assertEquals(rpm(TICK_COUNT, 0), store.query(plateKey(0), TelemetryStore.Channel.RPM, TICK_COUNT, TICK_COUNT).values()[0]);
+
+        assertThrows(IllegalArgumentException.class, () -> store.append(TICK_COUNT, plateKey(0), 0, 0, 0, 0, 0));
+        store.append(TICK_COUNT + 1L, plateKey(0), 0, 0, 0, 0, 0);
+    }
+
+    @Test
+    void reopen_rejectsCorruptSegment() throws IOException {
+        appendFleet();
+        store.close();
+
+        Files.write(directory.resolve("segment-%019d.tss".formatted(5_000L)), new byte[64]);
+
+        assertThrows(IOException.class, () -> new TelemetryStore(directory, SEGMENT_TICKS));
+    }
+
+    @Test
+    void append_rejectsOutOfOrderSamples() throws IOException {
+        store.append(10L, plateKey(0), 0, 0, 0, 0, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> store.append(10L, plateKey(0), 0, 0, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> store.append(9L, plateKey(1), 0, 0, 0, 0, 0));
+    }
+    // endregion
+
+    // region ⮞ Recorder Integration
+
+    @Test
+    void drainTo_store() throws CarException, IOException {
+        var carManager = TestCars.lockstepManager();
+        var car = TestCars.driving("TS 00000", new Point(0.0, 0.0), 0.0, 5000.0);
+        carManager.addEntry(car);
+
+        try (var recorder = new TelemetryRecorder(carManager.scheduler(), 1024)) {
+            recorder.start();
+            carManager.scheduler().step(150);
+
+            assertEquals(150L, recorder.drainTo(store));
+            assertEquals(0L, recorder.getPendingCount());
+        } finally {
+            carManager.close();
+        }
+
+        var series = store.query(car.getPlateKey(), TelemetryStore.Channel.POSITION_Y, 0L, Long.MAX_VALUE);
+
+        assertEquals(150, series.size());
+        assertEquals(car.snapshot().positionY(), series.values()[149]);
+        assertEquals(1, store.getSegmentCount());
+    }
+    // endregion
+}
@@ -0,0 +1,83 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.CarException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Fixtures shared by the tests and benchmarks: cars that drive off towards a
+ * destination, and managers whose scheduler only advances when stepped.
+ */
+final class TestCars {
+
+    // region ⮞ Initialization
+
+    private TestCars() {
+    }
+    // endregion
+
+    // region ⮞ Cars
+
+    /**
+     * Starts the engine and engages the first gear at a high RPM, enough to
+     * survive the upshift RPM drop, so the car moves on the next tick. Does
+     * not resume the car.
+     */
+    static void driveOff(@NotNull Car car) throws CarException {
+        car.startEngine();
+        for (int i = 0; i < 30; i++) car.revUp(1.0);
+
+        car.pressClutch();
+        car.shiftUp();
+        car.releaseClutch();
+    }
+
+    /**
+     * Resumes the car, drives off and heads for the given destination.
+     */
+    static void driveTo(@NotNull Car car, double x, double y) throws CarException {
+        car.resume();
+        driveOff(car);
+        car.updateDestination(x, y, 0.0);
+    }
+
+    /**
+     * @return A new car with the first catalog components, already heading
+     * from the given position to the given destination.
+     */
+    static @NotNull Car driving(
+            @NotNull String plateNumber, @NotNull Point position, double x, double y
+    ) throws CarException {
+        var car = new Car(
+                plateNumber, "Test", CarManager.TRANSMISSIONS.getFirst(), CarManager.ENGINES.getFirst(), position
+        );
+
+        driveTo(car, x, y);
+
+        return car;
+    }
+    // endregion
+
+    // region ⮞ Managers
+
+    /**
+     * @return A new manager with its own {@link SimulationScheduler.ClockMode#LOCKSTEP}
+     * scheduler, shut down by {@link CarManager#close()}, delivering
+     * notifications on the given executor.
+     */
+    static @NotNull CarManager lockstepManager(@NotNull Executor notificationExecutor) {
+        return new CarManager(
+                CarManager.ExecutionMode.SHARED_SCHEDULER, SimulationScheduler.ClockMode.LOCKSTEP, notificationExecutor
+        );
+    }
+
+    /**
+     * @return A new {@link #lockstepManager(Executor)} notifying observers
+     * synchronously.
+     */
+    static @NotNull CarManager lockstepManager() {
+        return lockstepManager(Runnable::run);
+    }
+    // endregion
+}
@@ -0,0 +1,79 @@
+package com.github.skumoreq.simulator;
+
+import com.github.skumoreq.simulator.exception.CarException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Measures tick throughput of the {@link SimulationScheduler} for increasing
+ * parallelism, from a single worker up to the number of available cores.
+ * <p>
+ * Every car is driving towards a distant destination, so each tick moves the
+ * whole fleet. Ticks are triggered back-to-back instead of waiting for the
+ * clock, which makes the result the raw sweep throughput.
+ * <p>
+ * Not part of the test suite; run manually. The fleet size can be changed
+ * with {@code -Dbenchmark.cars=500000}.
+ */
+class TickScalingBenchmark {
+
+    // region ⮞ Benchmark Configuration
+
+    private static final int FLEET_SIZE = Integer.getInteger("benchmark.cars", 200_000);
+
+    private static final int WARMUP_TICKS = 200;
+    private static final int MEASURED_TICKS = 500;
+    // endregion
+
+    // region ⮞ Helper Methods
+
+    private static @NotNull Car createDrivingCar(int index) throws CarException {
+        return TestCars.driving(
+                "B%c %05d".formatted('A' + index / 100_000 % 26, index % 100_000),
+                new Point(index % 1000, index / 1000), 1.0e9, 1.0e9
+        );
+    }
+
+    private static double measureTicksPerSecond(int parallelism) throws CarException {
+        var scheduler = new SimulationScheduler(parallelism);
+
+        // The fleet is packed one pixel apart; collisions are measured by
+        // CollisionBenchmark instead.
+        scheduler.setCollisionPolicy(SimulationScheduler.CollisionPolicy.IGNORE);
+
+        try {
+            for (int i = 0; i < FLEET_SIZE; i++) scheduler.register(createDrivingCar(i));
+
+            for (int i = 0; i < WARMUP_TICKS; i++) scheduler.tick();
+
+            long start = System.nanoTime();
+
+            for (int i = 0; i < MEASURED_TICKS; i++) scheduler.tick();
+
+            return MEASURED_TICKS / ((System.nanoTime() - start) / 1.0e9);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+    // endregion
+
+    // region ⮞ Benchmark Execution
+
+    static void main() throws CarException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        double baseline = 0.0;
+
+        System.out.printf("Fleet size: %d cars, vector kernel: %b%n", FLEET_SIZE, MovementKernel.vectorized() != null);
+
+        for (int parallelism = 1; parallelism <= cores; parallelism = parallelism == cores ? cores + 1 : Math.min(parallelism * 2, cores)) {
+            double ticksPerSecond = measureTicksPerSecond(parallelism);
+
+            if (parallelism == 1) baseline = ticksPerSecond;
+
+            System.out.printf(
+                    "parallelism: %3d | %9.1f ticks/s | %7.1f M cars/s | speedup: %5.2fx%n",
+                    parallelism, ticksPerSecond, ticksPerSecond * FLEET_SIZE / 1.0e6, ticksPerSecond / baseline
+            );
+        }
+    }
+    // endregion
+}
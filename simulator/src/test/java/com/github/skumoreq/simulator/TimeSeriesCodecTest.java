@@ -0,0 +1,125 @@
+package com.github.skumoreq.simulator;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the time-series encoding round-trips ticks and values,
+ * including irregular gaps and special floating-point values.
+ */
+class TimeSeriesCodecTest {
+
+    // region ⮞ Helper Methods
+
+    private static void assertRoundTrip(long[] ticks, double[] values) {
+        var encoder = new TimeSeriesCodec.Encoder(ticks[0], 1);
+
+        for (int i = 0; i < ticks.length; i++) {
+            encoder.appendTick(ticks[i]);
+            encoder.appendValue(0, values[i]);
+        }
+
+        var tickDecoder = new TimeSeriesCodec.TickDecoder(
+                new TimeSeriesCodec.BitReader(encoder.ticks().toBuffer(), 0), ticks[0]
+        );
+        var valueDecoder = new TimeSeriesCodec.ValueDecoder(
+                new TimeSeriesCodec.BitReader(encoder.channel(0).toBuffer(), 0)
+        );
+
+        for (int i = 0; i < ticks.length; i++) {
+            assertEquals(ticks[i], tickDecoder.next(), "tick " + i);
+            assertEquals(
+                    Double.doubleToRawLongBits(values[i]), Double.doubleToRawLongBits(valueDecoder.next()), "value " + i
+            );
+        }
+    }
+    // endregion
+
+    // region ⮞ Bit Streams
+
+    @Test
+    void bitStream_readsWhatWasWritten_acrossWords() {
+        var writer = new TimeSeriesCodec.BitWriter();
+
+        writer.write(0b101, 3);
+        writer.write(-1L, 64);
+        writer.write(0x1234_5678L, 61);
+        writer.write(0L, 1);
+
+        assertEquals(3 * Long.BYTES, writer.byteSize());
+
+        ByteBuffer buffer = writer.toBuffer();
+        var reader = new TimeSeriesCodec.BitReader(buffer, 0);
+
+        assertEquals(0b101, reader.read(3));
+        assertEquals(-1L, reader.read(64));
+        assertEquals(0x1234_5678L, reader.read(61));
+        assertFalse(reader.readBit());
+    }
+    // endregion
+
+    // region ⮞ Series
+
+    @Test
+    void roundTrip_regularTicks() {
+        var ticks = new long[1000];
+        var values = new double[1000];
+
+        for (int i = 0; i < ticks.length; i++) {
+            ticks[i] = 10_000L + i;
+            values[i] = 800.0 + 3.25 * Math.sin(i / 10.0);
+        }
+
+        assertRoundTrip(ticks, values);
+    }
+
+    @Test
+    void roundTrip_irregularTicks() {
+        long[] ticks = {0L, 1L, 2L, 70L, 71L, 400L, 3_000L, 3_001L, 1L << 40, (1L << 40) + 1L, Long.MAX_VALUE};
+        var values = new double[ticks.length];
+
+        assertRoundTrip(ticks, values);
+    }
+
+    @Test
+    void roundTrip_specialValues() {
+        double[] values = {
+                0.0, -0.0, 1.0, -1.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                Double.MIN_VALUE, Double.MAX_VALUE, 1.0, 1.0, 1.0 + Math.ulp(1.0), 1.0e-300
+        };
+        var ticks = new long[values.length];
+        for (int i = 0; i < ticks.length; i++) ticks[i] = i;
+
+        assertRoundTrip(ticks, values);
+    }
+
+    @Test
+    void encoder_compressesSteadySeries() {
+        var encoder = new TimeSeriesCodec.Encoder(0L, 1);
+
+        for (int i = 0; i < 1000; i++) {
+            encoder.appendTick(i);
+            encoder.appendValue(0, 3000.0);
+        }
+
+        // 999 one-bit ticks in 16 words; a raw first value and 999 one-bit
+        // repeats in 17 words.
+        assertEquals((16 + 17) * Long.BYTES, encoder.byteSize());
+    }
+
+    @Test
+    void appendTick_rejectsOutOfOrderTicks() {
+        var encoder = new TimeSeriesCodec.Encoder(5L, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> encoder.appendTick(6L));
+
+        encoder.appendTick(5L);
+
+        assertThrows(IllegalArgumentException.class, () -> encoder.appendTick(5L));
+        assertThrows(IllegalArgumentException.class, () -> encoder.appendTick(4L));
+    }
+    // endregion
+}
@@ -0,0 +1,68 @@
+package com.github.skumoreq.simulator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the tables a {@link Transmission} precomputes from its ratios.
+ */
+class TransmissionTest {
+
+    // region ⮞ Test Configuration
+
+    private static final double TEST_DELTA = 1.0e-12;
+
+    private static final Clutch CLUTCH = new Clutch("Test", 1.0, 1.0);
+    private static final Transmission TRANSMISSION = new Transmission(
+            "Test", 1.0, 1.0, CLUTCH, new double[]{3.5, 2.1, 1.4, 1.0, 0.8}
+    );
+    // endregion
+
+    // region ⮞ Lookup Tables
+
+    @Test
+    void getSpeedPerRpm_matchesGearRatios() {
+        assertEquals(0.0, TRANSMISSION.getSpeedPerRpm(0));
+
+        for (int gear = 1; gear <= TRANSMISSION.getGearCount(); gear++)
+            assertEquals(0.03 / TRANSMISSION.getGearRatio(gear), TRANSMISSION.getSpeedPerRpm(gear), TEST_DELTA);
+    }
+
+    @Test
+    void getSpeedPerRpm_rejectsInvalidGear() {
+        assertThrows(IllegalArgumentException.class, () -> TRANSMISSION.getSpeedPerRpm(-1));
+        assertThrows(IllegalArgumentException.class, () -> TRANSMISSION.getSpeedPerRpm(6));
+    }
+
+    @Test
+    void getShiftRpmFactor_matchesPowersOfDropFactor() {
+        int gearCount = TRANSMISSION.getGearCount();
+
+        for (int delta = -gearCount; delta <= gearCount; delta++)
+            assertEquals(
+                    Math.pow(TRANSMISSION.getDropFactor(), delta), TRANSMISSION.getShiftRpmFactor(delta),
+                    "delta %d".formatted(delta)
+            );
+    }
+    // endregion
+
+    // region ⮞ Validation
+
+    @Test
+    void constructor_rejectsInvalidRatios() {
+        assertThrows(IllegalArgumentException.class, () -> new Transmission("Test", 1.0, 1.0, CLUTCH, new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new Transmission("Test", 1.0, 1.0, CLUTCH, new double[]{2.0, 0.0}));
+    }
+
+    @Test
+    void constructor_copiesRatios() {
+        var ratios = new double[]{2.0, 1.0};
+        var transmission = new Transmission("Test", 1.0, 1.0, CLUTCH, ratios);
+
+        ratios[0] = 100.0;
+
+        assertEquals(2.0, transmission.getGearRatio(1));
+    }
+    // endregion
+}